@@ -36,6 +36,7 @@ import com.mapbox.services.android.navigation.ui.v5.camera.NavigationCamera;
 import com.mapbox.services.android.navigation.ui.v5.instruction.InstructionLoader;
 import com.mapbox.services.android.navigation.ui.v5.instruction.InstructionView;
 import com.mapbox.services.android.navigation.ui.v5.location.LocationViewModel;
+import com.mapbox.services.android.navigation.ui.v5.location.PredictedLocationAnimator;
 import com.mapbox.services.android.navigation.ui.v5.route.NavigationMapRoute;
 import com.mapbox.services.android.navigation.ui.v5.route.RouteViewModel;
 import com.mapbox.services.android.navigation.ui.v5.summary.SummaryBottomSheet;
@@ -87,6 +88,8 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
   private MapboxMap map;
   private NavigationMapRoute mapRoute;
   private NavigationCamera camera;
+  private PredictedLocationAnimator predictedLocationAnimator;
+  private boolean isPredictedLocationAnimatorAdded;
   private LocationLayerPlugin locationLayer;
   private OnNavigationReadyCallback onNavigationReadyCallback;
   private boolean resumeState;
@@ -179,6 +182,7 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
    * In a {@link android.app.Fragment}, this should be in {@link Fragment#onDestroyView()}.
    */
   public void onDestroy() {
+    removePredictedLocationAnimator();
     mapView.onDestroy();
     navigationViewModel.onDestroy();
     InstructionLoader.getInstance().shutdown();
@@ -341,7 +345,10 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
 
   @Override
   public void updateLocationLayer(Location location) {
-    locationLayer.forceLocationUpdate(location);
+    // Otherwise moved with the predicted locations
+    if (predictedLocationAnimator == null || !predictedLocationAnimator.isPredicting()) {
+      locationLayer.forceLocationUpdate(location);
+    }
   }
 
   /**
@@ -356,6 +363,9 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
     if (!isInitialized) {
       navigationViewModel.initializeNavigationOptions(getContext().getApplicationContext(),
         options.navigationOptions().toBuilder().isFromNavigationUi(true).build());
+      if (options.routeProvider() != null) {
+        navigationViewModel.getNavigation().setRouteProvider(options.routeProvider());
+      }
       // Initialize the camera (listens to MapboxNavigation)
       initCamera();
       setupListeners(options);
@@ -450,6 +460,54 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
    */
   private void initCamera() {
     camera = new NavigationCamera(this, map, navigationViewModel.getNavigation());
+    initPredictedLocationAnimator();
+  }
+
+  /**
+   * Initializes the {@link PredictedLocationAnimator} which moves the camera and the location layer
+   * with every frame, in between the location updates from {@link MapboxNavigation}.
+   */
+  private void initPredictedLocationAnimator() {
+    predictedLocationAnimator = new PredictedLocationAnimator(
+      new PredictedLocationAnimator.OnPredictedLocationListener() {
+        @Override
+        public void onPredictedLocation(Location location) {
+          camera.updatePredictedLocation(location);
+          if (locationLayer != null) {
+            locationLayer.forceLocationUpdate(location);
+          }
+        }
+
+        @Override
+        public void onPredictionStopped(Location location) {
+          camera.stopPredictedLocation(location);
+          if (locationLayer != null) {
+            locationLayer.forceLocationUpdate(location);
+          }
+        }
+      });
+    addPredictedLocationAnimator();
+  }
+
+  /**
+   * The animator only receives route progress while this view is started, so it doesn't move the
+   * camera of a stopped map during background navigation.
+   */
+  private void addPredictedLocationAnimator() {
+    if (predictedLocationAnimator != null && !isPredictedLocationAnimatorAdded) {
+      isPredictedLocationAnimatorAdded = true;
+      navigationViewModel.getNavigation().addProgressChangeListener(predictedLocationAnimator);
+      navigationViewModel.getNavigation().addOffRouteListener(predictedLocationAnimator);
+    }
+  }
+
+  private void removePredictedLocationAnimator() {
+    if (predictedLocationAnimator != null && isPredictedLocationAnimatorAdded) {
+      isPredictedLocationAnimatorAdded = false;
+      navigationViewModel.getNavigation().removeProgressChangeListener(predictedLocationAnimator);
+      navigationViewModel.getNavigation().removeOffRouteListener(predictedLocationAnimator);
+      predictedLocationAnimator.stop();
+    }
   }
 
   /**
@@ -591,6 +649,7 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
   @OnLifecycleEvent(Lifecycle.Event.ON_START)
   public void onStart() {
     mapView.onStart();
+    addPredictedLocationAnimator();
   }
 
   @OnLifecycleEvent(Lifecycle.Event.ON_RESUME)
@@ -606,5 +665,6 @@ public class NavigationView extends CoordinatorLayout implements LifecycleObserv
   @OnLifecycleEvent(Lifecycle.Event.ON_STOP)
   public void onStop() {
     mapView.onStop();
+    removePredictedLocationAnimator();
   }
 }
@@ -30,7 +30,11 @@ import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationEventListener;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
+import com.mapbox.services.android.navigation.v5.route.DirectionsRouteProvider;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.RerouteGovernor;
+import com.mapbox.services.android.navigation.v5.route.RouteProvider;
+import com.mapbox.services.android.navigation.v5.route.SpeculativeRouteEngine;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
@@ -48,6 +52,7 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
   final MutableLiveData<FeedbackItem> selectedFeedbackItem = new MutableLiveData<>();
   final MutableLiveData<Location> navigationLocation = new MutableLiveData<>();
   final MutableLiveData<DirectionsRoute> fasterRoute = new MutableLiveData<>();
+  final MutableLiveData<DirectionsRoute> speculativeRoute = new MutableLiveData<>();
   final MutableLiveData<Point> newOrigin = new MutableLiveData<>();
   final MutableLiveData<Boolean> isRunning = new MutableLiveData<>();
   final MutableLiveData<Boolean> shouldRecordScreenshot = new MutableLiveData<>();
@@ -60,6 +65,7 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
   private int unitType;
   private String feedbackId;
   private String screenshot;
+  private boolean isReturnToRouteAnnounced;
 
   public NavigationViewModel(Application application) {
     super(application);
@@ -99,15 +105,27 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
    * <p>
    * Added to {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation}.
    *
+   * If a speculative route was already fetched for the missed maneuver, it is used
+   * right away instead of requesting a new route. Otherwise, the new origin is passed on, and once
+   * the {@link com.mapbox.services.android.navigation.ui.v5.listeners.RouteListener} allowed it,
+   * {@link #allowReroute()} decides if a new route should be requested. Routes from the Directions
+   * API are only requested with a network connection, a custom {@link RouteProvider} such as an
+   * offline one is always used.
+   *
    * @param location given to create a new origin
    * @since 0.6.0
    */
   @Override
   public void userOffRoute(Location location) {
-    if (hasNetworkConnection()) {
+    DirectionsRoute speculativeRoute = retrieveSpeculativeRoute(location);
+    if (speculativeRoute != null) {
+      isOffRoute.setValue(true);
+      this.speculativeRoute.setValue(speculativeRoute);
+      return;
+    }
+    if (canFetchRoute()) {
       Point newOrigin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
       this.newOrigin.setValue(newOrigin);
-      isOffRoute.setValue(true);
     }
   }
 
@@ -224,8 +242,37 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
   }
 
   void updateRoute(DirectionsRoute route) {
+    if (Boolean.TRUE.equals(isOffRoute.getValue())) {
+      navigation.getRerouteGovernor().onRerouteSucceeded();
+    }
     startNavigation(route);
     isOffRoute.setValue(false);
+    isReturnToRouteAnnounced = false;
+  }
+
+  /**
+   * Asks the {@link RerouteGovernor} if a reroute request should be sent now. Only called once the
+   * request would otherwise be sent, so a reroute vetoed by the
+   * {@link com.mapbox.services.android.navigation.ui.v5.listeners.RouteListener} isn't counted.
+   *
+   * @return true if the request should be sent, false if the user should return to the route
+   */
+  boolean allowReroute() {
+    RerouteGovernor rerouteGovernor = navigation.getRerouteGovernor();
+    long time = System.currentTimeMillis();
+    if (!rerouteGovernor.allowReroute(time)) {
+      guideBackToRoute(rerouteGovernor.isCircuitOpen(time));
+      return false;
+    }
+    isOffRoute.setValue(true);
+    return true;
+  }
+
+  /**
+   * Called when a reroute request fails, so following requests can be delayed.
+   */
+  void onRerouteFailed() {
+    navigation.getRerouteGovernor().onRerouteFailed(System.currentTimeMillis());
   }
 
   void updateFeedbackScreenshot(String screenshot) {
@@ -315,6 +362,17 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
     }
   }
 
+  /**
+   * Checks if a new route can be fetched by the {@link RouteProvider} of {@link MapboxNavigation}.
+   * Only the default {@link DirectionsRouteProvider} needs a network connection.
+   *
+   * @return true if a route can be fetched, false otherwise
+   */
+  private boolean canFetchRoute() {
+    RouteProvider routeProvider = navigation.getRouteProvider();
+    return !(routeProvider instanceof DirectionsRouteProvider) || hasNetworkConnection();
+  }
+
   /**
    * Checks for active network connection.
    *
@@ -330,6 +388,33 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
     return activeNetwork != null && activeNetwork.isConnectedOrConnecting();
   }
 
+  /**
+   * Checks the {@link SpeculativeRouteEngine} for a cached route usable from the given location.
+   *
+   * @param location where the user went off-route
+   * @return the cached route or null if speculative routing is disabled or no route is available
+   */
+  private DirectionsRoute retrieveSpeculativeRoute(Location location) {
+    SpeculativeRouteEngine speculativeRouteEngine = navigation.getSpeculativeRouteEngine();
+    if (speculativeRouteEngine == null) {
+      return null;
+    }
+    return speculativeRouteEngine.retrieveRoute(location);
+  }
+
+  /**
+   * If rerouting is paused by the {@link RerouteGovernor}, tells the user to return to the
+   * current route. Only announced once until a new route is received.
+   *
+   * @param isReroutingPaused true if the governor paused rerouting
+   */
+  private void guideBackToRoute(boolean isReroutingPaused) {
+    if (isReroutingPaused && !isReturnToRouteAnnounced) {
+      instructionPlayer.play(getApplication().getString(R.string.return_to_route));
+      isReturnToRouteAnnounced = true;
+    }
+  }
+
   private void updateBannerInstruction(RouteProgress routeProgress, Milestone milestone) {
     if (milestone instanceof BannerInstructionMilestone) {
       bannerInstructionModel.setValue(new BannerInstructionModel((BannerInstructionMilestone) milestone,
@@ -11,6 +11,7 @@ import com.mapbox.services.android.navigation.ui.v5.listeners.NavigationListener
 import com.mapbox.services.android.navigation.ui.v5.listeners.RouteListener;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.route.RouteProvider;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 
 import java.util.Locale;
@@ -38,6 +39,9 @@ public abstract class NavigationViewOptions {
 
   public abstract MapboxNavigationOptions navigationOptions();
 
+  @Nullable
+  public abstract RouteProvider routeProvider();
+
   public abstract boolean shouldSimulateRoute();
 
   @Nullable
@@ -78,6 +82,8 @@ public abstract class NavigationViewOptions {
 
     public abstract Builder navigationOptions(MapboxNavigationOptions navigationOptions);
 
+    public abstract Builder routeProvider(RouteProvider routeProvider);
+
     public abstract Builder shouldSimulateRoute(boolean shouldSimulateRoute);
 
     public abstract Builder lightThemeResId(Integer lightThemeResId);
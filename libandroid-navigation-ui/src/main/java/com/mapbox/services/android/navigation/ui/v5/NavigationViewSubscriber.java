@@ -52,6 +52,7 @@ class NavigationViewSubscriber {
       @Override
       public void onChanged(@Nullable String requestErrorMessage) {
         if (isOffRoute && requestErrorMessage != null) {
+          navigationViewModel.onRerouteFailed();
           navigationViewEventDispatcher.onFailedReroute(requestErrorMessage);
           // Discard message after firing the listener
           routeViewModel.requestErrorMessage.setValue(null);
@@ -118,15 +119,30 @@ class NavigationViewSubscriber {
       }
     });
 
+    navigationViewModel.speculativeRoute.observe(owner, new Observer<DirectionsRoute>() {
+      @Override
+      public void onChanged(@Nullable DirectionsRoute directionsRoute) {
+        if (directionsRoute != null) {
+          // Apply the cached route the same way as a fetched reroute
+          routeViewModel.route.setValue(directionsRoute);
+          // To prevent from firing on rotation
+          navigationViewModel.speculativeRoute.setValue(null);
+        }
+      }
+    });
+
     navigationViewModel.newOrigin.observe(owner, new Observer<Point>() {
       @Override
       public void onChanged(@Nullable Point newOrigin) {
         if (newOrigin != null) {
           if (navigationViewEventDispatcher.allowRerouteFrom(newOrigin)) {
-            // Send off route event with new origin
-            navigationViewEventDispatcher.onOffRoute(newOrigin);
-            // Fetch a new route with the given origin
-            routeViewModel.fetchRouteNewOrigin(newOrigin);
+            // The governor is asked last, so a vetoed reroute doesn't count as a request
+            if (navigationViewModel.allowReroute()) {
+              // Send off route event with new origin
+              navigationViewEventDispatcher.onOffRoute(newOrigin);
+              // Fetch a new route with the given origin
+              routeViewModel.fetchRouteNewOrigin(newOrigin);
+            }
             // To prevent from firing on rotation
             navigationViewModel.newOrigin.setValue(null);
           }
@@ -41,6 +41,8 @@ public class NavigationCamera implements ProgressChangeListener {
   private CameraPosition currentCameraPosition;
   private double targetDistance;
   private boolean trackingEnabled = true;
+  private boolean isFollowingLocation;
+  private boolean isPredictingLocation;
 
   /**
    * Creates an instance of {@link NavigationCamera}.
@@ -71,7 +73,7 @@ public class NavigationCamera implements ProgressChangeListener {
       currentCameraPosition = buildCameraPositionFromRoute(route);
       animateCameraToPosition(currentCameraPosition);
     } else {
-      navigation.addProgressChangeListener(NavigationCamera.this);
+      followLocation();
     }
   }
 
@@ -90,7 +92,7 @@ public class NavigationCamera implements ProgressChangeListener {
       currentCameraPosition = buildCameraPositionFromLocation(location);
       animateCameraToPosition(currentCameraPosition);
     } else {
-      navigation.addProgressChangeListener(NavigationCamera.this);
+      followLocation();
     }
   }
 
@@ -106,11 +108,43 @@ public class NavigationCamera implements ProgressChangeListener {
    */
   @Override
   public void onProgressChange(Location location, RouteProgress routeProgress) {
-    if (location.getLongitude() != 0 && location.getLatitude() != 0) {
+    if (!isPredictingLocation && location.getLongitude() != 0 && location.getLatitude() != 0) {
       easeCameraToLocation(location);
     }
   }
 
+  /**
+   * Moves the camera to a location predicted in between location updates, without animating, as
+   * it's called with every frame. Until {@link #stopPredictedLocation(Location)} is called, location
+   * updates from {@link MapboxNavigation} are no longer animated to, so the animations don't conflict.
+   *
+   * @param location predicted for the current frame
+   * @since 0.9.0
+   */
+  public void updatePredictedLocation(Location location) {
+    isPredictingLocation = true;
+    // Don't interrupt the animation to the start of the route
+    if (!isFollowingLocation) {
+      return;
+    }
+    currentCameraPosition = buildCameraPositionFromLocation(location);
+    if (trackingEnabled) {
+      mapboxMap.moveCamera(CameraUpdateFactory.newCameraPosition(currentCameraPosition));
+    }
+  }
+
+  /**
+   * Called once locations are no longer predicted, animates the camera to the given location update
+   * and to the following ones again.
+   *
+   * @param location the latest location update
+   * @since 0.9.0
+   */
+  public void stopPredictedLocation(Location location) {
+    isPredictingLocation = false;
+    onProgressChange(location, null);
+  }
+
   /**
    * Setter for whether or not the camera should follow the location.
    *
@@ -159,16 +193,21 @@ public class NavigationCamera implements ProgressChangeListener {
       new MapboxMap.CancelableCallback() {
         @Override
         public void onCancel() {
-          navigation.addProgressChangeListener(NavigationCamera.this);
+          followLocation();
         }
 
         @Override
         public void onFinish() {
-          navigation.addProgressChangeListener(NavigationCamera.this);
+          followLocation();
         }
       });
   }
 
+  private void followLocation() {
+    isFollowingLocation = true;
+    navigation.addProgressChangeListener(NavigationCamera.this);
+  }
+
   private void easeCameraToLocation(Location location) {
     currentCameraPosition = buildCameraPositionFromLocation(location);
     if (trackingEnabled) {
@@ -0,0 +1,92 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import android.net.Uri;
+
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
+import com.squareup.picasso.Downloader;
+import com.squareup.picasso.NetworkPolicy;
+
+import java.io.IOException;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+
+/**
+ * {@link Downloader} loading shield images through the shared {@link NavigationHttpClient}, so they
+ * reuse the connections of the rest of the SDK and never delay a reroute.
+ * <p>
+ * Images are stored in their own cache rather than the one of the shared client, so they don't
+ * compete with routes for space. The shared client is looked up for every image, as it's rebuilt
+ * when its cache or listener changes.
+ */
+class InstructionImageDownloader implements Downloader {
+
+  private final NavigationHttpClient httpClient;
+  private final Cache imageCache;
+  private OkHttpClient sharedClient;
+  private OkHttpClient client;
+
+  InstructionImageDownloader(NavigationHttpClient httpClient, Cache imageCache) {
+    this.httpClient = httpClient;
+    this.imageCache = imageCache;
+  }
+
+  @Override
+  public Response load(Uri uri, int networkPolicy) throws IOException {
+    Request.Builder requestBuilder = new Request.Builder().url(uri.toString());
+    CacheControl cacheControl = buildCacheControl(networkPolicy);
+    if (cacheControl != null) {
+      requestBuilder.cacheControl(cacheControl);
+    }
+
+    okhttp3.Response response = client().newCall(requestBuilder.build()).execute();
+    ResponseBody body = response.body();
+    if (!response.isSuccessful() || body == null) {
+      response.close();
+      throw new ResponseException(response.code() + " " + response.message(), networkPolicy, response.code());
+    }
+    boolean fromCache = response.cacheResponse() != null;
+    return new Response(body.byteStream(), fromCache, body.contentLength());
+  }
+
+  @Override
+  public void shutdown() {
+    // The shared client outlives Picasso and must not be shut down
+  }
+
+  /**
+   * The shared client for normal priority requests, with the image cache in place of its own.
+   * Rebuilt only when the shared client has been replaced, and sharing its connections and
+   * dispatcher.
+   */
+  private synchronized OkHttpClient client() {
+    OkHttpClient currentClient = httpClient.client(NavigationHttpClient.PRIORITY_NORMAL);
+    if (currentClient != sharedClient) {
+      sharedClient = currentClient;
+      client = currentClient.newBuilder()
+        .cache(imageCache)
+        .build();
+    }
+    return client;
+  }
+
+  private static CacheControl buildCacheControl(int networkPolicy) {
+    if (networkPolicy == 0) {
+      return null;
+    }
+    if (NetworkPolicy.isOfflineOnly(networkPolicy)) {
+      return CacheControl.FORCE_CACHE;
+    }
+    CacheControl.Builder builder = new CacheControl.Builder();
+    if (!NetworkPolicy.shouldReadFromDiskCache(networkPolicy)) {
+      builder.noCache();
+    }
+    if (!NetworkPolicy.shouldWriteToDiskCache(networkPolicy)) {
+      builder.noStore();
+    }
+    return builder.build();
+  }
+}
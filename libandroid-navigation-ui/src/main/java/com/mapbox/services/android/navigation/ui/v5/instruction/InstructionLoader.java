@@ -11,11 +11,15 @@ import com.mapbox.api.directions.v5.models.BannerComponents;
 import com.mapbox.api.directions.v5.models.BannerInstructions;
 import com.mapbox.api.directions.v5.models.BannerText;
 import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
 import com.squareup.picasso.Picasso;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
+import okhttp3.Cache;
+
 /**
  * Utility class that can be used to load a given {@link BannerText} into the provided
  * {@link TextView}.
@@ -35,6 +39,8 @@ public class InstructionLoader {
   private UrlDensityMap urlDensityMap;
   private static final String IMAGE_SPACE_PLACEHOLDER = "  ";
   private static final String SINGLE_SPACE = " ";
+  private static final String IMAGE_CACHE_DIRECTORY = "mapbox-navigation-images";
+  private static final long IMAGE_CACHE_SIZE = 10 * 1024 * 1024;
 
   private InstructionLoader() {
   }
@@ -57,12 +63,18 @@ public class InstructionLoader {
    * <p>
    * Initializes a new {@link Picasso} instance as well as the
    * {@link ArrayList} of {@link InstructionTarget}.
+   * <p>
+   * Images are downloaded with the shared {@link NavigationHttpClient}, into a disk cache of their
+   * own so shields don't have to be downloaded again. The cache of the shared client, used for
+   * routes, isn't changed.
    *
    * @param context to init Picasso
    */
   public void initialize(Context context) {
     if (!isInitialized) {
+      Cache imageCache = new Cache(new File(context.getCacheDir(), IMAGE_CACHE_DIRECTORY), IMAGE_CACHE_SIZE);
       Picasso.Builder builder = new Picasso.Builder(context)
+        .downloader(new InstructionImageDownloader(NavigationHttpClient.getInstance(), imageCache))
         .loggingEnabled(true);
       picassoImageLoader = builder.build();
 
@@ -0,0 +1,132 @@
+package com.mapbox.services.android.navigation.ui.v5.location;
+
+import android.animation.ValueAnimator;
+import android.location.Location;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.view.animation.LinearInterpolator;
+
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressPredictor;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Delivers a location with every frame the display draws, predicted by a {@link ProgressPredictor}
+ * from the latest route progress, so the map camera and the location puck move smoothly in between
+ * location updates.
+ * <p>
+ * Needs to be added to {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation}
+ * as both a {@link ProgressChangeListener} and an {@link OffRouteListener}, and removed again while
+ * the view it delivers to is stopped. While locations can't be predicted, like while off-route,
+ * nothing is delivered and the location updates should be used as they are received.
+ *
+ * @since 0.9.0
+ */
+public class PredictedLocationAnimator implements ProgressChangeListener, OffRouteListener,
+  ValueAnimator.AnimatorUpdateListener {
+
+  private static final String PREDICTED_PROVIDER = "predicted";
+
+  private final ProgressPredictor progressPredictor = new ProgressPredictor();
+  private final Location predictedLocation = new Location(PREDICTED_PROVIDER);
+  private final OnPredictedLocationListener listener;
+  private final ValueAnimator frameAnimator;
+  private boolean isPredicting;
+
+  /**
+   * Creates an animator which delivers the predicted locations to the given listener.
+   *
+   * @param listener receiving a location with every frame
+   * @since 0.9.0
+   */
+  public PredictedLocationAnimator(@NonNull OnPredictedLocationListener listener) {
+    this.listener = listener;
+    // Only used for its frame callbacks, the animated value is ignored
+    frameAnimator = ValueAnimator.ofFloat(0, 1);
+    frameAnimator.setDuration(1000);
+    frameAnimator.setRepeatCount(ValueAnimator.INFINITE);
+    frameAnimator.setInterpolator(new LinearInterpolator());
+    frameAnimator.addUpdateListener(this);
+  }
+
+  @Override
+  public void onProgressChange(Location location, RouteProgress routeProgress) {
+    progressPredictor.update(location, routeProgress, SystemClock.elapsedRealtime());
+    if (!progressPredictor.predictLocation(SystemClock.elapsedRealtime(), predictedLocation)) {
+      stopPredicting(location);
+      return;
+    }
+    isPredicting = true;
+    if (!frameAnimator.isStarted()) {
+      frameAnimator.start();
+    }
+  }
+
+  @Override
+  public void userOffRoute(Location location) {
+    progressPredictor.reset();
+    stopPredicting(location);
+  }
+
+  @Override
+  public void onAnimationUpdate(ValueAnimator animation) {
+    if (isPredicting && progressPredictor.predictLocation(SystemClock.elapsedRealtime(), predictedLocation)) {
+      listener.onPredictedLocation(predictedLocation);
+    }
+  }
+
+  /**
+   * Whether or not locations are currently being predicted and delivered with every frame.
+   *
+   * @return true while predicting, false if location updates should be used as they are received
+   * @since 0.9.0
+   */
+  public boolean isPredicting() {
+    return isPredicting;
+  }
+
+  /**
+   * Stops delivering locations until the next route progress, should be called when the view
+   * delivering to is stopped.
+   *
+   * @since 0.9.0
+   */
+  public void stop() {
+    frameAnimator.cancel();
+  }
+
+  private void stopPredicting(Location location) {
+    frameAnimator.cancel();
+    if (isPredicting) {
+      isPredicting = false;
+      listener.onPredictionStopped(location);
+    }
+  }
+
+  /**
+   * Receives the predicted locations.
+   *
+   * @since 0.9.0
+   */
+  public interface OnPredictedLocationListener {
+
+    /**
+     * Called with every frame while locations can be predicted. The given location is reused, so it
+     * must be copied if it's kept.
+     *
+     * @param location predicted for the current frame
+     * @since 0.9.0
+     */
+    void onPredictedLocation(Location location);
+
+    /**
+     * Called once locations can no longer be predicted, such as when the user goes off-route. Until
+     * the next predicted location, location updates should be used as they are received.
+     *
+     * @param location the latest location update
+     * @since 0.9.0
+     */
+    void onPredictionStopped(Location location);
+  }
+}
@@ -241,6 +241,10 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
    * @since 0.8.0
    */
   public void addRoutes(@NonNull @Size(min = 1) List<DirectionsRoute> directionsRoutes) {
+    if (canUpdatePrimaryRoute(directionsRoutes)) {
+      updatePrimaryRouteSource(directionsRoutes.get(0));
+      return;
+    }
     this.directionsRoutes = directionsRoutes;
     primaryRouteIndex = 0;
     if (!layerIds.isEmpty()) {
@@ -348,6 +352,33 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
     );
   }
 
+  /**
+   * A single route replacing the single route already drawn, such as a reroute, doesn't require the
+   * route layers to be removed and added again. Only the source data needs updating.
+   */
+  private boolean canUpdatePrimaryRoute(List<DirectionsRoute> newRoutes) {
+    return newRoutes.size() == 1 && directionsRoutes != null && directionsRoutes.size() == 1
+      && featureCollections.size() == 2 && !layerIds.isEmpty();
+  }
+
+  /**
+   * Reroutes usually share the end of the previous route. The features of the previous route which
+   * are still valid are reused and only the changed beginning of the route gets rebuilt. The
+   * existing sources are then updated in place.
+   */
+  private void updatePrimaryRouteSource(DirectionsRoute directionsRoute) {
+    FeatureCollection previousCollection = featureCollections.get(0);
+    directionsRoutes = new ArrayList<>();
+    directionsRoutes.add(directionsRoute);
+    primaryRouteIndex = 0;
+    featureCollections.clear();
+    featureCollections.add(addTrafficToSource(directionsRoute, 0, previousCollection));
+    featureCollections.add(waypointFeatureCollection(directionsRoute));
+    MapUtils.updateMapSourceFromFeatureCollection(mapboxMap, featureCollections.get(0),
+      String.format(Locale.US, ID_FORMAT, GENERIC_ROUTE_SOURCE_ID, 0));
+    addDirectionWaypoints();
+  }
+
   /**
    * The routes also display an icon for each waypoint in the route, we use symbol layers for this.
    */
@@ -691,10 +722,7 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
   public void onProgressChange(Location location, RouteProgress routeProgress) {
     // Check if the route's the same as the route currently drawn
     if (!routeProgress.directionsRoute().equals(directionsRoutes.get(primaryRouteIndex))) {
-      directionsRoutes.clear();
-      directionsRoutes.add(routeProgress.directionsRoute());
-      drawRoutes();
-      addDirectionWaypoints();
+      addRoute(routeProgress.directionsRoute());
     }
   }
 
@@ -704,20 +732,31 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
    * accordingly.
    */
   private static FeatureCollection addTrafficToSource(DirectionsRoute route, int index) {
+    return addTrafficToSource(route, index, null);
+  }
+
+  // Package private (no modifier) for testing purposes
+  static FeatureCollection addTrafficToSource(DirectionsRoute route, int index,
+                                              @Nullable FeatureCollection previousCollection) {
     final List<Feature> features = new ArrayList<>();
-    LineString originalGeometry = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
-    Feature feat = Feature.fromGeometry(originalGeometry);
+    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    Feature feat = Feature.fromGeometry(lineString);
     feat.addStringProperty(SOURCE_KEY, String.format(Locale.US, ID_FORMAT, GENERIC_ROUTE_SOURCE_ID,
       index));
     feat.addNumberProperty(INDEX_KEY, index);
     features.add(feat);
 
-    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    SharedSegments sharedSegments = SharedSegments.create(route, lineString, previousCollection);
     for (RouteLeg leg : route.legs()) {
       if (leg.annotation() != null && leg.annotation().congestion() != null) {
         for (int i = 0; i < leg.annotation().congestion().size(); i++) {
           // See https://github.com/mapbox/mapbox-navigation-android/issues/353
           if (leg.annotation().congestion().size() + 1 <= lineString.getCoordinates().size()) {
+            Feature sharedFeature = sharedSegments.find(i, leg.annotation().congestion().get(i), index);
+            if (sharedFeature != null) {
+              features.add(sharedFeature);
+              continue;
+            }
             double[] startCoord = lineString.getCoordinates().get(i).getCoordinates();
             double[] endCoord = lineString.getCoordinates().get(i + 1).getCoordinates();
 
@@ -738,4 +777,67 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
     }
     return FeatureCollection.fromFeatures(features);
   }
-}
\ No newline at end of file
+
+  /**
+   * Looks up the congestion segment features of a previously drawn route which can be reused when
+   * drawing a new route. Only the segments at the end of the route, where both geometries are
+   * identical, are considered.
+   */
+  private static class SharedSegments {
+
+    private final List<Feature> previousFeatures;
+    private final int firstSharedSegment;
+    private final int segmentOffset;
+
+    private SharedSegments(List<Feature> previousFeatures, int firstSharedSegment, int segmentOffset) {
+      this.previousFeatures = previousFeatures;
+      this.firstSharedSegment = firstSharedSegment;
+      this.segmentOffset = segmentOffset;
+    }
+
+    @SuppressWarnings("unchecked")
+    static SharedSegments create(DirectionsRoute route, LineString lineString,
+                                 @Nullable FeatureCollection previousCollection) {
+      List<Position> coordinates = lineString.getCoordinates();
+      if (previousCollection == null || route.legs().size() != 1) {
+        return new SharedSegments(null, coordinates.size(), 0);
+      }
+      List<Feature> previousFeatures = previousCollection.getFeatures();
+      List<Position> previousCoordinates = (List<Position>) previousFeatures.get(0).getGeometry().getCoordinates();
+      // The line feature followed by one feature per segment, otherwise segments can't be matched
+      if (previousFeatures.size() != previousCoordinates.size()) {
+        return new SharedSegments(null, coordinates.size(), 0);
+      }
+
+      int sharedCoordinates = 0;
+      int previousIndex = previousCoordinates.size() - 1;
+      int index = coordinates.size() - 1;
+      while (previousIndex >= 0 && index >= 0
+        && samePosition(previousCoordinates.get(previousIndex), coordinates.get(index))) {
+        sharedCoordinates++;
+        previousIndex--;
+        index--;
+      }
+      return new SharedSegments(previousFeatures, coordinates.size() - sharedCoordinates,
+        coordinates.size() - previousCoordinates.size());
+    }
+
+    @Nullable
+    Feature find(int segmentIndex, String congestion, int routeIndex) {
+      if (previousFeatures == null || segmentIndex < firstSharedSegment) {
+        return null;
+      }
+      // Skip the line feature at the start of the collection
+      Feature previousFeature = previousFeatures.get(segmentIndex - segmentOffset + 1);
+      boolean sameCongestion = congestion != null
+        && congestion.equals(previousFeature.getStringProperty(CONGESTION_KEY));
+      boolean sameIndex = previousFeature.getNumberProperty(INDEX_KEY).intValue() == routeIndex;
+      return sameCongestion && sameIndex ? previousFeature : null;
+    }
+
+    private static boolean samePosition(Position position, Position otherPosition) {
+      return position.getLongitude() == otherPosition.getLongitude()
+        && position.getLatitude() == otherPosition.getLatitude();
+    }
+  }
+}
@@ -16,16 +16,14 @@ import com.mapbox.geojson.Point;
 import com.mapbox.mapboxsdk.Mapbox;
 import com.mapbox.services.android.navigation.ui.v5.NavigationViewOptions;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation;
-import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationUnitType;
+import com.mapbox.services.android.navigation.v5.route.DirectionsRouteProvider;
+import com.mapbox.services.android.navigation.v5.route.RouteProvider;
+import com.mapbox.services.android.navigation.v5.route.RouteRequest;
 
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
-public class RouteViewModel extends AndroidViewModel implements Callback<DirectionsResponse> {
+public class RouteViewModel extends AndroidViewModel implements RouteProvider.Callback {
 
   public final MutableLiveData<DirectionsRoute> route = new MutableLiveData<>();
   public final MutableLiveData<Point> destination = new MutableLiveData<>();
@@ -35,6 +33,7 @@ public class RouteViewModel extends AndroidViewModel implements Callback<Directi
   private String routeProfile;
   private String unitType;
   private Locale language;
+  private RouteProvider routeProvider = new DirectionsRouteProvider();
 
   public RouteViewModel(@NonNull Application application) {
     super(application);
@@ -43,23 +42,19 @@ public class RouteViewModel extends AndroidViewModel implements Callback<Directi
   /**
    * A new directions response has been received.
    * <p>
-   * The {@link DirectionsResponse} is validated.
    * If navigation is running, {@link MapboxNavigation} is updated and reroute state is dismissed.
    * If not, navigation is started.
    *
-   * @param call     used to request the new {@link DirectionsRoute}
    * @param response contains the new {@link DirectionsRoute}
    * @since 0.6.0
    */
   @Override
-  public void onResponse(Call<DirectionsResponse> call, Response<DirectionsResponse> response) {
-    if (validRouteResponse(response)) {
-      route.setValue(response.body().routes().get(0));
-    }
+  public void onRouteFound(DirectionsResponse response) {
+    route.setValue(response.routes().get(0));
   }
 
   @Override
-  public void onFailure(Call<DirectionsResponse> call, Throwable throwable) {
+  public void onRouteFailure(Throwable throwable) {
     requestErrorMessage.setValue(throwable.getMessage());
   }
 
@@ -75,6 +70,9 @@ public class RouteViewModel extends AndroidViewModel implements Callback<Directi
    * @param options holds either a set of {@link Point} coordinates or a {@link DirectionsRoute}
    */
   public void extractRouteOptions(NavigationViewOptions options) {
+    if (options.routeProvider() != null) {
+      routeProvider = options.routeProvider();
+    }
     updateUnitType(options.navigationOptions().unitType());
     if (launchWithRoute(options)) {
       extractRouteFromOptions(options);
@@ -126,13 +124,16 @@ public class RouteViewModel extends AndroidViewModel implements Callback<Directi
         bearing = rawLocation.hasBearing() ? Float.valueOf(rawLocation.getBearing()).doubleValue() : null;
       }
 
-      NavigationRoute.builder()
+      RouteRequest request = RouteRequest.builder()
         .accessToken(Mapbox.getAccessToken())
-        .origin(origin, bearing, 90d)
+        .origin(origin)
+        .originBearing(bearing)
         .voiceUnits(unitType)
         .profile(routeProfile)
         .language(language)
-        .destination(destination).build().getRoute(this);
+        .destination(destination)
+        .build();
+      routeProvider.fetchRoute(request, this);
     }
   }
 
@@ -228,16 +229,4 @@ public class RouteViewModel extends AndroidViewModel implements Callback<Directi
       fetchRouteFromCoordinates();
     }
   }
-
-  /**
-   * Checks if we have at least one {@link DirectionsRoute} in the given
-   * {@link DirectionsResponse}.
-   *
-   * @param response to be checked
-   * @return true if valid, false if not
-   */
-  private boolean validRouteResponse(Response<DirectionsResponse> response) {
-    return response.body() != null
-      && !response.body().routes().isEmpty();
-  }
 }
@@ -8,25 +8,64 @@ import com.amazonaws.services.polly.model.OutputFormat;
 import com.amazonaws.services.polly.model.SynthesizeSpeechPresignRequest;
 import com.amazonaws.services.polly.model.TextType;
 import com.amazonaws.services.polly.model.VoiceId;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import timber.log.Timber;
+
+/**
+ * Retrieves the synthesized speech for an instruction and downloads it with the shared
+ * {@link NavigationHttpClient}, rather than letting the media player stream it over its own
+ * connection.
+ */
 public class InstructionTask extends AsyncTask<String, Void, String> {
 
+  private static final String INSTRUCTION_FILE_PREFIX = "instruction";
+  private static final String INSTRUCTION_FILE_SUFFIX = ".mp3";
+  private static final int BUFFER_SIZE = 8192;
+
   private AmazonPollyPresigningClient client;
+  private File cacheDirectory;
   private TaskListener listener;
 
-  InstructionTask(AmazonPollyPresigningClient client, TaskListener listener) {
+  InstructionTask(AmazonPollyPresigningClient client, File cacheDirectory, TaskListener listener) {
     this.client = client;
+    this.cacheDirectory = cacheDirectory;
     this.listener = listener;
   }
 
   @Override
   protected String doInBackground(String... strings) {
-    return retrieveSpeechUrl(strings[0]);
+    String speechUrl = retrieveSpeechUrl(strings[0]);
+    if (speechUrl == null) {
+      return null;
+    }
+    return downloadSpeech(speechUrl);
+  }
+
+  @Override
+  protected void onPostExecute(String speechFile) {
+    if (speechFile == null) {
+      listener.onError();
+      return;
+    }
+    listener.onFinished(speechFile);
   }
 
   @Override
-  protected void onPostExecute(String speechUrl) {
-    listener.onFinished(speechUrl);
+  protected void onCancelled(String speechFile) {
+    // Nobody is going to play it
+    if (speechFile != null) {
+      deleteSpeechFile(new File(speechFile));
+    }
   }
 
   private String retrieveSpeechUrl(String instruction) {
@@ -39,14 +78,62 @@ public class InstructionTask extends AsyncTask<String, Void, String> {
     try {
       return client.getPresignedSynthesizeSpeechUrl(synthesizeSpeechPresignRequest).toString();
     } catch (AmazonClientException exception) {
-      listener.onError();
+      Timber.e(exception.getMessage());
       return null;
     }
   }
 
+  private String downloadSpeech(String speechUrl) {
+    Request request = new Request.Builder().url(speechUrl).build();
+    Response response = null;
+    File speechFile = null;
+    boolean isDownloaded = false;
+    try {
+      response = NavigationHttpClient.getInstance().client(NavigationHttpClient.PRIORITY_HIGH)
+        .newCall(request).execute();
+      ResponseBody body = response.body();
+      if (!response.isSuccessful() || body == null) {
+        return null;
+      }
+      speechFile = File.createTempFile(INSTRUCTION_FILE_PREFIX, INSTRUCTION_FILE_SUFFIX, cacheDirectory);
+      writeToFile(body.byteStream(), speechFile);
+      isDownloaded = true;
+      return speechFile.getAbsolutePath();
+    } catch (IOException exception) {
+      Timber.e("Unable to download the voice instruction: %s", exception.getMessage());
+      return null;
+    } finally {
+      if (response != null) {
+        response.close();
+      }
+      if (!isDownloaded && speechFile != null) {
+        deleteSpeechFile(speechFile);
+      }
+    }
+  }
+
+  private static void deleteSpeechFile(File speechFile) {
+    if (!speechFile.delete()) {
+      Timber.d("Unable to delete voice instruction file %s", speechFile.getAbsolutePath());
+    }
+  }
+
+  private static void writeToFile(InputStream inputStream, File file) throws IOException {
+    OutputStream outputStream = new FileOutputStream(file);
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, read);
+      }
+    } finally {
+      outputStream.close();
+    }
+  }
+
   public interface TaskListener {
 
-    void onFinished(String speechUrl);
+    void onFinished(String speechFile);
 
     void onError();
   }
@@ -12,6 +12,7 @@ import com.amazonaws.services.polly.AmazonPollyPresigningClient;
 import com.mapbox.services.android.navigation.ui.v5.voice.InstructionListener;
 import com.mapbox.services.android.navigation.ui.v5.voice.InstructionPlayer;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +24,9 @@ import timber.log.Timber;
  * Will retrieve synthesized speech mp3s from Amazon's AWS Polly Service
  * (Requires a valid AWS Cognito Pool ID)
  * </p><p>
+ * The mp3s are downloaded with the SDK's shared network client into the cache directory
+ * and played from there.
+ * </p><p>
  * Will queue each instruction and play them
  * sequentially up until the queue is empty.
  * </p>
@@ -30,10 +34,34 @@ import timber.log.Timber;
 public class PollyPlayer implements InstructionPlayer {
 
   private AmazonPollyPresigningClient pollyClient;
+  private File cacheDirectory;
   private MediaPlayer pollyMediaPlayer;
-  private List<String> instructionUrls = new ArrayList<>();
+  private List<String> instructionFiles = new ArrayList<>();
+  private List<InstructionTask> instructionTasks = new ArrayList<>();
   private InstructionListener instructionListener;
   private boolean isMuted;
+  private InstructionTask.TaskListener taskListener = new InstructionTask.TaskListener() {
+    @Override
+    public void onFinished(String instructionFile) {
+      onInstructionTaskFinished();
+      if (isMuted) {
+        deleteInstructionFile(instructionFile);
+      } else if (instructionFiles.size() == 0) {
+        instructionFiles.add(instructionFile);
+        playInstruction(instructionFiles.get(0));
+      } else {
+        instructionFiles.add(instructionFile);
+      }
+    }
+
+    @Override
+    public void onError() {
+      onInstructionTaskFinished();
+      if (instructionListener != null) {
+        instructionListener.onError();
+      }
+    }
+  };
 
   /**
    * Construct an instance of {@link PollyPlayer}
@@ -42,6 +70,7 @@ public class PollyPlayer implements InstructionPlayer {
    * @param awsPoolId to initialize {@link CognitoCachingCredentialsProvider}
    */
   public PollyPlayer(Context context, String awsPoolId) {
+    cacheDirectory = context.getCacheDir();
     initPollyClient(context, awsPoolId);
   }
 
@@ -69,12 +98,14 @@ public class PollyPlayer implements InstructionPlayer {
   @Override
   public void onOffRoute() {
     pauseInstruction();
-    clearInstructionUrls();
+    clearInstructionFiles();
   }
 
   @Override
   public void onDestroy() {
+    cancelInstructionTasks();
     stopPollyMediaPlayerPlaying();
+    clearInstructionFiles();
   }
 
   @Override
@@ -94,7 +125,7 @@ public class PollyPlayer implements InstructionPlayer {
   private void mutePolly(boolean isMuted) {
     if (isMuted) {
       stopPollyMediaPlayerPlaying();
-      clearInstructionUrls();
+      clearInstructionFiles();
     }
   }
 
@@ -111,24 +142,28 @@ public class PollyPlayer implements InstructionPlayer {
   }
 
   private void executeInstructionTask(String instruction) {
-    new InstructionTask(pollyClient, new InstructionTask.TaskListener() {
-      @Override
-      public void onFinished(String instructionUrl) {
-        if (instructionUrls.size() == 0) {
-          instructionUrls.add(instructionUrl);
-          playInstruction(instructionUrls.get(0));
-        } else {
-          instructionUrls.add(instructionUrl);
-        }
-      }
+    InstructionTask instructionTask = new InstructionTask(pollyClient, cacheDirectory, taskListener);
+    instructionTasks.add(instructionTask);
+    instructionTask.executeOnExecutor(AsyncTask.SERIAL_EXECUTOR, instruction);
+  }
 
-      @Override
-      public void onError() {
-        if (instructionListener != null) {
-          instructionListener.onError();
-        }
-      }
-    }).executeOnExecutor(AsyncTask.SERIAL_EXECUTOR, instruction);
+  /**
+   * The tasks run one after the other, so the one finishing is always the oldest.
+   */
+  private void onInstructionTaskFinished() {
+    if (instructionTasks.size() > 0) {
+      instructionTasks.remove(0);
+    }
+  }
+
+  /**
+   * A cancelled task deletes the file it downloaded instead of passing it on.
+   */
+  private void cancelInstructionTasks() {
+    for (InstructionTask instructionTask : instructionTasks) {
+      instructionTask.cancel(false);
+    }
+    instructionTasks.clear();
   }
 
   private void playInstruction(String instruction) {
@@ -182,17 +217,26 @@ public class PollyPlayer implements InstructionPlayer {
   }
 
   private void onInstructionFinished() {
-    if (instructionUrls.size() > 0) {
-      instructionUrls.remove(0);
-      if (instructionUrls.size() > 0) {
-        playInstruction(instructionUrls.get(0));
+    if (instructionFiles.size() > 0) {
+      deleteInstructionFile(instructionFiles.remove(0));
+      if (instructionFiles.size() > 0) {
+        playInstruction(instructionFiles.get(0));
+      }
+    }
+  }
+
+  private void clearInstructionFiles() {
+    if (instructionFiles.size() > 0) {
+      for (String instructionFile : instructionFiles) {
+        deleteInstructionFile(instructionFile);
       }
+      instructionFiles.clear();
     }
   }
 
-  private void clearInstructionUrls() {
-    if (instructionUrls.size() > 0) {
-      instructionUrls.clear();
+  private void deleteInstructionFile(String instructionFile) {
+    if (!new File(instructionFile).delete()) {
+      Timber.d("Unable to delete voice instruction file %s", instructionFile);
     }
   }
 }
@@ -0,0 +1,132 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class NavigationMapRouteTrafficTest {
+
+  private Gson gson;
+  private List<Point> previousPoints;
+  private FeatureCollection previousCollection;
+
+  @Before
+  public void setUp() throws Exception {
+    gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    previousPoints = buildPoints(0, 6);
+    DirectionsRoute previousRoute = buildRoute(previousPoints, "low", "moderate", "heavy", "low", "severe");
+    previousCollection = NavigationMapRoute.addTrafficToSource(previousRoute, 0, null);
+  }
+
+  @Test
+  public void addTrafficToSource_reusesFeaturesOfSharedSegments() throws Exception {
+    // A reroute which rejoins the previous route at its third point
+    List<Point> points = new ArrayList<>(buildPoints(10, 2));
+    points.addAll(previousPoints.subList(2, previousPoints.size()));
+    DirectionsRoute route = buildRoute(points, "low", "low", "heavy", "low", "severe");
+
+    FeatureCollection collection = NavigationMapRoute.addTrafficToSource(route, 0, previousCollection);
+
+    List<Feature> features = collection.getFeatures();
+    List<Feature> previousFeatures = previousCollection.getFeatures();
+    assertEquals(6, features.size());
+    assertNotSame(previousFeatures.get(2), features.get(2));
+    for (int i = 3; i < features.size(); i++) {
+      assertSame(previousFeatures.get(i), features.get(i));
+    }
+  }
+
+  @Test
+  public void addTrafficToSource_rebuildsSharedSegmentsWithNewCongestion() throws Exception {
+    List<Point> points = new ArrayList<>(buildPoints(10, 2));
+    points.addAll(previousPoints.subList(2, previousPoints.size()));
+    DirectionsRoute route = buildRoute(points, "low", "low", "heavy", "low", "low");
+
+    FeatureCollection collection = NavigationMapRoute.addTrafficToSource(route, 0, previousCollection);
+
+    Feature lastFeature = collection.getFeatures().get(5);
+    assertNotSame(previousCollection.getFeatures().get(5), lastFeature);
+    assertEquals("low", lastFeature.getStringProperty("congestion"));
+    assertSame(previousCollection.getFeatures().get(4), collection.getFeatures().get(4));
+  }
+
+  @Test
+  public void addTrafficToSource_matchesSegmentsOfLongerRoute() throws Exception {
+    // Three new points followed by all but the first point of the previous route
+    List<Point> points = new ArrayList<>(buildPoints(10, 3));
+    points.addAll(previousPoints.subList(1, previousPoints.size()));
+    DirectionsRoute route = buildRoute(points, "low", "low", "low", "moderate", "heavy", "low", "severe");
+
+    FeatureCollection collection = NavigationMapRoute.addTrafficToSource(route, 0, previousCollection);
+
+    List<Feature> features = collection.getFeatures();
+    List<Feature> previousFeatures = previousCollection.getFeatures();
+    assertEquals(8, features.size());
+    for (int i = 0; i < 4; i++) {
+      assertSame(previousFeatures.get(i + 2), features.get(i + 4));
+    }
+  }
+
+  @Test
+  public void addTrafficToSource_withoutPreviousRouteBuildsEverySegment() throws Exception {
+    DirectionsRoute route = buildRoute(previousPoints, "low", "moderate", "heavy", "low", "severe");
+
+    FeatureCollection collection = NavigationMapRoute.addTrafficToSource(route, 0, null);
+
+    for (int i = 0; i < collection.getFeatures().size(); i++) {
+      assertNotSame(previousCollection.getFeatures().get(i), collection.getFeatures().get(i));
+    }
+  }
+
+  private List<Point> buildPoints(int offset, int count) {
+    List<Point> points = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      points.add(Point.fromLngLat(-77.0 + (offset + i) * 0.001, 38.9 + (offset + i) * 0.0005));
+    }
+    return points;
+  }
+
+  private DirectionsRoute buildRoute(List<Point> points, String... congestion) {
+    JsonArray congestionArray = new JsonArray();
+    for (String segmentCongestion : Arrays.asList(congestion)) {
+      congestionArray.add(segmentCongestion);
+    }
+    JsonObject annotation = new JsonObject();
+    annotation.add("congestion", congestionArray);
+    JsonObject leg = new JsonObject();
+    leg.addProperty("distance", 100);
+    leg.addProperty("duration", 10);
+    leg.addProperty("summary", "");
+    leg.add("steps", new JsonArray());
+    leg.add("annotation", annotation);
+    JsonArray legs = new JsonArray();
+    legs.add(leg);
+    JsonObject route = new JsonObject();
+    route.addProperty("distance", 100);
+    route.addProperty("duration", 10);
+    route.addProperty("weight", 10);
+    route.addProperty("weight_name", "routability");
+    route.addProperty("geometry", PolylineUtils.encode(points, Constants.PRECISION_6));
+    route.add("legs", legs);
+    return gson.fromJson(route, DirectionsRoute.class);
+  }
+}
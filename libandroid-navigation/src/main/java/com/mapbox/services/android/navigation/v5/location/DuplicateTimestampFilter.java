@@ -0,0 +1,31 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Drops locations with the same or an older time than the previous location, which some location
+ * providers deliver twice or out of order.
+ *
+ * @since 0.9.0
+ */
+public class DuplicateTimestampFilter extends LocationFilter {
+
+  private long lastTime = Long.MIN_VALUE;
+
+  @Nullable
+  @Override
+  public Location filter(@NonNull Location location) {
+    if (location.getTime() <= lastTime) {
+      return null;
+    }
+    lastTime = location.getTime();
+    return location;
+  }
+
+  @Override
+  public void reset() {
+    lastTime = Long.MIN_VALUE;
+  }
+}
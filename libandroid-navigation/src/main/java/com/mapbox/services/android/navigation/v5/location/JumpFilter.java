@@ -0,0 +1,77 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Drops locations which jumped further from the previous location than the user could have
+ * traveled, allowing for the accuracy of both locations.
+ * <p>
+ * If several locations in a row jump, it's more likely the user has really moved, for example
+ * after leaving a tunnel, so the next location is passed on and becomes the new reference.
+ *
+ * @since 0.9.0
+ */
+public class JumpFilter extends LocationFilter {
+
+  // In meters per second, about 250 km/h
+  private static final double DEFAULT_MAXIMUM_SPEED = 70;
+  private static final int DEFAULT_MAXIMUM_CONSECUTIVE_JUMPS = 3;
+
+  private final double maximumSpeed;
+  private final int maximumConsecutiveJumps;
+  private boolean hasLastLocation;
+  private double lastLatitude;
+  private double lastLongitude;
+  private float lastAccuracy;
+  private long lastTime;
+  private int consecutiveJumps;
+
+  /**
+   * Creates a filter for road travel.
+   *
+   * @since 0.9.0
+   */
+  public JumpFilter() {
+    this(DEFAULT_MAXIMUM_SPEED, DEFAULT_MAXIMUM_CONSECUTIVE_JUMPS);
+  }
+
+  /**
+   * @param maximumSpeed            in meters per second, the fastest the user is expected to travel
+   * @param maximumConsecutiveJumps locations dropped in a row before the next one is passed on
+   * @since 0.9.0
+   */
+  public JumpFilter(double maximumSpeed, int maximumConsecutiveJumps) {
+    this.maximumSpeed = maximumSpeed;
+    this.maximumConsecutiveJumps = maximumConsecutiveJumps;
+  }
+
+  @Nullable
+  @Override
+  public Location filter(@NonNull Location location) {
+    if (hasLastLocation && consecutiveJumps < maximumConsecutiveJumps) {
+      // At least a second, so locations close in time aren't dropped for their inaccuracy
+      double seconds = Math.max((location.getTime() - lastTime) / 1000d, 1);
+      double maximumDistance = maximumSpeed * seconds + location.getAccuracy() + lastAccuracy;
+      double distance = distance(lastLatitude, lastLongitude, location.getLatitude(), location.getLongitude());
+      if (distance > maximumDistance) {
+        consecutiveJumps++;
+        return null;
+      }
+    }
+    consecutiveJumps = 0;
+    hasLastLocation = true;
+    lastLatitude = location.getLatitude();
+    lastLongitude = location.getLongitude();
+    lastAccuracy = location.getAccuracy();
+    lastTime = location.getTime();
+    return location;
+  }
+
+  @Override
+  public void reset() {
+    hasLastLocation = false;
+    consecutiveJumps = 0;
+  }
+}
@@ -0,0 +1,129 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Smooths locations with a constant velocity Kalman filter, weighting each location by its reported
+ * accuracy, so a single inaccurate location moves the result less than a run of accurate ones.
+ * <p>
+ * Latitude and longitude are filtered independently, in meters relative to the first location, each
+ * with a position and velocity state. After a gap in the locations the filter starts over from the
+ * next location rather than predicting across the gap.
+ *
+ * @since 0.9.0
+ */
+public class KalmanLocationFilter extends LocationFilter {
+
+  // In meters per second squared, how quickly the velocity is expected to change
+  private static final double DEFAULT_PROCESS_NOISE = 3;
+  private static final long MAXIMUM_GAP_IN_MILLISECONDS = 10000;
+  private static final double MINIMUM_VARIANCE = 1;
+
+  private final double processNoise;
+  private final Axis northing = new Axis();
+  private final Axis easting = new Axis();
+  private boolean isInitialized;
+  private double originLatitude;
+  private double originLongitude;
+  private double metersPerDegreeLongitude;
+  private long lastTime;
+
+  /**
+   * Creates a filter for road travel.
+   *
+   * @since 0.9.0
+   */
+  public KalmanLocationFilter() {
+    this(DEFAULT_PROCESS_NOISE);
+  }
+
+  /**
+   * @param processNoise in meters per second squared, higher values follow changes in speed and
+   *                     direction more closely but smooth less
+   * @since 0.9.0
+   */
+  public KalmanLocationFilter(double processNoise) {
+    this.processNoise = processNoise;
+  }
+
+  @Nullable
+  @Override
+  public Location filter(@NonNull Location location) {
+    double variance = Math.max(location.getAccuracy() * location.getAccuracy(), MINIMUM_VARIANCE);
+    long time = location.getTime();
+    if (!isInitialized || time - lastTime > MAXIMUM_GAP_IN_MILLISECONDS || time < lastTime) {
+      initialize(location, variance);
+      return location;
+    }
+    double seconds = (time - lastTime) / 1000d;
+    lastTime = time;
+    double north = (location.getLatitude() - originLatitude) * metersPerDegree();
+    double east = (location.getLongitude() - originLongitude) * metersPerDegreeLongitude;
+    northing.update(north, variance, seconds, processNoise);
+    easting.update(east, variance, seconds, processNoise);
+
+    Location filteredLocation = new Location(location);
+    filteredLocation.setLatitude(originLatitude + northing.position / metersPerDegree());
+    filteredLocation.setLongitude(originLongitude + easting.position / metersPerDegreeLongitude);
+    return filteredLocation;
+  }
+
+  @Override
+  public void reset() {
+    isInitialized = false;
+  }
+
+  private void initialize(Location location, double variance) {
+    isInitialized = true;
+    originLatitude = location.getLatitude();
+    originLongitude = location.getLongitude();
+    metersPerDegreeLongitude = metersPerDegree() * Math.cos(Math.toRadians(originLatitude));
+    lastTime = location.getTime();
+    northing.initialize(variance);
+    easting.initialize(variance);
+  }
+
+  /**
+   * Position and velocity along one axis, with their 2x2 covariance stored as primitives.
+   */
+  private static class Axis {
+
+    private double position;
+    private double velocity;
+    private double positionVariance;
+    private double covariance;
+    private double velocityVariance;
+
+    void initialize(double variance) {
+      position = 0;
+      velocity = 0;
+      positionVariance = variance;
+      covariance = 0;
+      // Unknown until the second location, so the first velocity comes almost entirely from it
+      velocityVariance = 1e4;
+    }
+
+    void update(double measurement, double variance, double seconds, double processNoise) {
+      // Predict, x = F x and P = F P F' + Q for F = [1 dt; 0 1] and white noise acceleration
+      position += velocity * seconds;
+      double noise = processNoise * processNoise;
+      double seconds2 = seconds * seconds;
+      positionVariance += seconds * (2 * covariance + seconds * velocityVariance) + noise * seconds2 * seconds2 / 4;
+      covariance += seconds * velocityVariance + noise * seconds2 * seconds / 2;
+      velocityVariance += noise * seconds2;
+
+      // Correct with the measured position, H = [1 0]
+      double innovationVariance = positionVariance + variance;
+      double positionGain = positionVariance / innovationVariance;
+      double velocityGain = covariance / innovationVariance;
+      double innovation = measurement - position;
+      position += positionGain * innovation;
+      velocity += velocityGain * innovation;
+      velocityVariance -= velocityGain * covariance;
+      covariance -= positionGain * covariance;
+      positionVariance -= positionGain * positionVariance;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * A stage of a {@link LocationFilterChain}, which sees every location before the navigation engine
+ * does and can drop or correct it.
+ * <p>
+ * Filters are stateful, they compare each location with the ones they've passed on before, and are
+ * only called from the main thread.
+ *
+ * @since 0.9.0
+ */
+public abstract class LocationFilter {
+
+  private static final double METERS_PER_DEGREE = Math.toRadians(6371008.8);
+
+  /**
+   * @param location received from the location engine
+   * @return the location to pass on to the next stage, either the given one or a corrected copy,
+   * or null to drop it
+   * @since 0.9.0
+   */
+  @Nullable
+  public abstract Location filter(@NonNull Location location);
+
+  /**
+   * Forgets all locations seen so far, called when a navigation session ends.
+   *
+   * @since 0.9.0
+   */
+  public abstract void reset();
+
+  /**
+   * Approximate distance between two nearby coordinates, accurate to well below a meter over the
+   * distances between consecutive locations, without the cost of a great circle calculation.
+   *
+   * @return distance in meters
+   */
+  protected static double distance(double latitude, double longitude, double otherLatitude, double otherLongitude) {
+    double y = (otherLatitude - latitude) * METERS_PER_DEGREE;
+    double x = (otherLongitude - longitude) * METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+    return Math.sqrt(x * x + y * y);
+  }
+
+  /**
+   * @return meters per degree of latitude
+   */
+  protected static double metersPerDegree() {
+    return METERS_PER_DEGREE;
+  }
+}
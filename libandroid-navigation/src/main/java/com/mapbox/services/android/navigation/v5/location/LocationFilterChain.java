@@ -0,0 +1,124 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import timber.log.Timber;
+
+/**
+ * Passes each location through a list of {@link LocationFilter}s in order, stopping at the first
+ * one which drops it, and counts the locations each stage drops.
+ * <p>
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation} runs its chain on the
+ * main thread before a location is queued for the navigation engine, so a dropped location never
+ * costs a route progress calculation.
+ *
+ * @since 0.9.0
+ */
+public class LocationFilterChain {
+
+  private final LocationFilter[] filters;
+  private final long[] droppedCounts;
+  private long processedCount;
+
+  /**
+   * @param filters applied in the given order
+   * @since 0.9.0
+   */
+  public LocationFilterChain(@NonNull List<LocationFilter> filters) {
+    this.filters = filters.toArray(new LocationFilter[filters.size()]);
+    this.droppedCounts = new long[this.filters.length];
+  }
+
+  /**
+   * Creates the chain used when location filtering is enabled in the navigation options. Cheap
+   * checks come first, so the Kalman filter only smooths locations which passed all of them.
+   *
+   * @return a chain of {@link DuplicateTimestampFilter}, {@link JumpFilter}, {@link VelocityFilter}
+   * and {@link KalmanLocationFilter}
+   * @since 0.9.0
+   */
+  public static LocationFilterChain createDefault() {
+    return new LocationFilterChain(Arrays.asList(
+      new DuplicateTimestampFilter(),
+      new JumpFilter(),
+      new VelocityFilter(),
+      new KalmanLocationFilter()
+    ));
+  }
+
+  /**
+   * @param location received from the location engine
+   * @return the location after all stages, or null if a stage dropped it
+   * @since 0.9.0
+   */
+  @Nullable
+  public Location filter(@NonNull Location location) {
+    processedCount++;
+    Location filteredLocation = location;
+    for (int i = 0; i < filters.length; i++) {
+      filteredLocation = filters[i].filter(filteredLocation);
+      if (filteredLocation == null) {
+        droppedCounts[i]++;
+        return null;
+      }
+    }
+    return filteredLocation;
+  }
+
+  /**
+   * Resets every stage and its metrics, called when a navigation session ends.
+   *
+   * @since 0.9.0
+   */
+  public void reset() {
+    for (LocationFilter filter : filters) {
+      filter.reset();
+    }
+    Arrays.fill(droppedCounts, 0);
+    processedCount = 0;
+  }
+
+  /**
+   * @return the stages of this chain, in order
+   * @since 0.9.0
+   */
+  public List<LocationFilter> getFilters() {
+    return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(filters)));
+  }
+
+  /**
+   * @return number of locations passed to {@link #filter(Location)} since the last reset
+   * @since 0.9.0
+   */
+  public long getProcessedCount() {
+    return processedCount;
+  }
+
+  /**
+   * @param index of the stage, as given to the constructor
+   * @return number of locations the stage dropped since the last reset
+   * @since 0.9.0
+   */
+  public long getDroppedCount(int index) {
+    return droppedCounts[index];
+  }
+
+  /**
+   * Logs the number of locations each stage dropped.
+   *
+   * @since 0.9.0
+   */
+  public void logMetrics() {
+    for (int i = 0; i < filters.length; i++) {
+      Timber.d("%s dropped %d of %d locations", filters[i].getClass().getSimpleName(), droppedCounts[i],
+        processedCount);
+    }
+  }
+}
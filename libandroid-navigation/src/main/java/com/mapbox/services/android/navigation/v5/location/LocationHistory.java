@@ -0,0 +1,276 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.IntRange;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-capacity history of the most recent locations, ordered by time.
+ * <p>
+ * Rather than holding on to {@link Location} objects, each value is stored in its own primitive
+ * column of a circular buffer, so adding a location doesn't allocate and the oldest location is
+ * overwritten once the history is full. A location arriving out of order is inserted at its place
+ * in time, which keeps the history sorted so that the locations before or after a given time are
+ * found with a binary search.
+ * <p>
+ * {@link #before(long)} and {@link #after(long)} return read-only views backed by the history rather
+ * than copies, {@link Location} objects are only created when their elements are accessed. A view is
+ * only valid until the history is changed, accessing it afterwards throws a
+ * {@link ConcurrentModificationException}.
+ *
+ * @since 0.9.0
+ */
+public class LocationHistory {
+
+  private static final int HAS_SPEED = 1;
+  private static final int HAS_BEARING = 1 << 1;
+  private static final int HAS_ACCURACY = 1 << 2;
+  private static final int HAS_ALTITUDE = 1 << 3;
+
+  private final int capacity;
+  private final long[] times;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double[] altitudes;
+  private final float[] speeds;
+  private final float[] bearings;
+  private final float[] accuracies;
+  private final byte[] flags;
+  private final String[] providers;
+  private int start;
+  private int size;
+  private int modificationCount;
+
+  public LocationHistory(@IntRange(from = 1) int capacity) {
+    this.capacity = capacity;
+    times = new long[capacity];
+    latitudes = new double[capacity];
+    longitudes = new double[capacity];
+    altitudes = new double[capacity];
+    speeds = new float[capacity];
+    bearings = new float[capacity];
+    accuracies = new float[capacity];
+    flags = new byte[capacity];
+    providers = new String[capacity];
+  }
+
+  /**
+   * Copies the values of the given location into the history, overwriting the oldest location if
+   * the history is full. A location older than the newest one is inserted at its place in time.
+   *
+   * @param location to add
+   * @return true if added, false if the history is full and it's older than every location in it
+   * @since 0.9.0
+   */
+  public boolean add(Location location) {
+    long time = location.getTime();
+    if (size == capacity && time < times[start]) {
+      return false;
+    }
+    // Locations usually arrive in order, so this is the end of the history and nothing is shifted
+    int insertIndex = upperBound(time);
+    if (size == capacity) {
+      start = (start + 1) % capacity;
+      size--;
+      insertIndex--;
+    }
+    for (int i = size; i > insertIndex; i--) {
+      move(physicalIndex(i - 1), physicalIndex(i));
+    }
+    size++;
+    modificationCount++;
+    int index = physicalIndex(insertIndex);
+    times[index] = time;
+    latitudes[index] = location.getLatitude();
+    longitudes[index] = location.getLongitude();
+    altitudes[index] = location.getAltitude();
+    speeds[index] = location.getSpeed();
+    bearings[index] = location.getBearing();
+    accuracies[index] = location.getAccuracy();
+    flags[index] = buildFlags(location);
+    providers[index] = location.getProvider();
+    return true;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    start = 0;
+    size = 0;
+    modificationCount++;
+  }
+
+  /**
+   * @param index from 0 (oldest) to {@link #size()} - 1 (newest)
+   * @return time of the location in milliseconds
+   * @since 0.9.0
+   */
+  public long time(int index) {
+    return times[physicalIndex(checkIndex(index))];
+  }
+
+  /**
+   * Creates a new {@link Location} with the values stored at the given index.
+   *
+   * @param index from 0 (oldest) to {@link #size()} - 1 (newest)
+   * @return the location
+   * @since 0.9.0
+   */
+  public Location get(int index) {
+    int physicalIndex = physicalIndex(checkIndex(index));
+    Location location = new Location(providers[physicalIndex]);
+    location.setTime(times[physicalIndex]);
+    location.setLatitude(latitudes[physicalIndex]);
+    location.setLongitude(longitudes[physicalIndex]);
+    int locationFlags = flags[physicalIndex];
+    if ((locationFlags & HAS_ALTITUDE) != 0) {
+      location.setAltitude(altitudes[physicalIndex]);
+    }
+    if ((locationFlags & HAS_SPEED) != 0) {
+      location.setSpeed(speeds[physicalIndex]);
+    }
+    if ((locationFlags & HAS_BEARING) != 0) {
+      location.setBearing(bearings[physicalIndex]);
+    }
+    if ((locationFlags & HAS_ACCURACY) != 0) {
+      location.setAccuracy(accuracies[physicalIndex]);
+    }
+    return location;
+  }
+
+  /**
+   * Locations strictly before the given time, oldest first.
+   *
+   * @param time in milliseconds
+   * @return read-only view of the locations, valid until the history is changed
+   * @since 0.9.0
+   */
+  public List<Location> before(long time) {
+    return new Slice(0, lowerBound(time));
+  }
+
+  /**
+   * Locations strictly after the given time, oldest first.
+   *
+   * @param time in milliseconds
+   * @return read-only view of the locations, valid until the history is changed
+   * @since 0.9.0
+   */
+  public List<Location> after(long time) {
+    return new Slice(upperBound(time), size);
+  }
+
+  /**
+   * Index of the first location at or after the given time.
+   */
+  private int lowerBound(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (times[physicalIndex(middle)] < time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Index of the first location after the given time.
+   */
+  private int upperBound(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (times[physicalIndex(middle)] <= time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private void move(int fromIndex, int toIndex) {
+    times[toIndex] = times[fromIndex];
+    latitudes[toIndex] = latitudes[fromIndex];
+    longitudes[toIndex] = longitudes[fromIndex];
+    altitudes[toIndex] = altitudes[fromIndex];
+    speeds[toIndex] = speeds[fromIndex];
+    bearings[toIndex] = bearings[fromIndex];
+    accuracies[toIndex] = accuracies[fromIndex];
+    flags[toIndex] = flags[fromIndex];
+    providers[toIndex] = providers[fromIndex];
+  }
+
+  private int physicalIndex(int index) {
+    return (start + index) % capacity;
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index;
+  }
+
+  private static byte buildFlags(Location location) {
+    int locationFlags = 0;
+    if (location.hasSpeed()) {
+      locationFlags |= HAS_SPEED;
+    }
+    if (location.hasBearing()) {
+      locationFlags |= HAS_BEARING;
+    }
+    if (location.hasAccuracy()) {
+      locationFlags |= HAS_ACCURACY;
+    }
+    if (location.hasAltitude()) {
+      locationFlags |= HAS_ALTITUDE;
+    }
+    return (byte) locationFlags;
+  }
+
+  private class Slice extends AbstractList<Location> implements RandomAccess {
+
+    private final int fromIndex;
+    private final int toIndex;
+    private final int expectedModificationCount;
+
+    Slice(int fromIndex, int toIndex) {
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.expectedModificationCount = modificationCount;
+    }
+
+    @Override
+    public Location get(int index) {
+      checkModificationCount();
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+      return LocationHistory.this.get(fromIndex + index);
+    }
+
+    @Override
+    public int size() {
+      checkModificationCount();
+      return toIndex - fromIndex;
+    }
+
+    private void checkModificationCount() {
+      if (modificationCount != expectedModificationCount) {
+        throw new ConcurrentModificationException("The location history changed after the view was created");
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Drops locations with an implausible speed, or with a speed which changed faster than a vehicle can
+ * accelerate or brake since the previous location. The reported speed is used when available,
+ * otherwise the speed is derived from the distance to the previous location.
+ * <p>
+ * The allowed change in speed grows with the time since the last location passed on, so the filter
+ * can't keep dropping locations after a real change in speed.
+ *
+ * @since 0.9.0
+ */
+public class VelocityFilter extends LocationFilter {
+
+  // In meters per second, about 250 km/h
+  private static final double DEFAULT_MAXIMUM_SPEED = 70;
+  // In meters per second squared, about a full emergency stop
+  private static final double DEFAULT_MAXIMUM_ACCELERATION = 10;
+
+  private final double maximumSpeed;
+  private final double maximumAcceleration;
+  private boolean hasLastLocation;
+  private double lastLatitude;
+  private double lastLongitude;
+  private double lastSpeed;
+  private long lastTime;
+
+  /**
+   * Creates a filter for road travel.
+   *
+   * @since 0.9.0
+   */
+  public VelocityFilter() {
+    this(DEFAULT_MAXIMUM_SPEED, DEFAULT_MAXIMUM_ACCELERATION);
+  }
+
+  /**
+   * @param maximumSpeed        in meters per second, the fastest the user is expected to travel
+   * @param maximumAcceleration in meters per second squared, the largest change in speed expected
+   * @since 0.9.0
+   */
+  public VelocityFilter(double maximumSpeed, double maximumAcceleration) {
+    this.maximumSpeed = maximumSpeed;
+    this.maximumAcceleration = maximumAcceleration;
+  }
+
+  @Nullable
+  @Override
+  public Location filter(@NonNull Location location) {
+    double seconds = hasLastLocation ? (location.getTime() - lastTime) / 1000d : 0;
+    double speed;
+    if (location.hasSpeed()) {
+      speed = location.getSpeed();
+    } else if (seconds > 0) {
+      speed = distance(lastLatitude, lastLongitude, location.getLatitude(), location.getLongitude()) / seconds;
+    } else {
+      speed = lastSpeed;
+    }
+    if (speed > maximumSpeed) {
+      return null;
+    }
+    if (seconds > 0 && Math.abs(speed - lastSpeed) / seconds > maximumAcceleration) {
+      return null;
+    }
+    hasLastLocation = true;
+    lastLatitude = location.getLatitude();
+    lastLongitude = location.getLongitude();
+    lastSpeed = speed;
+    lastTime = location.getTime();
+    return location;
+  }
+
+  @Override
+  public void reset() {
+    hasLastLocation = false;
+    lastSpeed = 0;
+  }
+}
@@ -4,8 +4,10 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.VoiceInstructions;
 import com.mapbox.services.android.navigation.v5.instruction.Instruction;
+import com.mapbox.services.android.navigation.v5.route.RouteDiff;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
+import java.util.Iterator;
 import java.util.List;
 
 public class VoiceInstructionMilestone extends Milestone {
@@ -15,6 +17,8 @@ public class VoiceInstructionMilestone extends Milestone {
   private DirectionsRoute currentRoute;
   private LegStep currentStep;
   private List<VoiceInstructions> stepVoiceInstructions;
+  private LegStep announcedManeuverStep;
+  private double announcedDistanceAlongGeometry;
 
   VoiceInstructionMilestone(Builder builder) {
     super(builder);
@@ -22,16 +26,22 @@ public class VoiceInstructionMilestone extends Milestone {
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
-    if (newRoute(routeProgress)) {
+    boolean isNewRoute = newRoute(routeProgress);
+    if (isNewRoute) {
       clearInstructionList();
     }
     if (shouldAddInstructions(routeProgress)) {
       stepVoiceInstructions = routeProgress.currentLegProgress().currentStep().voiceInstructions();
+      if (isNewRoute) {
+        removeAnnouncedInstructions(routeProgress);
+      }
     }
     for (VoiceInstructions voice : stepVoiceInstructions) {
       if (shouldBeVoiced(routeProgress, voice)) {
         announcement = voice.announcement();
         ssmlAnnouncement = voice.ssmlAnnouncement();
+        announcedManeuverStep = routeProgress.currentLegProgress().upComingStep();
+        announcedDistanceAlongGeometry = voice.distanceAlongGeometry();
         stepVoiceInstructions.remove(voice);
         return true;
       }
@@ -83,6 +93,27 @@ public class VoiceInstructionMilestone extends Milestone {
     }
   }
 
+  /**
+   * After a reroute, the new route often leads to the same maneuver the user was already told
+   * about. In that case, instructions for the maneuver which would have been announced before the
+   * last announcement are removed so they aren't repeated.
+   *
+   * @param routeProgress the current route progress on the new route
+   */
+  private void removeAnnouncedInstructions(RouteProgress routeProgress) {
+    LegStep upComingStep = routeProgress.currentLegProgress().upComingStep();
+    if (!RouteDiff.isSameStep(announcedManeuverStep, upComingStep)) {
+      announcedManeuverStep = null;
+      return;
+    }
+    Iterator<VoiceInstructions> iterator = stepVoiceInstructions.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().distanceAlongGeometry() >= announcedDistanceAlongGeometry) {
+        iterator.remove();
+      }
+    }
+  }
+
   /**
    * Looks to see if we have a new step.
    *
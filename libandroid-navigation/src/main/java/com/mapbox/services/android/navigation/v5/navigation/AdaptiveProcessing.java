@@ -0,0 +1,101 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Decides whether milestones and off-route detection run for a location update when
+ * {@link MapboxNavigationOptions#enableAdaptiveProcessing()} is set to true.
+ * <p>
+ * Every update is fully processed within {@link MapboxNavigationOptions#adaptiveProcessingHorizon()}
+ * seconds of travel from the next trigger point, which is the upcoming maneuver or the next voice or
+ * banner instruction of the current step, so instructions are triggered by the same update as without
+ * adaptive processing. Updates are also fully processed after a step, leg or route change, while the
+ * user is off-route and if the location has no speed. Anywhere else, the stages only run once every
+ * {@link MapboxNavigationOptions#adaptiveProcessingInterval()} seconds.
+ * <p>
+ * Times are taken from the locations, so replaying a session trace makes the same decisions.
+ */
+class AdaptiveProcessing {
+
+  private final double interval;
+  private final double horizon;
+  private final double maneuverZoneRadius;
+  private RouteProgress lastFullRouteProgress;
+  private long lastFullUpdateTime;
+
+  AdaptiveProcessing(MapboxNavigationOptions options) {
+    this.interval = options.adaptiveProcessingInterval();
+    this.horizon = options.adaptiveProcessingHorizon();
+    this.maneuverZoneRadius = options.maneuverZoneRadius();
+  }
+
+  /**
+   * @param location      of the update
+   * @param routeProgress calculated for the location
+   * @param userOffRoute  result of the last off-route detection
+   * @return true if all stages should run for this update
+   */
+  boolean isFullUpdate(Location location, RouteProgress routeProgress, boolean userOffRoute) {
+    boolean isFullUpdate = userOffRoute
+      || !isSameStep(lastFullRouteProgress, routeProgress)
+      || location.getTime() - lastFullUpdateTime >= interval * 1000
+      || isNearTriggerPoint(location, routeProgress);
+    if (isFullUpdate) {
+      lastFullRouteProgress = routeProgress;
+      lastFullUpdateTime = location.getTime();
+    }
+    return isFullUpdate;
+  }
+
+  private boolean isNearTriggerPoint(Location location, RouteProgress routeProgress) {
+    if (!location.hasSpeed()) {
+      return true;
+    }
+    double distanceToTriggerPoint = distanceToNextTriggerPoint(routeProgress);
+    return distanceToTriggerPoint <= maneuverZoneRadius
+      || distanceToTriggerPoint <= location.getSpeed() * horizon;
+  }
+
+  /**
+   * Instructions are triggered once the step distance remaining drops below their distance along
+   * the step geometry, the maneuver once it reaches zero.
+   */
+  static double distanceToNextTriggerPoint(RouteProgress routeProgress) {
+    double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    LegStep currentStep = routeProgress.currentLegProgress().currentStep();
+    double nextTriggerDistance = 0;
+    if (currentStep.voiceInstructions() != null) {
+      for (VoiceInstructions voiceInstructions : currentStep.voiceInstructions()) {
+        nextTriggerDistance = nextTriggerDistance(nextTriggerDistance,
+          voiceInstructions.distanceAlongGeometry(), stepDistanceRemaining);
+      }
+    }
+    if (currentStep.bannerInstructions() != null) {
+      for (BannerInstructions bannerInstructions : currentStep.bannerInstructions()) {
+        nextTriggerDistance = nextTriggerDistance(nextTriggerDistance,
+          bannerInstructions.distanceAlongGeometry(), stepDistanceRemaining);
+      }
+    }
+    return stepDistanceRemaining - nextTriggerDistance;
+  }
+
+  private static double nextTriggerDistance(double nextTriggerDistance, Double triggerDistance,
+                                            double stepDistanceRemaining) {
+    if (triggerDistance != null && triggerDistance < stepDistanceRemaining) {
+      return Math.max(nextTriggerDistance, triggerDistance);
+    }
+    return nextTriggerDistance;
+  }
+
+  private static boolean isSameStep(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return previousRouteProgress != null
+      && previousRouteProgress.directionsRoute() == routeProgress.directionsRoute()
+      && previousRouteProgress.legIndex() == routeProgress.legIndex()
+      && previousRouteProgress.currentLegProgress().stepIndex() == routeProgress.currentLegProgress().stepIndex();
+  }
+}
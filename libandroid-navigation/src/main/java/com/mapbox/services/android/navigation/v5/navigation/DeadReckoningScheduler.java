@@ -0,0 +1,168 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressPredictor;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import timber.log.Timber;
+
+/**
+ * Keeps the route progress moving while no locations arrive, for example in a tunnel, when
+ * {@link MapboxNavigationOptions#enableDeadReckoning()} is set to true.
+ * <p>
+ * If no location arrives within {@link MapboxNavigationOptions#deadReckoningTimeout()} seconds, a
+ * location is predicted along the route geometry at the last known speed once per second and
+ * processed like any other location, so milestones keep firing. Predictions never pass the
+ * upcoming maneuver, as it isn't known whether the user takes it, and stop after
+ * {@link NavigationConstants#DEAD_RECKONING_MAXIMUM_DURATION} seconds, when the user goes off-route or
+ * as soon as a real location arrives.
+ * <p>
+ * The distances used to detect moving away from the maneuver are then cleared, so a difference
+ * between the prediction and the real location isn't mistaken for going off-route. Real locations
+ * are also {@link #reconcile(Location) reconciled} with the last prediction: they start out where
+ * the prediction had placed the user and the difference is blended out over
+ * {@code RECONCILIATION_DURATION}, so the progress doesn't jump, for example back after the
+ * prediction overshot a slower user.
+ * <p>
+ * Only predicted from real locations, never from its own predictions. Only accessed from the main
+ * thread.
+ */
+class DeadReckoningScheduler {
+
+  // Provider of the predicted locations, so their route progress isn't predicted from again
+  static final String PROVIDER = "dead_reckoning";
+  static final long UPDATE_INTERVAL = 1000;
+  // In meters per second, below this the user is assumed to have stopped
+  private static final double MINIMUM_SPEED = 1;
+  // In milliseconds, how long the difference between the last prediction and real locations is blended out
+  private static final long RECONCILIATION_DURATION = 3000;
+  // In meters, differences larger than this are jumped instead of blended out
+  private static final double MAXIMUM_RECONCILIATION = 50;
+
+  private final Handler handler;
+  private final long timeout;
+  private final long maximumDuration;
+  private final Callback callback;
+  private final ProgressPredictor progressPredictor;
+  private final Location lastPrediction = new Location(PROVIDER);
+  private long lastLocationTime;
+  private long reconciliationStartTime = -1;
+  private boolean isReconciliationOffsetKnown;
+  private double latitudeOffset;
+  private double longitudeOffset;
+  private boolean isSpeedKnown;
+  private boolean isActive;
+
+  private final Runnable updateRunnable = new Runnable() {
+    @Override
+    public void run() {
+      update();
+    }
+  };
+
+  DeadReckoningScheduler(Handler handler, MapboxNavigationOptions options, Callback callback) {
+    this.handler = handler;
+    this.timeout = options.deadReckoningTimeout() * 1000L;
+    this.maximumDuration = NavigationConstants.DEAD_RECKONING_MAXIMUM_DURATION * 1000L;
+    this.callback = callback;
+    this.progressPredictor = new ProgressPredictor(maximumDuration, true);
+  }
+
+  /**
+   * Called with every real location received, before it's processed.
+   *
+   * @return true if locations were being predicted until now
+   */
+  boolean onLocationReceived() {
+    boolean wasActive = isActive;
+    if (wasActive) {
+      Timber.d("Dead reckoning ended after %d ms", SystemClock.elapsedRealtime() - lastLocationTime);
+      reconciliationStartTime = SystemClock.elapsedRealtime();
+      isReconciliationOffsetKnown = false;
+    }
+    isActive = false;
+    lastLocationTime = SystemClock.elapsedRealtime();
+    handler.removeCallbacks(updateRunnable);
+    handler.postDelayed(updateRunnable, timeout);
+    return wasActive;
+  }
+
+  /**
+   * Called with every real location after it was filtered, right before it's processed.
+   *
+   * @return the location shifted towards the last prediction, by less the longer ago predictions
+   * ended, or the location itself once the difference has been blended out
+   */
+  Location reconcile(Location location) {
+    if (reconciliationStartTime < 0) {
+      return location;
+    }
+    long elapsed = SystemClock.elapsedRealtime() - reconciliationStartTime;
+    if (!isReconciliationOffsetKnown) {
+      if (lastPrediction.distanceTo(location) > MAXIMUM_RECONCILIATION) {
+        elapsed = RECONCILIATION_DURATION;
+      }
+      latitudeOffset = lastPrediction.getLatitude() - location.getLatitude();
+      longitudeOffset = lastPrediction.getLongitude() - location.getLongitude();
+      isReconciliationOffsetKnown = true;
+    }
+    if (elapsed >= RECONCILIATION_DURATION) {
+      reconciliationStartTime = -1;
+      return location;
+    }
+    double weight = 1 - (double) elapsed / RECONCILIATION_DURATION;
+    Location reconciledLocation = new Location(location);
+    reconciledLocation.setLatitude(location.getLatitude() + latitudeOffset * weight);
+    reconciledLocation.setLongitude(location.getLongitude() + longitudeOffset * weight);
+    return reconciledLocation;
+  }
+
+  void onRouteProgress(Location location, RouteProgress routeProgress) {
+    if (PROVIDER.equals(location.getProvider())) {
+      return;
+    }
+    progressPredictor.update(location, routeProgress, lastLocationTime);
+    isSpeedKnown = location.hasSpeed() && location.getSpeed() >= MINIMUM_SPEED;
+  }
+
+  /**
+   * Stops predicting until the route progress of the next real location, called when the user
+   * goes off-route and when navigation ends.
+   */
+  void reset() {
+    progressPredictor.reset();
+    isActive = false;
+    reconciliationStartTime = -1;
+    handler.removeCallbacks(updateRunnable);
+  }
+
+  boolean isActive() {
+    return isActive;
+  }
+
+  private void update() {
+    long elapsedRealtime = SystemClock.elapsedRealtime();
+    if (!isSpeedKnown || elapsedRealtime - lastLocationTime > maximumDuration) {
+      isActive = false;
+      return;
+    }
+    Location location = new Location(PROVIDER);
+    if (!progressPredictor.predictLocation(elapsedRealtime, location)) {
+      isActive = false;
+      return;
+    }
+    location.setProvider(PROVIDER);
+    lastPrediction.set(location);
+    isActive = true;
+    callback.onDeadReckonedLocation(location);
+    handler.postDelayed(updateRunnable, UPDATE_INTERVAL);
+  }
+
+  interface Callback {
+
+    void onDeadReckonedLocation(Location location);
+  }
+}
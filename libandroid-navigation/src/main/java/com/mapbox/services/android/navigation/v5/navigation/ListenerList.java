@@ -0,0 +1,121 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Copy-on-write list of listeners, each optionally registered with the {@link Executor} it should
+ * be delivered on.
+ * <p>
+ * Adding and removing listeners copies the array under a lock, while {@link #registrations()}
+ * returns the current array without locking or allocating. Dispatching iterates over a snapshot,
+ * so listeners can be added or removed from any thread, including from within a callback, without
+ * affecting a dispatch already in progress. The returned array must not be modified.
+ *
+ * @param <T> type of listener
+ */
+class ListenerList<T> {
+
+  private static final Registration[] EMPTY = new Registration[0];
+
+  private final Object lock = new Object();
+  private volatile Registration[] registrations = EMPTY;
+
+  /**
+   * @return false if the listener was already added
+   */
+  boolean add(@NonNull T listener, @Nullable Executor executor) {
+    synchronized (lock) {
+      if (indexOf(listener) >= 0) {
+        return false;
+      }
+      Registration[] current = registrations;
+      Registration[] updated = new Registration[current.length + 1];
+      System.arraycopy(current, 0, updated, 0, current.length);
+      updated[current.length] = new Registration<>(listener, executor);
+      registrations = updated;
+      return true;
+    }
+  }
+
+  /**
+   * @return false if the listener wasn't found
+   */
+  boolean remove(@NonNull T listener) {
+    synchronized (lock) {
+      int index = indexOf(listener);
+      if (index < 0) {
+        return false;
+      }
+      Registration[] current = registrations;
+      Registration[] updated = new Registration[current.length - 1];
+      System.arraycopy(current, 0, updated, 0, index);
+      System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+      registrations = updated;
+      return true;
+    }
+  }
+
+  void clear() {
+    synchronized (lock) {
+      registrations = EMPTY;
+    }
+  }
+
+  /**
+   * Delivers the event to every listener, on the thread calling this method or on the executor the
+   * listener was added with.
+   */
+  void dispatch(@NonNull final Event<T> event) {
+    for (Registration<T> registration : registrations()) {
+      final T listener = registration.listener;
+      if (registration.executor == null) {
+        event.deliver(listener);
+      } else {
+        registration.executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            event.deliver(listener);
+          }
+        });
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  Registration<T>[] registrations() {
+    return registrations;
+  }
+
+  private int indexOf(T listener) {
+    Registration[] current = registrations;
+    for (int i = 0; i < current.length; i++) {
+      if (current[i].listener.equals(listener)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Calls the listener method for one event.
+   */
+  interface Event<T> {
+
+    void deliver(T listener);
+  }
+
+  static final class Registration<T> {
+
+    final T listener;
+    @Nullable
+    final Executor executor;
+
+    Registration(T listener, @Nullable Executor executor) {
+      this.listener = listener;
+      this.executor = executor;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+import com.mapbox.services.android.telemetry.location.LocationEnginePriority;
+
+import timber.log.Timber;
+
+/**
+ * Adjusts how often the {@link LocationEngine} delivers locations to the route progress, when
+ * {@link MapboxNavigationOptions#enableLocationUpdateScheduling()} is set to true.
+ * <p>
+ * Within {@link MapboxNavigationOptions#locationUpdateHorizon()} seconds of travel from the next
+ * trigger point, which is the upcoming maneuver or the next voice or banner instruction, locations
+ * are requested as often as possible. Further away, the interval is doubled in steps up to
+ * {@link MapboxNavigationOptions#maximumLocationUpdateInterval()}, as long as the next location still
+ * arrives before the trigger point is within the horizon. Locations without speed and going off-route
+ * return to the full rate, and once the user has arrived, locations are requested at the maximum
+ * interval with balanced power accuracy.
+ * <p>
+ * The engine is only changed when the interval or priority changes, and is restored to its previous
+ * settings once navigation ends. Only accessed from the main thread.
+ */
+class LocationUpdateScheduler {
+
+  static final int FULL_RATE_INTERVAL = 0;
+  static final int FASTEST_INTERVAL = 1000;
+  // Below this speed in meters per second, the time to the next trigger point isn't meaningful
+  private static final double MINIMUM_SPEED = 1;
+
+  private final double horizon;
+  private final int maximumInterval;
+  private LocationEngine locationEngine;
+  private int originalPriority;
+  private int originalInterval;
+  private int originalFastestInterval;
+  private int currentPriority;
+  private int currentInterval = -1;
+  private boolean userOffRoute;
+
+  LocationUpdateScheduler(MapboxNavigationOptions options) {
+    this.horizon = options.locationUpdateHorizon();
+    this.maximumInterval = options.maximumLocationUpdateInterval() * 1000;
+  }
+
+  /**
+   * Restores the previous engine and starts scheduling the given one.
+   */
+  void setLocationEngine(LocationEngine locationEngine) {
+    if (this.locationEngine == locationEngine) {
+      return;
+    }
+    reset();
+    this.locationEngine = locationEngine;
+    originalPriority = locationEngine.getPriority();
+    originalInterval = locationEngine.getInterval();
+    originalFastestInterval = locationEngine.getFastestInterval();
+  }
+
+  void onRouteProgress(Location location, RouteProgress routeProgress) {
+    if (routeProgress.currentLegProgress().upComingStep() == null) {
+      update(LocationEnginePriority.BALANCED_POWER_ACCURACY, maximumInterval);
+    } else {
+      update(LocationEnginePriority.HIGH_ACCURACY, calculateInterval(location, routeProgress));
+    }
+  }
+
+  void onUserOffRoute(boolean userOffRoute) {
+    this.userOffRoute = userOffRoute;
+    if (userOffRoute) {
+      update(LocationEnginePriority.HIGH_ACCURACY, FULL_RATE_INTERVAL);
+    }
+  }
+
+  /**
+   * Restores the settings the engine had before it was scheduled.
+   */
+  void reset() {
+    if (locationEngine != null && currentInterval != -1) {
+      apply(originalPriority, originalInterval, originalFastestInterval);
+    }
+    currentInterval = -1;
+    locationEngine = null;
+  }
+
+  /**
+   * @return the interval in milliseconds, the largest power of two seconds leaving enough time to
+   * return to the full rate before the next trigger point is within the horizon
+   */
+  int calculateInterval(Location location, RouteProgress routeProgress) {
+    if (userOffRoute || !location.hasSpeed() || location.getSpeed() < MINIMUM_SPEED) {
+      return FULL_RATE_INTERVAL;
+    }
+    double secondsToTriggerPoint = AdaptiveProcessing.distanceToNextTriggerPoint(routeProgress)
+      / location.getSpeed();
+    double spareMilliseconds = Math.min((secondsToTriggerPoint - horizon) * 1000, maximumInterval);
+    int interval = FULL_RATE_INTERVAL;
+    for (int candidate = FASTEST_INTERVAL * 2; candidate <= spareMilliseconds; candidate *= 2) {
+      interval = candidate;
+    }
+    return interval;
+  }
+
+  private void update(int priority, int interval) {
+    if (locationEngine == null || (priority == currentPriority && interval == currentInterval)) {
+      return;
+    }
+    Timber.d("Location update interval %d ms, priority %d", interval, priority);
+    currentPriority = priority;
+    currentInterval = interval;
+    apply(priority, interval, FASTEST_INTERVAL);
+  }
+
+  @SuppressWarnings("MissingPermission")
+  private void apply(int priority, int interval, int fastestInterval) {
+    locationEngine.setPriority(priority);
+    locationEngine.setInterval(interval);
+    locationEngine.setFastestInterval(fastestInterval);
+    // The settings only take effect with a new request
+    if (locationEngine.isConnected()) {
+      locationEngine.requestLocationUpdates();
+    }
+  }
+}
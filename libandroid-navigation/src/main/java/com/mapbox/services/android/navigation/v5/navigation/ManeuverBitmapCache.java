@@ -0,0 +1,89 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.DrawableRes;
+import android.support.v7.content.res.AppCompatResources;
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.utils.ManeuverUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maneuver icons rendered into bitmaps for the navigation notification.
+ * <p>
+ * The icons are vector drawables, which the system can't inflate for a notification on older
+ * Android versions, and which would otherwise be inflated again with every notification update.
+ * When a route starts, the icons of all its maneuvers are rendered once and kept until the route
+ * changes.
+ */
+class ManeuverBitmapCache {
+
+  private final Context context;
+  private final int size;
+  private final SparseArray<Bitmap> bitmaps = new SparseArray<>();
+
+  ManeuverBitmapCache(Context context, int size) {
+    this.context = context;
+    this.size = size;
+  }
+
+  /**
+   * Renders the icons of every maneuver of the route, dropping icons only used by previous routes.
+   *
+   * @param route to render the maneuver icons of
+   */
+  void preload(DirectionsRoute route) {
+    Set<Integer> routeResources = new HashSet<>();
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        routeResources.add(ManeuverUtils.getManeuverResource(step));
+      }
+    }
+    for (int i = bitmaps.size() - 1; i >= 0; i--) {
+      if (!routeResources.contains(bitmaps.keyAt(i))) {
+        bitmaps.removeAt(i);
+      }
+    }
+    for (int resource : routeResources) {
+      get(resource);
+    }
+  }
+
+  /**
+   * Returns the rendered icon, rendering it first if needed.
+   *
+   * @param resource of the maneuver icon
+   * @return the rendered icon
+   */
+  Bitmap get(@DrawableRes int resource) {
+    Bitmap bitmap = bitmaps.get(resource);
+    if (bitmap == null) {
+      bitmap = render(resource);
+      bitmaps.put(resource, bitmap);
+    }
+    return bitmap;
+  }
+
+  int size() {
+    return bitmaps.size();
+  }
+
+  private Bitmap render(@DrawableRes int resource) {
+    Drawable drawable = AppCompatResources.getDrawable(context, resource);
+    Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+    if (drawable != null) {
+      Canvas canvas = new Canvas(bitmap);
+      drawable.setBounds(0, 0, size, size);
+      drawable.draw(canvas);
+    }
+    return bitmap;
+  }
+}
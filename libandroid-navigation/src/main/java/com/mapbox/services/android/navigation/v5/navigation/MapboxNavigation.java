@@ -4,12 +4,14 @@ import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
 import android.content.ServiceConnection;
+import android.location.Location;
 import android.os.Build;
 import android.os.IBinder;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.location.LocationFilterChain;
 import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
@@ -18,9 +20,17 @@ import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEven
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
+import com.mapbox.services.android.navigation.v5.route.DirectionsRouteProvider;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.RerouteGovernor;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRoute;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteListener;
+import com.mapbox.services.android.navigation.v5.route.RouteProvider;
+import com.mapbox.services.android.navigation.v5.route.ScoredFasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.SpeculativeRouteEngine;
+import com.mapbox.services.android.navigation.v5.route.offline.OfflineRouteProvider;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
@@ -30,7 +40,9 @@ import com.mapbox.services.android.telemetry.location.LocationEnginePriority;
 import com.mapbox.services.android.telemetry.location.LostLocationEngine;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import retrofit2.Callback;
 import timber.log.Timber;
@@ -50,14 +62,17 @@ public class MapboxNavigation implements ServiceConnection {
 
   private NavigationEventDispatcher navigationEventDispatcher;
   private NavigationService navigationService;
-  private DirectionsRoute directionsRoute;
-  private MapboxNavigationOptions options;
+  // Replaced as a whole, so the navigation thread reads a consistent configuration without locking
+  private volatile NavigationConfiguration configuration;
+  private final Object configurationLock = new Object();
   private LocationEngine locationEngine = null;
-  private List<Milestone> milestones;
+  // Only used on the main thread, so it isn't part of the configuration
+  private LocationFilterChain locationFilterChain;
   private final String accessToken;
-  private OffRoute offRouteEngine;
-  private FasterRoute fasterRouteEngine;
-  private Snap snapEngine;
+  private SpeculativeRouteEngine speculativeRouteEngine;
+  private RerouteGovernor rerouteGovernor;
+  private ReturnToRoute returnToRoute;
+  private RouteProvider routeProvider;
   private Context context;
   private boolean isBound;
   private NavigationTelemetry navigationTelemetry = null;
@@ -102,7 +117,7 @@ public class MapboxNavigation implements ServiceConnection {
                           @NonNull MapboxNavigationOptions options) {
     this.accessToken = accessToken;
     this.context = context;
-    this.options = options;
+    this.configuration = NavigationConfiguration.builder(options).build();
     initialize();
   }
 
@@ -112,7 +127,7 @@ public class MapboxNavigation implements ServiceConnection {
                    LocationEngine locationEngine) {
     this.accessToken = accessToken;
     this.context = context;
-    this.options = options;
+    this.configuration = NavigationConfiguration.builder(options).build();
     this.navigationTelemetry = navigationTelemetry;
     this.locationEngine = locationEngine;
     initialize();
@@ -123,7 +138,7 @@ public class MapboxNavigation implements ServiceConnection {
                    LocationEngine locationEngine) {
     this.context = context;
     this.accessToken = accessToken;
-    this.options = MapboxNavigationOptions.builder().build();
+    this.configuration = NavigationConfiguration.builder(MapboxNavigationOptions.builder().build()).build();
     this.navigationTelemetry = navigationTelemetry;
     this.locationEngine = locationEngine;
     initialize();
@@ -135,6 +150,7 @@ public class MapboxNavigation implements ServiceConnection {
    * to prevent users from removing it.
    */
   private void initialize() {
+    MapboxNavigationOptions options = options();
     // Initialize event dispatcher and add internal listeners
     navigationEventDispatcher = new NavigationEventDispatcher();
 
@@ -142,19 +158,29 @@ public class MapboxNavigation implements ServiceConnection {
     initializeTelemetry();
 
     // Create and add default milestones if enabled.
-    milestones = new ArrayList<>();
     if (options.defaultMilestonesEnabled()) {
       addMilestone(new VoiceInstructionMilestone.Builder().setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build());
       addMilestone(new BannerInstructionMilestone.Builder().setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build());
     }
     if (options.snapToRoute()) {
-      snapEngine = new SnapToRoute();
+      setSnapEngine(new SnapToRoute());
     }
     if (options.enableOffRouteDetection()) {
-      offRouteEngine = new OffRouteDetector();
+      setOffRouteEngine(new OffRouteDetector());
     }
-    if (options().enableFasterRouteDetection()) {
-      fasterRouteEngine = new FasterRouteDetector();
+    if (options.enableFasterRouteDetection()) {
+      setFasterRouteEngine(new FasterRouteDetector());
+    }
+    if (options.enableLocationFiltering()) {
+      locationFilterChain = LocationFilterChain.createDefault();
+    }
+    routeProvider = new DirectionsRouteProvider();
+    if (options.enableSpeculativeRouting()) {
+      speculativeRouteEngine = new SpeculativeRouteEngine(options);
+    }
+    rerouteGovernor = new RerouteGovernor(options);
+    if (options.enableReturnToRoute()) {
+      returnToRoute = new ReturnToRoute(options);
     }
   }
 
@@ -216,6 +242,11 @@ public class MapboxNavigation implements ServiceConnection {
     removeProgressChangeListener(null);
     removeMilestoneEventListener(null);
     removeOffRouteListener(null);
+    removeReturnToRouteListener(null);
+    removeScoredFasterRouteListener(null);
+    if (routeProvider instanceof OfflineRouteProvider) {
+      ((OfflineRouteProvider) routeProvider).shutdown();
+    }
   }
 
   // Public APIs
@@ -235,11 +266,16 @@ public class MapboxNavigation implements ServiceConnection {
    * @since 0.4.0
    */
   public void addMilestone(@NonNull Milestone milestone) {
-    if (milestones.contains(milestone)) {
-      Timber.w("Milestone has already been added to the stack.");
-      return;
+    synchronized (configurationLock) {
+      List<Milestone> milestones = configuration.milestones();
+      if (milestones.contains(milestone)) {
+        Timber.w("Milestone has already been added to the stack.");
+        return;
+      }
+      List<Milestone> updatedMilestones = new ArrayList<>(milestones);
+      updatedMilestones.add(milestone);
+      updateMilestones(updatedMilestones);
     }
-    milestones.add(milestone);
   }
 
   /**
@@ -252,14 +288,19 @@ public class MapboxNavigation implements ServiceConnection {
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   public void removeMilestone(@Nullable Milestone milestone) {
-    if (milestone == null) {
-      milestones.clear();
-      return;
-    } else if (!milestones.contains(milestone)) {
-      Timber.w("Milestone attempting to remove does not exist in stack.");
-      return;
+    synchronized (configurationLock) {
+      List<Milestone> milestones = configuration.milestones();
+      if (milestone == null) {
+        updateMilestones(new ArrayList<Milestone>());
+        return;
+      } else if (!milestones.contains(milestone)) {
+        Timber.w("Milestone attempting to remove does not exist in stack.");
+        return;
+      }
+      List<Milestone> updatedMilestones = new ArrayList<>(milestones);
+      updatedMilestones.remove(milestone);
+      updateMilestones(updatedMilestones);
     }
-    milestones.remove(milestone);
   }
 
   /**
@@ -272,7 +313,7 @@ public class MapboxNavigation implements ServiceConnection {
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   public void removeMilestone(int milestoneIdentifier) {
-    for (Milestone milestone : milestones) {
+    for (Milestone milestone : configuration.milestones()) {
       if (milestoneIdentifier == milestone.getIdentifier()) {
         removeMilestone(milestone);
         return;
@@ -354,12 +395,14 @@ public class MapboxNavigation implements ServiceConnection {
    * @since 0.1.0
    */
   public void startNavigation(@NonNull DirectionsRoute directionsRoute) {
-    ValidationUtils.validDirectionsRoute(directionsRoute, options.defaultMilestonesEnabled());
-    this.directionsRoute = directionsRoute;
+    ValidationUtils.validDirectionsRoute(directionsRoute, options().defaultMilestonesEnabled());
+    setRoute(directionsRoute);
     Timber.d("MapboxNavigation startNavigation called.");
     if (!isBound) {
       // Begin telemetry session
       navigationTelemetry.startSession(directionsRoute);
+      // Each session gets its own reroute request budget
+      rerouteGovernor.reset();
 
       // Start the NavigationService
       Intent intent = getServiceIntent();
@@ -400,6 +443,29 @@ public class MapboxNavigation implements ServiceConnection {
       isBound = false;
       navigationEventDispatcher.onNavigationEvent(false);
     }
+    rerouteGovernor.reset();
+  }
+
+  /**
+   * Processes a batch of locations, for location providers which deliver several locations at
+   * once to save power. The locations are processed in one pass on the navigation thread: the route
+   * progress advances through all of them, milestones are checked with each of them so none are
+   * missed, and progress change listeners receive only the route progress of the last location.
+   * <p>
+   * The locations should be in the order they were recorded. Locations received from the location
+   * engine while a batch is submitted are processed individually as usual. Batches submitted
+   * before the navigation service has started are ignored.
+   * </p>
+   *
+   * @param locations recorded since the previous location or batch, oldest first
+   * @since 0.9.0
+   */
+  public void submitLocationBatch(@NonNull List<Location> locations) {
+    if (!isServiceAvailable()) {
+      Timber.w("Navigation hasn't started yet, the location batch is ignored.");
+      return;
+    }
+    navigationService.onLocationBatch(locations);
   }
 
   // Listeners
@@ -424,6 +490,27 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addMilestoneEventListener(milestoneEventListener);
   }
 
+  /**
+   * This adds a new milestone event listener like {@link #addMilestoneEventListener(MilestoneEventListener)},
+   * which is invoked on the given executor instead of the main thread, for example to prepare voice
+   * instructions without blocking the UI.
+   * <p>
+   * Events are delivered in the order they occur only if the executor runs its tasks in order.
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param milestoneEventListener an implementation of {@code MilestoneEventListener} which hasn't
+   *                               already been added
+   * @param executor               invoking the listener
+   * @see MilestoneEventListener
+   * @since 0.9.0
+   */
+  public void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener,
+                                        @NonNull Executor executor) {
+    navigationEventDispatcher.addMilestoneEventListener(milestoneEventListener, executor);
+  }
+
   /**
    * This removes a specific milestone event listener by passing in the instance of it or you can
    * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -460,6 +547,40 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addProgressChangeListener(progressChangeListener);
   }
 
+  /**
+   * This adds a new progress change listener like {@link #addProgressChangeListener(ProgressChangeListener)},
+   * which is invoked on the given executor instead of the main thread, for example to process each
+   * route progress without blocking the UI.
+   * <p>
+   * Events are delivered in the order they occur only if the executor runs its tasks in order.
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param progressChangeListener an implementation of {@code ProgressChangeListener} which hasn't
+   *                               already been added
+   * @param executor               invoking the listener
+   * @see ProgressChangeListener
+   * @since 0.9.0
+   */
+  public void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener,
+                                        @NonNull Executor executor) {
+    navigationEventDispatcher.addProgressChangeListener(progressChangeListener, executor);
+  }
+
+  /**
+   * Creates a stream of the route progress updates, for consumers which should receive them less
+   * often than with every location update or on another thread than the main thread. Subscribing to
+   * the stream adds a progress change listener, which is removed when unsubscribing.
+   *
+   * @return a new stream of all route progress updates
+   * @see RouteProgressStream
+   * @since 0.9.0
+   */
+  public RouteProgressStream routeProgressStream() {
+    return new RouteProgressStream(this);
+  }
+
   /**
    * This removes a specific progress change listener by passing in the instance of it or you can
    * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -498,6 +619,27 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addOffRouteListener(offRouteListener);
   }
 
+  /**
+   * This adds a new off route listener like {@link #addOffRouteListener(OffRouteListener)}, which is
+   * invoked on the given executor instead of the main thread, for example to request a new route
+   * without blocking the UI.
+   * <p>
+   * Events are delivered in the order they occur only if the executor runs its tasks in order.
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param offRouteListener an implementation of {@code OffRouteListener} which hasn't
+   *                         already been added
+   * @param executor         invoking the listener
+   * @see OffRouteListener
+   * @since 0.9.0
+   */
+  public void addOffRouteListener(@NonNull OffRouteListener offRouteListener,
+                                  @NonNull Executor executor) {
+    navigationEventDispatcher.addOffRouteListener(offRouteListener, executor);
+  }
+
   /**
    * This removes a specific off route listener by passing in the instance of it or you can pass in
    * null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -571,6 +713,27 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addFasterRouteListener(fasterRouteListener);
   }
 
+  /**
+   * This adds a new faster route listener like {@link #addFasterRouteListener(FasterRouteListener)}, which
+   * is invoked on the given executor instead of the main thread, for example to compare the faster
+   * route without blocking the UI.
+   * <p>
+   * Events are delivered in the order they occur only if the executor runs its tasks in order.
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param fasterRouteListener an implementation of {@code FasterRouteListener} which hasn't
+   *                            already been added
+   * @param executor            invoking the listener
+   * @see FasterRouteListener
+   * @since 0.9.0
+   */
+  public void addFasterRouteListener(@NonNull FasterRouteListener fasterRouteListener,
+                                     @NonNull Executor executor) {
+    navigationEventDispatcher.addFasterRouteListener(fasterRouteListener, executor);
+  }
+
   /**
    * This removes a specific faster route listener by passing in the instance of it or you can pass in
    * null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -590,6 +753,124 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeFasterRouteListener(fasterRouteListener);
   }
 
+  /**
+   * This adds a new scored faster route listener which is invoked along with the
+   * {@link FasterRouteListener}s when a faster route has been found, with the score the route was
+   * chosen by, for example to only offer routes which are a lot better than the current one.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param scoredFasterRouteListener an implementation of {@code ScoredFasterRouteListener}
+   * @see ScoredFasterRouteListener
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addScoredFasterRouteListener(@NonNull ScoredFasterRouteListener scoredFasterRouteListener) {
+    navigationEventDispatcher.addScoredFasterRouteListener(scoredFasterRouteListener, null);
+  }
+
+  /**
+   * This adds a new scored faster route listener like
+   * {@link #addScoredFasterRouteListener(ScoredFasterRouteListener)}, which is invoked on the given
+   * executor instead of the main thread.
+   * <p>
+   * Events are delivered in the order they occur only if the executor runs its tasks in order.
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param scoredFasterRouteListener an implementation of {@code ScoredFasterRouteListener} which
+   *                                  hasn't already been added
+   * @param executor                  invoking the listener
+   * @see ScoredFasterRouteListener
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addScoredFasterRouteListener(@NonNull ScoredFasterRouteListener scoredFasterRouteListener,
+                                           @NonNull Executor executor) {
+    navigationEventDispatcher.addScoredFasterRouteListener(scoredFasterRouteListener, executor);
+  }
+
+  /**
+   * This removes a specific scored faster route listener by passing in the instance of it or you
+   * can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param scoredFasterRouteListener an implementation of {@code ScoredFasterRouteListener} which
+   *                                  currently exist in the scored faster route listeners list
+   * @see ScoredFasterRouteListener
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeScoredFasterRouteListener(@Nullable ScoredFasterRouteListener scoredFasterRouteListener) {
+    navigationEventDispatcher.removeScoredFasterRouteListener(scoredFasterRouteListener);
+  }
+
+  /**
+   * This adds a new return to route listener which is invoked while the user is off-route and
+   * {@link MapboxNavigationOptions#enableReturnToRoute()} is set to true, with guidance back to the
+   * route. Meanwhile, the {@link OffRouteListener} is only invoked once a new route should be
+   * requested instead.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param returnToRouteListener an implementation of {@code ReturnToRouteListener}
+   * @see ReturnToRouteListener
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addReturnToRouteListener(@NonNull ReturnToRouteListener returnToRouteListener) {
+    navigationEventDispatcher.addReturnToRouteListener(returnToRouteListener);
+  }
+
+  /**
+   * This adds a new return to route listener like {@link #addReturnToRouteListener(ReturnToRouteListener)},
+   * which is invoked on the given executor instead of the main thread.
+   * <p>
+   * Events are delivered in the order they occur only if the executor runs its tasks in order.
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param returnToRouteListener an implementation of {@code ReturnToRouteListener} which hasn't
+   *                              already been added
+   * @param executor              invoking the listener
+   * @see ReturnToRouteListener
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addReturnToRouteListener(@NonNull ReturnToRouteListener returnToRouteListener,
+                                       @NonNull Executor executor) {
+    navigationEventDispatcher.addReturnToRouteListener(returnToRouteListener, executor);
+  }
+
+  /**
+   * This removes a specific return to route listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param returnToRouteListener an implementation of {@code ReturnToRouteListener} which currently
+   *                              exist in the returnToRouteListeners list
+   * @see ReturnToRouteListener
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeReturnToRouteListener(@Nullable ReturnToRouteListener returnToRouteListener) {
+    navigationEventDispatcher.removeReturnToRouteListener(returnToRouteListener);
+  }
+
   // Custom engines
 
   /**
@@ -609,7 +890,9 @@ public class MapboxNavigation implements ServiceConnection {
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   public void setSnapEngine(@NonNull Snap snapEngine) {
-    this.snapEngine = snapEngine;
+    synchronized (configurationLock) {
+      configuration = configuration.toBuilder().snapEngine(snapEngine).build();
+    }
   }
 
   /**
@@ -623,7 +906,7 @@ public class MapboxNavigation implements ServiceConnection {
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   @NonNull
   public Snap getSnapEngine() {
-    return snapEngine;
+    return configuration.snapEngine();
   }
 
   /**
@@ -640,7 +923,9 @@ public class MapboxNavigation implements ServiceConnection {
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   public void setOffRouteEngine(@NonNull OffRoute offRouteEngine) {
-    this.offRouteEngine = offRouteEngine;
+    synchronized (configurationLock) {
+      configuration = configuration.toBuilder().offRouteEngine(offRouteEngine).build();
+    }
   }
 
   /**
@@ -655,7 +940,7 @@ public class MapboxNavigation implements ServiceConnection {
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   @NonNull
   public OffRoute getOffRouteEngine() {
-    return offRouteEngine;
+    return configuration.offRouteEngine();
   }
 
   /**
@@ -672,7 +957,9 @@ public class MapboxNavigation implements ServiceConnection {
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   public void setFasterRouteEngine(@NonNull FasterRoute fasterRouteEngine) {
-    this.fasterRouteEngine = fasterRouteEngine;
+    synchronized (configurationLock) {
+      configuration = configuration.toBuilder().fasterRouteEngine(fasterRouteEngine).build();
+    }
   }
 
   /**
@@ -687,7 +974,122 @@ public class MapboxNavigation implements ServiceConnection {
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
   @NonNull
   public FasterRoute getFasterRouteEngine() {
-    return fasterRouteEngine;
+    return configuration.fasterRouteEngine();
+  }
+
+  /**
+   * Sets the chain of filters every location passes through before the navigation engine
+   * calculates a route progress from it. Locations dropped by a filter are ignored, as if the
+   * location engine never reported them. A default chain is set when this class is first
+   * initialized if {@link MapboxNavigationOptions#enableLocationFiltering()} is true.
+   * <p>
+   * The chain is reset when a navigation session ends and should only be changed on the main
+   * thread.
+   * </p>
+   *
+   * @param locationFilterChain a custom chain of filters, or null to stop filtering locations
+   * @see LocationFilterChain
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void setLocationFilterChain(@Nullable LocationFilterChain locationFilterChain) {
+    this.locationFilterChain = locationFilterChain;
+  }
+
+  /**
+   * This will return the currently set location filter chain, including the metrics of each stage.
+   *
+   * @return the chain of filters, or null if locations aren't filtered
+   * @see LocationFilterChain
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Nullable
+  public LocationFilterChain getLocationFilterChain() {
+    return locationFilterChain;
+  }
+
+  /**
+   * This will return the speculative route engine used during the navigation session. The engine
+   * only exists if {@link MapboxNavigationOptions#enableSpeculativeRouting()} is set to true.
+   * <p>
+   * When the user goes off-route, {@link SpeculativeRouteEngine#retrieveRoute(android.location.Location)}
+   * can be used to check for an already fetched route before requesting a new one.
+   * </p>
+   *
+   * @return the speculative route engine or null if speculative routing isn't enabled
+   * @see SpeculativeRouteEngine
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Nullable
+  public SpeculativeRouteEngine getSpeculativeRouteEngine() {
+    return speculativeRouteEngine;
+  }
+
+  /**
+   * This API is used to pass in a custom implementation of {@link RouteProvider}, which will be used
+   * to fetch routes for faster route checks and speculative routes, for example to route offline
+   * with {@link com.mapbox.services.android.navigation.v5.route.offline.OfflineRouteProvider}.
+   * <p>
+   * By default, routes are fetched from the Mapbox Directions API with {@link DirectionsRouteProvider}.
+   * If navigation is already running, following requests use the new provider.
+   * </p>
+   *
+   * @param routeProvider a custom implementation of the {@link RouteProvider} interface
+   * @see RouteProvider
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void setRouteProvider(@NonNull RouteProvider routeProvider) {
+    this.routeProvider = routeProvider;
+    if (speculativeRouteEngine != null) {
+      speculativeRouteEngine.setRouteProvider(routeProvider);
+    }
+    if (isServiceAvailable()) {
+      navigationService.updateRouteProvider(routeProvider);
+    }
+  }
+
+  /**
+   * This will return the {@link RouteProvider} currently used to fetch routes during the
+   * navigation session.
+   *
+   * @return the route provider being used
+   * @see RouteProvider
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public RouteProvider getRouteProvider() {
+    return routeProvider;
+  }
+
+  /**
+   * This will return the reroute governor for the navigation session. Before requesting a new
+   * route when the user goes off-route, {@link RerouteGovernor#allowReroute(long)} should be checked
+   * so noisy locations don't cause a storm of reroute requests.
+   *
+   * @return the reroute governor of this navigation session
+   * @see RerouteGovernor
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public RerouteGovernor getRerouteGovernor() {
+    return rerouteGovernor;
+  }
+
+  /**
+   * This will return the return to route recovery used while the user is off-route. It only
+   * exists if {@link MapboxNavigationOptions#enableReturnToRoute()} is set to true.
+   *
+   * @return the return to route recovery or null if it isn't enabled
+   * @see ReturnToRoute
+   * @since 0.9.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Nullable
+  public ReturnToRoute getReturnToRoute() {
+    return returnToRoute;
   }
 
   /**
@@ -736,15 +1138,36 @@ public class MapboxNavigation implements ServiceConnection {
   }
 
   DirectionsRoute getRoute() {
-    return directionsRoute;
+    return configuration.directionsRoute();
+  }
+
+  /**
+   * Sets the route without starting the service, also used by {@link SessionTraceReader} to replay
+   * a recorded session.
+   */
+  void setRoute(DirectionsRoute directionsRoute) {
+    synchronized (configurationLock) {
+      configuration = configuration.toBuilder().directionsRoute(directionsRoute).build();
+    }
   }
 
   List<Milestone> getMilestones() {
-    return milestones;
+    return configuration.milestones();
   }
 
   MapboxNavigationOptions options() {
-    return options;
+    return configuration.options();
+  }
+
+  /**
+   * @return the current configuration, which doesn't change once returned
+   */
+  NavigationConfiguration configuration() {
+    return configuration;
+  }
+
+  private void updateMilestones(List<Milestone> milestones) {
+    configuration = configuration.toBuilder().milestones(Collections.unmodifiableList(milestones)).build();
   }
 
   NavigationEventDispatcher getEventDispatcher() {
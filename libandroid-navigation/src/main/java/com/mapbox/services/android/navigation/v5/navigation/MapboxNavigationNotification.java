@@ -9,13 +9,16 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 import android.os.Build;
+import android.support.annotation.DrawableRes;
 import android.support.v4.app.NotificationCompat;
 import android.text.SpannableStringBuilder;
 import android.widget.RemoteViews;
 
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.services.android.navigation.R;
 import com.mapbox.services.android.navigation.v5.navigation.notification.NavigationNotification;
+import com.mapbox.services.android.navigation.v5.navigation.notification.NotificationContentListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.DistanceUtils;
 import com.mapbox.services.android.navigation.v5.utils.ManeuverUtils;
@@ -30,15 +33,19 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationCon
 /**
  * This is in charge of creating the persistent navigation session notification and updating it.
  */
-class MapboxNavigationNotification implements NavigationNotification {
+class MapboxNavigationNotification implements NavigationNotification, NotificationContentListener {
 
   private static final String END_NAVIGATION_ACTION = "com.mapbox.intent.action.END_NAVIGATION";
+  // Size of the maneuverImage in navigation_notification_layout
+  private static final int MANEUVER_IMAGE_SIZE_DP = 48;
 
   private NotificationCompat.Builder notificationBuilder;
   private NotificationManager notificationManager;
   private Notification notification;
   private RemoteViews notificationRemoteViews;
   private MapboxNavigation mapboxNavigation;
+  private ManeuverBitmapCache maneuverBitmapCache;
+  private DirectionsRoute currentRoute;
 
   private SpannableStringBuilder currentDistanceText;
   private DecimalFormat decimalFormat;
@@ -72,6 +79,11 @@ class MapboxNavigationNotification implements NavigationNotification {
 
   @Override
   public void updateNotification(RouteProgress routeProgress) {
+    // Only updated once the content changes, see onNotificationContentChanged
+  }
+
+  @Override
+  public void onNotificationContentChanged(RouteProgress routeProgress) {
     updateNotificationViews(routeProgress);
   }
 
@@ -87,6 +99,8 @@ class MapboxNavigationNotification implements NavigationNotification {
   private void initialize(Context context) {
     notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
     decimalFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
+    int maneuverImageSize = Math.round(MANEUVER_IMAGE_SIZE_DP * context.getResources().getDisplayMetrics().density);
+    maneuverBitmapCache = new ManeuverBitmapCache(context, maneuverImageSize);
     createNotificationChannel(context);
     buildNotification(context);
     registerReceiver(context);
@@ -129,33 +143,35 @@ class MapboxNavigationNotification implements NavigationNotification {
   }
 
   /**
-   * With each location update and new routeProgress, the notification is checked and updated if any
-   * information has changed.
+   * With each new routeProgress, the notification views are checked and the notification is only
+   * updated if any information has changed.
    *
    * @param routeProgress the latest RouteProgress object
    */
   private void updateNotificationViews(RouteProgress routeProgress) {
-    // Instruction
-    updateInstructionText(routeProgress.currentLegProgress().currentStep());
-    // Distance
-    updateDistanceText(routeProgress);
-    // Arrival Time
-    updateArrivalTime(routeProgress);
+    // Render the maneuver icons of a new route up front, instead of while it's being navigated
+    if (currentRoute != routeProgress.directionsRoute()) {
+      currentRoute = routeProgress.directionsRoute();
+      maneuverBitmapCache.preload(currentRoute);
+    }
+    boolean isChanged = updateInstructionText(routeProgress.currentLegProgress().currentStep());
+    isChanged |= updateDistanceText(routeProgress);
+    isChanged |= updateArrivalTime(routeProgress);
     // Get upcoming step for maneuver image - current step if null
-    LegStep step = routeProgress.currentLegProgress().upComingStep() != null
-      ? routeProgress.currentLegProgress().upComingStep()
-      : routeProgress.currentLegProgress().currentStep();
-    // Maneuver Image
-    updateManeuverImage(step);
+    isChanged |= updateManeuverImage(NotificationContent.maneuverStep(routeProgress));
 
-    notificationManager.notify(NAVIGATION_NOTIFICATION_ID, notificationBuilder.build());
+    if (isChanged) {
+      notificationManager.notify(NAVIGATION_NOTIFICATION_ID, notificationBuilder.build());
+    }
   }
 
-  private void updateInstructionText(LegStep step) {
+  private boolean updateInstructionText(LegStep step) {
     if (hasInstructions(step) && (instructionText == null || newInstructionText(step))) {
       instructionText = step.bannerInstructions().get(0).primary().text();
       notificationRemoteViews.setTextViewText(R.id.notificationInstructionText, instructionText);
+      return true;
     }
+    return false;
   }
 
   private boolean hasInstructions(LegStep step) {
@@ -166,13 +182,15 @@ class MapboxNavigationNotification implements NavigationNotification {
     return !instructionText.equals(step.bannerInstructions().get(0).primary().text());
   }
 
-  private void updateDistanceText(RouteProgress routeProgress) {
+  private boolean updateDistanceText(RouteProgress routeProgress) {
     if (currentDistanceText == null || newDistanceText(routeProgress)) {
       currentDistanceText = DistanceUtils.distanceFormatter(
         routeProgress.currentLegProgress().currentStepProgress().distanceRemaining(),
         decimalFormat, true, distanceUnitType);
       notificationRemoteViews.setTextViewText(R.id.notificationDistanceText, currentDistanceText);
+      return true;
     }
+    return false;
   }
 
   private boolean newDistanceText(RouteProgress routeProgress) {
@@ -182,12 +200,14 @@ class MapboxNavigationNotification implements NavigationNotification {
       decimalFormat, true, distanceUnitType).toString());
   }
 
-  private void updateArrivalTime(RouteProgress routeProgress) {
+  private boolean updateArrivalTime(RouteProgress routeProgress) {
     if (currentArrivalTime == null || newArrivalTime(routeProgress)) {
       currentArrivalTime = TimeUtils.formatArrivalTime(routeProgress.durationRemaining());
       notificationRemoteViews.setTextViewText(R.id.notificationArrivalText,
         String.format(Locale.getDefault(), "%s ETA", currentArrivalTime));
+      return true;
     }
+    return false;
   }
 
   private boolean newArrivalTime(RouteProgress routeProgress) {
@@ -195,16 +215,14 @@ class MapboxNavigationNotification implements NavigationNotification {
       .formatArrivalTime(routeProgress.durationRemaining()));
   }
 
-  private void updateManeuverImage(LegStep step) {
-    if (newManeuverId(step)) {
-      int maneuverResource = ManeuverUtils.getManeuverResource(step);
+  private boolean updateManeuverImage(LegStep step) {
+    @DrawableRes int maneuverResource = ManeuverUtils.getManeuverResource(step);
+    if (currentManeuverId != maneuverResource) {
       currentManeuverId = maneuverResource;
-      notificationRemoteViews.setImageViewResource(R.id.maneuverImage, maneuverResource);
+      notificationRemoteViews.setImageViewBitmap(R.id.maneuverImage, maneuverBitmapCache.get(maneuverResource));
+      return true;
     }
-  }
-
-  private boolean newManeuverId(LegStep step) {
-    return currentManeuverId != ManeuverUtils.getManeuverResource(step);
+    return false;
   }
 
   private PendingIntent createPendingCloseIntent(Context context) {
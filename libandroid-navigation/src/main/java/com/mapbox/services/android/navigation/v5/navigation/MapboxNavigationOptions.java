@@ -25,6 +25,8 @@ public abstract class MapboxNavigationOptions {
 
   public abstract int secondsBeforeReroute();
 
+  public abstract int rerouteRequestBudget();
+
   public abstract boolean defaultMilestonesEnabled();
 
   public abstract boolean snapToRoute();
@@ -33,6 +35,8 @@ public abstract class MapboxNavigationOptions {
 
   public abstract boolean enableFasterRouteDetection();
 
+  public abstract boolean requestFasterRouteAlternatives();
+
   public abstract boolean manuallyEndNavigationUponCompletion();
 
   public abstract boolean enableNotification();
@@ -47,6 +51,42 @@ public abstract class MapboxNavigationOptions {
 
   public abstract int unitType();
 
+  public abstract boolean enableSpeculativeRouting();
+
+  public abstract int speculativeRouteRequestBudget();
+
+  public abstract boolean enableSessionTrace();
+
+  public abstract boolean enableAdaptiveProcessing();
+
+  public abstract double adaptiveProcessingInterval();
+
+  public abstract double adaptiveProcessingHorizon();
+
+  public abstract boolean enableLocationUpdateScheduling();
+
+  public abstract int maximumLocationUpdateInterval();
+
+  public abstract double locationUpdateHorizon();
+
+  public abstract boolean enableLocationFiltering();
+
+  public abstract boolean enableDeadReckoning();
+
+  public abstract int deadReckoningTimeout();
+
+  public abstract boolean enableOffRouteScoring();
+
+  public abstract double offRouteEnterConfidence();
+
+  public abstract double offRouteExitConfidence();
+
+  public abstract double offRouteConfidenceWindow();
+
+  public abstract boolean enableReturnToRoute();
+
+  public abstract int returnToRouteTimeout();
+
   @Nullable
   public abstract NavigationNotification navigationNotification();
 
@@ -69,6 +109,8 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder secondsBeforeReroute(int secondsBeforeReroute);
 
+    public abstract Builder rerouteRequestBudget(int rerouteRequestBudget);
+
     public abstract Builder defaultMilestonesEnabled(boolean defaultMilestonesEnabled);
 
     public abstract Builder snapToRoute(boolean snapToRoute);
@@ -77,6 +119,8 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder enableFasterRouteDetection(boolean enableFasterRouteDetection);
 
+    public abstract Builder requestFasterRouteAlternatives(boolean requestFasterRouteAlternatives);
+
     public abstract Builder manuallyEndNavigationUponCompletion(boolean manuallyEndNavigation);
 
     public abstract Builder enableNotification(boolean enableNotification);
@@ -91,6 +135,42 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder unitType(@NavigationUnitType.UnitType int unitType);
 
+    public abstract Builder enableSpeculativeRouting(boolean enableSpeculativeRouting);
+
+    public abstract Builder speculativeRouteRequestBudget(int speculativeRouteRequestBudget);
+
+    public abstract Builder enableSessionTrace(boolean enableSessionTrace);
+
+    public abstract Builder enableAdaptiveProcessing(boolean enableAdaptiveProcessing);
+
+    public abstract Builder adaptiveProcessingInterval(double adaptiveProcessingInterval);
+
+    public abstract Builder adaptiveProcessingHorizon(double adaptiveProcessingHorizon);
+
+    public abstract Builder enableLocationUpdateScheduling(boolean enableLocationUpdateScheduling);
+
+    public abstract Builder maximumLocationUpdateInterval(int maximumLocationUpdateInterval);
+
+    public abstract Builder locationUpdateHorizon(double locationUpdateHorizon);
+
+    public abstract Builder enableLocationFiltering(boolean enableLocationFiltering);
+
+    public abstract Builder enableDeadReckoning(boolean enableDeadReckoning);
+
+    public abstract Builder deadReckoningTimeout(int deadReckoningTimeout);
+
+    public abstract Builder enableOffRouteScoring(boolean enableOffRouteScoring);
+
+    public abstract Builder offRouteEnterConfidence(double offRouteEnterConfidence);
+
+    public abstract Builder offRouteExitConfidence(double offRouteExitConfidence);
+
+    public abstract Builder offRouteConfidenceWindow(double offRouteConfidenceWindow);
+
+    public abstract Builder enableReturnToRoute(boolean enableReturnToRoute);
+
+    public abstract Builder returnToRouteTimeout(int returnToRouteTimeout);
+
     public abstract Builder navigationNotification(NavigationNotification notification);
 
     public abstract MapboxNavigationOptions build();
@@ -105,8 +185,10 @@ public abstract class MapboxNavigationOptions {
       .maxManipulatedCourseAngle(NavigationConstants.MAX_MANIPULATED_COURSE_ANGLE)
       .userLocationSnapDistance(NavigationConstants.USER_LOCATION_SNAPPING_DISTANCE)
       .secondsBeforeReroute(NavigationConstants.SECONDS_BEFORE_REROUTE)
+      .rerouteRequestBudget(NavigationConstants.REROUTE_REQUEST_BUDGET)
       .enableOffRouteDetection(true)
       .enableFasterRouteDetection(false)
+      .requestFasterRouteAlternatives(false)
       .snapToRoute(true)
       .manuallyEndNavigationUponCompletion(false)
       .defaultMilestonesEnabled(true)
@@ -115,6 +197,24 @@ public abstract class MapboxNavigationOptions {
       .enableNotification(true)
       .isFromNavigationUi(false)
       .isDebugLoggingEnabled(false)
-      .unitType(NavigationUnitType.TYPE_IMPERIAL);
+      .unitType(NavigationUnitType.TYPE_IMPERIAL)
+      .enableSpeculativeRouting(false)
+      .speculativeRouteRequestBudget(NavigationConstants.SPECULATIVE_ROUTE_REQUEST_BUDGET)
+      .enableSessionTrace(false)
+      .enableAdaptiveProcessing(false)
+      .adaptiveProcessingInterval(NavigationConstants.ADAPTIVE_PROCESSING_INTERVAL)
+      .adaptiveProcessingHorizon(NavigationConstants.ADAPTIVE_PROCESSING_HORIZON)
+      .enableLocationUpdateScheduling(false)
+      .maximumLocationUpdateInterval(NavigationConstants.MAXIMUM_LOCATION_UPDATE_INTERVAL)
+      .locationUpdateHorizon(NavigationConstants.LOCATION_UPDATE_HORIZON)
+      .enableLocationFiltering(false)
+      .enableDeadReckoning(false)
+      .deadReckoningTimeout(NavigationConstants.DEAD_RECKONING_TIMEOUT)
+      .enableOffRouteScoring(false)
+      .offRouteEnterConfidence(NavigationConstants.OFF_ROUTE_ENTER_CONFIDENCE)
+      .offRouteExitConfidence(NavigationConstants.OFF_ROUTE_EXIT_CONFIDENCE)
+      .offRouteConfidenceWindow(NavigationConstants.OFF_ROUTE_CONFIDENCE_WINDOW)
+      .enableReturnToRoute(false)
+      .returnToRouteTimeout(NavigationConstants.RETURN_TO_ROUTE_TIMEOUT);
   }
 }
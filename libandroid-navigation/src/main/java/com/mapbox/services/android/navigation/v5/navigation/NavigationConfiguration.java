@@ -0,0 +1,71 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything about a {@link MapboxNavigation} session the navigation engine reads to process a
+ * location update.
+ * <p>
+ * {@link MapboxNavigation} replaces its configuration with a new instance whenever the route, a
+ * milestone or an engine changes, so a location update is processed with the configuration it was
+ * queued with, even if it's changed on the main thread meanwhile, and without locking on the
+ * navigation thread.
+ */
+@AutoValue
+abstract class NavigationConfiguration {
+
+  @Nullable
+  abstract DirectionsRoute directionsRoute();
+
+  abstract MapboxNavigationOptions options();
+
+  /**
+   * @return an unmodifiable list
+   */
+  abstract List<Milestone> milestones();
+
+  @Nullable
+  abstract Snap snapEngine();
+
+  @Nullable
+  abstract OffRoute offRouteEngine();
+
+  @Nullable
+  abstract FasterRoute fasterRouteEngine();
+
+  abstract Builder toBuilder();
+
+  static Builder builder(MapboxNavigationOptions options) {
+    return new AutoValue_NavigationConfiguration.Builder()
+      .options(options)
+      .milestones(Collections.<Milestone>emptyList());
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+
+    abstract Builder directionsRoute(@Nullable DirectionsRoute directionsRoute);
+
+    abstract Builder options(MapboxNavigationOptions options);
+
+    abstract Builder milestones(List<Milestone> milestones);
+
+    abstract Builder snapEngine(@Nullable Snap snapEngine);
+
+    abstract Builder offRouteEngine(@Nullable OffRoute offRouteEngine);
+
+    abstract Builder fasterRouteEngine(@Nullable FasterRoute fasterRouteEngine);
+
+    abstract NavigationConfiguration build();
+  }
+}
@@ -168,6 +168,184 @@ public final class NavigationConstants {
    */
   public static final int NAVIGATION_MEDIUM_ALERT_DURATION = 70;
 
+  /**
+   * Maximum number of speculative route requests made during a single navigation session when
+   * {@link MapboxNavigationOptions#enableSpeculativeRouting()} is set to true.
+   *
+   * @since 0.9.0
+   */
+  public static final int SPECULATIVE_ROUTE_REQUEST_BUDGET = 10;
+
+  /**
+   * Multiplied by {@link MapboxNavigationOptions#maneuverZoneRadius()} to get the distance from the
+   * upcoming maneuver at which a speculative route is requested. This gives the request time to
+   * complete before the user reaches the maneuver.
+   *
+   * @since 0.9.0
+   */
+  public static final int SPECULATIVE_ROUTE_MANEUVER_ZONE_MULTIPLIER = 3;
+
+  /**
+   * In seconds, how long a speculative route is kept before it is considered stale and discarded.
+   *
+   * @since 0.9.0
+   */
+  public static final int SPECULATIVE_ROUTE_VALID_DURATION = 120;
+
+  /**
+   * Maximum number of reroute requests made during a single navigation session. Once reached,
+   * the user is guided back to the current route instead.
+   *
+   * @since 0.9.0
+   */
+  public static final int REROUTE_REQUEST_BUDGET = 20;
+
+  /**
+   * In seconds, how often milestones and off-route detection run when
+   * {@link MapboxNavigationOptions#enableAdaptiveProcessing()} is set to true and the user is far
+   * from the next maneuver or instruction.
+   *
+   * @since 0.9.0
+   */
+  public static final double ADAPTIVE_PROCESSING_INTERVAL = 3;
+
+  /**
+   * In seconds of travel at the current speed, how far from the next maneuver or instruction every
+   * location update is fully processed again when {@link MapboxNavigationOptions#enableAdaptiveProcessing()}
+   * is set to true.
+   *
+   * @since 0.9.0
+   */
+  public static final double ADAPTIVE_PROCESSING_HORIZON = 20;
+
+  /**
+   * In seconds, the longest interval between location updates requested when
+   * {@link MapboxNavigationOptions#enableLocationUpdateScheduling()} is set to true.
+   *
+   * @since 0.9.0
+   */
+  public static final int MAXIMUM_LOCATION_UPDATE_INTERVAL = 8;
+
+  /**
+   * In seconds of travel at the current speed, how far from the next maneuver or instruction
+   * locations are requested as often as possible when
+   * {@link MapboxNavigationOptions#enableLocationUpdateScheduling()} is set to true. Leaves the
+   * location provider time to return to full accuracy.
+   *
+   * @since 0.9.0
+   */
+  public static final double LOCATION_UPDATE_HORIZON = 30;
+
+  /**
+   * Number of consecutive failed reroute requests after which rerouting is paused and the user is
+   * guided back to the current route instead.
+   *
+   * @since 0.9.0
+   */
+  public static final int REROUTE_FAILURE_THRESHOLD = 3;
+
+  /**
+   * In seconds, the longest wait between reroute requests after consecutive failures.
+   *
+   * @since 0.9.0
+   */
+  public static final int REROUTE_MAXIMUM_BACKOFF = 60;
+
+  /**
+   * In seconds, how long rerouting stays paused after {@link #REROUTE_FAILURE_THRESHOLD} consecutive
+   * failures before a single request is tried again.
+   *
+   * @since 0.9.0
+   */
+  public static final int REROUTE_CIRCUIT_RESET_DURATION = 120;
+
+  /**
+   * Name of the directory, inside the app's files directory, session traces are written to when
+   * {@link MapboxNavigationOptions#enableSessionTrace()} is true.
+   *
+   * @since 0.9.0
+   */
+  public static final String SESSION_TRACE_DIRECTORY = "mapbox-navigation-trace";
+
+  /**
+   * In bytes, the size of a single session trace file. Once full, the file is kept as the previous
+   * trace and a new one is started, so at most twice this size is used.
+   *
+   * @since 0.9.0
+   */
+  public static final int SESSION_TRACE_FILE_SIZE = 2 * 1024 * 1024;
+
+  /**
+   * In milliseconds, the shortest time between two updates of the navigation notification. Changes
+   * within a step arriving sooner are published once this time has passed.
+   *
+   * @since 0.9.0
+   */
+  public static final long NOTIFICATION_MINIMUM_UPDATE_INTERVAL = 1000;
+
+  /**
+   * In seconds, how long without a location before progress continues along the route at the last
+   * known speed, when {@link MapboxNavigationOptions#enableDeadReckoning()} is set to true.
+   *
+   * @since 0.9.0
+   */
+  public static final int DEAD_RECKONING_TIMEOUT = 3;
+
+  /**
+   * In seconds, how far past the last location progress continues along the route without a new
+   * location. Progress never continues past the upcoming maneuver either, and the further it gets
+   * from the last location the more it's likely to be off, so this only bridges short outages.
+   *
+   * @since 0.9.0
+   */
+  public static final int DEAD_RECKONING_MAXIMUM_DURATION = 30;
+
+  /**
+   * Confidence, from 0 to 1, at or above which the user is considered off-route when
+   * {@link MapboxNavigationOptions#enableOffRouteScoring()} is set to true.
+   *
+   * @since 0.9.0
+   */
+  public static final double OFF_ROUTE_ENTER_CONFIDENCE = 0.7;
+
+  /**
+   * Confidence, from 0 to 1, at or below which a user considered off-route is back on the route.
+   * Lower than {@link #OFF_ROUTE_ENTER_CONFIDENCE}, so a confidence hovering around a single
+   * threshold doesn't flip between the two.
+   *
+   * @since 0.9.0
+   */
+  public static final double OFF_ROUTE_EXIT_CONFIDENCE = 0.4;
+
+  /**
+   * In seconds, how far back locations are taken into account for the off-route confidence.
+   *
+   * @since 0.9.0
+   */
+  public static final double OFF_ROUTE_CONFIDENCE_WINDOW = 5;
+
+  /**
+   * In seconds, how long the user is guided back to the route before a new route is requested.
+   *
+   * @since 0.9.0
+   */
+  public static final int RETURN_TO_ROUTE_TIMEOUT = 30;
+
+  /**
+   * In meters, how far from the route the user is still guided back to it.
+   *
+   * @since 0.9.0
+   */
+  public static final double RETURN_TO_ROUTE_MAXIMUM_DISTANCE = 500;
+
+  /**
+   * In meters, how much further from the route than they've been since going off-route the user
+   * can get before a new route is requested.
+   *
+   * @since 0.9.0
+   */
+  public static final double RETURN_TO_ROUTE_MAXIMUM_DEVIATION = 50;
+
   // Bundle variable keys
   public static final String NAVIGATION_VIEW_ORIGIN_LAT_KEY = "origin_lat";
   public static final String NAVIGATION_VIEW_ORIGIN_LNG_KEY = "origin_long";
@@ -11,11 +11,15 @@ import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import timber.log.Timber;
+
 import static com.mapbox.core.constants.Constants.PRECISION_6;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.bearingMatchesManeuverFinalHeading;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.checkMilestones;
@@ -35,7 +39,23 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
 class NavigationEngine extends HandlerThread implements Handler.Callback {
 
   private static final String THREAD_NAME = "NavThread";
+  static final int STAGE_ROUTE_PROGRESS = 0;
+  static final int STAGE_MILESTONES = 1;
+  static final int STAGE_OFF_ROUTE = 2;
+  static final int STAGE_SNAP = 3;
+  static final int STAGE_COUNT = 4;
+  // Duration of a stage skipped by adaptive processing
+  static final long STAGE_SKIPPED = -1;
+  private final long[] stageDurations = new long[STAGE_COUNT];
+  private final long[] stageRunCounts = new long[STAGE_COUNT];
+  // Only accessed from this thread, the main thread clears it through queueRunnable
+  private final IntRingBuffer recentDistancesFromManeuverInMeters = new IntRingBuffer(3);
+  private long updateCount;
+  private volatile SessionTraceRecorder sessionTraceRecorder;
+  private AdaptiveProcessing adaptiveProcessing;
   private RouteProgress previousRouteProgress;
+  private RouteProgress milestoneRouteProgress;
+  private boolean userOffRoute;
   private List<Point> stepPositions;
   private NavigationIndices indices;
   private Handler responseHandler;
@@ -53,56 +73,222 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
     workerHandler.obtainMessage(msgIdentifier, newLocationModel).sendToTarget();
   }
 
+  /**
+   * Queues several locations to be processed in one pass, see {@link #calculateBatchUpdate(List)}.
+   */
+  void queueBatchTask(int msgIdentifier, List<NewLocationModel> newLocationModels) {
+    workerHandler.obtainMessage(msgIdentifier, newLocationModels).sendToTarget();
+  }
+
+  /**
+   * Runs work which shouldn't block the main thread on this thread, in between location updates.
+   */
+  void queueRunnable(Runnable runnable) {
+    workerHandler.post(runnable);
+  }
+
+  /**
+   * Forgets the distances to the maneuver recorded so far, once the locations queued before have
+   * been processed.
+   */
+  void queueClearRecentDistances() {
+    queueRunnable(new Runnable() {
+      @Override
+      public void run() {
+        recentDistancesFromManeuverInMeters.clear();
+      }
+    });
+  }
+
   void prepareHandler() {
     workerHandler = new Handler(getLooper(), this);
   }
 
+  /**
+   * Records the input and output of every following location update, or stops recording if null.
+   */
+  void setSessionTraceRecorder(SessionTraceRecorder sessionTraceRecorder) {
+    this.sessionTraceRecorder = sessionTraceRecorder;
+  }
+
   @Override
+  @SuppressWarnings("unchecked")
   public boolean handleMessage(Message msg) {
-    NewLocationModel newLocationModel = (NewLocationModel) msg.obj;
-    handleRequest(newLocationModel);
+    if (msg.obj instanceof List) {
+      handleRequest(calculateBatchUpdate((List<NewLocationModel>) msg.obj));
+    } else {
+      handleRequest(calculateUpdate((NewLocationModel) msg.obj));
+    }
     return true;
   }
 
-  private void handleRequest(final NewLocationModel newLocationModel) {
-    final RouteProgress routeProgress = generateNewRouteProgress(
-      newLocationModel.mapboxNavigation(), newLocationModel.location(),
-      newLocationModel.recentDistancesFromManeuverInMeters());
+  private void handleRequest(final NavigationUpdate update) {
+    responseHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        callback.onNewRouteProgress(update.location(), update.routeProgress());
+        callback.onMilestoneTrigger(update.milestones());
+        callback.onUserOffRoute(update.location(), update.userOffRoute());
+        callback.onCheckFasterRoute(update.location(), update.routeProgress(), update.checkFasterRoute());
+      }
+    });
+  }
 
-    // Check milestone list to see if any should be triggered
-    final List<Milestone> milestones = checkMilestones(
-      previousRouteProgress, routeProgress, newLocationModel.mapboxNavigation());
+  /**
+   * Runs all calculations for a location update on the calling thread. Besides the navigation
+   * thread, this is used to replay a recorded session without the service.
+   */
+  NavigationUpdate calculateUpdate(NewLocationModel newLocationModel) {
+    return calculateBatchUpdate(Collections.singletonList(newLocationModel));
+  }
 
-    // Check if user has gone off-route
-    final boolean userOffRoute = isUserOffRoute(newLocationModel, routeProgress);
+  /**
+   * Processes several locations, in the order they were received, in one pass. The route progress
+   * advances through all of them, but only the last location is snapped and checked for a faster
+   * route, and only its update is returned. Milestones are checked with every location, so the
+   * returned update contains all milestones triggered during the batch, each with the instruction
+   * and route progress of the location which triggered it. If the user goes off-route,
+   * the remaining locations are dropped, as they can't be placed on the route anymore.
+   *
+   * @param newLocationModels non-empty, all taken with the same configuration
+   */
+  NavigationUpdate calculateBatchUpdate(List<NewLocationModel> newLocationModels) {
+    SessionTraceRecorder recorder = sessionTraceRecorder;
+    NavigationConfiguration configuration = newLocationModels.get(0).configuration();
+    NewLocationModel newLocationModel = null;
+    RouteProgress routeProgress = null;
+    List<TriggeredMilestone> milestones = Collections.emptyList();
+    long stageStart = 0;
+    for (NewLocationModel batchedLocationModel : newLocationModels) {
+      newLocationModel = batchedLocationModel;
+      if (recorder != null) {
+        recordInput(recorder, newLocationModel);
+      }
+      updateCount++;
+      stageStart = System.nanoTime();
+      routeProgress = generateNewRouteProgress(configuration, newLocationModel.location());
+      stageStart = endStage(STAGE_ROUTE_PROGRESS, stageStart);
+
+      previousRouteProgress = routeProgress;
+      boolean isFullUpdate = isFullUpdate(newLocationModel, routeProgress);
+      if (isFullUpdate) {
+        // Check milestone list to see if any should be triggered, compared with the last progress
+        // they were checked with
+        milestones = addMilestones(milestones, routeProgress,
+          checkMilestones(milestoneRouteProgress, routeProgress, configuration.milestones()));
+        milestoneRouteProgress = routeProgress;
+        stageStart = endStage(STAGE_MILESTONES, stageStart);
+
+        // Check if user has gone off-route
+        userOffRoute = isUserOffRoute(newLocationModel, routeProgress, recentDistancesFromManeuverInMeters);
+        if (userOffRoute) {
+          recentDistancesFromManeuverInMeters.clear();
+        }
+        stageStart = endStage(STAGE_OFF_ROUTE, stageStart);
+      } else {
+        stageDurations[STAGE_MILESTONES] = STAGE_SKIPPED;
+        stageDurations[STAGE_OFF_ROUTE] = STAGE_SKIPPED;
+      }
+      if (isFullUpdate && userOffRoute) {
+        break;
+      }
+    }
 
     // Create snapped location
-    final Location location = !userOffRoute && newLocationModel.mapboxNavigation().options().snapToRoute()
-      ? getSnappedLocation(newLocationModel.mapboxNavigation(), newLocationModel.location(),
-      routeProgress, stepPositions)
+    Location location = !userOffRoute && configuration.options().snapToRoute()
+      ? getSnappedLocation(configuration, newLocationModel.location(), routeProgress, stepPositions)
       : newLocationModel.location();
+    endStage(STAGE_SNAP, stageStart);
 
     // Check for faster route only if enabled and not off-route
-    final boolean checkFasterRoute = newLocationModel.mapboxNavigation().options().enableFasterRouteDetection()
+    boolean checkFasterRoute = configuration.options().enableFasterRouteDetection()
       && !userOffRoute && shouldCheckFasterRoute(newLocationModel, routeProgress);
 
-    previousRouteProgress = routeProgress;
+    if (recorder != null) {
+      recorder.recordUpdate(routeProgress, milestoneList(milestones), userOffRoute, checkFasterRoute, stageDurations);
+    }
+    return NavigationUpdate.create(location, routeProgress, milestones, userOffRoute, checkFasterRoute);
+  }
 
-    responseHandler.post(new Runnable() {
-      @Override
-      public void run() {
-        callback.onNewRouteProgress(location, routeProgress);
-        callback.onMilestoneTrigger(milestones, routeProgress);
-        callback.onUserOffRoute(location, userOffRoute);
-        callback.onCheckFasterRoute(location, routeProgress, checkFasterRoute);
-      }
-    });
+  /**
+   * In nanoseconds, how long each stage of the last location processed took, or
+   * {@link #STAGE_SKIPPED}.
+   */
+  long[] stageDurations() {
+    return stageDurations;
+  }
+
+  /**
+   * Fraction of the location updates the given stage ran for.
+   */
+  double stageRunRate(int stage) {
+    return updateCount == 0 ? 0 : (double) stageRunCounts[stage] / updateCount;
+  }
+
+  void logStageRunRates() {
+    Timber.d("Stage run rates with adaptive processing, milestones: %.2f, off-route: %.2f",
+      stageRunRate(STAGE_MILESTONES), stageRunRate(STAGE_OFF_ROUTE));
+  }
+
+  /**
+   * Every update is a full update unless adaptive processing is enabled.
+   */
+  private boolean isFullUpdate(NewLocationModel newLocationModel, RouteProgress routeProgress) {
+    MapboxNavigationOptions options = newLocationModel.configuration().options();
+    if (!options.enableAdaptiveProcessing()) {
+      return true;
+    }
+    if (adaptiveProcessing == null) {
+      adaptiveProcessing = new AdaptiveProcessing(options);
+    }
+    return adaptiveProcessing.isFullUpdate(newLocationModel.location(), routeProgress, userOffRoute);
+  }
+
+  /**
+   * A route change is recorded before the location it's first used with, so a replay can navigate
+   * the location along the same route.
+   */
+  private void recordInput(SessionTraceRecorder recorder, NewLocationModel newLocationModel) {
+    DirectionsRoute directionsRoute = newLocationModel.configuration().directionsRoute();
+    if (RouteUtils.isNewRoute(previousRouteProgress, directionsRoute)) {
+      recorder.recordRoute(directionsRoute);
+    }
+    recorder.recordLocation(newLocationModel.location());
+  }
+
+  private static List<TriggeredMilestone> addMilestones(List<TriggeredMilestone> milestones,
+                                                        RouteProgress routeProgress,
+                                                        List<Milestone> triggeredMilestones) {
+    if (triggeredMilestones.isEmpty()) {
+      return milestones;
+    }
+    List<TriggeredMilestone> allMilestones = new ArrayList<>(milestones.size() + triggeredMilestones.size());
+    allMilestones.addAll(milestones);
+    for (Milestone milestone : triggeredMilestones) {
+      // Built right away, the milestone may overwrite its instruction with the next location
+      allMilestones.add(TriggeredMilestone.create(milestone, routeProgress));
+    }
+    return allMilestones;
+  }
+
+  private static List<Milestone> milestoneList(List<TriggeredMilestone> triggeredMilestones) {
+    List<Milestone> milestones = new ArrayList<>(triggeredMilestones.size());
+    for (TriggeredMilestone triggeredMilestone : triggeredMilestones) {
+      milestones.add(triggeredMilestone.milestone());
+    }
+    return milestones;
+  }
+
+  private long endStage(int stage, long stageStart) {
+    long stageEnd = System.nanoTime();
+    stageDurations[stage] = stageEnd - stageStart;
+    stageRunCounts[stage]++;
+    return stageEnd;
   }
 
-  private RouteProgress generateNewRouteProgress(MapboxNavigation mapboxNavigation, Location location,
-                                                 RingBuffer recentDistances) {
-    DirectionsRoute directionsRoute = mapboxNavigation.getRoute();
-    MapboxNavigationOptions options = mapboxNavigation.options();
+  private RouteProgress generateNewRouteProgress(NavigationConfiguration configuration, Location location) {
+    DirectionsRoute directionsRoute = configuration.directionsRoute();
+    MapboxNavigationOptions options = configuration.options();
 
     if (RouteUtils.isNewRoute(previousRouteProgress, directionsRoute)) {
       // Decode the first steps geometry and hold onto the resulting Position objects till the users
@@ -118,6 +304,7 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
         .stepIndex(0)
         .legIndex(0)
         .build();
+      milestoneRouteProgress = previousRouteProgress;
 
       indices = NavigationIndices.create(0, 0);
     }
@@ -147,7 +334,7 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
         legDistanceRemaining, indices.legIndex(), directionsRoute);
 
       // Remove all distance values from recentDistancesFromManeuverInMeters
-      recentDistances.clear();
+      recentDistancesFromManeuverInMeters.clear();
     }
 
     // Create a RouteProgress.create object using the latest user location
@@ -158,6 +345,7 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
       .directionsRoute(directionsRoute)
       .stepIndex(indices.stepIndex())
       .legIndex(indices.legIndex())
+      .routeGeometry(previousRouteProgress.routeGeometry())
       .build();
   }
 
@@ -170,7 +358,7 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
   interface Callback {
     void onNewRouteProgress(Location location, RouteProgress routeProgress);
 
-    void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress);
+    void onMilestoneTrigger(List<TriggeredMilestone> triggeredMilestones);
 
     void onUserOffRoute(Location location, boolean userOffRoute);
 
@@ -10,130 +10,165 @@ import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListene
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListeners;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteGuidance;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteListener;
+import com.mapbox.services.android.navigation.v5.route.ScoredFasterRouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Executor;
 
 import timber.log.Timber;
 
+/**
+ * Dispatches the navigation events to the listeners added to {@link MapboxNavigation}.
+ * <p>
+ * Listeners are kept in copy-on-write lists, so they can be added and removed from any thread while
+ * events are dispatched, and dispatching takes no lock. Listeners added with an {@link Executor}
+ * are delivered on it, all others on the thread dispatching the event.
+ */
 class NavigationEventDispatcher {
 
-  private List<NavigationEventListener> navigationEventListeners;
-  private List<MilestoneEventListener> milestoneEventListeners;
-  private List<ProgressChangeListener> progressChangeListeners;
-  private List<OffRouteListener> offRouteListeners;
-  private List<FasterRouteListener> fasterRouteListeners;
+  private final ListenerList<NavigationEventListener> navigationEventListeners = new ListenerList<>();
+  private final ListenerList<MilestoneEventListener> milestoneEventListeners = new ListenerList<>();
+  private final ListenerList<ProgressChangeListener> progressChangeListeners = new ListenerList<>();
+  private final ListenerList<OffRouteListener> offRouteListeners = new ListenerList<>();
+  private final ListenerList<FasterRouteListener> fasterRouteListeners = new ListenerList<>();
+  private final ListenerList<ScoredFasterRouteListener> scoredFasterRouteListeners = new ListenerList<>();
+  private final ListenerList<ReturnToRouteListener> returnToRouteListeners = new ListenerList<>();
   private NavigationMetricListeners.EventListeners metricEventListeners;
   private NavigationMetricListeners.ArrivalListener metricArrivalListener;
 
-  NavigationEventDispatcher() {
-    navigationEventListeners = new ArrayList<>();
-    milestoneEventListeners = new ArrayList<>();
-    progressChangeListeners = new ArrayList<>();
-    offRouteListeners = new ArrayList<>();
-    fasterRouteListeners = new ArrayList<>();
+  void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener) {
+    addMilestoneEventListener(milestoneEventListener, null);
   }
 
-  void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener) {
-    if (milestoneEventListeners.contains(milestoneEventListener)) {
+  void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener, @Nullable Executor executor) {
+    if (!milestoneEventListeners.add(milestoneEventListener, executor)) {
       Timber.w("The specified MilestoneEventListener has already been added to the stack.");
-      return;
     }
-    milestoneEventListeners.add(milestoneEventListener);
   }
 
   void removeMilestoneEventListener(@Nullable MilestoneEventListener milestoneEventListener) {
     if (milestoneEventListener == null) {
       milestoneEventListeners.clear();
-    } else if (!milestoneEventListeners.contains(milestoneEventListener)) {
+    } else if (!milestoneEventListeners.remove(milestoneEventListener)) {
       Timber.w("The specified MilestoneEventListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      milestoneEventListeners.remove(milestoneEventListener);
     }
   }
 
   void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener) {
-    if (progressChangeListeners.contains(progressChangeListener)) {
+    addProgressChangeListener(progressChangeListener, null);
+  }
+
+  void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener, @Nullable Executor executor) {
+    if (!progressChangeListeners.add(progressChangeListener, executor)) {
       Timber.w("The specified ProgressChangeListener has already been added to the stack.");
-      return;
     }
-    progressChangeListeners.add(progressChangeListener);
   }
 
   void removeProgressChangeListener(@Nullable ProgressChangeListener progressChangeListener) {
     if (progressChangeListener == null) {
       progressChangeListeners.clear();
-    } else if (!progressChangeListeners.contains(progressChangeListener)) {
+    } else if (!progressChangeListeners.remove(progressChangeListener)) {
       Timber.w("The specified ProgressChangeListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      progressChangeListeners.remove(progressChangeListener);
     }
   }
 
   void addOffRouteListener(@NonNull OffRouteListener offRouteListener) {
-    if (offRouteListeners.contains(offRouteListener)) {
+    addOffRouteListener(offRouteListener, null);
+  }
+
+  void addOffRouteListener(@NonNull OffRouteListener offRouteListener, @Nullable Executor executor) {
+    if (!offRouteListeners.add(offRouteListener, executor)) {
       Timber.w("The specified OffRouteListener has already been added to the stack.");
-      return;
     }
-    offRouteListeners.add(offRouteListener);
   }
 
   void removeOffRouteListener(@Nullable OffRouteListener offRouteListener) {
     if (offRouteListener == null) {
       offRouteListeners.clear();
-    } else if (!offRouteListeners.contains(offRouteListener)) {
+    } else if (!offRouteListeners.remove(offRouteListener)) {
       Timber.w("The specified OffRouteListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      offRouteListeners.remove(offRouteListener);
     }
   }
 
   void addNavigationEventListener(@NonNull NavigationEventListener navigationEventListener) {
-    if (navigationEventListeners.contains(navigationEventListener)) {
+    if (!navigationEventListeners.add(navigationEventListener, null)) {
       Timber.w("The specified NavigationEventListener has already been added to the stack.");
-      return;
     }
-    this.navigationEventListeners.add(navigationEventListener);
   }
 
   void removeNavigationEventListener(@Nullable NavigationEventListener navigationEventListener) {
     if (navigationEventListener == null) {
       navigationEventListeners.clear();
-    } else if (!navigationEventListeners.contains(navigationEventListener)) {
+    } else if (!navigationEventListeners.remove(navigationEventListener)) {
       Timber.w("The specified NavigationEventListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      navigationEventListeners.remove(navigationEventListener);
     }
   }
 
   void addFasterRouteListener(@NonNull FasterRouteListener fasterRouteListener) {
-    if (fasterRouteListeners.contains(fasterRouteListener)) {
+    addFasterRouteListener(fasterRouteListener, null);
+  }
+
+  void addFasterRouteListener(@NonNull FasterRouteListener fasterRouteListener, @Nullable Executor executor) {
+    if (!fasterRouteListeners.add(fasterRouteListener, executor)) {
       Timber.w("The specified FasterRouteListener has already been added to the stack.");
-      return;
     }
-    fasterRouteListeners.add(fasterRouteListener);
   }
 
   void removeFasterRouteListener(@Nullable FasterRouteListener fasterRouteListener) {
     if (fasterRouteListener == null) {
       fasterRouteListeners.clear();
-    } else if (!fasterRouteListeners.contains(fasterRouteListener)) {
+    } else if (!fasterRouteListeners.remove(fasterRouteListener)) {
       Timber.w("The specified FasterRouteListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      fasterRouteListeners.remove(fasterRouteListener);
     }
   }
 
-  void onMilestoneEvent(RouteProgress routeProgress, String instruction, Milestone milestone) {
-    for (MilestoneEventListener milestoneEventListener : milestoneEventListeners) {
-      milestoneEventListener.onMilestoneEvent(routeProgress, instruction, milestone);
+  void addScoredFasterRouteListener(@NonNull ScoredFasterRouteListener scoredFasterRouteListener,
+                                    @Nullable Executor executor) {
+    if (!scoredFasterRouteListeners.add(scoredFasterRouteListener, executor)) {
+      Timber.w("The specified ScoredFasterRouteListener has already been added to the stack.");
+    }
+  }
+
+  void removeScoredFasterRouteListener(@Nullable ScoredFasterRouteListener scoredFasterRouteListener) {
+    if (scoredFasterRouteListener == null) {
+      scoredFasterRouteListeners.clear();
+    } else if (!scoredFasterRouteListeners.remove(scoredFasterRouteListener)) {
+      Timber.w("The specified ScoredFasterRouteListener isn't found in stack, therefore, cannot be removed.");
+    }
+  }
+
+  void addReturnToRouteListener(@NonNull ReturnToRouteListener returnToRouteListener) {
+    addReturnToRouteListener(returnToRouteListener, null);
+  }
+
+  void addReturnToRouteListener(@NonNull ReturnToRouteListener returnToRouteListener, @Nullable Executor executor) {
+    if (!returnToRouteListeners.add(returnToRouteListener, executor)) {
+      Timber.w("The specified ReturnToRouteListener has already been added to the stack.");
+    }
+  }
+
+  void removeReturnToRouteListener(@Nullable ReturnToRouteListener returnToRouteListener) {
+    if (returnToRouteListener == null) {
+      returnToRouteListeners.clear();
+    } else if (!returnToRouteListeners.remove(returnToRouteListener)) {
+      Timber.w("The specified ReturnToRouteListener isn't found in stack, therefore, cannot be removed.");
     }
   }
 
-  void onProgressChange(Location location, RouteProgress routeProgress) {
+  void onMilestoneEvent(final RouteProgress routeProgress, final String instruction, final Milestone milestone) {
+    milestoneEventListeners.dispatch(new ListenerList.Event<MilestoneEventListener>() {
+      @Override
+      public void deliver(MilestoneEventListener milestoneEventListener) {
+        milestoneEventListener.onMilestoneEvent(routeProgress, instruction, milestone);
+      }
+    });
+  }
+
+  void onProgressChange(final Location location, final RouteProgress routeProgress) {
     if (metricEventListeners != null) {
       // Update RouteProgress
       metricEventListeners.onRouteProgressUpdate(routeProgress);
@@ -153,31 +188,62 @@ class NavigationEventDispatcher {
       }
     }
 
-    for (ProgressChangeListener progressChangeListener : progressChangeListeners) {
-      progressChangeListener.onProgressChange(location, routeProgress);
-    }
+    progressChangeListeners.dispatch(new ListenerList.Event<ProgressChangeListener>() {
+      @Override
+      public void deliver(ProgressChangeListener progressChangeListener) {
+        progressChangeListener.onProgressChange(location, routeProgress);
+      }
+    });
   }
 
-  void onUserOffRoute(Location location) {
-    for (OffRouteListener offRouteListener : offRouteListeners) {
-      offRouteListener.userOffRoute(location);
-    }
+  void onUserOffRoute(final Location location) {
+    offRouteListeners.dispatch(new ListenerList.Event<OffRouteListener>() {
+      @Override
+      public void deliver(OffRouteListener offRouteListener) {
+        offRouteListener.userOffRoute(location);
+      }
+    });
     // Send off route event to metric listener
     if (metricEventListeners != null) {
       metricEventListeners.onOffRouteEvent(location);
     }
   }
 
-  void onNavigationEvent(boolean isRunning) {
-    for (NavigationEventListener navigationEventListener : navigationEventListeners) {
-      navigationEventListener.onRunning(isRunning);
-    }
+  void onNavigationEvent(final boolean isRunning) {
+    navigationEventListeners.dispatch(new ListenerList.Event<NavigationEventListener>() {
+      @Override
+      public void deliver(NavigationEventListener navigationEventListener) {
+        navigationEventListener.onRunning(isRunning);
+      }
+    });
   }
 
-  void onFasterRouteEvent(DirectionsRoute directionsRoute) {
-    for (FasterRouteListener fasterRouteListener : fasterRouteListeners) {
-      fasterRouteListener.fasterRouteFound(directionsRoute);
-    }
+  void onFasterRouteEvent(final DirectionsRoute directionsRoute) {
+    fasterRouteListeners.dispatch(new ListenerList.Event<FasterRouteListener>() {
+      @Override
+      public void deliver(FasterRouteListener fasterRouteListener) {
+        fasterRouteListener.fasterRouteFound(directionsRoute);
+      }
+    });
+  }
+
+  void onFasterRouteEvent(final DirectionsRoute directionsRoute, final double score) {
+    onFasterRouteEvent(directionsRoute);
+    scoredFasterRouteListeners.dispatch(new ListenerList.Event<ScoredFasterRouteListener>() {
+      @Override
+      public void deliver(ScoredFasterRouteListener scoredFasterRouteListener) {
+        scoredFasterRouteListener.fasterRouteFound(directionsRoute, score);
+      }
+    });
+  }
+
+  void onReturnToRoute(final Location location, final ReturnToRouteGuidance guidance) {
+    returnToRouteListeners.dispatch(new ListenerList.Event<ReturnToRouteListener>() {
+      @Override
+      public void deliver(ReturnToRouteListener returnToRouteListener) {
+        returnToRouteListener.onReturnToRoute(location, guidance);
+      }
+    });
   }
 
   void addMetricEventListeners(NavigationMetricListeners.EventListeners eventListeners) {
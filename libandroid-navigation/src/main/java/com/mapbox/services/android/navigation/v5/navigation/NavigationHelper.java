@@ -4,7 +4,6 @@ import android.location.Location;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
@@ -13,6 +12,7 @@ import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.telemetry.utils.MathUtils;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
@@ -70,8 +70,8 @@ class NavigationHelper {
     List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
     Point nextManeuverPosition = nextManeuverPosition(stepIndex, steps, coordinates);
 
-    LineString lineString = LineString.fromPolyline(steps.get(stepIndex).geometry(),
-      Constants.PRECISION_6);
+    // The coordinates are the already decoded step geometry, no need to decode it again
+    LineString lineString = LineString.fromLngLats(coordinates);
     // If the users snapped position equals the next maneuver
     // position or the linestring coordinate size is less than 2,the distance remaining is zero.
     if (snappedPosition.equals(nextManeuverPosition) || lineString.coordinates().size() < 2) {
@@ -169,31 +169,31 @@ class NavigationHelper {
 
   static List<Milestone> checkMilestones(RouteProgress previousRouteProgress,
                                          RouteProgress routeProgress,
-                                         MapboxNavigation mapboxNavigation) {
-    List<Milestone> milestones = new ArrayList<>();
-    for (Milestone milestone : mapboxNavigation.getMilestones()) {
+                                         List<Milestone> milestones) {
+    List<Milestone> triggeredMilestones = new ArrayList<>();
+    for (Milestone milestone : milestones) {
       if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
-        milestones.add(milestone);
+        triggeredMilestones.add(milestone);
       }
     }
-    return milestones;
+    return triggeredMilestones;
   }
 
-  static boolean isUserOffRoute(NewLocationModel newLocationModel, RouteProgress routeProgress) {
-    OffRoute offRoute = newLocationModel.mapboxNavigation().getOffRouteEngine();
+  static boolean isUserOffRoute(NewLocationModel newLocationModel, RouteProgress routeProgress,
+                                IntRingBuffer recentDistancesFromManeuverInMeters) {
+    OffRoute offRoute = newLocationModel.configuration().offRouteEngine();
     return offRoute.isUserOffRoute(newLocationModel.location(), routeProgress,
-      newLocationModel.mapboxNavigation().options(),
-      newLocationModel.recentDistancesFromManeuverInMeters());
+      newLocationModel.configuration().options(), recentDistancesFromManeuverInMeters);
   }
 
   static boolean shouldCheckFasterRoute(NewLocationModel newLocationModel, RouteProgress routeProgress) {
-    FasterRoute fasterRoute = newLocationModel.mapboxNavigation().getFasterRouteEngine();
+    FasterRoute fasterRoute = newLocationModel.configuration().fasterRouteEngine();
     return fasterRoute.shouldCheckFasterRoute(newLocationModel.location(), routeProgress);
   }
 
-  static Location getSnappedLocation(MapboxNavigation mapboxNavigation, Location location,
+  static Location getSnappedLocation(NavigationConfiguration configuration, Location location,
                                      RouteProgress routeProgress, List<Point> stepCoordinates) {
-    Snap snap = mapboxNavigation.getSnapEngine();
+    Snap snap = configuration.snapEngine();
     return snap.getSnappedLocation(location, routeProgress, stepCoordinates);
   }
 
@@ -27,7 +27,7 @@ public class NavigationLifecycleMonitor implements Application.ActivityLifecycle
   }
 
   @Override
-  public void onActivityStarted(Activity activity) {
+  public synchronized void onActivityStarted(Activity activity) {
     int newOrientation = activity.getResources().getConfiguration().orientation;
     // If a new orientation is found, set it to the current
     if (!currentOrientation.equals(newOrientation)) {
@@ -43,12 +43,12 @@ public class NavigationLifecycleMonitor implements Application.ActivityLifecycle
   }
 
   @Override
-  public void onActivityResumed(Activity activity) {
+  public synchronized void onActivityResumed(Activity activity) {
     resumes.add(System.currentTimeMillis());
   }
 
   @Override
-  public void onActivityPaused(Activity activity) {
+  public synchronized void onActivityPaused(Activity activity) {
     pauses.add(System.currentTimeMillis());
   }
 
@@ -79,7 +79,7 @@ public class NavigationLifecycleMonitor implements Application.ActivityLifecycle
 
   //endregion
 
-  int obtainPortraitPercentage() {
+  synchronized int obtainPortraitPercentage() {
     // If no changes to landscape
     if (currentOrientation.equals(Configuration.ORIENTATION_PORTRAIT) && portraitTimeInMillis == 0) {
       return ONE_HUNDRED_PERCENT;
@@ -89,7 +89,7 @@ public class NavigationLifecycleMonitor implements Application.ActivityLifecycle
     return (int) (ONE_HUNDRED_PERCENT * portraitFraction);
   }
 
-  int obtainForegroundPercentage() {
+  synchronized int obtainForegroundPercentage() {
     long currentTime = System.currentTimeMillis();
     double foregroundTime = calculateForegroundTime(currentTime);
     return (int) (100 * (foregroundTime / (currentTime - startSessionTime)));
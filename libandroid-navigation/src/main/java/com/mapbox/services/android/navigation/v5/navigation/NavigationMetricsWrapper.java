@@ -113,8 +113,8 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
   }
 
-  static void rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress,
-                           Location location) {
+  static Hashtable<String, Object> rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress,
+                                                Location location) {
 
     SessionState sessionState = rerouteEvent.getSessionState();
     updateRouteProgressSessionData(metricProgress);
@@ -152,13 +152,12 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addPercentTimeInPortrait(sessionState.percentInPortrait(), navRerouteEvent);
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, navRerouteEvent);
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), navRerouteEvent);
-    MapboxTelemetry.getInstance().pushEvent(navRerouteEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return navRerouteEvent;
   }
 
-  static void feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location,
-                            String description, String feedbackType, String screenshot, String feedbackId,
-                            String vendorId) {
+  static Hashtable<String, Object> feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress,
+                                                 Location location, String description, String feedbackType,
+                                                 String screenshot, String feedbackId, String vendorId) {
 
     updateRouteProgressSessionData(metricProgress);
 
@@ -192,8 +191,7 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, feedbackEvent);
     feedbackEvent.put(MapboxNavigationEvent.KEY_CREATED, TelemetryUtils.generateCreateDate(location));
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), feedbackEvent);
-    MapboxTelemetry.getInstance().pushEvent(feedbackEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return feedbackEvent;
   }
 
   static void turnstileEvent() {
@@ -16,6 +16,7 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteOptions;
 import com.mapbox.core.exceptions.ServicesException;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
 
 import java.util.Locale;
 
@@ -102,6 +103,7 @@ public final class NavigationRoute {
   public static final class Builder {
 
     private final MapboxDirections.Builder directionsBuilder;
+    private int priority = NavigationHttpClient.PRIORITY_HIGH;
 
     /**
      * Private constructor for initializing the raw MapboxDirections.Builder
@@ -471,6 +473,20 @@ public final class NavigationRoute {
       return this;
     }
 
+    /**
+     * Priority the request is made with through the shared {@link NavigationHttpClient}. Defaults to
+     * {@link NavigationHttpClient#PRIORITY_HIGH}, requests for routes which may never be used should
+     * use {@link NavigationHttpClient#PRIORITY_LOW}.
+     *
+     * @param priority of the request
+     * @return this builder for chaining options together
+     * @since 0.9.0
+     */
+    public Builder priority(@NavigationHttpClient.Priority int priority) {
+      this.priority = priority;
+      return this;
+    }
+
     /**
      * This uses the provided parameters set using the {@link Builder} and adds the required
      * settings for navigation to work correctly.
@@ -488,7 +504,9 @@ public final class NavigationRoute {
         .voiceInstructions(true)
         .bannerInstructions(true)
         .roundaboutExits(true);
-      return new NavigationRoute(directionsBuilder.build());
+      MapboxDirections mapboxDirections = directionsBuilder.build();
+      mapboxDirections.setCallFactory(NavigationHttpClient.getInstance().client(priority));
+      return new NavigationRoute(mapboxDirections);
     }
   }
 }
\ No newline at end of file
@@ -8,26 +8,35 @@ import android.os.Binder;
 import android.os.Build;
 import android.os.Handler;
 import android.os.IBinder;
+import android.os.SystemClock;
 import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.Point;
-import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.location.LocationFilterChain;
 import com.mapbox.services.android.navigation.v5.navigation.notification.NavigationNotification;
+import com.mapbox.services.android.navigation.v5.navigation.notification.NotificationContentListener;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRoute;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteGuidance;
 import com.mapbox.services.android.navigation.v5.route.RouteEngine;
+import com.mapbox.services.android.navigation.v5.route.RouteProvider;
+import com.mapbox.services.android.navigation.v5.route.ScoredRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
 import com.mapbox.services.android.telemetry.location.LocationEngineListener;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import retrofit2.Response;
 import timber.log.Timber;
 
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildInstructionString;
-
 /**
  * Internal usage only, use navigation by initializing a new instance of {@link MapboxNavigation}
  * and customizing the navigation experience through that class.
@@ -40,19 +49,36 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
  * </p>
  */
 public class NavigationService extends Service implements LocationEngineListener,
-  NavigationEngine.Callback, RouteEngine.Callback {
+  NavigationEngine.Callback, RouteEngine.Callback, DeadReckoningScheduler.Callback {
 
   // Message id used when a new location update occurs and we send to the thread.
   private static final int MSG_LOCATION_UPDATED = 1001;
+  // Message id used when a batch of location updates is sent to the thread.
+  private static final int MSG_LOCATION_BATCH = 1002;
+  // Responses with more steps than this are scored on the navigation thread.
+  private static final int LARGE_RESPONSE_STEP_COUNT = 100;
 
-  private RingBuffer<Integer> recentDistancesFromManeuverInMeters;
   private final IBinder localBinder = new LocalBinder();
 
   private NavigationNotification navigationNotification;
+  private NotificationUpdateScheduler notificationUpdateScheduler;
+  private LocationUpdateScheduler locationUpdateScheduler;
+  private DeadReckoningScheduler deadReckoningScheduler;
   private MapboxNavigation mapboxNavigation;
   private RouteEngine routeEngine;
   private LocationEngine locationEngine;
   private NavigationEngine thread;
+  private Handler responseHandler;
+  private SessionTraceRecorder sessionTraceRecorder;
+  private RouteProgress lastRouteProgress;
+
+  public NavigationService() {
+  }
+
+  // Package private (no modifier) for testing purposes
+  NavigationService(MapboxNavigation mapboxNavigation) {
+    this.mapboxNavigation = mapboxNavigation;
+  }
 
   @Nullable
   @Override
@@ -62,10 +88,10 @@ public class NavigationService extends Service implements LocationEngineListener
 
   @Override
   public void onCreate() {
-    thread = new NavigationEngine(new Handler(), this);
+    responseHandler = new Handler();
+    thread = new NavigationEngine(responseHandler, this);
     thread.start();
     thread.prepareHandler();
-    recentDistancesFromManeuverInMeters = new RingBuffer<>(3);
   }
 
   /**
@@ -95,14 +121,57 @@ public class NavigationService extends Service implements LocationEngineListener
   }
 
   @Override
+  @SuppressWarnings("MissingPermission")
   public void onLocationChanged(Location location) {
     Timber.d("onLocationChanged");
-    if (location != null && validLocationUpdate(location)) {
-      thread.queueTask(MSG_LOCATION_UPDATED, NewLocationModel.create(location, mapboxNavigation,
-        recentDistancesFromManeuverInMeters));
+    if (location != null) {
+      onLocationReceived();
+    }
+    if (location != null && validLocationUpdate(location, locationEngine.getLastLocation())) {
+      Location filteredLocation = filterLocation(location);
+      if (filteredLocation != null) {
+        filteredLocation = reconcileLocation(filteredLocation);
+        thread.queueTask(MSG_LOCATION_UPDATED, NewLocationModel.create(filteredLocation, mapboxNavigation));
+      }
     }
   }
 
+  /**
+   * Queues a batch of locations to be processed in one pass on the navigation thread, with the
+   * configuration at the time the batch was received. Invalid and filtered out locations are
+   * dropped from the batch.
+   */
+  @SuppressWarnings("MissingPermission")
+  void onLocationBatch(List<Location> locations) {
+    if (!locations.isEmpty()) {
+      onLocationReceived();
+    }
+    NavigationConfiguration configuration = mapboxNavigation.configuration();
+    List<NewLocationModel> newLocationModels = new ArrayList<>(locations.size());
+    Location previousLocation = locationEngine.getLastLocation();
+    for (Location location : locations) {
+      if (location != null && validLocationUpdate(location, previousLocation)) {
+        previousLocation = location;
+        Location filteredLocation = filterLocation(location);
+        if (filteredLocation != null) {
+          newLocationModels.add(NewLocationModel.create(reconcileLocation(filteredLocation), configuration));
+        }
+      }
+    }
+    if (!newLocationModels.isEmpty()) {
+      thread.queueBatchTask(MSG_LOCATION_BATCH, newLocationModels);
+    }
+  }
+
+  /**
+   * Called by the {@link DeadReckoningScheduler} while no locations arrive, with a location predicted
+   * along the route, which is processed like a real location.
+   */
+  @Override
+  public void onDeadReckonedLocation(Location location) {
+    thread.queueTask(MSG_LOCATION_UPDATED, NewLocationModel.create(location, mapboxNavigation));
+  }
+
   /**
    * Corresponds to ProgressChangeListener object, updating the notification and passing information
    * to the navigation event dispatcher.
@@ -111,7 +180,25 @@ public class NavigationService extends Service implements LocationEngineListener
   public void onNewRouteProgress(Location location, RouteProgress routeProgress) {
     if (mapboxNavigation.options().enableNotification()) {
       navigationNotification.updateNotification(routeProgress);
+      if (notificationUpdateScheduler != null) {
+        notificationUpdateScheduler.onRouteProgress(routeProgress);
+      }
+    }
+    if (mapboxNavigation.options().enableSpeculativeRouting()) {
+      mapboxNavigation.getSpeculativeRouteEngine().onRouteProgress(location, routeProgress);
+    }
+    if (locationUpdateScheduler != null) {
+      locationUpdateScheduler.onRouteProgress(location, routeProgress);
     }
+    if (deadReckoningScheduler != null) {
+      deadReckoningScheduler.onRouteProgress(location, routeProgress);
+    }
+    if (lastRouteProgress != null && lastRouteProgress.directionsRoute() != routeProgress.directionsRoute()
+      && mapboxNavigation.getReturnToRoute() != null) {
+      // A new route was set, so the user isn't returning to the previous one anymore
+      mapboxNavigation.getReturnToRoute().reset();
+    }
+    lastRouteProgress = routeProgress;
     mapboxNavigation.getEventDispatcher().onProgressChange(location, routeProgress);
   }
 
@@ -121,27 +208,36 @@ public class NavigationService extends Service implements LocationEngineListener
    * or not, the navigation event dispatcher will be called to notify the developer.
    */
   @Override
-  public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
-    for (Milestone milestone : triggeredMilestones) {
-      String instruction = buildInstructionString(routeProgress, milestone);
-      mapboxNavigation.getEventDispatcher().onMilestoneEvent(routeProgress, instruction, milestone);
+  public void onMilestoneTrigger(List<TriggeredMilestone> triggeredMilestones) {
+    for (TriggeredMilestone triggeredMilestone : triggeredMilestones) {
+      mapboxNavigation.getEventDispatcher().onMilestoneEvent(triggeredMilestone.routeProgress(),
+        triggeredMilestone.instruction(), triggeredMilestone.milestone());
     }
   }
 
   /**
    * With each valid and successful rawLocation update, this callback gets invoked and depending on
-   * whether or not the user is off route, the event dispatcher gets called.
+   * whether or not the user is off route, the event dispatcher gets called. If enabled, the user is
+   * guided back to the route first and the off route event is only sent once a new route should be
+   * requested instead.
    */
   @Override
   public void onUserOffRoute(Location location, boolean userOffRoute) {
-    if (userOffRoute) {
-      recentDistancesFromManeuverInMeters.clear();
+    if (locationUpdateScheduler != null) {
+      locationUpdateScheduler.onUserOffRoute(userOffRoute);
+    }
+    if (userOffRoute && deadReckoningScheduler != null) {
+      deadReckoningScheduler.reset();
+    }
+    ReturnToRoute returnToRoute = mapboxNavigation.getReturnToRoute();
+    if (returnToRoute != null && lastRouteProgress != null && (userOffRoute || returnToRoute.isOffRoute())) {
+      returnToRoute(location, userOffRoute, returnToRoute);
+    } else if (userOffRoute) {
       // Send off route event with current location
       mapboxNavigation.getEventDispatcher().onUserOffRoute(location);
     }
   }
 
-
   /**
    * Callback from the {@link NavigationEngine} - if fired with checkFasterRoute set
    * to true, a new {@link DirectionsRoute} should be fetched with {@link RouteEngine}.
@@ -161,15 +257,38 @@ public class NavigationService extends Service implements LocationEngineListener
   /**
    * Callback from the {@link RouteEngine} - if fired, a new and valid
    * {@link DirectionsRoute} has been successfully retrieved.
+   * <p>
+   * Every route in the response gets scored by the faster route engine. Large responses are scored by the
+   * default {@link FasterRouteDetector} on the navigation thread so the main thread isn't blocked, a custom
+   * {@link FasterRoute} engine is always called on the main thread.
    *
    * @param response with the new route
    * @param routeProgress holding necessary leg / step information
    */
   @Override
-  public void onResponseReceived(Response<DirectionsResponse> response, RouteProgress routeProgress) {
-    if (mapboxNavigation.getFasterRouteEngine().isFasterRoute(response.body(), routeProgress)) {
-      mapboxNavigation.getEventDispatcher().onFasterRouteEvent(response.body().routes().get(0));
+  public void onResponseReceived(Response<DirectionsResponse> response, final RouteProgress routeProgress) {
+    final DirectionsResponse body = response.body();
+    if (body == null) {
+      return;
     }
+    final FasterRoute fasterRouteEngine = mapboxNavigation.getFasterRouteEngine();
+    if (fasterRouteEngine.getClass() != FasterRouteDetector.class
+      || countSteps(body) <= LARGE_RESPONSE_STEP_COUNT) {
+      onFasterRouteScored(fasterRouteEngine.findFasterRoute(body, routeProgress));
+      return;
+    }
+    thread.queueRunnable(new Runnable() {
+      @Override
+      public void run() {
+        final ScoredRoute fasterRoute = fasterRouteEngine.findFasterRoute(body, routeProgress);
+        responseHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            onFasterRouteScored(fasterRoute);
+          }
+        });
+      }
+    });
   }
 
   /**
@@ -180,6 +299,11 @@ public class NavigationService extends Service implements LocationEngineListener
     this.mapboxNavigation = mapboxNavigation;
     initNotification(mapboxNavigation);
     initRouteEngine(mapboxNavigation);
+    initSessionTrace(mapboxNavigation);
+    initLocationUpdateScheduler(mapboxNavigation);
+    initDeadReckoningScheduler(mapboxNavigation);
+    // Open a connection now, so the first reroute doesn't have to wait for a TLS handshake
+    NavigationHttpClient.getInstance().warmUp(Constants.BASE_API_URL);
     acquireLocationEngine();
     forceLocationUpdate();
   }
@@ -191,6 +315,38 @@ public class NavigationService extends Service implements LocationEngineListener
   void endNavigation() {
     locationEngine.removeLocationEngineListener(this);
     unregisterMapboxNotificationReceiver();
+    if (locationUpdateScheduler != null) {
+      locationUpdateScheduler.reset();
+    }
+    if (notificationUpdateScheduler != null) {
+      notificationUpdateScheduler.cancel();
+    }
+    if (deadReckoningScheduler != null) {
+      deadReckoningScheduler.reset();
+    }
+    if (mapboxNavigation.getReturnToRoute() != null) {
+      mapboxNavigation.getReturnToRoute().reset();
+    }
+    lastRouteProgress = null;
+    LocationFilterChain locationFilterChain = mapboxNavigation.getLocationFilterChain();
+    if (locationFilterChain != null) {
+      locationFilterChain.logMetrics();
+      locationFilterChain.reset();
+    }
+    if (sessionTraceRecorder != null) {
+      thread.setSessionTraceRecorder(null);
+      sessionTraceRecorder.close();
+      sessionTraceRecorder = null;
+    }
+    if (mapboxNavigation.options().enableAdaptiveProcessing()) {
+      // Queued so the rates include the location updates still being processed
+      thread.queueRunnable(new Runnable() {
+        @Override
+        public void run() {
+          thread.logStageRunRates();
+        }
+      });
+    }
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
       thread.quitSafely();
     } else {
@@ -207,6 +363,9 @@ public class NavigationService extends Service implements LocationEngineListener
   void acquireLocationEngine() {
     locationEngine = mapboxNavigation.getLocationEngine();
     locationEngine.addLocationEngineListener(this);
+    if (locationUpdateScheduler != null) {
+      locationUpdateScheduler.setLocationEngine(locationEngine);
+    }
   }
 
   /**
@@ -238,6 +397,11 @@ public class NavigationService extends Service implements LocationEngineListener
       int notificationId = navigationNotification.getNotificationId();
       startForegroundNotification(notification, notificationId);
     }
+    if (navigationNotification instanceof NotificationContentListener) {
+      notificationUpdateScheduler = new NotificationUpdateScheduler(
+        (NotificationContentListener) navigationNotification, responseHandler,
+        NavigationConstants.NOTIFICATION_MINIMUM_UPDATE_INTERVAL, options.unitType());
+    }
   }
 
   /**
@@ -250,10 +414,68 @@ public class NavigationService extends Service implements LocationEngineListener
    */
   private void initRouteEngine(MapboxNavigation mapboxNavigation) {
     if (mapboxNavigation.options().enableFasterRouteDetection()) {
-      routeEngine = new RouteEngine(this);
+      routeEngine = new RouteEngine(this, mapboxNavigation.options().requestFasterRouteAlternatives(),
+        mapboxNavigation.getRouteProvider());
     }
   }
 
+  /**
+   * Called when {@link MapboxNavigation#setRouteProvider(RouteProvider)} is called while navigating,
+   * so following faster route checks use the new provider.
+   */
+  void updateRouteProvider(RouteProvider routeProvider) {
+    if (routeEngine != null) {
+      routeEngine.setRouteProvider(routeProvider);
+    }
+  }
+
+  /**
+   * Starts recording the session if enabled in {@link MapboxNavigationOptions#enableSessionTrace()}.
+   */
+  private void initSessionTrace(MapboxNavigation mapboxNavigation) {
+    if (mapboxNavigation.options().enableSessionTrace() && sessionTraceRecorder == null) {
+      sessionTraceRecorder = new SessionTraceRecorder(SessionTraceReader.traceDirectory(this),
+        NavigationConstants.SESSION_TRACE_FILE_SIZE);
+      thread.setSessionTraceRecorder(sessionTraceRecorder);
+    }
+  }
+
+  /**
+   * Adjusts the location update interval to the route progress if enabled in
+   * {@link MapboxNavigationOptions#enableLocationUpdateScheduling()}.
+   */
+  private void initLocationUpdateScheduler(MapboxNavigation mapboxNavigation) {
+    if (mapboxNavigation.options().enableLocationUpdateScheduling() && locationUpdateScheduler == null) {
+      locationUpdateScheduler = new LocationUpdateScheduler(mapboxNavigation.options());
+    }
+  }
+
+  /**
+   * Continues the route progress without locations if enabled in
+   * {@link MapboxNavigationOptions#enableDeadReckoning()}.
+   */
+  private void initDeadReckoningScheduler(MapboxNavigation mapboxNavigation) {
+    if (mapboxNavigation.options().enableDeadReckoning() && deadReckoningScheduler == null) {
+      deadReckoningScheduler = new DeadReckoningScheduler(responseHandler, mapboxNavigation.options(), this);
+    }
+  }
+
+  private void onFasterRouteScored(@Nullable ScoredRoute fasterRoute) {
+    if (fasterRoute != null) {
+      mapboxNavigation.getEventDispatcher().onFasterRouteEvent(fasterRoute.route(), fasterRoute.score());
+    }
+  }
+
+  private int countSteps(DirectionsResponse response) {
+    int stepCount = 0;
+    for (DirectionsRoute route : response.routes()) {
+      for (RouteLeg leg : route.legs()) {
+        stepCount += leg.steps().size();
+      }
+    }
+    return stepCount;
+  }
+
   /**
    * Starts the given notification flagged as a foreground service.
    *
@@ -269,17 +491,67 @@ public class NavigationService extends Service implements LocationEngineListener
    * Runs several checks on the actual rawLocation object itself in order to ensure that we are
    * performing navigation progress on a accurate/valid rawLocation update.
    */
-  @SuppressWarnings("MissingPermission")
-  private boolean validLocationUpdate(Location location) {
-    if (locationEngine.getLastLocation() == null) {
+  private boolean validLocationUpdate(Location location, Location previousLocation) {
+    if (previousLocation == null) {
       return true;
     }
     // If the locations the same as previous, no need to recalculate things
-    return !(location.equals(locationEngine.getLastLocation())
+    return !(location.equals(previousLocation)
       || (location.getSpeed() <= 0 && location.hasSpeed())
       || location.getAccuracy() >= 100);
   }
 
+  /**
+   * Passes the location through the filter chain set on {@link MapboxNavigation}, if any.
+   *
+   * @return the filtered location, or null if a filter dropped it
+   */
+  @Nullable
+  private Location filterLocation(Location location) {
+    LocationFilterChain locationFilterChain = mapboxNavigation.getLocationFilterChain();
+    if (locationFilterChain == null) {
+      return location;
+    }
+    return locationFilterChain.filter(location);
+  }
+
+  /**
+   * Blends out the difference between the last location predicted by dead reckoning and the real
+   * locations arriving after it.
+   */
+  private Location reconcileLocation(Location location) {
+    if (deadReckoningScheduler == null) {
+      return location;
+    }
+    return deadReckoningScheduler.reconcile(location);
+  }
+
+  /**
+   * Restarts the dead reckoning timeout. If locations were predicted until now, the distances
+   * recorded from the predictions are cleared, so the real location isn't compared against them.
+   */
+  private void onLocationReceived() {
+    if (deadReckoningScheduler != null && deadReckoningScheduler.onLocationReceived()) {
+      thread.queueClearRecentDistances();
+    }
+  }
+
+  /**
+   * Guides the user back to the route if enabled in {@link MapboxNavigationOptions#enableReturnToRoute()}.
+   * This keeps going with every location until the user is back on the route, as the off-route
+   * detector doesn't report the user as off-route again right after it did. The off route event is
+   * sent once a new route should be requested instead, and again whenever the detector reports it.
+   */
+  private void returnToRoute(Location location, boolean userOffRoute, ReturnToRoute returnToRoute) {
+    boolean wasEscalated = returnToRoute.isOffRoute() && !returnToRoute.isActive();
+    ReturnToRouteGuidance guidance = returnToRoute.update(location, lastRouteProgress, SystemClock.elapsedRealtime());
+    if (guidance != null) {
+      mapboxNavigation.getEventDispatcher().onReturnToRoute(location, guidance);
+    } else if (userOffRoute || !wasEscalated) {
+      mapboxNavigation.getEventDispatcher().onUserOffRoute(location);
+    }
+  }
+
   /**
    * At the very beginning of navigation session, a forced location update occurs so that the
    * developer can immediately get a routeProgress object to display information.
@@ -288,8 +560,8 @@ public class NavigationService extends Service implements LocationEngineListener
   private void forceLocationUpdate() {
     Location lastLocation = locationEngine.getLastLocation();
     if (lastLocation != null) {
-      thread.queueTask(MSG_LOCATION_UPDATED, NewLocationModel.create(lastLocation, mapboxNavigation,
-        recentDistancesFromManeuverInMeters));
+      onLocationReceived();
+      thread.queueTask(MSG_LOCATION_UPDATED, NewLocationModel.create(lastLocation, mapboxNavigation));
     }
   }
 
@@ -4,24 +4,25 @@ import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.location.Location;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.os.Build;
 import android.support.annotation.NonNull;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.core.utils.TextUtils;
-import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.BuildConfig;
 import com.mapbox.services.android.navigation.v5.exception.NavigationException;
+import com.mapbox.services.android.navigation.v5.location.LocationHistory;
 import com.mapbox.services.android.navigation.v5.location.MetricsLocation;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListeners;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.RerouteEvent;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.SessionState;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.TelemetryEvent;
+import com.mapbox.services.android.navigation.v5.navigation.metrics.TelemetryGeometry;
 import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 import com.mapbox.services.android.navigation.v5.utils.time.TimeUtils;
 import com.mapbox.services.android.telemetry.MapboxEvent;
@@ -31,24 +32,46 @@ import com.mapbox.services.android.telemetry.location.LocationEngine;
 import com.mapbox.services.android.telemetry.location.LocationEngineListener;
 import com.mapbox.services.android.telemetry.utils.TelemetryUtils;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
+import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Collects the data needed for navigation telemetry events and sends them.
+ * <p>
+ * Listener and session methods are called on the main thread, but only take a snapshot of their
+ * arguments there. All processing, from updating the {@link SessionState} to building and sending
+ * events, runs on a single background thread, which is also the only thread accessing the state of
+ * the current session.
+ * <p>
+ * Reroute and feedback events are handed to MapboxTelemetry, which respects the user's telemetry
+ * opt-out. Events created without a connection are stored in a {@link TelemetryEventQueue} on disk
+ * instead, and handed over in batches once the connection allows it. Whether to do so is checked
+ * once a minute rather than with every location update.
+ */
 class NavigationTelemetry implements LocationEngineListener, NavigationMetricListeners.EventListeners,
   NavigationMetricListeners.ArrivalListener {
 
   private static NavigationTelemetry instance;
   private boolean isInitialized = false;
+  private final ScheduledExecutorService telemetryExecutor;
 
   private static final String MAPBOX_NAVIGATION_SDK_IDENTIFIER = "mapbox-navigation-android";
   private static final String MAPBOX_NAVIGATION_UI_SDK_IDENTIFIER = "mapbox-navigation-ui-android";
   private static final String MOCK_PROVIDER = "com.mapbox.services.android.navigation.v5.location.MockLocationEngine";
   private static final int TWENTY_SECOND_INTERVAL = 20;
+  private static final int LOCATION_HISTORY_SIZE = 40;
+  private static final String EVENT_LOG_FILE_NAME = "mapbox-navigation-events.log";
+  private static final long EVENT_LOG_MAX_BYTES = 1024 * 1024;
+  private static final long EVENT_QUEUE_FLUSH_INTERVAL = 60;
 
   private List<RerouteEvent> queuedRerouteEvents = new ArrayList<>();
   private List<FeedbackEvent> queuedFeedbackEvents = new ArrayList<>();
@@ -57,18 +80,36 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private MetricsLocation metricLocation;
 
   private NavigationEventDispatcher eventDispatcher;
-  private NavigationLifecycleMonitor lifecycleMonitor;
+  private volatile NavigationLifecycleMonitor lifecycleMonitor;
   private LocationEngine navigationLocationEngine;
   private SessionState navigationSessionState;
-  private RingBuffer<Location> locationBuffer;
+  private LocationHistory locationHistory;
   private Date lastRerouteDate;
+  private TelemetryEventQueue eventQueue;
+  private ConnectivityManager connectivityManager;
+  private boolean canAccessNetworkState;
 
   private String vendorId;
   private boolean isOffRoute;
   private boolean isConfigurationChange;
 
   private NavigationTelemetry() {
-    locationBuffer = new RingBuffer<>(40);
+    this(Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(@NonNull Runnable runnable) {
+        Thread thread = new Thread(runnable, "NavigationTelemetry");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      }
+    }));
+  }
+
+  // Package private (no modifier) for testing purposes
+  NavigationTelemetry(ScheduledExecutorService telemetryExecutor) {
+    this.telemetryExecutor = telemetryExecutor;
+    navigationSessionState = SessionState.builder().build();
+    locationHistory = new LocationHistory(LOCATION_HISTORY_SIZE);
     metricLocation = new MetricsLocation(null);
     metricProgress = new MetricsRouteProgress(null);
   }
@@ -93,40 +134,55 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
   @Override
   public void onLocationChanged(Location location) {
-    updateCurrentLocation(location);
+    // Location is mutable, so copy it before handing it to the telemetry thread
+    final Location locationSnapshot = new Location(location);
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateCurrentLocation(locationSnapshot);
+      }
+    });
   }
 
   @Override
-  public void onRouteProgressUpdate(RouteProgress routeProgress) {
-    this.metricProgress = new MetricsRouteProgress(routeProgress);
-
-    if (navigationSessionState.startTimestamp() == null) {
-      // Set departure timestamp
-      navigationSessionState = navigationSessionState.toBuilder()
-        .startTimestamp(new Date())
-        .build();
-      updateLifecyclePercentages();
-      // Send departure event for the start of this session
-      NavigationMetricsWrapper.departEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
-    }
+  public void onRouteProgressUpdate(final RouteProgress routeProgress) {
+    final Date progressDate = new Date();
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateRouteProgress(routeProgress, progressDate);
+      }
+    });
   }
 
   @Override
   public void onOffRouteEvent(Location offRouteLocation) {
-    if (!isOffRoute) {
-      updateDistanceCompleted();
-      queueRerouteEvent();
-      isOffRoute = true;
-    }
+    final Date eventDate = new Date();
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (!isOffRoute) {
+          updateDistanceCompleted();
+          queueRerouteEvent(eventDate);
+          isOffRoute = true;
+        }
+      }
+    });
   }
 
   @Override
-  public void onArrival(Location location, RouteProgress routeProgress) {
-    // Update arrival time stamp
-    navigationSessionState = navigationSessionState.toBuilder().arrivalTimestamp(new Date()).build();
-    updateLifecyclePercentages();
-    // Send arrival event
-    NavigationMetricsWrapper.arriveEvent(navigationSessionState, routeProgress, metricLocation.getLocation());
+  public void onArrival(Location location, final RouteProgress routeProgress) {
+    final Date arrivalDate = new Date();
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Update arrival time stamp
+        navigationSessionState = navigationSessionState.toBuilder().arrivalTimestamp(arrivalDate).build();
+        updateLifecyclePercentages();
+        // Send arrival event
+        NavigationMetricsWrapper.arriveEvent(navigationSessionState, routeProgress, metricLocation.getLocation());
+      }
+    });
 
     // Reset the departure listener if there is another leg in the route
     if (!RouteUtils.isLastLeg(routeProgress)) {
@@ -139,7 +195,12 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
     if (!isInitialized) {
       // Initial session state
-      navigationSessionState = SessionState.builder().build();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = SessionState.builder().build();
+        }
+      });
 
       // Setup the location engine
       updateLocationEngine(locationEngine);
@@ -148,20 +209,27 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
       MapboxNavigationOptions options = navigation.options();
       // Set sdkIdentifier based on if from UI or not
-      String sdkIdentifier = updateSdkIdentifier(options);
+      final String sdkIdentifier = updateSdkIdentifier(options);
       // Enable extra logging in debug mode
       MapboxTelemetry.getInstance().setDebugLoggingEnabled(options.isDebugLoggingEnabled());
 
       updateUserAgent(context, accessToken, sdkIdentifier);
 
-      // Get the current vendorId
-      vendorId = obtainVendorId(context);
-
-      NavigationMetricsWrapper.sdkIdentifier = sdkIdentifier;
-      NavigationMetricsWrapper.turnstileEvent();
-      // TODO This should be removed when we figure out a solution in NavigationTelemetry
-      // Force pushing a TYPE_MAP_LOAD event to ensure that the Nav turnstile event is sent
-      MapboxTelemetry.getInstance().pushEvent(MapboxEvent.buildMapLoadEvent());
+      final Context applicationContext = context.getApplicationContext();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          // Get the current vendorId
+          vendorId = obtainVendorId(applicationContext);
+          initializeEventQueue(applicationContext);
+
+          NavigationMetricsWrapper.sdkIdentifier = sdkIdentifier;
+          NavigationMetricsWrapper.turnstileEvent();
+          // TODO This should be removed when we figure out a solution in NavigationTelemetry
+          // Force pushing a TYPE_MAP_LOAD event to ensure that the Nav turnstile event is sent
+          MapboxTelemetry.getInstance().pushEvent(MapboxEvent.buildMapLoadEvent());
+        }
+      });
 
       isInitialized = true;
     }
@@ -187,18 +255,23 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param directionsRoute first route passed to navigation
    */
-  void startSession(DirectionsRoute directionsRoute) {
+  void startSession(final DirectionsRoute directionsRoute) {
     if (!isConfigurationChange) {
-      navigationSessionState = navigationSessionState.toBuilder()
-        .sessionIdentifier(TelemetryUtils.buildUUID())
-        .originalDirectionRoute(directionsRoute)
-        .originalRequestIdentifier(directionsRoute.routeOptions().requestUuid())
-        .requestIdentifier(directionsRoute.routeOptions().requestUuid())
-        .currentDirectionRoute(directionsRoute)
-        .eventRouteDistanceCompleted(0)
-        .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
-        .rerouteCount(0)
-        .build();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = navigationSessionState.toBuilder()
+            .sessionIdentifier(TelemetryUtils.buildUUID())
+            .originalDirectionRoute(directionsRoute)
+            .originalRequestIdentifier(directionsRoute.routeOptions().requestUuid())
+            .requestIdentifier(directionsRoute.routeOptions().requestUuid())
+            .currentDirectionRoute(directionsRoute)
+            .eventRouteDistanceCompleted(0)
+            .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
+            .rerouteCount(0)
+            .build();
+        }
+      });
     }
     isConfigurationChange = false;
   }
@@ -210,11 +283,22 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   void endSession(boolean isConfigurationChange) {
     this.isConfigurationChange = isConfigurationChange;
     if (!isConfigurationChange) {
-      if (navigationSessionState.startTimestamp() != null) {
-        flushEventQueues();
-        updateLifecyclePercentages();
-        NavigationMetricsWrapper.cancelEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
-      }
+      final NavigationLifecycleMonitor sessionLifecycleMonitor = lifecycleMonitor;
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          if (navigationSessionState.startTimestamp() != null) {
+            flushEventQueues();
+            updateLifecyclePercentages(sessionLifecycleMonitor);
+            NavigationMetricsWrapper.cancelEvent(navigationSessionState, metricProgress,
+              metricLocation.getLocation());
+          }
+          // Send whatever is left of this session while the connection is still known to be there
+          if (eventQueue != null && isTelemetryEnabled() && isConnected(activeNetworkInfo())) {
+            eventQueue.flush();
+          }
+        }
+      });
       lifecycleMonitor = null;
       isInitialized = false;
     }
@@ -229,7 +313,17 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param directionsRoute new route passed to {@link MapboxNavigation}
    */
-  void updateSessionRoute(DirectionsRoute directionsRoute) {
+  void updateSessionRoute(final DirectionsRoute directionsRoute) {
+    final Date updateDate = new Date();
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateCurrentRoute(directionsRoute, updateDate);
+      }
+    });
+  }
+
+  private void updateCurrentRoute(DirectionsRoute directionsRoute, Date updateDate) {
     SessionState.Builder navigationBuilder = navigationSessionState.toBuilder();
     navigationBuilder.currentDirectionRoute(directionsRoute);
 
@@ -241,7 +335,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       navigationSessionState = navigationBuilder.build();
 
       updateLastRerouteEvent(directionsRoute);
-      lastRerouteDate = new Date();
+      lastRerouteDate = updateDate;
       isOffRoute = false;
     } else {
       // Not current off-route - just update the session
@@ -268,8 +362,13 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     if (locationEngine != null) {
       navigationLocationEngine = locationEngine;
       navigationLocationEngine.addLocationEngineListener(this);
-      String locationEngineName = locationEngine.getClass().getName();
-      navigationSessionState.toBuilder().locationEngineName(locationEngineName);
+      final String locationEngineName = locationEngine.getClass().getName();
+      telemetryExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = navigationSessionState.toBuilder().locationEngineName(locationEngineName).build();
+        }
+      });
     }
   }
 
@@ -282,10 +381,18 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * @param feedbackSource from either reroute or UI
    * @return String feedbackId to identify the event created if needed
    */
-  String recordFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType, String description,
-                             @FeedbackEvent.FeedbackSource String feedbackSource) {
-    FeedbackEvent feedbackEvent = queueFeedbackEvent(feedbackType, description, feedbackSource);
-    return feedbackEvent.getEventId();
+  String recordFeedbackEvent(@FeedbackEvent.FeedbackType final String feedbackType, final String description,
+                             @FeedbackEvent.FeedbackSource final String feedbackSource) {
+    // The id is created right away, the event itself is built on the telemetry thread
+    final String feedbackId = TelemetryUtils.buildUUID();
+    final Date eventDate = new Date();
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        queueFeedbackEvent(feedbackId, eventDate, feedbackType, description, feedbackSource);
+      }
+    });
+    return feedbackId;
   }
 
   /**
@@ -298,15 +405,20 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * @param description  an optional description to provide more detail about the feedback
    * @param screenshot   an optional encoded screenshot to provide more detail about the feedback
    */
-  void updateFeedbackEvent(String feedbackId, @FeedbackEvent.FeedbackType String feedbackType,
-                           String description, String screenshot) {
-    // Find the event and update
-    FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
-    if (feedbackEvent != null) {
-      feedbackEvent.setFeedbackType(feedbackType);
-      feedbackEvent.setDescription(description);
-      feedbackEvent.setScreenshot(screenshot);
-    }
+  void updateFeedbackEvent(final String feedbackId, @FeedbackEvent.FeedbackType final String feedbackType,
+                           final String description, final String screenshot) {
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Find the event and update
+        FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
+        if (feedbackEvent != null) {
+          feedbackEvent.setFeedbackType(feedbackType);
+          feedbackEvent.setDescription(description);
+          feedbackEvent.setScreenshot(screenshot);
+        }
+      }
+    });
   }
 
   /**
@@ -316,10 +428,34 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param feedbackId generated from {@link MapboxNavigation#recordFeedback(String, String, String)}
    */
-  void cancelFeedback(String feedbackId) {
-    // Find the event and remove it from the queue
-    FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
-    queuedFeedbackEvents.remove(feedbackEvent);
+  void cancelFeedback(final String feedbackId) {
+    telemetryExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Find the event and remove it from the queue
+        FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
+        queuedFeedbackEvents.remove(feedbackEvent);
+      }
+    });
+  }
+
+  // Package private (no modifier) for testing purposes
+  SessionState sessionState() {
+    return navigationSessionState;
+  }
+
+  private void updateRouteProgress(RouteProgress routeProgress, Date progressDate) {
+    this.metricProgress = new MetricsRouteProgress(routeProgress);
+
+    if (navigationSessionState.startTimestamp() == null) {
+      // Set departure timestamp
+      navigationSessionState = navigationSessionState.toBuilder()
+        .startTimestamp(progressDate)
+        .build();
+      updateLifecyclePercentages();
+      // Send departure event for the start of this session
+      NavigationMetricsWrapper.departEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
+    }
   }
 
   private void resetArrivalListener() {
@@ -365,6 +501,89 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     }
   }
 
+  private void initializeEventQueue(Context context) {
+    if (eventQueue != null) {
+      return;
+    }
+    connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    canAccessNetworkState = connectivityManager != null;
+    TelemetryEventLog eventLog = new TelemetryEventLog(
+      new File(context.getFilesDir(), EVENT_LOG_FILE_NAME), EVENT_LOG_MAX_BYTES);
+    eventQueue = new TelemetryEventQueue(eventLog, new TelemetryEventQueue.Sender() {
+      @Override
+      public void send(List<Hashtable<String, Object>> events) {
+        for (Hashtable<String, Object> event : events) {
+          MapboxTelemetry.getInstance().pushEvent(event);
+        }
+        MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+      }
+    }, System.currentTimeMillis());
+    telemetryExecutor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        flushEventQueueIfNeeded();
+      }
+    }, EVENT_QUEUE_FLUSH_INTERVAL, EVENT_QUEUE_FLUSH_INTERVAL, TimeUnit.SECONDS);
+  }
+
+  private void sendEvent(Hashtable<String, Object> event) {
+    if (!isTelemetryEnabled()) {
+      // Nothing is sent or stored for users who opted out
+      return;
+    }
+    if (eventQueue == null || isConnected(activeNetworkInfo())) {
+      MapboxTelemetry.getInstance().pushEvent(event);
+      MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+      return;
+    }
+    // MapboxTelemetry would lose it without a connection, keep it until there is one
+    eventQueue.add(event, System.currentTimeMillis());
+  }
+
+  private void flushEventQueueIfNeeded() {
+    if (eventQueue == null || eventQueue.size() == 0) {
+      return;
+    }
+    if (!isTelemetryEnabled()) {
+      // The user opted out since the events were stored
+      eventQueue.clear();
+      return;
+    }
+    NetworkInfo networkInfo = activeNetworkInfo();
+    eventQueue.flushIfNeeded(isConnected(networkInfo), isMetered(networkInfo), System.currentTimeMillis());
+  }
+
+  private boolean isTelemetryEnabled() {
+    return MapboxTelemetry.getInstance().isTelemetryEnabled();
+  }
+
+  private NetworkInfo activeNetworkInfo() {
+    if (!canAccessNetworkState) {
+      return null;
+    }
+    try {
+      return connectivityManager.getActiveNetworkInfo();
+    } catch (SecurityException exception) {
+      canAccessNetworkState = false;
+      return null;
+    }
+  }
+
+  private boolean isConnected(NetworkInfo networkInfo) {
+    // If the network state is unknown, try anyway and let the request fail
+    return !canAccessNetworkState || (networkInfo != null && networkInfo.isConnected());
+  }
+
+  private boolean isMetered(NetworkInfo networkInfo) {
+    if (!canAccessNetworkState || networkInfo == null) {
+      return true;
+    }
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      return connectivityManager.isActiveNetworkMetered();
+    }
+    return networkInfo.getType() != ConnectivityManager.TYPE_WIFI;
+  }
+
   private String obtainVendorId(Context context) {
     SharedPreferences prefs = TelemetryUtils.getSharedPreferences(context.getApplicationContext());
     return prefs.getString(TelemetryConstants.MAPBOX_SHARED_PREFERENCE_KEY_VENDOR_ID, "");
@@ -372,7 +591,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
   private void updateCurrentLocation(Location rawLocation) {
     metricLocation = new MetricsLocation(rawLocation);
-    locationBuffer.addLast(rawLocation);
+    locationHistory.add(rawLocation);
 
     // Check queued reroute events
     checkRerouteQueue();
@@ -406,38 +625,18 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     return TimeUtils.dateDiff(sessionState.eventDate(), new Date(), TimeUnit.SECONDS) > TWENTY_SECOND_INTERVAL;
   }
 
+  /**
+   * The returned views of the location history are only valid until the next location is added, so
+   * they're converted to arrays by {@link NavigationMetricsWrapper} before the event is sent.
+   */
   @NonNull
   private List<Location> createLocationListBeforeEvent(Date eventDate) {
-    Location[] locations = locationBuffer.toArray(new Location[locationBuffer.size()]);
-    // Create current list of dates
-    List<Location> currentLocationList = Arrays.asList(locations);
-    // Setup list for dates before the event
-    List<Location> locationsBeforeEvent = new ArrayList<>();
-    // Add any events before the event date
-    for (Location location : currentLocationList) {
-      Date locationDate = new Date(location.getTime());
-      if (locationDate.before(eventDate)) {
-        locationsBeforeEvent.add(location);
-      }
-    }
-    return locationsBeforeEvent;
+    return locationHistory.before(eventDate.getTime());
   }
 
   @NonNull
   private List<Location> createLocationListAfterEvent(Date eventDate) {
-    Location[] locations = locationBuffer.toArray(new Location[locationBuffer.size()]);
-    // Create current list of dates
-    List<Location> currentLocationList = Arrays.asList(locations);
-    // Setup list for dates after the event
-    List<Location> locationsAfterEvent = new ArrayList<>();
-    // Add any events after the event date
-    for (Location location : currentLocationList) {
-      Date locationDate = new Date(location.getTime());
-      if (locationDate.after(eventDate)) {
-        locationsAfterEvent.add(location);
-      }
-    }
-    return locationsAfterEvent;
+    return locationHistory.after(eventDate.getTime());
   }
 
   private void updateDistanceCompleted() {
@@ -448,10 +647,9 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       .build();
   }
 
-  private void queueRerouteEvent() {
+  private void queueRerouteEvent(Date eventDate) {
     updateLifecyclePercentages();
     // Create a new session state given the current navigation session
-    Date eventDate = new Date();
     SessionState rerouteEventSessionState = navigationSessionState.toBuilder()
       .eventDate(eventDate)
       .eventRouteProgress(metricProgress)
@@ -464,9 +662,8 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     queuedRerouteEvents.add(rerouteEvent);
   }
 
-  @NonNull
-  private FeedbackEvent queueFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType,
-                                           String description, @FeedbackEvent.FeedbackSource String feedbackSource) {
+  private void queueFeedbackEvent(String feedbackId, Date eventDate, @FeedbackEvent.FeedbackType String feedbackType,
+                                  String description, @FeedbackEvent.FeedbackSource String feedbackSource) {
     updateLifecyclePercentages();
     // Distance completed = previous distance completed + current RouteProgress distance traveled
     double distanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
@@ -474,18 +671,17 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
     // Create a new session state given the current navigation session
     SessionState feedbackEventSessionState = navigationSessionState.toBuilder()
-      .eventDate(new Date())
+      .eventDate(eventDate)
       .eventRouteProgress(metricProgress)
       .eventRouteDistanceCompleted(distanceCompleted)
       .eventLocation(metricLocation.getLocation())
       .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
       .build();
 
-    FeedbackEvent feedbackEvent = new FeedbackEvent(feedbackEventSessionState, feedbackSource);
+    FeedbackEvent feedbackEvent = new FeedbackEvent(feedbackEventSessionState, feedbackSource, feedbackId);
     feedbackEvent.setDescription(description);
     feedbackEvent.setFeedbackType(feedbackType);
     queuedFeedbackEvents.add(feedbackEvent);
-    return feedbackEvent;
   }
 
   private void sendRerouteEvent(RerouteEvent rerouteEvent) {
@@ -505,8 +701,8 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     // Set the updated session state
     rerouteEvent.setRerouteSessionState(rerouteSessionState);
 
-    NavigationMetricsWrapper.rerouteEvent(rerouteEvent, metricProgress,
-      rerouteEvent.getSessionState().eventLocation());
+    sendEvent(NavigationMetricsWrapper.rerouteEvent(rerouteEvent, metricProgress,
+      rerouteEvent.getSessionState().eventLocation()));
   }
 
   private void sendFeedbackEvent(FeedbackEvent feedbackEvent) {
@@ -522,9 +718,9 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       .afterEventLocations(afterLocations)
       .build();
 
-    NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, metricProgress,
+    sendEvent(NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, metricProgress,
       feedbackEvent.getSessionState().eventLocation(), feedbackEvent.getDescription(),
-      feedbackEvent.getFeedbackType(), feedbackEvent.getScreenshot(), feedbackEvent.getEventId(), vendorId);
+      feedbackEvent.getFeedbackType(), feedbackEvent.getScreenshot(), feedbackEvent.getEventId(), vendorId));
   }
 
   private TelemetryEvent findQueuedTelemetryEvent(String eventId) {
@@ -542,6 +738,10 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   }
 
   private void updateLifecyclePercentages() {
+    updateLifecyclePercentages(lifecycleMonitor);
+  }
+
+  private void updateLifecyclePercentages(NavigationLifecycleMonitor lifecycleMonitor) {
     if (lifecycleMonitor != null) {
       navigationSessionState = navigationSessionState.toBuilder()
         .percentInForeground(lifecycleMonitor.obtainForegroundPercentage())
@@ -553,9 +753,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private void updateLastRerouteEvent(DirectionsRoute newDirectionsRoute) {
     if (!queuedRerouteEvents.isEmpty()) {
       RerouteEvent rerouteEvent = queuedRerouteEvents.get(queuedRerouteEvents.size() - 1);
-      List<Point> geometryPositions = PolylineUtils.decode(newDirectionsRoute.geometry(), Constants.PRECISION_6);
-      PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
-      rerouteEvent.setNewRouteGeometry(PolylineUtils.encode(geometryPositions, Constants.PRECISION_5));
+      rerouteEvent.setNewRouteGeometry(TelemetryGeometry.toPrecisionFive(newDirectionsRoute.geometry()));
       int newDistanceRemaining = newDirectionsRoute.distance() == null ? 0 : newDirectionsRoute.distance().intValue();
       rerouteEvent.setNewDistanceRemaining(newDistanceRemaining);
       int newDurationRemaining = newDirectionsRoute.duration() == null ? 0 : newDirectionsRoute.duration().intValue();
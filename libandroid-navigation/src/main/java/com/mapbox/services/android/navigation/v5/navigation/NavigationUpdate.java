@@ -0,0 +1,33 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * Everything {@link NavigationEngine} calculates for a single location update.
+ */
+@AutoValue
+abstract class NavigationUpdate {
+
+  static NavigationUpdate create(Location location, RouteProgress routeProgress, List<TriggeredMilestone> milestones,
+                                 boolean userOffRoute, boolean checkFasterRoute) {
+    return new AutoValue_NavigationUpdate(location, routeProgress, milestones, userOffRoute, checkFasterRoute);
+  }
+
+  abstract Location location();
+
+  abstract RouteProgress routeProgress();
+
+  /**
+   * @return the milestones triggered by the location update, or by every location of a batch
+   */
+  abstract List<TriggeredMilestone> milestones();
+
+  abstract boolean userOffRoute();
+
+  abstract boolean checkFasterRoute();
+}
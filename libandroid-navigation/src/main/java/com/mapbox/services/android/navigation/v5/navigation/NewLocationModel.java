@@ -3,20 +3,23 @@ package com.mapbox.services.android.navigation.v5.navigation;
 import android.location.Location;
 
 import com.google.auto.value.AutoValue;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
 
 @AutoValue
 abstract class NewLocationModel {
 
-  static NewLocationModel create(Location location, MapboxNavigation mapboxNavigation,
-                                 RingBuffer recentDistancesFromManeuverInMeters) {
-    return new AutoValue_NewLocationModel(location, mapboxNavigation,
-      recentDistancesFromManeuverInMeters);
+  /**
+   * Takes the current configuration of the given navigation, so the location is processed with the
+   * configuration it was received with.
+   */
+  static NewLocationModel create(Location location, MapboxNavigation mapboxNavigation) {
+    return create(location, mapboxNavigation.configuration());
   }
 
-  abstract Location location();
+  static NewLocationModel create(Location location, NavigationConfiguration configuration) {
+    return new AutoValue_NewLocationModel(location, configuration);
+  }
 
-  abstract MapboxNavigation mapboxNavigation();
+  abstract Location location();
 
-  abstract RingBuffer recentDistancesFromManeuverInMeters();
+  abstract NavigationConfiguration configuration();
 }
@@ -0,0 +1,59 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.DistanceUtils;
+import com.mapbox.services.android.navigation.v5.utils.ManeuverUtils;
+import com.mapbox.services.android.navigation.v5.utils.time.TimeUtils;
+
+import java.text.DecimalFormat;
+
+/**
+ * What a navigation notification shows for a {@link RouteProgress}, formatted the way it's
+ * displayed. Two progress updates with equal content look the same in the notification.
+ */
+@AutoValue
+abstract class NotificationContent {
+
+  static NotificationContent create(RouteProgress routeProgress, DecimalFormat decimalFormat, int unitType) {
+    LegStep currentStep = routeProgress.currentLegProgress().currentStep();
+    String instructionText = currentStep.bannerInstructions() != null && !currentStep.bannerInstructions().isEmpty()
+      ? currentStep.bannerInstructions().get(0).primary().text() : null;
+    String distanceText = DistanceUtils.distanceFormatter(
+      routeProgress.currentLegProgress().currentStepProgress().distanceRemaining(),
+      decimalFormat, true, unitType).toString();
+    String arrivalTime = TimeUtils.formatArrivalTime(routeProgress.durationRemaining());
+    return new AutoValue_NotificationContent(routeProgress.legIndex(),
+      routeProgress.currentLegProgress().stepIndex(), instructionText, distanceText, arrivalTime,
+      ManeuverUtils.getManeuverResource(maneuverStep(routeProgress)));
+  }
+
+  /**
+   * The step whose maneuver is shown, the upcoming step or the current step if there is none.
+   */
+  static LegStep maneuverStep(RouteProgress routeProgress) {
+    return routeProgress.currentLegProgress().upComingStep() != null
+      ? routeProgress.currentLegProgress().upComingStep()
+      : routeProgress.currentLegProgress().currentStep();
+  }
+
+  abstract int legIndex();
+
+  abstract int stepIndex();
+
+  @Nullable
+  abstract String instructionText();
+
+  abstract String distanceText();
+
+  abstract String arrivalTime();
+
+  abstract int maneuverResource();
+
+  boolean isSameStep(@Nullable NotificationContent content) {
+    return content != null && legIndex() == content.legIndex() && stepIndex() == content.stepIndex();
+  }
+}
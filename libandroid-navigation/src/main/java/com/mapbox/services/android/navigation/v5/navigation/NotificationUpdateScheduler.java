@@ -0,0 +1,98 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.mapbox.services.android.navigation.v5.navigation.notification.NotificationContentListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.text.DecimalFormat;
+
+/**
+ * Decides when a {@link NotificationContentListener} is told that a notification needs to be updated.
+ * <p>
+ * Every notification update crosses into the system process and has the notification redrawn, so
+ * rather than updating with every location, the listener is only called if what the notification
+ * shows has changed, at most once per {@link NavigationConstants#NOTIFICATION_MINIMUM_UPDATE_INTERVAL}. Changes
+ * arriving sooner are held back and published with the latest progress once the interval has passed.
+ * Reaching a new step is published right away.
+ * <p>
+ * Only accessed from the main thread.
+ */
+class NotificationUpdateScheduler {
+
+  private final NotificationContentListener contentListener;
+  private final Handler handler;
+  private final long minimumUpdateInterval;
+  private final DecimalFormat decimalFormat;
+  private final int unitType;
+  private NotificationContent publishedContent;
+  private NotificationContent pendingContent;
+  private RouteProgress pendingRouteProgress;
+  private long lastPublishTime;
+  private boolean isPublishScheduled;
+
+  private final Runnable publishRunnable = new Runnable() {
+    @Override
+    public void run() {
+      isPublishScheduled = false;
+      publish();
+    }
+  };
+
+  NotificationUpdateScheduler(NotificationContentListener contentListener, Handler handler,
+                              long minimumUpdateInterval, int unitType) {
+    this.contentListener = contentListener;
+    this.handler = handler;
+    this.minimumUpdateInterval = minimumUpdateInterval;
+    this.unitType = unitType;
+    this.decimalFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
+  }
+
+  void onRouteProgress(RouteProgress routeProgress) {
+    NotificationContent content = NotificationContent.create(routeProgress, decimalFormat, unitType);
+    if (content.equals(publishedContent)) {
+      // Changed back before a held back update was published
+      cancelScheduledPublish();
+      return;
+    }
+    pendingRouteProgress = routeProgress;
+    pendingContent = content;
+
+    long timeSincePublish = SystemClock.elapsedRealtime() - lastPublishTime;
+    if (!content.isSameStep(publishedContent) || timeSincePublish >= minimumUpdateInterval) {
+      cancelScheduledPublish();
+      publish();
+    } else if (!isPublishScheduled) {
+      isPublishScheduled = true;
+      handler.postDelayed(publishRunnable, minimumUpdateInterval - timeSincePublish);
+    }
+  }
+
+  /**
+   * Stops any held back update from being published.
+   */
+  void cancel() {
+    cancelScheduledPublish();
+  }
+
+  private void publish() {
+    if (pendingRouteProgress == null) {
+      return;
+    }
+    contentListener.onNotificationContentChanged(pendingRouteProgress);
+    publishedContent = pendingContent;
+    lastPublishTime = SystemClock.elapsedRealtime();
+    pendingRouteProgress = null;
+    pendingContent = null;
+  }
+
+  private void cancelScheduledPublish() {
+    if (isPublishScheduled) {
+      handler.removeCallbacks(publishRunnable);
+      isPublishScheduled = false;
+    }
+    pendingRouteProgress = null;
+    pendingContent = null;
+  }
+}
@@ -0,0 +1,364 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A stream of the route progress updates from {@link MapboxNavigation}, which lets each consumer
+ * choose how often it receives them and on which thread, rather than receiving every update on the
+ * main thread like a {@link ProgressChangeListener} added directly.
+ * <p>
+ * Streams are immutable, each operator returns a new stream, so a stream can be shared and
+ * subscribed to multiple times. {@link #sample(long)} and
+ * {@link #distinctUntilChanged(KeySelector)} are applied on the main thread in the order they're
+ * called, before the remaining updates are delivered on the executor given to
+ * {@link #observeOn(Executor)}. A consumer slower than the updates only ever misses intermediate
+ * updates, it receives the latest one once it's ready, so it never holds up the main thread or other
+ * consumers.
+ * <pre>
+ * navigation.routeProgressStream()
+ *   .distinctUntilChanged(RouteProgressStream.distanceRemaining(100))
+ *   .sample(5000)
+ *   .observeOn(uploadExecutor)
+ *   .subscribe(uploader);
+ * </pre>
+ *
+ * @since 0.9.0
+ */
+public class RouteProgressStream {
+
+  private final MapboxNavigation navigation;
+  private final List<Operator> operators;
+  @Nullable
+  private final Executor executor;
+
+  RouteProgressStream(MapboxNavigation navigation) {
+    this(navigation, Collections.<Operator>emptyList(), null);
+  }
+
+  private RouteProgressStream(MapboxNavigation navigation, List<Operator> operators, @Nullable Executor executor) {
+    this.navigation = navigation;
+    this.operators = operators;
+    this.executor = executor;
+  }
+
+  /**
+   * Delivers at most one update per interval. Updates arriving sooner are held back, and the latest
+   * of them is delivered once the interval has passed, so the last update is never lost.
+   *
+   * @param interval minimum time between updates, in milliseconds
+   * @return a new stream with the sampling applied
+   * @since 0.9.0
+   */
+  public RouteProgressStream sample(final long interval) {
+    return withOperator(new Operator() {
+      @Override
+      ProgressChangeListener apply(ProgressChangeListener downstream) {
+        return new SampleListener(downstream, interval);
+      }
+    });
+  }
+
+  /**
+   * Only delivers an update if the key selected from it differs from the key of the previous update
+   * delivered.
+   *
+   * @param keySelector selecting the values of the route progress to compare, see
+   *                    {@link #stepIndex()} and {@link #distanceRemaining(double)}
+   * @return a new stream with the filter applied
+   * @since 0.9.0
+   */
+  public RouteProgressStream distinctUntilChanged(@NonNull final KeySelector keySelector) {
+    return withOperator(new Operator() {
+      @Override
+      ProgressChangeListener apply(ProgressChangeListener downstream) {
+        return new DistinctListener(downstream, keySelector);
+      }
+    });
+  }
+
+  /**
+   * Delivers the updates on the given executor instead of the main thread. While an update is
+   * waiting to be delivered, newer updates replace it rather than queueing up behind it.
+   *
+   * @param executor the updates are delivered on
+   * @return a new stream delivering on the executor
+   * @since 0.9.0
+   */
+  public RouteProgressStream observeOn(@NonNull Executor executor) {
+    return new RouteProgressStream(navigation, operators, executor);
+  }
+
+  /**
+   * Starts delivering the updates of this stream to the given listener, until the returned
+   * subscription is unsubscribed or {@link MapboxNavigation#onDestroy()} is called.
+   *
+   * @param listener receiving the updates
+   * @return the subscription to unsubscribe from
+   * @since 0.9.0
+   */
+  public Subscription subscribe(@NonNull ProgressChangeListener listener) {
+    Subscription subscription = new Subscription(navigation);
+    ProgressChangeListener downstream = new SubscribedListener(listener, subscription);
+    if (executor != null) {
+      downstream = new ExecutorListener(downstream, executor);
+    }
+    for (int i = operators.size() - 1; i >= 0; i--) {
+      downstream = operators.get(i).apply(downstream);
+      if (downstream instanceof SampleListener) {
+        subscription.sampleListeners.add((SampleListener) downstream);
+      }
+    }
+    subscription.upstream = downstream;
+    navigation.addProgressChangeListener(downstream);
+    return subscription;
+  }
+
+  /**
+   * Compares updates by their leg and step index, to receive one update per step.
+   *
+   * @return a key selector for {@link #distinctUntilChanged(KeySelector)}
+   * @since 0.9.0
+   */
+  public static KeySelector stepIndex() {
+    return new KeySelector() {
+      @Override
+      public Object selectKey(RouteProgress routeProgress) {
+        return ((long) routeProgress.legIndex() << 32) | routeProgress.currentLegProgress().stepIndex();
+      }
+    };
+  }
+
+  /**
+   * Compares updates by their distance remaining on the route, rounded to the given granularity.
+   *
+   * @param granularity in meters, the distance remaining is rounded to
+   * @return a key selector for {@link #distinctUntilChanged(KeySelector)}
+   * @since 0.9.0
+   */
+  public static KeySelector distanceRemaining(final double granularity) {
+    return new KeySelector() {
+      @Override
+      public Object selectKey(RouteProgress routeProgress) {
+        return Math.round(routeProgress.distanceRemaining() / granularity);
+      }
+    };
+  }
+
+  private RouteProgressStream withOperator(Operator operator) {
+    List<Operator> updatedOperators = new ArrayList<>(operators);
+    updatedOperators.add(operator);
+    return new RouteProgressStream(navigation, Collections.unmodifiableList(updatedOperators), executor);
+  }
+
+  /**
+   * Selects the values of a route progress to compare in
+   * {@link #distinctUntilChanged(KeySelector)}.
+   *
+   * @since 0.9.0
+   */
+  public interface KeySelector {
+
+    /**
+     * @param routeProgress to select the key from
+     * @return the key, compared using {@link Object#equals(Object)}
+     * @since 0.9.0
+     */
+    Object selectKey(RouteProgress routeProgress);
+  }
+
+  /**
+   * A listener subscribed to a {@link RouteProgressStream}.
+   *
+   * @since 0.9.0
+   */
+  public static class Subscription {
+
+    private final MapboxNavigation navigation;
+    private final List<SampleListener> sampleListeners = new ArrayList<>();
+    private ProgressChangeListener upstream;
+    private volatile boolean isUnsubscribed;
+
+    Subscription(MapboxNavigation navigation) {
+      this.navigation = navigation;
+    }
+
+    /**
+     * Stops delivering updates, including any held back or waiting on an executor. Safe to call from
+     * any thread.
+     *
+     * @since 0.9.0
+     */
+    public void unsubscribe() {
+      if (isUnsubscribed) {
+        return;
+      }
+      isUnsubscribed = true;
+      navigation.removeProgressChangeListener(upstream);
+      for (SampleListener sampleListener : sampleListeners) {
+        sampleListener.cancel();
+      }
+    }
+
+    /**
+     * @return true once {@link #unsubscribe()} has been called
+     * @since 0.9.0
+     */
+    public boolean isUnsubscribed() {
+      return isUnsubscribed;
+    }
+  }
+
+  private abstract static class Operator {
+
+    abstract ProgressChangeListener apply(ProgressChangeListener downstream);
+  }
+
+  private static class SampleListener implements ProgressChangeListener, Runnable {
+
+    private final ProgressChangeListener downstream;
+    private final long interval;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private Location pendingLocation;
+    private RouteProgress pendingRouteProgress;
+    private long lastDeliveryTime = -1;
+    private boolean isDeliveryScheduled;
+
+    SampleListener(ProgressChangeListener downstream, long interval) {
+      this.downstream = downstream;
+      this.interval = interval;
+    }
+
+    @Override
+    public void onProgressChange(Location location, RouteProgress routeProgress) {
+      pendingLocation = location;
+      pendingRouteProgress = routeProgress;
+      long timeSinceDelivery = SystemClock.elapsedRealtime() - lastDeliveryTime;
+      if (lastDeliveryTime < 0 || timeSinceDelivery >= interval) {
+        deliver();
+      } else if (!isDeliveryScheduled) {
+        isDeliveryScheduled = true;
+        handler.postDelayed(this, interval - timeSinceDelivery);
+      }
+    }
+
+    @Override
+    public void run() {
+      isDeliveryScheduled = false;
+      deliver();
+    }
+
+    void cancel() {
+      handler.removeCallbacks(this);
+    }
+
+    private void deliver() {
+      if (pendingRouteProgress == null) {
+        return;
+      }
+      Location location = pendingLocation;
+      RouteProgress routeProgress = pendingRouteProgress;
+      pendingLocation = null;
+      pendingRouteProgress = null;
+      lastDeliveryTime = SystemClock.elapsedRealtime();
+      downstream.onProgressChange(location, routeProgress);
+    }
+  }
+
+  private static class DistinctListener implements ProgressChangeListener {
+
+    private final ProgressChangeListener downstream;
+    private final KeySelector keySelector;
+    private Object lastKey;
+    private boolean hasKey;
+
+    DistinctListener(ProgressChangeListener downstream, KeySelector keySelector) {
+      this.downstream = downstream;
+      this.keySelector = keySelector;
+    }
+
+    @Override
+    public void onProgressChange(Location location, RouteProgress routeProgress) {
+      Object key = keySelector.selectKey(routeProgress);
+      if (hasKey && (key == null ? lastKey == null : key.equals(lastKey))) {
+        return;
+      }
+      hasKey = true;
+      lastKey = key;
+      downstream.onProgressChange(location, routeProgress);
+    }
+  }
+
+  /**
+   * Keeps at most one update waiting on the executor, replacing it with newer updates.
+   */
+  private static class ExecutorListener implements ProgressChangeListener, Runnable {
+
+    private final ProgressChangeListener downstream;
+    private final Executor executor;
+    private final AtomicReference<Update> pendingUpdate = new AtomicReference<>();
+
+    ExecutorListener(ProgressChangeListener downstream, Executor executor) {
+      this.downstream = downstream;
+      this.executor = executor;
+    }
+
+    @Override
+    public void onProgressChange(Location location, RouteProgress routeProgress) {
+      if (pendingUpdate.getAndSet(new Update(location, routeProgress)) == null) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      Update update = pendingUpdate.getAndSet(null);
+      if (update != null) {
+        downstream.onProgressChange(update.location, update.routeProgress);
+      }
+    }
+  }
+
+  private static class SubscribedListener implements ProgressChangeListener {
+
+    private final ProgressChangeListener listener;
+    private final Subscription subscription;
+
+    SubscribedListener(ProgressChangeListener listener, Subscription subscription) {
+      this.listener = listener;
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onProgressChange(Location location, RouteProgress routeProgress) {
+      // Updates already on their way to an executor aren't delivered after unsubscribing
+      if (!subscription.isUnsubscribed()) {
+        listener.onProgressChange(location, routeProgress);
+      }
+    }
+  }
+
+  private static class Update {
+
+    private final Location location;
+    private final RouteProgress routeProgress;
+
+    Update(Location location, RouteProgress routeProgress) {
+      this.location = location;
+      this.routeProgress = routeProgress;
+    }
+  }
+}
@@ -0,0 +1,320 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometry;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.FLAG_HAS_ACCURACY;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.FLAG_HAS_ALTITUDE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.FLAG_HAS_BEARING;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.FLAG_HAS_SPEED;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.HEADER_SIZE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.LOCATION_RECORD_SIZE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.MAGIC;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.MILESTONE_RECORD_SIZE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.PROGRESS_RECORD_SIZE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.RECORD_LOCATION;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.RECORD_MILESTONE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.RECORD_PROGRESS;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.RECORD_ROUTE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.RECORD_TIMINGS;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.TIMINGS_RECORD_SIZE;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.UTF_8;
+import static com.mapbox.services.android.navigation.v5.navigation.SessionTraceRecorder.VERSION;
+
+/**
+ * Reads a session trace recorded while {@link MapboxNavigationOptions#enableSessionTrace()} was
+ * enabled.
+ * <p>
+ * A trace can either be read as it was recorded, with {@link #read(Callback)}, or replayed with
+ * {@link #replay(MapboxNavigation, Callback)}, which feeds the recorded locations through the
+ * navigation calculations again without starting the navigation service. Comparing both is useful
+ * to find out why a session behaved the way it did, or how a change affects it.
+ *
+ * @since 0.9.0
+ */
+public class SessionTraceReader {
+
+  private static final String TRACE_PROVIDER = "session_trace";
+
+  private final ByteBuffer buffer;
+  private final Gson gson;
+
+  /**
+   * Opens a trace file.
+   *
+   * @param traceFile written by a navigation session
+   * @throws IOException if the file can't be read or isn't a session trace
+   * @since 0.9.0
+   */
+  public SessionTraceReader(@NonNull File traceFile) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(traceFile, "r");
+    try {
+      buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+    } finally {
+      randomAccessFile.close();
+    }
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a session trace: " + traceFile);
+    }
+    int version = buffer.getInt(4);
+    if (version != VERSION) {
+      throw new IOException("Unsupported session trace version: " + version);
+    }
+    gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create())
+      .create();
+  }
+
+  /**
+   * The trace of the current or most recent navigation session.
+   *
+   * @param context to find the app's files directory
+   * @return the trace file, which might not exist
+   * @since 0.9.0
+   */
+  public static File traceFile(@NonNull Context context) {
+    return SessionTraceRecorder.traceFile(traceDirectory(context));
+  }
+
+  /**
+   * The trace which was full before {@link #traceFile(Context)} was started, either from earlier in
+   * the same session or from the previous session.
+   *
+   * @param context to find the app's files directory
+   * @return the trace file, which might not exist
+   * @since 0.9.0
+   */
+  public static File previousTraceFile(@NonNull Context context) {
+    return SessionTraceRecorder.previousTraceFile(traceDirectory(context));
+  }
+
+  static File traceDirectory(Context context) {
+    return new File(context.getFilesDir(), NavigationConstants.SESSION_TRACE_DIRECTORY);
+  }
+
+  /**
+   * Passes every record to the callback, in the order they were recorded.
+   *
+   * @param callback receiving the records
+   * @since 0.9.0
+   */
+  public void read(@NonNull Callback callback) {
+    ByteBuffer records = buffer.duplicate();
+    records.position(HEADER_SIZE);
+    DirectionsRoute route = null;
+    RouteGeometry routeGeometry = null;
+    while (records.hasRemaining()) {
+      byte type = records.get();
+      if (type == RECORD_ROUTE && records.remaining() >= 4) {
+        int length = records.getInt();
+        if (records.remaining() < length) {
+          return;
+        }
+        byte[] json = new byte[length];
+        records.get(json);
+        route = gson.fromJson(new String(json, UTF_8), DirectionsRoute.class);
+        callback.onRoute(route);
+      } else if (type == RECORD_LOCATION && records.remaining() >= LOCATION_RECORD_SIZE) {
+        callback.onLocation(readLocation(records));
+      } else if (type == RECORD_PROGRESS && records.remaining() >= PROGRESS_RECORD_SIZE) {
+        RouteProgress routeProgress = readRouteProgress(records, route, routeGeometry, callback);
+        if (routeProgress != null) {
+          routeGeometry = routeProgress.routeGeometry();
+        }
+      } else if (type == RECORD_MILESTONE && records.remaining() >= MILESTONE_RECORD_SIZE) {
+        callback.onMilestone(records.getInt());
+      } else if (type == RECORD_TIMINGS && records.remaining() >= TIMINGS_RECORD_SIZE) {
+        long[] durations = new long[NavigationEngine.STAGE_COUNT];
+        for (int i = 0; i < durations.length; i++) {
+          durations[i] = records.getLong();
+        }
+        reportStageDurations(durations, callback);
+      } else {
+        // End of the records, or a record cut short when the process was killed
+        return;
+      }
+    }
+  }
+
+  /**
+   * Runs the recorded routes and locations through the navigation calculations again, on the calling
+   * thread and without the navigation service. The callback receives the recalculated results
+   * instead of the recorded ones.
+   * <p>
+   * The given navigation provides the options, milestones and engines used for the calculations.
+   * It's only used for replaying, {@link MapboxNavigation#startNavigation(DirectionsRoute)} should
+   * not be called on it.
+   *
+   * @param navigation used for the calculations
+   * @param callback   receiving the recalculated results
+   * @since 0.9.0
+   */
+  public void replay(@NonNull final MapboxNavigation navigation, @NonNull final Callback callback) {
+    final NavigationEngine engine = new NavigationEngine(null, null);
+    read(new Callback() {
+      @Override
+      public void onRoute(DirectionsRoute route) {
+        navigation.setRoute(route);
+        callback.onRoute(route);
+      }
+
+      @Override
+      public void onLocation(Location location) {
+        if (navigation.getRoute() == null) {
+          return;
+        }
+        callback.onLocation(location);
+        NavigationUpdate update = engine.calculateUpdate(NewLocationModel.create(location, navigation));
+        callback.onRouteProgress(update.routeProgress(), update.userOffRoute(), update.checkFasterRoute());
+        for (TriggeredMilestone triggeredMilestone : update.milestones()) {
+          callback.onMilestone(triggeredMilestone.milestone().getIdentifier());
+        }
+        reportStageDurations(engine.stageDurations(), callback);
+      }
+
+      @Override
+      public void onRouteProgress(RouteProgress routeProgress, boolean userOffRoute, boolean checkFasterRoute) {
+        // Recalculated instead
+      }
+
+      @Override
+      public void onMilestone(int identifier) {
+        // Recalculated instead
+      }
+
+      @Override
+      public void onStageDurations(long routeProgress, long milestones, long offRoute, long snap) {
+        // Recalculated instead
+      }
+    });
+  }
+
+  private Location readLocation(ByteBuffer records) {
+    Location location = new Location(TRACE_PROVIDER);
+    location.setTime(records.getLong());
+    location.setLatitude(records.getDouble());
+    location.setLongitude(records.getDouble());
+    double altitude = records.getDouble();
+    float speed = records.getFloat();
+    float bearing = records.getFloat();
+    float accuracy = records.getFloat();
+    byte flags = records.get();
+    if ((flags & FLAG_HAS_ALTITUDE) != 0) {
+      location.setAltitude(altitude);
+    }
+    if ((flags & FLAG_HAS_SPEED) != 0) {
+      location.setSpeed(speed);
+    }
+    if ((flags & FLAG_HAS_BEARING) != 0) {
+      location.setBearing(bearing);
+    }
+    if ((flags & FLAG_HAS_ACCURACY) != 0) {
+      location.setAccuracy(accuracy);
+    }
+    return location;
+  }
+
+  /**
+   * @return the route progress, or null if no route was recorded before it
+   */
+  @Nullable
+  private RouteProgress readRouteProgress(ByteBuffer records, DirectionsRoute route,
+                                          @Nullable RouteGeometry routeGeometry, Callback callback) {
+    int legIndex = records.getInt();
+    int stepIndex = records.getInt();
+    double stepDistanceRemaining = records.getDouble();
+    double legDistanceRemaining = records.getDouble();
+    double distanceRemaining = records.getDouble();
+    boolean userOffRoute = records.get() != 0;
+    boolean checkFasterRoute = records.get() != 0;
+    if (route == null) {
+      return null;
+    }
+    RouteProgress routeProgress = RouteProgress.builder()
+      .stepDistanceRemaining(stepDistanceRemaining)
+      .legDistanceRemaining(legDistanceRemaining)
+      .distanceRemaining(distanceRemaining)
+      .directionsRoute(route)
+      .stepIndex(stepIndex)
+      .legIndex(legIndex)
+      .routeGeometry(routeGeometry)
+      .build();
+    callback.onRouteProgress(routeProgress, userOffRoute, checkFasterRoute);
+    return routeProgress;
+  }
+
+  private static void reportStageDurations(long[] durations, Callback callback) {
+    callback.onStageDurations(durations[NavigationEngine.STAGE_ROUTE_PROGRESS],
+      durations[NavigationEngine.STAGE_MILESTONES], durations[NavigationEngine.STAGE_OFF_ROUTE],
+      durations[NavigationEngine.STAGE_SNAP]);
+  }
+
+  /**
+   * Receives the records of a session trace.
+   *
+   * @since 0.9.0
+   */
+  public interface Callback {
+
+    /**
+     * A new route started being navigated. Each trace file starts with the current route.
+     *
+     * @param route being navigated from now on
+     * @since 0.9.0
+     */
+    void onRoute(DirectionsRoute route);
+
+    /**
+     * A raw location update, as received from the location engine.
+     *
+     * @param location received
+     * @since 0.9.0
+     */
+    void onLocation(Location location);
+
+    /**
+     * The result of the navigation calculations for the previous location.
+     *
+     * @param routeProgress    calculated for the location
+     * @param userOffRoute     whether the user was considered off-route
+     * @param checkFasterRoute whether a faster route was requested
+     * @since 0.9.0
+     */
+    void onRouteProgress(RouteProgress routeProgress, boolean userOffRoute, boolean checkFasterRoute);
+
+    /**
+     * A milestone triggered for the previous location.
+     *
+     * @param identifier of the milestone
+     * @since 0.9.0
+     */
+    void onMilestone(int identifier);
+
+    /**
+     * In nanoseconds, how long each stage of the calculations for the previous location took. Stages
+     * skipped because of {@link MapboxNavigationOptions#enableAdaptiveProcessing()} are reported as -1.
+     *
+     * @param routeProgress time spent calculating the route progress
+     * @param milestones    time spent checking milestones
+     * @param offRoute      time spent checking if the user is off-route
+     * @param snap          time spent snapping the location to the route
+     * @since 0.9.0
+     */
+    void onStageDurations(long routeProgress, long milestones, long offRoute, long snap);
+  }
+}
@@ -0,0 +1,316 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import timber.log.Timber;
+
+/**
+ * Writes the raw locations, engine outputs, stage timings and route changes of a navigation
+ * session to a compact binary trace, which can be read and replayed with {@link SessionTraceReader}.
+ * <p>
+ * The navigation thread only captures the values of a record, writing happens on a background
+ * thread into a memory-mapped file. The operating system writes the mapped pages to disk, so
+ * records survive the process being killed without flushing on every record.
+ * <p>
+ * A trace file has a fixed size. Once full, it's kept as the previous trace and a new file is
+ * started with the current route, so at most two files are ever used. A route taking up more than
+ * half of a file doesn't count toward its size: the file is enlarged by the size of the route
+ * instead, so every file can still be replayed and holds as many records as a file of a short route.
+ * <p>
+ * File format, all values big-endian: a header of {@link #MAGIC} and {@link #VERSION}, followed by
+ * records each starting with a one byte type. A zero type marks the end of the records.
+ */
+class SessionTraceRecorder {
+
+  static final int MAGIC = 0x4D425354;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+
+  static final byte RECORD_END = 0;
+  static final byte RECORD_ROUTE = 1;
+  static final byte RECORD_LOCATION = 2;
+  static final byte RECORD_PROGRESS = 3;
+  static final byte RECORD_MILESTONE = 4;
+  static final byte RECORD_TIMINGS = 5;
+
+  // Record sizes, without the type byte
+  static final int LOCATION_RECORD_SIZE = 8 + 8 + 8 + 8 + 4 + 4 + 4 + 1;
+  static final int PROGRESS_RECORD_SIZE = 4 + 4 + 8 + 8 + 8 + 1 + 1;
+  static final int MILESTONE_RECORD_SIZE = 4;
+  static final int TIMINGS_RECORD_SIZE = 8 * NavigationEngine.STAGE_COUNT;
+
+  static final int FLAG_HAS_ALTITUDE = 1;
+  static final int FLAG_HAS_SPEED = 1 << 1;
+  static final int FLAG_HAS_BEARING = 1 << 2;
+  static final int FLAG_HAS_ACCURACY = 1 << 3;
+
+  static final String TRACE_FILE_NAME = "session.trace";
+  static final String PREVIOUS_TRACE_FILE_NAME = "session.trace.1";
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final ExecutorService traceExecutor;
+  private final File directory;
+  private final int fileSize;
+  private final Gson gson;
+  private MappedByteBuffer buffer;
+  private byte[] currentRouteJson;
+  private boolean isFailed;
+
+  SessionTraceRecorder(File directory, int fileSize) {
+    this(directory, fileSize, Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(@NonNull Runnable runnable) {
+        Thread thread = new Thread(runnable, "NavigationSessionTrace");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      }
+    }));
+  }
+
+  // Package private (no modifier) for testing purposes
+  SessionTraceRecorder(File directory, int fileSize, ExecutorService traceExecutor) {
+    this.directory = directory;
+    this.fileSize = fileSize;
+    this.traceExecutor = traceExecutor;
+    this.gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create())
+      .create();
+  }
+
+  static File traceFile(File directory) {
+    return new File(directory, TRACE_FILE_NAME);
+  }
+
+  static File previousTraceFile(File directory) {
+    return new File(directory, PREVIOUS_TRACE_FILE_NAME);
+  }
+
+  void recordRoute(final DirectionsRoute route) {
+    traceExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        currentRouteJson = gson.toJson(route).getBytes(UTF_8);
+        writeRoute();
+      }
+    });
+  }
+
+  void recordLocation(Location location) {
+    final long time = location.getTime();
+    final double latitude = location.getLatitude();
+    final double longitude = location.getLongitude();
+    final double altitude = location.getAltitude();
+    final float speed = location.getSpeed();
+    final float bearing = location.getBearing();
+    final float accuracy = location.getAccuracy();
+    final byte flags = locationFlags(location);
+    traceExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (!ensureCapacity(LOCATION_RECORD_SIZE)) {
+          return;
+        }
+        buffer.put(RECORD_LOCATION);
+        buffer.putLong(time);
+        buffer.putDouble(latitude);
+        buffer.putDouble(longitude);
+        buffer.putDouble(altitude);
+        buffer.putFloat(speed);
+        buffer.putFloat(bearing);
+        buffer.putFloat(accuracy);
+        buffer.put(flags);
+      }
+    });
+  }
+
+  void recordUpdate(RouteProgress routeProgress, List<Milestone> milestones, final boolean userOffRoute,
+                    final boolean checkFasterRoute, long[] stageDurations) {
+    final int legIndex = routeProgress.legIndex();
+    final int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    final double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    final double legDistanceRemaining = routeProgress.currentLegProgress().distanceRemaining();
+    final double distanceRemaining = routeProgress.distanceRemaining();
+    final int[] milestoneIdentifiers = new int[milestones.size()];
+    for (int i = 0; i < milestoneIdentifiers.length; i++) {
+      milestoneIdentifiers[i] = milestones.get(i).getIdentifier();
+    }
+    final long[] durations = stageDurations.clone();
+    traceExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (!ensureCapacity(PROGRESS_RECORD_SIZE + TIMINGS_RECORD_SIZE + 2
+          + milestoneIdentifiers.length * (MILESTONE_RECORD_SIZE + 1))) {
+          return;
+        }
+        buffer.put(RECORD_PROGRESS);
+        buffer.putInt(legIndex);
+        buffer.putInt(stepIndex);
+        buffer.putDouble(stepDistanceRemaining);
+        buffer.putDouble(legDistanceRemaining);
+        buffer.putDouble(distanceRemaining);
+        buffer.put((byte) (userOffRoute ? 1 : 0));
+        buffer.put((byte) (checkFasterRoute ? 1 : 0));
+        for (int identifier : milestoneIdentifiers) {
+          buffer.put(RECORD_MILESTONE);
+          buffer.putInt(identifier);
+        }
+        buffer.put(RECORD_TIMINGS);
+        for (long duration : durations) {
+          buffer.putLong(duration);
+        }
+      }
+    });
+  }
+
+  /**
+   * Writes the remaining records to disk and stops the background thread.
+   */
+  void close() {
+    traceExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        closeFile();
+      }
+    });
+    traceExecutor.shutdown();
+  }
+
+  /**
+   * Writes the current route into the current file, or starts a new file with it if it doesn't fit.
+   */
+  private void writeRoute() {
+    if (isFailed) {
+      return;
+    }
+    if (buffer != null && buffer.remaining() >= routeRecordSize() + 1) {
+      putRoute();
+    } else {
+      startFile();
+    }
+  }
+
+  private void putRoute() {
+    buffer.put(RECORD_ROUTE);
+    buffer.putInt(currentRouteJson.length);
+    buffer.put(currentRouteJson);
+  }
+
+  /**
+   * Makes sure a record of the given size, plus its type byte and the end marker, fits in the
+   * current file, starting a new file if needed.
+   */
+  private boolean ensureCapacity(int recordSize) {
+    if (isFailed) {
+      return false;
+    }
+    int requiredSize = recordSize + 2;
+    if (buffer != null && buffer.remaining() >= requiredSize) {
+      return true;
+    }
+    if (HEADER_SIZE + requiredSize > fileSize) {
+      Timber.w("Session trace record of %d bytes is larger than a trace file, dropping it.", recordSize);
+      return false;
+    }
+    return startFile() && buffer.remaining() >= requiredSize;
+  }
+
+  /**
+   * Starts a new file with the current route, so it can be replayed on its own.
+   */
+  private boolean startFile() {
+    int routeRecordSize = routeRecordSize();
+    int size = fileSize;
+    if (routeRecordSize > fileSize / 2) {
+      Timber.d("Route of %d bytes is too large for a session trace file, enlarging it.", routeRecordSize);
+      size += routeRecordSize;
+    }
+    try {
+      openFile(size);
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to open session trace, recording stopped.");
+      isFailed = true;
+      return false;
+    }
+    if (currentRouteJson != null) {
+      putRoute();
+    }
+    return true;
+  }
+
+  /**
+   * @return size of the record of the current route including its type byte, or 0 if there is none
+   */
+  private int routeRecordSize() {
+    return currentRouteJson == null ? 0 : 1 + 4 + currentRouteJson.length;
+  }
+
+  private void openFile(int size) throws IOException {
+    closeFile();
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Unable to create " + directory);
+    }
+    File traceFile = traceFile(directory);
+    File previousTraceFile = previousTraceFile(directory);
+    if (traceFile.exists()) {
+      if (previousTraceFile.exists() && !previousTraceFile.delete()) {
+        throw new IOException("Unable to delete " + previousTraceFile);
+      }
+      if (!traceFile.renameTo(previousTraceFile)) {
+        throw new IOException("Unable to rename " + traceFile);
+      }
+    }
+    RandomAccessFile randomAccessFile = new RandomAccessFile(traceFile, "rw");
+    try {
+      // The mapping stays valid after the file is closed
+      buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    } finally {
+      randomAccessFile.close();
+    }
+    buffer.putInt(MAGIC);
+    buffer.putInt(VERSION);
+  }
+
+  private void closeFile() {
+    if (buffer != null) {
+      buffer.force();
+      buffer = null;
+    }
+  }
+
+  private static byte locationFlags(Location location) {
+    int flags = 0;
+    if (location.hasAltitude()) {
+      flags |= FLAG_HAS_ALTITUDE;
+    }
+    if (location.hasSpeed()) {
+      flags |= FLAG_HAS_SPEED;
+    }
+    if (location.hasBearing()) {
+      flags |= FLAG_HAS_BEARING;
+    }
+    if (location.hasAccuracy()) {
+      flags |= FLAG_HAS_ACCURACY;
+    }
+    return (byte) flags;
+  }
+}
@@ -0,0 +1,180 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.Hashtable;
+import java.util.Map;
+
+import timber.log.Timber;
+
+/**
+ * Converts the events waiting for a connection to and from the lines of a {@link TelemetryEventLog}.
+ * <p>
+ * The events are still sent by MapboxTelemetry, which serializes them itself, so the type of each
+ * value is stored along with it and the event read back is the one MapboxTelemetry would have been
+ * given in the first place.
+ */
+final class TelemetryEventCodec {
+
+  private static final String TYPE_STRING = "s";
+  private static final String TYPE_INTEGER = "i";
+  private static final String TYPE_LONG = "l";
+  private static final String TYPE_FLOAT = "f";
+  private static final String TYPE_DOUBLE = "d";
+  private static final String TYPE_BOOLEAN = "b";
+  private static final String TYPE_LOCATIONS = "locations";
+  private static final String PROVIDER = "provider";
+  private static final String TIME = "time";
+  private static final String LATITUDE = "lat";
+  private static final String LONGITUDE = "lng";
+  private static final String SPEED = "speed";
+  private static final String BEARING = "bearing";
+  private static final String ACCURACY = "accuracy";
+  private static final String ALTITUDE = "altitude";
+
+  private TelemetryEventCodec() {
+    // Empty private constructor for preventing initialization of this class.
+  }
+
+  static String encode(Map<String, Object> event) {
+    JsonObject json = new JsonObject();
+    for (Map.Entry<String, Object> entry : event.entrySet()) {
+      JsonArray value = encodeValue(entry.getValue());
+      if (value != null) {
+        json.add(entry.getKey(), value);
+      }
+    }
+    return json.toString();
+  }
+
+  /**
+   * @return the event, or null if the line isn't an event written by {@link #encode(Map)}
+   */
+  @Nullable
+  static Hashtable<String, Object> decode(String line) {
+    try {
+      JsonObject json = new JsonParser().parse(line).getAsJsonObject();
+      Hashtable<String, Object> event = new Hashtable<>();
+      for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+        JsonArray value = entry.getValue().getAsJsonArray();
+        event.put(entry.getKey(), decodeValue(value.get(0).getAsString(), value.get(1)));
+      }
+      return event;
+    } catch (RuntimeException exception) {
+      // Anything can be read from a damaged file, Gson throws several kinds of exceptions for it
+      Timber.e("Unable to read a stored telemetry event: %s", exception.getMessage());
+      return null;
+    }
+  }
+
+  @Nullable
+  private static JsonArray encodeValue(Object value) {
+    if (value == null) {
+      return null;
+    }
+    JsonArray json = new JsonArray();
+    if (value instanceof String) {
+      json.add(TYPE_STRING);
+      json.add((String) value);
+    } else if (value instanceof Integer) {
+      json.add(TYPE_INTEGER);
+      json.add((Integer) value);
+    } else if (value instanceof Long) {
+      json.add(TYPE_LONG);
+      json.add((Long) value);
+    } else if (value instanceof Float) {
+      json.add(TYPE_FLOAT);
+      json.add((Float) value);
+    } else if (value instanceof Double) {
+      json.add(TYPE_DOUBLE);
+      json.add((Double) value);
+    } else if (value instanceof Boolean) {
+      json.add(TYPE_BOOLEAN);
+      json.add((Boolean) value);
+    } else if (value instanceof Location[]) {
+      json.add(TYPE_LOCATIONS);
+      json.add(encodeLocations((Location[]) value));
+    } else {
+      Timber.w("Storing telemetry event value of type %s as a string", value.getClass().getName());
+      json.add(TYPE_STRING);
+      json.add(value.toString());
+    }
+    return json;
+  }
+
+  private static Object decodeValue(String type, JsonElement value) {
+    switch (type) {
+      case TYPE_INTEGER:
+        return value.getAsInt();
+      case TYPE_LONG:
+        return value.getAsLong();
+      case TYPE_FLOAT:
+        return value.getAsFloat();
+      case TYPE_DOUBLE:
+        return value.getAsDouble();
+      case TYPE_BOOLEAN:
+        return value.getAsBoolean();
+      case TYPE_LOCATIONS:
+        return decodeLocations(value.getAsJsonArray());
+      default:
+        return value.getAsString();
+    }
+  }
+
+  private static JsonArray encodeLocations(Location[] locations) {
+    JsonArray json = new JsonArray();
+    for (Location location : locations) {
+      JsonObject locationJson = new JsonObject();
+      locationJson.addProperty(PROVIDER, location.getProvider());
+      locationJson.addProperty(TIME, location.getTime());
+      locationJson.addProperty(LATITUDE, location.getLatitude());
+      locationJson.addProperty(LONGITUDE, location.getLongitude());
+      if (location.hasSpeed()) {
+        locationJson.addProperty(SPEED, location.getSpeed());
+      }
+      if (location.hasBearing()) {
+        locationJson.addProperty(BEARING, location.getBearing());
+      }
+      if (location.hasAccuracy()) {
+        locationJson.addProperty(ACCURACY, location.getAccuracy());
+      }
+      if (location.hasAltitude()) {
+        locationJson.addProperty(ALTITUDE, location.getAltitude());
+      }
+      json.add(locationJson);
+    }
+    return json;
+  }
+
+  private static Location[] decodeLocations(JsonArray json) {
+    Location[] locations = new Location[json.size()];
+    for (int i = 0; i < locations.length; i++) {
+      JsonObject locationJson = json.get(i).getAsJsonObject();
+      JsonElement provider = locationJson.get(PROVIDER);
+      Location location = new Location(provider == null || provider.isJsonNull() ? null : provider.getAsString());
+      location.setTime(locationJson.get(TIME).getAsLong());
+      location.setLatitude(locationJson.get(LATITUDE).getAsDouble());
+      location.setLongitude(locationJson.get(LONGITUDE).getAsDouble());
+      if (locationJson.has(SPEED)) {
+        location.setSpeed(locationJson.get(SPEED).getAsFloat());
+      }
+      if (locationJson.has(BEARING)) {
+        location.setBearing(locationJson.get(BEARING).getAsFloat());
+      }
+      if (locationJson.has(ACCURACY)) {
+        location.setAccuracy(locationJson.get(ACCURACY).getAsFloat());
+      }
+      if (locationJson.has(ALTITUDE)) {
+        location.setAltitude(locationJson.get(ALTITUDE).getAsDouble());
+      }
+      locations[i] = location;
+    }
+    return locations;
+  }
+}
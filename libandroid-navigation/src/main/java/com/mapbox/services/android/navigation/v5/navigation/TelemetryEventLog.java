@@ -0,0 +1,390 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import timber.log.Timber;
+
+/**
+ * Append-only log of serialized telemetry events, stored in a file so events survive the process
+ * being killed before they've been sent.
+ * <p>
+ * Each event is stored on its own line. Events are never rewritten when they're removed: the
+ * position of the first event still to be sent is kept in a second file next to the log instead.
+ * The log is truncated once all of its events have been removed, and only compacted, by copying the
+ * remaining events to a new file, when it would otherwise grow past the maximum size. If it's still
+ * too large then, the oldest events are dropped. A partially written last line, left behind if the
+ * process died while appending, is discarded when the log is opened.
+ * <p>
+ * Not thread-safe, the log is only accessed from the telemetry thread.
+ */
+class TelemetryEventLog {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final char RECORD_SEPARATOR = '\n';
+  private static final String OFFSET_FILE_SUFFIX = ".offset";
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final File file;
+  private final File offsetFile;
+  private final long maxBytes;
+  private long readOffset;
+  private long fileLength;
+  private int eventCount;
+
+  TelemetryEventLog(File file, long maxBytes) {
+    this.file = file;
+    this.offsetFile = new File(file.getPath() + OFFSET_FILE_SUFFIX);
+    this.maxBytes = maxBytes;
+    open();
+  }
+
+  /**
+   * Appends an event to the end of the log, dropping the oldest events if needed to stay within the
+   * maximum size.
+   *
+   * @param event serialized on a single line
+   * @return true if the event was stored
+   */
+  boolean append(String event) {
+    byte[] record = (event + RECORD_SEPARATOR).getBytes(UTF_8);
+    if (event.indexOf(RECORD_SEPARATOR) >= 0 || record.length > maxBytes) {
+      Timber.e("Telemetry event can't be stored in the event log.");
+      return false;
+    }
+    try {
+      if (fileLength + record.length > maxBytes) {
+        makeRoom(record.length);
+      }
+      OutputStream outputStream = new FileOutputStream(file, true);
+      try {
+        outputStream.write(record);
+      } finally {
+        outputStream.close();
+      }
+      eventCount++;
+      fileLength += record.length;
+      return true;
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to store telemetry event.");
+      return false;
+    }
+  }
+
+  /**
+   * Reads events from the start of the log, without removing them.
+   *
+   * @param maxCount maximum number of events to read
+   * @param maxBytes maximum total size of the events read, at least one event is always read
+   * @return the oldest events
+   */
+  List<String> read(int maxCount, long maxBytes) {
+    List<String> events = new ArrayList<>();
+    if (eventCount == 0) {
+      return events;
+    }
+    try {
+      InputStream inputStream = openAtReadOffset();
+      try {
+        long bytes = 0;
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        while (events.size() < maxCount && readRecord(inputStream, record)) {
+          long recordBytes = record.size() + 1;
+          if (!events.isEmpty() && bytes + recordBytes > maxBytes) {
+            break;
+          }
+          events.add(new String(record.toByteArray(), UTF_8));
+          bytes += recordBytes;
+          record.reset();
+        }
+      } finally {
+        inputStream.close();
+      }
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to read telemetry events.");
+    }
+    return events;
+  }
+
+  /**
+   * Removes the given number of events from the start of the log, once they've been sent.
+   *
+   * @param count of events to remove
+   */
+  void remove(int count) {
+    try {
+      if (count >= eventCount) {
+        clear();
+      } else {
+        advanceReadOffset(count);
+      }
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to remove telemetry events.");
+    }
+  }
+
+  int size() {
+    return eventCount;
+  }
+
+  /**
+   * @return total size of the events still in the log
+   */
+  long byteCount() {
+    return fileLength - readOffset;
+  }
+
+  private void open() {
+    readOffset = 0;
+    fileLength = 0;
+    eventCount = 0;
+    if (!file.exists()) {
+      deleteOffsetFile();
+      return;
+    }
+    try {
+      truncateIncompleteRecord();
+      fileLength = file.length();
+      readOffset = readPersistedOffset();
+      eventCount = countRecords();
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to open telemetry event log, discarding it.");
+      readOffset = 0;
+      fileLength = 0;
+      eventCount = 0;
+      if (!file.delete()) {
+        Timber.e("Unable to delete telemetry event log.");
+      }
+      deleteOffsetFile();
+    }
+  }
+
+  private void truncateIncompleteRecord() throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      long length = randomAccessFile.length();
+      long end = length;
+      while (end > 0) {
+        randomAccessFile.seek(end - 1);
+        if (randomAccessFile.read() == RECORD_SEPARATOR) {
+          break;
+        }
+        end--;
+      }
+      if (end < length) {
+        randomAccessFile.setLength(end);
+      }
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * The offset is only trusted if it's within the log and right after the end of an event, otherwise
+   * the log is read from the start again, which at worst sends some events twice.
+   */
+  private long readPersistedOffset() throws IOException {
+    if (!offsetFile.exists()) {
+      return 0;
+    }
+    RandomAccessFile randomAccessFile = new RandomAccessFile(offsetFile, "r");
+    long offset;
+    try {
+      offset = randomAccessFile.length() == 8 ? randomAccessFile.readLong() : -1;
+    } finally {
+      randomAccessFile.close();
+    }
+    if (offset <= 0 || offset > fileLength) {
+      return 0;
+    }
+    RandomAccessFile log = new RandomAccessFile(file, "r");
+    try {
+      log.seek(offset - 1);
+      return log.read() == RECORD_SEPARATOR ? offset : 0;
+    } finally {
+      log.close();
+    }
+  }
+
+  private void persistOffset() throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(offsetFile, "rw");
+    try {
+      randomAccessFile.setLength(8);
+      randomAccessFile.seek(0);
+      randomAccessFile.writeLong(readOffset);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private int countRecords() throws IOException {
+    int count = 0;
+    InputStream inputStream = openAtReadOffset();
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++) {
+          if (buffer[i] == RECORD_SEPARATOR) {
+            count++;
+          }
+        }
+      }
+    } finally {
+      inputStream.close();
+    }
+    return count;
+  }
+
+  private void advanceReadOffset(int count) throws IOException {
+    long skippedBytes = 0;
+    int skipped = 0;
+    InputStream inputStream = openAtReadOffset();
+    try {
+      long recordBytes;
+      while (skipped < count && (recordBytes = skipRecord(inputStream)) > 0) {
+        skippedBytes += recordBytes;
+        skipped++;
+      }
+    } finally {
+      inputStream.close();
+    }
+    readOffset += skippedBytes;
+    eventCount -= skipped;
+    persistOffset();
+  }
+
+  /**
+   * Compacts the log, dropping the oldest events if that doesn't free enough space for the record.
+   */
+  private void makeRoom(long recordBytes) throws IOException {
+    if (byteCount() + recordBytes > maxBytes) {
+      int dropCount = 0;
+      long droppedBytes = 0;
+      InputStream inputStream = openAtReadOffset();
+      try {
+        long droppedRecordBytes;
+        while (byteCount() - droppedBytes + recordBytes > maxBytes
+          && (droppedRecordBytes = skipRecord(inputStream)) > 0) {
+          droppedBytes += droppedRecordBytes;
+          dropCount++;
+        }
+      } finally {
+        inputStream.close();
+      }
+      Timber.d("Telemetry event log full, dropping %d events.", dropCount);
+      readOffset += droppedBytes;
+      eventCount -= dropCount;
+    }
+    compact();
+  }
+
+  /**
+   * Copies the remaining events to a temporary file which then replaces the log, so the log is never
+   * left half written. The offset is deleted first: if the process dies before the log is replaced,
+   * the old log is read from its start again rather than the new one from the old offset.
+   */
+  private void compact() throws IOException {
+    if (eventCount == 0) {
+      clear();
+      return;
+    }
+    deleteOffsetFile();
+    File temporaryFile = new File(file.getPath() + ".tmp");
+    InputStream inputStream = openAtReadOffset();
+    try {
+      OutputStream outputStream = new FileOutputStream(temporaryFile);
+      try {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+          outputStream.write(buffer, 0, read);
+        }
+      } finally {
+        outputStream.close();
+      }
+    } finally {
+      inputStream.close();
+    }
+    if (!temporaryFile.renameTo(file)) {
+      throw new IOException("Unable to replace telemetry event log.");
+    }
+    fileLength = file.length();
+    readOffset = 0;
+  }
+
+  private void clear() throws IOException {
+    deleteOffsetFile();
+    if (file.exists()) {
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+      try {
+        randomAccessFile.setLength(0);
+      } finally {
+        randomAccessFile.close();
+      }
+    }
+    readOffset = 0;
+    fileLength = 0;
+    eventCount = 0;
+  }
+
+  private InputStream openAtReadOffset() throws IOException {
+    FileInputStream fileInputStream = new FileInputStream(file);
+    try {
+      fileInputStream.getChannel().position(readOffset);
+    } catch (IOException exception) {
+      fileInputStream.close();
+      throw exception;
+    }
+    return new BufferedInputStream(fileInputStream, BUFFER_SIZE);
+  }
+
+  /**
+   * Reads the next complete record, without its separator.
+   *
+   * @return false if there are no more records
+   */
+  private static boolean readRecord(InputStream inputStream, ByteArrayOutputStream record) throws IOException {
+    int next;
+    while ((next = inputStream.read()) != -1) {
+      if (next == RECORD_SEPARATOR) {
+        return true;
+      }
+      record.write(next);
+    }
+    return false;
+  }
+
+  /**
+   * Skips the next complete record.
+   *
+   * @return the size of the record including its separator, or 0 if there are no more records
+   */
+  private static long skipRecord(InputStream inputStream) throws IOException {
+    long bytes = 0;
+    int next;
+    while ((next = inputStream.read()) != -1) {
+      bytes++;
+      if (next == RECORD_SEPARATOR) {
+        return bytes;
+      }
+    }
+    return 0;
+  }
+
+  private void deleteOffsetFile() {
+    if (offsetFile.exists() && !offsetFile.delete()) {
+      Timber.e("Unable to delete telemetry event log offset.");
+    }
+  }
+}
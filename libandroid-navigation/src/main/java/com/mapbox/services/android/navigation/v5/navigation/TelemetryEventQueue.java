@@ -0,0 +1,114 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the telemetry events which couldn't be handed to MapboxTelemetry because there was no
+ * connection, and hands them over in batches once there is one again.
+ * <p>
+ * Events are stored in a {@link TelemetryEventLog}, so they survive the process being killed, and
+ * removed once passed on. They're passed on as soon as there is an unmetered connection, but on a
+ * metered connection only once enough events have been collected, or the oldest event has waited
+ * long enough. Sending and serializing the events for the events API is left to MapboxTelemetry.
+ * <p>
+ * Only accessed from the telemetry thread.
+ */
+class TelemetryEventQueue {
+
+  static final int BATCH_MAX_EVENTS = 50;
+  static final long BATCH_MAX_BYTES = 256 * 1024;
+  static final int METERED_FLUSH_EVENT_COUNT = 10;
+  static final long METERED_FLUSH_BYTES = 64 * 1024;
+  static final long MAXIMUM_EVENT_AGE = 10 * 60 * 1000;
+
+  private final TelemetryEventLog eventLog;
+  private final Sender sender;
+  private long oldestEventTime;
+
+  TelemetryEventQueue(TelemetryEventLog eventLog, Sender sender, long currentTime) {
+    this.eventLog = eventLog;
+    this.sender = sender;
+    // The creation time of events persisted by a previous process isn't known
+    this.oldestEventTime = currentTime;
+  }
+
+  void add(Map<String, Object> event, long currentTime) {
+    if (eventLog.size() == 0) {
+      oldestEventTime = currentTime;
+    }
+    eventLog.append(TelemetryEventCodec.encode(event));
+  }
+
+  /**
+   * Passes the queued events on if the connection allows it.
+   *
+   * @param isConnected true if there is a network connection
+   * @param isMetered   true if the connection is metered, such as cellular data
+   * @param currentTime in milliseconds
+   * @return true if events were passed on
+   */
+  boolean flushIfNeeded(boolean isConnected, boolean isMetered, long currentTime) {
+    if (!shouldFlush(isConnected, isMetered, currentTime)) {
+      return false;
+    }
+    flush();
+    return true;
+  }
+
+  /**
+   * Passes all queued events on in batches, regardless of the connection type.
+   */
+  void flush() {
+    while (eventLog.size() > 0) {
+      List<String> lines = eventLog.read(BATCH_MAX_EVENTS, BATCH_MAX_BYTES);
+      if (lines.isEmpty()) {
+        return;
+      }
+      List<Hashtable<String, Object>> batch = new ArrayList<>(lines.size());
+      for (String line : lines) {
+        Hashtable<String, Object> event = TelemetryEventCodec.decode(line);
+        if (event != null) {
+          batch.add(event);
+        }
+      }
+      if (!batch.isEmpty()) {
+        sender.send(batch);
+      }
+      eventLog.remove(lines.size());
+    }
+  }
+
+  /**
+   * Drops all queued events without passing them on, such as when telemetry has been disabled.
+   */
+  void clear() {
+    eventLog.remove(eventLog.size());
+  }
+
+  int size() {
+    return eventLog.size();
+  }
+
+  private boolean shouldFlush(boolean isConnected, boolean isMetered, long currentTime) {
+    if (!isConnected || eventLog.size() == 0) {
+      return false;
+    }
+    if (!isMetered) {
+      return true;
+    }
+    return eventLog.size() >= METERED_FLUSH_EVENT_COUNT
+      || eventLog.byteCount() >= METERED_FLUSH_BYTES
+      || currentTime - oldestEventTime >= MAXIMUM_EVENT_AGE;
+  }
+
+  interface Sender {
+
+    /**
+     * Hands a batch of events, in the order they were added, to MapboxTelemetry.
+     */
+    void send(List<Hashtable<String, Object>> events);
+  }
+}
@@ -0,0 +1,28 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * A milestone triggered by a location update, along with the instruction and route progress at the
+ * time it was triggered.
+ * <p>
+ * Milestones like {@link com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone}
+ * keep their instruction in the instance and overwrite it with every trigger, so when a batch of
+ * locations triggers the same milestone more than once, the instruction has to be built right away.
+ */
+@AutoValue
+abstract class TriggeredMilestone {
+
+  static TriggeredMilestone create(Milestone milestone, RouteProgress routeProgress) {
+    return new AutoValue_TriggeredMilestone(milestone,
+      NavigationHelper.buildInstructionString(routeProgress, milestone), routeProgress);
+  }
+
+  abstract Milestone milestone();
+
+  abstract String instruction();
+
+  abstract RouteProgress routeProgress();
+}
@@ -59,10 +59,14 @@ public class FeedbackEvent implements TelemetryEvent {
   private SessionState feedbackSessionState;
 
   public FeedbackEvent(SessionState sessionState, @FeedbackSource String feedbackSource) {
+    this(sessionState, feedbackSource, TelemetryUtils.buildUUID());
+  }
+
+  public FeedbackEvent(SessionState sessionState, @FeedbackSource String feedbackSource, String eventId) {
     this.feedbackSessionState = sessionState;
     this.feedbackSource = feedbackSource;
     this.feedbackType = FEEDBACK_TYPE_GENERAL_ISSUE; // Default until updated
-    this.eventId = TelemetryUtils.buildUUID();
+    this.eventId = eventId;
     this.screenshot = "";
   }
 
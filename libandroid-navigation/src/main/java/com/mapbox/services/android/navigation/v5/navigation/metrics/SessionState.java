@@ -2,14 +2,10 @@ package com.mapbox.services.android.navigation.v5.navigation.metrics;
 
 import android.location.Location;
 import android.support.annotation.Nullable;
-import android.text.TextUtils;
 
 import com.google.auto.value.AutoValue;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteLeg;
-import com.mapbox.core.constants.Constants;
-import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
 
 import java.util.Date;
@@ -22,13 +18,10 @@ public abstract class SessionState {
    * Original route values
    */
   public String originalGeometry() {
-    if (originalDirectionRoute() == null || TextUtils.isEmpty(originalDirectionRoute().geometry())) {
+    if (originalDirectionRoute() == null) {
       return "";
     }
-
-    List<Point> geometryPositions
-      = PolylineUtils.decode(originalDirectionRoute().geometry(), Constants.PRECISION_6);
-    return PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
+    return TelemetryGeometry.toPrecisionFive(originalDirectionRoute().geometry());
   }
 
   public int originalDistance() {
@@ -71,13 +64,10 @@ public abstract class SessionState {
   }
 
   public String currentGeometry() {
-    if (currentDirectionRoute() == null || TextUtils.isEmpty(currentDirectionRoute().geometry())) {
+    if (currentDirectionRoute() == null) {
       return "";
     }
-
-    List<Point> geometryPositions
-      = PolylineUtils.decode(currentDirectionRoute().geometry(), Constants.PRECISION_6);
-    return PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
+    return TelemetryGeometry.toPrecisionFive(currentDirectionRoute().geometry());
   }
 
   public abstract int secondsSinceLastReroute();
@@ -0,0 +1,95 @@
+package com.mapbox.services.android.navigation.v5.navigation.metrics;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Converts route geometries to the precision 5 polyline telemetry events are sent with.
+ * <p>
+ * Routes are requested with precision 6 geometries. Rather than decoding the whole route into
+ * {@link com.mapbox.geojson.Point}s and encoding it again, each coordinate is transcoded while
+ * reading the polyline, so only the two strings are ever held in memory. The result is cached by
+ * the identity of the source string: every {@link SessionState} of a route shares the same
+ * geometry string, so all events of that route share one converted string too.
+ */
+public final class TelemetryGeometry {
+
+  private static final int CACHE_SIZE = 4;
+  private static final double PRECISION_6_FACTOR = 1e6;
+  private static final double PRECISION_5_FACTOR = 1e5;
+
+  private static final String[] cachedSources = new String[CACHE_SIZE];
+  private static final String[] cachedResults = new String[CACHE_SIZE];
+  private static int nextCacheIndex;
+
+  private TelemetryGeometry() {
+    // Utility class
+  }
+
+  /**
+   * Converts a precision 6 polyline to precision 5.
+   *
+   * @param precisionSixGeometry encoded route geometry
+   * @return the precision 5 polyline, or an empty string if there is no geometry
+   */
+  public static String toPrecisionFive(@Nullable String precisionSixGeometry) {
+    if (precisionSixGeometry == null || precisionSixGeometry.isEmpty()) {
+      return "";
+    }
+    synchronized (cachedSources) {
+      for (int i = 0; i < CACHE_SIZE; i++) {
+        if (cachedSources[i] == precisionSixGeometry) {
+          return cachedResults[i];
+        }
+      }
+    }
+    String result = transcode(precisionSixGeometry);
+    synchronized (cachedSources) {
+      cachedSources[nextCacheIndex] = precisionSixGeometry;
+      cachedResults[nextCacheIndex] = result;
+      nextCacheIndex = (nextCacheIndex + 1) % CACHE_SIZE;
+    }
+    return result;
+  }
+
+  static String transcode(String encoded) {
+    StringBuilder result = new StringBuilder(encoded.length());
+    int[] index = new int[1];
+    long latitude = 0;
+    long longitude = 0;
+    long lastLatitude = 0;
+    long lastLongitude = 0;
+    while (index[0] < encoded.length()) {
+      latitude += decodeValue(encoded, index);
+      longitude += decodeValue(encoded, index);
+      // Rounded the same way as PolylineUtils, so the output is identical to decoding and encoding
+      long roundedLatitude = Math.round(latitude / PRECISION_6_FACTOR * PRECISION_5_FACTOR);
+      long roundedLongitude = Math.round(longitude / PRECISION_6_FACTOR * PRECISION_5_FACTOR);
+      encodeValue(roundedLatitude - lastLatitude, result);
+      encodeValue(roundedLongitude - lastLongitude, result);
+      lastLatitude = roundedLatitude;
+      lastLongitude = roundedLongitude;
+    }
+    return result.toString();
+  }
+
+  private static long decodeValue(String encoded, int[] index) {
+    long result = 0;
+    int shift = 0;
+    int value;
+    do {
+      value = encoded.charAt(index[0]++) - 63;
+      result |= (long) (value & 0x1f) << shift;
+      shift += 5;
+    } while (value >= 0x20 && index[0] < encoded.length());
+    return (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+  }
+
+  private static void encodeValue(long value, StringBuilder result) {
+    value = value < 0 ? ~(value << 1) : value << 1;
+    while (value >= 0x20) {
+      result.append((char) ((0x20 | (value & 0x1f)) + 63));
+      value >>= 5;
+    }
+    result.append((char) (value + 63));
+  }
+}
@@ -33,7 +33,8 @@ public interface NavigationNotification {
    * new {@link RouteProgress} is generated.
    * <p>
    * This method can serve as a cue to update a {@link Notification}
-   * with a specific notification id.
+   * with a specific notification id. To only be told when what the notification shows changes,
+   * also implement {@link NotificationContentListener}.
    *
    * @param routeProgress with the latest progress data
    */
@@ -0,0 +1,25 @@
+package com.mapbox.services.android.navigation.v5.navigation.notification;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Can be implemented by a {@link NavigationNotification} which only needs to be updated when what it
+ * shows changes, rather than with every {@link RouteProgress}.
+ * <p>
+ * {@link NavigationNotification#updateNotification(RouteProgress)} is still called with every
+ * progress.
+ *
+ * @since 0.9.0
+ */
+public interface NotificationContentListener {
+
+  /**
+   * Called when a new {@link RouteProgress} changes what a navigation notification shows: the
+   * instruction, the distance to the maneuver, the arrival time or the maneuver icon. Changes within
+   * a step are passed on at most once a second, while reaching a new step is passed on right away.
+   *
+   * @param routeProgress with the latest progress data
+   * @since 0.9.0
+   */
+  void onNotificationContentChanged(RouteProgress routeProgress);
+}
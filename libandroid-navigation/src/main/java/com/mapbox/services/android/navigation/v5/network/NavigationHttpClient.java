@@ -0,0 +1,245 @@
+package com.mapbox.services.android.navigation.v5.network;
+
+import android.support.annotation.IntDef;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import timber.log.Timber;
+
+/**
+ * HTTP client shared by every part of the SDK making network requests: routes, maneuver shields
+ * and voice instructions.
+ * <p>
+ * All requests share one connection pool which keeps connections alive between requests, so a
+ * reroute doesn't have to pay for a new TLS handshake. {@link #warmUp(String)} opens a connection
+ * ahead of time when a navigation session starts. Responses are transparently requested and
+ * decompressed with gzip.
+ * <p>
+ * Requests are made with a {@link Priority}. Each priority has its own dispatcher: high priority
+ * requests (routes, voice instructions) are never limited, while normal (shield images) and low
+ * (prefetching) priority requests are limited in how many run at once, so they can't hold up a
+ * reroute. Threads running lower priority requests are also scheduled with a lower thread priority.
+ * <p>
+ * A {@link Cache} and a {@link NetworkMetricsListener} can be set in this single place and apply to
+ * all requests, except for shield images which are kept in a cache of their own.
+ *
+ * @since 0.9.0
+ */
+public final class NavigationHttpClient {
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {PRIORITY_HIGH, PRIORITY_NORMAL, PRIORITY_LOW})
+  public @interface Priority {
+  }
+
+  /**
+   * Requests the user is waiting on, such as routes, reroutes and voice instructions.
+   *
+   * @since 0.9.0
+   */
+  public static final int PRIORITY_HIGH = 0;
+
+  /**
+   * Requests for content being displayed, such as maneuver shield images.
+   *
+   * @since 0.9.0
+   */
+  public static final int PRIORITY_NORMAL = 1;
+
+  /**
+   * Requests for content which might be needed later, such as speculative routes.
+   *
+   * @since 0.9.0
+   */
+  public static final int PRIORITY_LOW = 2;
+
+  private static final int MAX_IDLE_CONNECTIONS = 5;
+  private static final long KEEP_ALIVE_DURATION_MINUTES = 5;
+  private static final int NORMAL_PRIORITY_MAX_REQUESTS = 4;
+  private static final int LOW_PRIORITY_MAX_REQUESTS = 1;
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+  private static NavigationHttpClient instance;
+
+  private final ConnectionPool connectionPool;
+  private final Dispatcher[] dispatchers;
+  private final OkHttpClient[] clients = new OkHttpClient[3];
+  private Cache cache;
+  private volatile NetworkMetricsListener metricsListener;
+
+  // Package private (no modifier) for testing purposes
+  NavigationHttpClient() {
+    connectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_MINUTES, TimeUnit.MINUTES);
+    dispatchers = new Dispatcher[] {
+      buildDispatcher(Thread.NORM_PRIORITY + 1, Integer.MAX_VALUE),
+      buildDispatcher(Thread.NORM_PRIORITY, NORMAL_PRIORITY_MAX_REQUESTS),
+      buildDispatcher(Thread.MIN_PRIORITY, LOW_PRIORITY_MAX_REQUESTS)
+    };
+    buildClients();
+  }
+
+  /**
+   * Primary access method (using singleton pattern)
+   *
+   * @return the shared client
+   * @since 0.9.0
+   */
+  public static synchronized NavigationHttpClient getInstance() {
+    if (instance == null) {
+      instance = new NavigationHttpClient();
+    }
+    return instance;
+  }
+
+  /**
+   * Client to make requests of the given priority with.
+   *
+   * @param priority of the requests
+   * @return the client, sharing its connections with all other clients
+   * @since 0.9.0
+   */
+  public synchronized OkHttpClient client(@Priority int priority) {
+    return clients[priority];
+  }
+
+  /**
+   * Sets the cache used for all requests, or removes it if null.
+   *
+   * @param cache to store responses in
+   * @since 0.9.0
+   */
+  public synchronized void setCache(@Nullable Cache cache) {
+    this.cache = cache;
+    buildClients();
+  }
+
+  /**
+   * @return the cache used for all requests, or null if none has been set
+   * @since 0.9.0
+   */
+  @Nullable
+  public synchronized Cache getCache() {
+    return cache;
+  }
+
+  /**
+   * Sets a listener notified about every request, or removes it if null.
+   *
+   * @param metricsListener to be notified
+   * @since 0.9.0
+   */
+  public void setMetricsListener(@Nullable NetworkMetricsListener metricsListener) {
+    this.metricsListener = metricsListener;
+  }
+
+  /**
+   * Opens a connection to the given host in the background, so it is ready in the pool by the time
+   * the first request to that host is made.
+   *
+   * @param url of the host to connect to
+   * @since 0.9.0
+   */
+  public void warmUp(@NonNull String url) {
+    Request request = new Request.Builder()
+      .url(url)
+      .head()
+      .build();
+    client(PRIORITY_HIGH).newCall(request).enqueue(new Callback() {
+      @Override
+      public void onFailure(@NonNull Call call, @NonNull IOException exception) {
+        Timber.d("Unable to warm up connection: %s", exception.getMessage());
+      }
+
+      @Override
+      public void onResponse(@NonNull Call call, @NonNull Response response) {
+        response.close();
+      }
+    });
+  }
+
+  /**
+   * Number of connections currently kept in the pool.
+   *
+   * @return connection count
+   * @since 0.9.0
+   */
+  public int connectionCount() {
+    return connectionPool.connectionCount();
+  }
+
+  private void buildClients() {
+    for (int priority = PRIORITY_HIGH; priority <= PRIORITY_LOW; priority++) {
+      clients[priority] = new OkHttpClient.Builder()
+        .connectionPool(connectionPool)
+        .dispatcher(dispatchers[priority])
+        .cache(cache)
+        .addInterceptor(new MetricsInterceptor(priority))
+        .build();
+    }
+  }
+
+  private static Dispatcher buildDispatcher(final int threadPriority, int maxRequests) {
+    ExecutorService executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE, IDLE_THREAD_TIMEOUT_SECONDS,
+      TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+          Thread thread = new Thread(runnable, "NavigationHttpClient");
+          thread.setDaemon(true);
+          thread.setPriority(threadPriority);
+          return thread;
+        }
+      });
+    Dispatcher dispatcher = new Dispatcher(executorService);
+    dispatcher.setMaxRequests(maxRequests);
+    dispatcher.setMaxRequestsPerHost(Math.min(maxRequests, dispatcher.getMaxRequestsPerHost()));
+    return dispatcher;
+  }
+
+  private class MetricsInterceptor implements Interceptor {
+
+    private final int priority;
+
+    MetricsInterceptor(int priority) {
+      this.priority = priority;
+    }
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+      Request request = chain.request();
+      NetworkMetricsListener listener = metricsListener;
+      if (listener == null) {
+        return chain.proceed(request);
+      }
+      long startTime = System.nanoTime();
+      Response response;
+      try {
+        response = chain.proceed(request);
+      } catch (IOException exception) {
+        listener.onRequestFailed(request.url().toString(), priority, exception);
+        throw exception;
+      }
+      long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      boolean fromCache = response.networkResponse() == null;
+      listener.onRequestCompleted(request.url().toString(), priority, response.code(), durationMillis, fromCache);
+      return response;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.mapbox.services.android.navigation.v5.network;
+
+import java.io.IOException;
+
+/**
+ * Notified about every request made through {@link NavigationHttpClient}, for example to log
+ * latencies or to report them with telemetry.
+ * <p>
+ * Methods are called on the thread executing the request, not on the main thread.
+ *
+ * @since 0.9.0
+ */
+public interface NetworkMetricsListener {
+
+  /**
+   * Called once a response has been received.
+   *
+   * @param url            of the request
+   * @param priority       the request was made with
+   * @param statusCode     HTTP status code of the response
+   * @param durationMillis from sending the request until the response headers were received
+   * @param fromCache      true if the response was served from the cache without a network request
+   * @since 0.9.0
+   */
+  void onRequestCompleted(String url, @NavigationHttpClient.Priority int priority, int statusCode,
+                          long durationMillis, boolean fromCache);
+
+  /**
+   * Called if a request failed before a response was received.
+   *
+   * @param url       of the request
+   * @param priority  the request was made with
+   * @param exception describing the failure
+   * @since 0.9.0
+   */
+  void onRequestFailed(String url, @NavigationHttpClient.Priority int priority, IOException exception);
+}
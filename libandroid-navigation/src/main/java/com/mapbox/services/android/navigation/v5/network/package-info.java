@@ -0,0 +1,4 @@
+/**
+ * Package containing the HTTP client shared by all network requests of the SDK.
+ */
+package com.mapbox.services.android.navigation.v5.network;
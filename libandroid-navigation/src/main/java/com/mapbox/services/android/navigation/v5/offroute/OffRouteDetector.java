@@ -2,11 +2,13 @@ package com.mapbox.services.android.navigation.v5.offroute;
 
 import android.location.Location;
 
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometry;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.ToleranceUtils;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
@@ -16,7 +18,13 @@ import static com.mapbox.services.android.navigation.v5.utils.MeasurementUtils.u
 
 public class OffRouteDetector extends OffRoute {
 
+  // In meters per second, below this the bearing of a location isn't reliable
+  private static final double MINIMUM_SPEED_FOR_BEARING = 3;
+
   private Point lastReroutePoint;
+  private OffRouteScorer offRouteScorer;
+  private MapboxNavigationOptions scorerOptions;
+  private DirectionsRoute scoredRoute;
 
   /**
    * Detects if the user is off route or not.
@@ -27,7 +35,10 @@ public class OffRouteDetector extends OffRoute {
   @Override
   public boolean isUserOffRoute(Location location, RouteProgress routeProgress,
                                 MapboxNavigationOptions options,
-                                RingBuffer<Integer> recentDistancesFromManeuverInMeters) {
+                                IntRingBuffer recentDistancesFromManeuverInMeters) {
+    if (options.enableOffRouteScoring()) {
+      return isUserOffRouteScored(location, routeProgress, options, recentDistancesFromManeuverInMeters);
+    }
 
     if (!validOffRoute(location, options)) {
       return false;
@@ -70,6 +81,59 @@ public class OffRouteDetector extends OffRoute {
     return isOffRoute;
   }
 
+  /**
+   * Scores every location, even right after a reroute, so the confidence is up to date once
+   * rerouting is allowed again. Moving away from the maneuver still counts as off-route right away.
+   */
+  private boolean isUserOffRouteScored(Location location, RouteProgress routeProgress,
+                                       MapboxNavigationOptions options,
+                                       IntRingBuffer recentDistancesFromManeuverInMeters) {
+    if (offRouteScorer == null) {
+      offRouteScorer = new OffRouteScorer(options);
+    } else if (options != scorerOptions) {
+      offRouteScorer.updateOptions(options);
+    }
+    scorerOptions = options;
+    if (routeProgress.directionsRoute() != scoredRoute) {
+      scoredRoute = routeProgress.directionsRoute();
+      offRouteScorer.reset();
+    }
+
+    Point currentPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    double tolerance = ToleranceUtils.dynamicRerouteDistanceTolerance(currentPoint, routeProgress);
+    // The maneuver may have been completed before the step index increased
+    RouteGeometry routeGeometry = routeProgress.routeGeometry();
+    int legIndex = routeProgress.legIndex();
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    StepGeometry.Match match = StepGeometry.match(routeGeometry.step(legIndex, stepIndex),
+      location.getLatitude(), location.getLongitude());
+    if (routeProgress.currentLegProgress().upComingStep() != null
+      && stepIndex + 1 < routeGeometry.stepCount(legIndex)) {
+      StepGeometry.Match upComingMatch = StepGeometry.match(routeGeometry.step(legIndex, stepIndex + 1),
+        location.getLatitude(), location.getLongitude());
+      if (upComingMatch.distance < match.distance) {
+        match = upComingMatch;
+      }
+    }
+    double headingDifference = Double.NaN;
+    if (location.hasBearing() && location.getSpeed() >= MINIMUM_SPEED_FOR_BEARING && !Double.isNaN(match.bearing)) {
+      double difference = Math.abs(location.getBearing() - match.bearing) % 360;
+      headingDifference = difference > 180 ? 360 - difference : difference;
+    }
+    boolean isOffRoute = offRouteScorer.update(location.getTime(), match.distance, tolerance,
+      location.getAccuracy(), headingDifference);
+
+    if (!validOffRoute(location, options)) {
+      return false;
+    }
+    Point futurePoint = getFuturePosition(location, options);
+    if (isOffRoute || movingAwayFromManeuver(routeProgress, recentDistancesFromManeuverInMeters, futurePoint)) {
+      updateLastReroutePoint(location);
+      return true;
+    }
+    return false;
+  }
+
   /**
    * Method to check if the user has passed either the set (in {@link MapboxNavigationOptions})
    * minimum amount of seconds or minimum amount of meters since the last reroute.
@@ -110,7 +174,7 @@ public class OffRouteDetector extends OffRoute {
   }
 
   private static boolean movingAwayFromManeuver(RouteProgress routeProgress,
-                                                RingBuffer<Integer> recentDistancesFromManeuverInMeters,
+                                                IntRingBuffer recentDistancesFromManeuverInMeters,
                                                 Point futurePosition) {
 
     if (routeProgress.currentLegProgress().upComingStep() == null) {
@@ -123,15 +187,15 @@ public class OffRouteDetector extends OffRoute {
     );
 
     if (!recentDistancesFromManeuverInMeters.isEmpty()
-      && recentDistancesFromManeuverInMeters.peekLast()
-      - recentDistancesFromManeuverInMeters.peekFirst() < MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE
+      && recentDistancesFromManeuverInMeters.oldest()
+      - recentDistancesFromManeuverInMeters.newest() < MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE
       && recentDistancesFromManeuverInMeters.size() >= 3) {
       // User's moving away from maneuver position, thus offRoute.
       return true;
     }
     if (recentDistancesFromManeuverInMeters.isEmpty()) {
       recentDistancesFromManeuverInMeters.push((int) userDistanceToManeuver);
-    } else if (userDistanceToManeuver > recentDistancesFromManeuverInMeters.peek()) {
+    } else if (userDistanceToManeuver > recentDistancesFromManeuverInMeters.newest()) {
       recentDistancesFromManeuverInMeters.push((int) userDistanceToManeuver);
     } else {
       // If we get a descending distance, reset the counter
@@ -0,0 +1,138 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.utils.DoubleRingBuffer;
+
+/**
+ * Decides whether the user is off-route from a confidence built up over several locations, when
+ * {@link MapboxNavigationOptions#enableOffRouteScoring()} is set to true.
+ * <p>
+ * Each location is scored from 0 to 1 by its distance from the route, less its reported accuracy,
+ * relative to the reroute tolerance, and by how far its bearing disagrees with the route beyond
+ * {@link MapboxNavigationOptions#maxManipulatedCourseAngle()}. The confidence is the average score
+ * of the locations within {@link MapboxNavigationOptions#offRouteConfidenceWindow()}, with
+ * inaccurate locations counting less, and always includes the last two locations so sparse updates
+ * can't decide on a single location either.
+ * <p>
+ * The user goes off-route once the confidence reaches
+ * {@link MapboxNavigationOptions#offRouteEnterConfidence()} and is only back on the route once it
+ * drops to {@link MapboxNavigationOptions#offRouteExitConfidence()}, so a single stray location
+ * neither triggers a reroute nor cancels one.
+ */
+class OffRouteScorer {
+
+  private static final int CAPACITY = 32;
+  private static final int MINIMUM_LOCATION_COUNT = 2;
+  // In meters, locations at least this accurate count fully towards the confidence
+  private static final double REFERENCE_ACCURACY = 10;
+  private static final double MINIMUM_WEIGHT = 0.1;
+  private static final double HEADING_WEIGHT = 0.3;
+  // In degrees, the heading disagreement which scores 1
+  private static final double MAXIMUM_HEADING_DIFFERENCE = 90;
+  private static final double OPPOSITE_HEADING_DIFFERENCE = 180;
+
+  private double enterConfidence;
+  private double exitConfidence;
+  private double window;
+  private double maximumCourseAngle;
+  // In degrees, the heading disagreement beyond the course angle which scores 1
+  private double headingRange;
+  private final DoubleRingBuffer times = new DoubleRingBuffer(CAPACITY);
+  private final DoubleRingBuffer scores = new DoubleRingBuffer(CAPACITY);
+  private final DoubleRingBuffer weights = new DoubleRingBuffer(CAPACITY);
+  private double confidence;
+  private boolean isOffRoute;
+
+  OffRouteScorer(MapboxNavigationOptions options) {
+    updateOptions(options);
+  }
+
+  /**
+   * Applies new options to the following updates, keeping the locations scored so far.
+   *
+   * @param options with the thresholds to use
+   */
+  void updateOptions(MapboxNavigationOptions options) {
+    enterConfidence = options.offRouteEnterConfidence();
+    exitConfidence = options.offRouteExitConfidence();
+    window = options.offRouteConfidenceWindow() * 1000;
+    maximumCourseAngle = options.maxManipulatedCourseAngle();
+    // A course angle of 90 degrees or more scores up to the opposite direction instead
+    double maximumHeadingDifference = maximumCourseAngle < MAXIMUM_HEADING_DIFFERENCE
+      ? MAXIMUM_HEADING_DIFFERENCE : OPPOSITE_HEADING_DIFFERENCE;
+    headingRange = maximumHeadingDifference - maximumCourseAngle;
+  }
+
+  /**
+   * @param time              of the location, in milliseconds
+   * @param distance          in meters, from the location to the closest point on the route
+   * @param tolerance         in meters, the distance at which the location scores 0.5
+   * @param accuracy          in meters, as reported by the location
+   * @param headingDifference in degrees from 0 to 180, or NaN if the bearing isn't known
+   * @return true if the user is off-route
+   */
+  boolean update(long time, double distance, double tolerance, double accuracy, double headingDifference) {
+    if (!times.isEmpty() && time < times.newest()) {
+      reset();
+    }
+    times.push(time);
+    scores.push(score(distance, tolerance, accuracy, headingDifference));
+    weights.push(Math.max(MINIMUM_WEIGHT, REFERENCE_ACCURACY / Math.max(accuracy, REFERENCE_ACCURACY)));
+    confidence = calculateConfidence(time);
+
+    if (!isOffRoute && times.size() >= MINIMUM_LOCATION_COUNT && confidence >= enterConfidence) {
+      isOffRoute = true;
+    } else if (isOffRoute && confidence <= exitConfidence) {
+      isOffRoute = false;
+    }
+    return isOffRoute;
+  }
+
+  /**
+   * @return the confidence, from 0 to 1, as of the last update
+   */
+  double confidence() {
+    return confidence;
+  }
+
+  /**
+   * Forgets all locations, called when the route changes.
+   */
+  void reset() {
+    times.clear();
+    scores.clear();
+    weights.clear();
+    confidence = 0;
+    isOffRoute = false;
+  }
+
+  private double score(double distance, double tolerance, double accuracy, double headingDifference) {
+    // 0 within half the tolerance, 1 beyond one and a half times the tolerance
+    double distanceBeyondAccuracy = Math.max(0, distance - accuracy);
+    double distanceScore = clamp(distanceBeyondAccuracy / tolerance - 0.5);
+    if (Double.isNaN(headingDifference)) {
+      return distanceScore;
+    }
+    // Only a course angle of 180 degrees or more leaves no range, no heading is off then
+    double headingScore = headingRange > 0 ? clamp((headingDifference - maximumCourseAngle) / headingRange) : 0;
+    return (1 - HEADING_WEIGHT) * distanceScore + HEADING_WEIGHT * headingScore;
+  }
+
+  private double calculateConfidence(long time) {
+    double weightedScores = 0;
+    double totalWeight = 0;
+    for (int i = times.size() - 1; i >= 0; i--) {
+      boolean isRequired = times.size() - i <= MINIMUM_LOCATION_COUNT;
+      if (!isRequired && time - times.get(i) > window) {
+        break;
+      }
+      weightedScores += scores.get(i) * weights.get(i);
+      totalWeight += weights.get(i);
+    }
+    return totalWeight > 0 ? weightedScores / totalWeight : 0;
+  }
+
+  private static double clamp(double value) {
+    return Math.min(Math.max(value, 0), 1);
+  }
+}
@@ -0,0 +1,70 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.PolylineGeometry;
+
+/**
+ * Matches a location against a step geometry, which
+ * {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometry} decodes once per
+ * route, so matching doesn't decode the step geometry with every location update.
+ */
+final class StepGeometry {
+
+  private static final double EARTH_RADIUS = 6371008.8;
+
+  private StepGeometry() {
+    // Empty private constructor for preventing initialization of this class.
+  }
+
+  /**
+   * Finds the closest point on the step geometry, projecting the geometry around the location,
+   * which is accurate at the distances relevant for going off-route.
+   *
+   * @param geometry  of the step
+   * @param latitude  of the location
+   * @param longitude of the location
+   * @return the distance to the closest point and the bearing of the step there
+   */
+  static Match match(PolylineGeometry geometry, double latitude, double longitude) {
+    if (geometry.pointCount() == 0) {
+      return new Match(0, Double.NaN);
+    }
+    double metersPerDegreeLatitude = Math.toRadians(EARTH_RADIUS);
+    double metersPerDegreeLongitude = metersPerDegreeLatitude * Math.cos(Math.toRadians(latitude));
+    // Start with the first point, in case the step has no segment of any length
+    double closestDistance = Math.hypot((geometry.longitude(0) - longitude) * metersPerDegreeLongitude,
+      (geometry.latitude(0) - latitude) * metersPerDegreeLatitude);
+    double closestBearing = Double.NaN;
+    for (int i = 0; i < geometry.segmentCount(); i++) {
+      double startX = (geometry.longitude(i) - longitude) * metersPerDegreeLongitude;
+      double startY = (geometry.latitude(i) - latitude) * metersPerDegreeLatitude;
+      double endX = (geometry.longitude(i + 1) - longitude) * metersPerDegreeLongitude;
+      double endY = (geometry.latitude(i + 1) - latitude) * metersPerDegreeLatitude;
+      double segmentX = endX - startX;
+      double segmentY = endY - startY;
+      double squaredLength = segmentX * segmentX + segmentY * segmentY;
+      if (squaredLength == 0) {
+        continue;
+      }
+      double fraction = Math.min(Math.max(-(startX * segmentX + startY * segmentY) / squaredLength, 0), 1);
+      double distance = Math.hypot(startX + segmentX * fraction, startY + segmentY * fraction);
+      if (distance <= closestDistance) {
+        closestDistance = distance;
+        closestBearing = (Math.toDegrees(Math.atan2(segmentX, segmentY)) + 360) % 360;
+      }
+    }
+    return new Match(closestDistance, closestBearing);
+  }
+
+  static class Match {
+
+    // In meters, from the location to the closest point on the step
+    final double distance;
+    // In degrees, of the step at the closest point, or NaN if the step has no direction
+    final double bearing;
+
+    Match(double distance, double bearing) {
+      this.distance = distance;
+      this.bearing = bearing;
+    }
+  }
+}
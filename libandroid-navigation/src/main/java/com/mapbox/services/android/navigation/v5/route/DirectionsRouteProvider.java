@@ -0,0 +1,72 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Default {@link RouteProvider}, requesting routes from the Mapbox Directions API with
+ * {@link NavigationRoute}. Requests are made through the shared
+ * {@link com.mapbox.services.android.navigation.v5.network.NavigationHttpClient} with the priority
+ * of the {@link RouteRequest}.
+ *
+ * @since 0.9.0
+ */
+public class DirectionsRouteProvider implements RouteProvider {
+
+  private static final double ORIGIN_BEARING_TOLERANCE = 90d;
+
+  @Override
+  public void fetchRoute(RouteRequest request, final RouteProvider.Callback callback) {
+    NavigationRoute.Builder builder = NavigationRoute.builder();
+    if (request.routeOptions() != null) {
+      builder.routeOptions(request.routeOptions());
+    }
+    if (request.accessToken() != null) {
+      builder.accessToken(request.accessToken());
+    }
+    if (request.profile() != null) {
+      builder.profile(request.profile());
+    }
+    if (request.language() != null) {
+      builder.language(request.language());
+    }
+    if (request.voiceUnits() != null) {
+      builder.voiceUnits(request.voiceUnits());
+    }
+    builder.priority(request.priority());
+    if (request.alternatives()) {
+      builder.alternatives(true);
+    }
+
+    Double bearing = request.originBearing();
+    builder.origin(request.origin(), bearing, bearing == null ? null : ORIGIN_BEARING_TOLERANCE);
+    for (Point waypoint : request.waypoints()) {
+      builder.addWaypoint(waypoint);
+    }
+    builder.destination(request.destination());
+
+    builder.build().getRoute(new Callback<DirectionsResponse>() {
+      @Override
+      public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
+        DirectionsResponse body = response.body();
+        if (!response.isSuccessful() || body == null || body.routes().isEmpty()) {
+          callback.onRouteFailure(new IllegalStateException("No route found: " + response.message()));
+          return;
+        }
+        callback.onRouteFound(body);
+      }
+
+      @Override
+      public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
+        callback.onRouteFailure(throwable);
+      }
+    });
+  }
+}
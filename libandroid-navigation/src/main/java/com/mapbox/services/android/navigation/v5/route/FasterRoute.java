@@ -1,8 +1,10 @@
 package com.mapbox.services.android.navigation.v5.route;
 
 import android.location.Location;
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 /**
@@ -17,6 +19,9 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
  * <p>
  * {@link FasterRoute#isFasterRoute(DirectionsResponse, RouteProgress)} determines if the new route
  * retrieved by {@link RouteEngine} is actually faster than the current route.
+ * <p>
+ * {@link FasterRoute#findFasterRoute(DirectionsResponse, RouteProgress)} picks the route which should
+ * be emitted, in case the response contains alternatives.
  *
  * @since 0.9.0
  */
@@ -49,4 +54,26 @@ public abstract class FasterRoute {
    * @return true if the new route is considered faster, false if not
    */
   public abstract boolean isFasterRoute(DirectionsResponse response, RouteProgress routeProgress);
+
+  /**
+   * This method will be used to pick the route which should replace the one that's currently
+   * being navigated, along with its score.
+   * <p>
+   * By default, the first route of the response is scored with {@link RouteScorer} if
+   * {@link FasterRoute#isFasterRoute(DirectionsResponse, RouteProgress)} returns true. Override this
+   * method to evaluate alternative routes as well.
+   *
+   * @param response      provided by {@link RouteEngine}
+   * @param routeProgress current route progress
+   * @return the faster route with its score, or null if none of the routes are faster
+   * @since 0.9.0
+   */
+  @Nullable
+  public ScoredRoute findFasterRoute(DirectionsResponse response, RouteProgress routeProgress) {
+    if (!isFasterRoute(response, routeProgress)) {
+      return null;
+    }
+    DirectionsRoute fasterRoute = response.routes().get(0);
+    return ScoredRoute.create(fasterRoute, RouteScorer.score(fasterRoute, routeProgress));
+  }
 }
@@ -1,6 +1,7 @@
 package com.mapbox.services.android.navigation.v5.route;
 
 import android.location.Location;
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
@@ -44,30 +45,55 @@ public class FasterRouteDetector extends FasterRoute {
 
   @Override
   public boolean isFasterRoute(DirectionsResponse response, RouteProgress routeProgress) {
-    if (validRouteResponse(response)) {
-
-      double currentDurationRemaining = routeProgress.durationRemaining();
-      DirectionsRoute newRoute = response.routes().get(0);
-
-      if (hasLegs(newRoute)) {
-        // Extract the first leg
-        RouteLeg routeLeg = newRoute.legs().get(0);
-        if (hasAtLeastTwoSteps(routeLeg)) {
-          // Extract the first two steps
-          LegStep firstStep = routeLeg.steps().get(0);
-          LegStep secondStep = routeLeg.steps().get(1);
-          // Check for valid first and second steps of the new route
-          if (!validFirstStep(firstStep) || !validSecondStep(secondStep, routeProgress)) {
-            return false;
-          }
-        }
+    return findFasterRoute(response, routeProgress) != null;
+  }
+
+  /**
+   * Scores every route of the response in a single pass and returns the one with the highest
+   * score, out of the routes which are considered faster than the current route.
+   *
+   * @param response      provided by {@link RouteEngine}
+   * @param routeProgress current route progress
+   * @return the best faster route with its score, or null if none of the routes are faster
+   * @since 0.9.0
+   */
+  @Nullable
+  @Override
+  public ScoredRoute findFasterRoute(DirectionsResponse response, RouteProgress routeProgress) {
+    if (!validRouteResponse(response)) {
+      return null;
+    }
+    ScoredRoute bestRoute = null;
+    for (DirectionsRoute newRoute : response.routes()) {
+      if (!isFasterCandidate(newRoute, routeProgress)) {
+        continue;
       }
-      // New route must be at least 10% faster
-      if (newRoute.duration() <= (0.9 * currentDurationRemaining)) {
-        return true;
+      double score = RouteScorer.score(newRoute, routeProgress);
+      if (bestRoute == null || score > bestRoute.score()) {
+        bestRoute = ScoredRoute.create(newRoute, score);
       }
     }
-    return false;
+    return bestRoute;
+  }
+
+  private boolean isFasterCandidate(DirectionsRoute newRoute, RouteProgress routeProgress) {
+    double currentDurationRemaining = routeProgress.durationRemaining();
+
+    if (hasLegs(newRoute)) {
+      // Extract the first leg
+      RouteLeg routeLeg = newRoute.legs().get(0);
+      if (hasAtLeastTwoSteps(routeLeg)) {
+        // Extract the first two steps
+        LegStep firstStep = routeLeg.steps().get(0);
+        LegStep secondStep = routeLeg.steps().get(1);
+        // Check for valid first and second steps of the new route
+        if (!validFirstStep(firstStep) || !validSecondStep(secondStep, routeProgress)) {
+          return false;
+        }
+      }
+    }
+    // New route must be at least 10% faster
+    return newRoute.duration() <= (0.9 * currentDurationRemaining);
   }
 
   private boolean hasLegs(DirectionsRoute newRoute) {
@@ -0,0 +1,228 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.IntDef;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+import timber.log.Timber;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.REROUTE_CIRCUIT_RESET_DURATION;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.REROUTE_FAILURE_THRESHOLD;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.REROUTE_MAXIMUM_BACKOFF;
+
+/**
+ * Decides whether or not a reroute request should be made when the user goes off-route.
+ * <p>
+ * Noisy locations can make the user flap between on and off-route, which would otherwise trigger
+ * many reroute requests in quick succession. A request is suppressed if:
+ * <ul>
+ * <li>less than {@link MapboxNavigationOptions#secondsBeforeReroute()} have passed since the last
+ * request</li>
+ * <li>the previous request failed and the backoff, doubling with each consecutive failure, hasn't
+ * passed yet</li>
+ * <li>{@link MapboxNavigationOptions#rerouteRequestBudget()} requests have already been made</li>
+ * <li>rerouting is paused after several consecutive failures, in which case the user should be
+ * guided back to the current route instead</li>
+ * </ul>
+ * All times are in milliseconds and only need to be consistent with each other.
+ *
+ * @since 0.9.0
+ */
+public class RerouteGovernor {
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {SUPPRESSED_DEBOUNCE, SUPPRESSED_BACKOFF, SUPPRESSED_BUDGET, SUPPRESSED_CIRCUIT_OPEN})
+  public @interface SuppressionReason {
+  }
+
+  public static final int SUPPRESSED_DEBOUNCE = 0;
+  public static final int SUPPRESSED_BACKOFF = 1;
+  public static final int SUPPRESSED_BUDGET = 2;
+  public static final int SUPPRESSED_CIRCUIT_OPEN = 3;
+
+  private static final long MILLIS_PER_SECOND = 1000;
+
+  private final long debounceMillis;
+  private final int requestBudget;
+  private RerouteSuppressedListener suppressedListener;
+  private long lastRequestTime = -1;
+  private long backoffEndTime;
+  private long circuitOpenTime = -1;
+  private int consecutiveFailures;
+  private int requestCount;
+  private final int[] suppressedCounts = new int[4];
+
+  public RerouteGovernor(MapboxNavigationOptions options) {
+    this.debounceMillis = options.secondsBeforeReroute() * MILLIS_PER_SECOND;
+    this.requestBudget = options.rerouteRequestBudget();
+  }
+
+  /**
+   * Sets the listener notified every time a reroute request is suppressed.
+   *
+   * @param suppressedListener to be notified, or null to remove the current one
+   * @since 0.9.0
+   */
+  public void setRerouteSuppressedListener(@Nullable RerouteSuppressedListener suppressedListener) {
+    this.suppressedListener = suppressedListener;
+  }
+
+  /**
+   * Should be called when the user goes off-route. If true is returned, the request is counted
+   * and should be made. The result of the request must then be reported with
+   * {@link #onRerouteSucceeded()} or {@link #onRerouteFailed(long)}.
+   *
+   * @param time current time in milliseconds
+   * @return true if a reroute request should be made, false if it is suppressed
+   * @since 0.9.0
+   */
+  public boolean allowReroute(long time) {
+    if (requestCount >= requestBudget) {
+      return suppress(SUPPRESSED_BUDGET);
+    }
+    halfOpenCircuitIfResetPassed(time);
+    if (isCircuitOpen(time)) {
+      return suppress(SUPPRESSED_CIRCUIT_OPEN);
+    }
+    if (time < backoffEndTime) {
+      return suppress(SUPPRESSED_BACKOFF);
+    }
+    if (lastRequestTime >= 0 && time - lastRequestTime < debounceMillis) {
+      return suppress(SUPPRESSED_DEBOUNCE);
+    }
+    lastRequestTime = time;
+    requestCount++;
+    return true;
+  }
+
+  /**
+   * Should be called once a reroute request returned a new route. Resets the backoff and closes
+   * the circuit if it was open.
+   *
+   * @since 0.9.0
+   */
+  public void onRerouteSucceeded() {
+    consecutiveFailures = 0;
+    backoffEndTime = 0;
+    circuitOpenTime = -1;
+  }
+
+  /**
+   * Should be called if a reroute request failed. The next request is delayed, doubling the delay
+   * with each consecutive failure. After {@code REROUTE_FAILURE_THRESHOLD} consecutive failures, rerouting is paused.
+   *
+   * @param time current time in milliseconds
+   * @since 0.9.0
+   */
+  public void onRerouteFailed(long time) {
+    consecutiveFailures++;
+    long backoffMillis = Math.min(Math.max(debounceMillis, MILLIS_PER_SECOND) << (consecutiveFailures - 1),
+      REROUTE_MAXIMUM_BACKOFF * MILLIS_PER_SECOND);
+    backoffEndTime = time + backoffMillis;
+    if (consecutiveFailures >= REROUTE_FAILURE_THRESHOLD) {
+      Timber.d("Pausing reroute requests after %d consecutive failures.", consecutiveFailures);
+      circuitOpenTime = time;
+    }
+  }
+
+  /**
+   * Whether or not rerouting is currently paused, either because of consecutive failures or
+   * because the request budget is exhausted. While true, the user should be guided back to the
+   * current route.
+   * <p>
+   * Once {@code REROUTE_CIRCUIT_RESET_DURATION} has passed after consecutive failures, this returns
+   * false and the next {@link #allowReroute(long)} lets a single request through to check if the
+   * Directions API is reachable. Calling this doesn't change the state of the governor.
+   *
+   * @param time current time in milliseconds
+   * @return true if reroute requests are paused, false otherwise
+   * @since 0.9.0
+   */
+  public boolean isCircuitOpen(long time) {
+    if (requestCount >= requestBudget) {
+      return true;
+    }
+    return circuitOpenTime >= 0 && !hasCircuitResetPassed(time);
+  }
+
+  /**
+   * Starts a new navigation session: the request budget, backoff, paused rerouting and suppressed
+   * counts are all reset. Called by {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation}
+   * when navigation starts and ends.
+   *
+   * @since 0.9.0
+   */
+  public void reset() {
+    lastRequestTime = -1;
+    backoffEndTime = 0;
+    circuitOpenTime = -1;
+    consecutiveFailures = 0;
+    requestCount = 0;
+    Arrays.fill(suppressedCounts, 0);
+  }
+
+  /**
+   * Number of reroute requests allowed during this navigation session.
+   *
+   * @return request count
+   * @since 0.9.0
+   */
+  public int requestCount() {
+    return requestCount;
+  }
+
+  /**
+   * Total number of reroute requests suppressed during this navigation session.
+   *
+   * @return suppressed request count
+   * @since 0.9.0
+   */
+  public int suppressedCount() {
+    int suppressedCount = 0;
+    for (int count : suppressedCounts) {
+      suppressedCount += count;
+    }
+    return suppressedCount;
+  }
+
+  /**
+   * Number of reroute requests suppressed for the given reason during this navigation session.
+   *
+   * @param reason one of the suppression reasons
+   * @return suppressed request count for the reason
+   * @since 0.9.0
+   */
+  public int suppressedCount(@SuppressionReason int reason) {
+    return suppressedCounts[reason];
+  }
+
+  private boolean hasCircuitResetPassed(long time) {
+    return time - circuitOpenTime >= REROUTE_CIRCUIT_RESET_DURATION * MILLIS_PER_SECOND;
+  }
+
+  /**
+   * Lets one request through once the circuit has been open long enough, another failure will open
+   * it again right away.
+   */
+  private void halfOpenCircuitIfResetPassed(long time) {
+    if (circuitOpenTime >= 0 && hasCircuitResetPassed(time)) {
+      circuitOpenTime = -1;
+      consecutiveFailures = REROUTE_FAILURE_THRESHOLD - 1;
+    }
+  }
+
+  private boolean suppress(@SuppressionReason int reason) {
+    suppressedCounts[reason]++;
+    int suppressedCount = suppressedCount();
+    Timber.d("Reroute request suppressed, reason: %d, total suppressed: %d", reason, suppressedCount);
+    if (suppressedListener != null) {
+      suppressedListener.onRerouteSuppressed(reason, suppressedCount);
+    }
+    return false;
+  }
+}
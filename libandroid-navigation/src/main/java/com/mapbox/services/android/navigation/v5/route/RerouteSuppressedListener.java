@@ -0,0 +1,19 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+/**
+ * Listener that can be added to monitor reroute requests which were suppressed by the
+ * {@link RerouteGovernor}.
+ *
+ * @since 0.9.0
+ */
+public interface RerouteSuppressedListener {
+
+  /**
+   * Will be fired every time a reroute request is suppressed.
+   *
+   * @param reason          why the request was suppressed, one of the {@link RerouteGovernor} reasons
+   * @param suppressedCount total number of requests suppressed during this navigation session
+   * @since 0.9.0
+   */
+  void onRerouteSuppressed(@RerouteGovernor.SuppressionReason int reason, int suppressedCount);
+}
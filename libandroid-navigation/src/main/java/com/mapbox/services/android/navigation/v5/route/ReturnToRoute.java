@@ -0,0 +1,159 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import timber.log.Timber;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.RETURN_TO_ROUTE_MAXIMUM_DEVIATION;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.RETURN_TO_ROUTE_MAXIMUM_DISTANCE;
+
+/**
+ * Guides the user back onto the current route when they go off-route, before a new route is
+ * requested, if {@link MapboxNavigationOptions#enableReturnToRoute()} is set to true. Often the user
+ * only missed a turn and will rejoin the route a block further, which needs no network request and
+ * also works offline.
+ * <p>
+ * The closest point on the route ahead of where the user went off-route is looked up in a grid over
+ * the route geometry, built once per route. Points the user is heading away from count as further
+ * away, so the user isn't sent back the way they came. The user should be rerouted instead once:
+ * <ul>
+ * <li>no point on the route ahead is within {@code RETURN_TO_ROUTE_MAXIMUM_DISTANCE} meters</li>
+ * <li>the user has been off-route for {@link MapboxNavigationOptions#returnToRouteTimeout()}
+ * seconds</li>
+ * <li>the user has moved {@code RETURN_TO_ROUTE_MAXIMUM_DEVIATION} meters further from the route than
+ * they've been since going off-route</li>
+ * </ul>
+ * and stays so until the user is back on the route or {@link #reset()} is called once a new route
+ * is set.
+ * <p>
+ * The off-route detector doesn't report the user as off-route again for a while after it did, so
+ * this has to be updated with every location until the user is back within
+ * {@link MapboxNavigationOptions#maximumDistanceOffRoute()} meters of the route ahead, not only the
+ * ones reported as off-route. All times are in milliseconds and only need to be consistent with
+ * each other.
+ *
+ * @since 0.9.0
+ */
+public class ReturnToRoute {
+
+  private final long timeout;
+  private final double rejoinDistance;
+  private DirectionsRoute route;
+  private RouteGeometryIndex index;
+  private double minimumDistanceAlongRoute;
+  private double closestDistance;
+  private long startTime = -1;
+  private boolean isEscalated;
+
+  public ReturnToRoute(MapboxNavigationOptions options) {
+    this.timeout = options.returnToRouteTimeout() * 1000L;
+    this.rejoinDistance = options.maximumDistanceOffRoute();
+  }
+
+  /**
+   * Should be called when the user goes off-route and then with every location while
+   * {@link #isOffRoute()}. The first call starts guiding the user back to the part of the route
+   * ahead of the route progress.
+   *
+   * @param location      the user is at
+   * @param routeProgress of the location
+   * @param time          current time in milliseconds
+   * @return guidance back to the route, which {@link ReturnToRouteGuidance#hasReturned()} once the
+   * user is back on it, or null if a new route should be requested instead
+   * @since 0.9.0
+   */
+  @Nullable
+  public ReturnToRouteGuidance update(@NonNull Location location, @NonNull RouteProgress routeProgress, long time) {
+    if (routeProgress.directionsRoute() != route) {
+      updateRoute(routeProgress);
+    }
+    // The route distance and the length of its geometry can differ slightly
+    double scale = index.length() > 0 ? route.distance() / index.length() : 1;
+    boolean isStarted = isOffRoute();
+    if (!isStarted) {
+      startTime = time;
+      closestDistance = Double.MAX_VALUE;
+      minimumDistanceAlongRoute = Math.max(0, route.distance() - routeProgress.distanceRemaining()) / scale;
+    }
+    double bearing = location.hasBearing() ? location.getBearing() : Double.NaN;
+    RouteGeometryIndex.Match match = index.query(location.getLatitude(), location.getLongitude(), bearing,
+      minimumDistanceAlongRoute, RETURN_TO_ROUTE_MAXIMUM_DISTANCE);
+    // The location which went off-route may still be close to the route, e.g. past a missed turn
+    if (isStarted && match != null && match.distance <= rejoinDistance) {
+      Timber.d("Returned to the route after %d ms", time - startTime);
+      reset();
+      return createGuidance(match, scale, true);
+    }
+    if (isEscalated) {
+      return null;
+    }
+    if (match == null) {
+      return escalate("no route ahead within %.0f meters", RETURN_TO_ROUTE_MAXIMUM_DISTANCE);
+    }
+    if (time - startTime > timeout) {
+      return escalate("off-route for %d ms", time - startTime);
+    }
+    if (match.distance > closestDistance + RETURN_TO_ROUTE_MAXIMUM_DEVIATION) {
+      return escalate("%.0f meters from the route after %.0f meters", match.distance, closestDistance);
+    }
+    closestDistance = Math.min(closestDistance, match.distance);
+    return createGuidance(match, scale, false);
+  }
+
+  /**
+   * Whether or not the user is currently being guided back to the route.
+   *
+   * @return true if the user is off-route and hasn't been rerouted yet, false otherwise
+   * @since 0.9.0
+   */
+  public boolean isActive() {
+    return isOffRoute() && !isEscalated;
+  }
+
+  /**
+   * Whether or not the user went off-route and isn't back on the route yet, either while being
+   * guided back or after a new route should have been requested.
+   *
+   * @return true from the first update until the user is back on the route or this is reset
+   * @since 0.9.0
+   */
+  public boolean isOffRoute() {
+    return startTime >= 0;
+  }
+
+  /**
+   * Should be called once a new route is set, so the next time the user goes off-route they're
+   * guided back again.
+   *
+   * @since 0.9.0
+   */
+  public void reset() {
+    startTime = -1;
+    isEscalated = false;
+  }
+
+  private ReturnToRouteGuidance escalate(String reason, Object... arguments) {
+    Timber.d("Rerouting instead of returning to the route, " + reason, arguments);
+    isEscalated = true;
+    return null;
+  }
+
+  private ReturnToRouteGuidance createGuidance(RouteGeometryIndex.Match match, double scale, boolean hasReturned) {
+    double distanceRemaining = Math.max(0, route.distance() - match.distanceAlongRoute * scale);
+    return ReturnToRouteGuidance.create(Point.fromLngLat(match.longitude, match.latitude), match.distance,
+      match.bearing, distanceRemaining, hasReturned);
+  }
+
+  private void updateRoute(RouteProgress routeProgress) {
+    route = routeProgress.directionsRoute();
+    index = new RouteGeometryIndex(routeProgress.routeGeometry().routeLine());
+    reset();
+  }
+}
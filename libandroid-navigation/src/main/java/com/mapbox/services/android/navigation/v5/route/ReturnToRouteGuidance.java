@@ -0,0 +1,60 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.geojson.Point;
+
+/**
+ * Where and how far the user has to go to get back onto the route, provided by
+ * {@link ReturnToRoute} while the user is off-route.
+ *
+ * @since 0.9.0
+ */
+@AutoValue
+public abstract class ReturnToRouteGuidance {
+
+  public static ReturnToRouteGuidance create(Point target, double distance, double bearing,
+                                             double distanceRemaining, boolean hasReturned) {
+    return new AutoValue_ReturnToRouteGuidance(target, distance, bearing, distanceRemaining, hasReturned);
+  }
+
+  /**
+   * The point on the route ahead of the user which is cheapest to reach.
+   *
+   * @return the point to return to
+   * @since 0.9.0
+   */
+  public abstract Point target();
+
+  /**
+   * The straight line distance from the user to the {@link #target()}.
+   *
+   * @return distance in meters
+   * @since 0.9.0
+   */
+  public abstract double distance();
+
+  /**
+   * The direction from the user to the {@link #target()}.
+   *
+   * @return bearing in degrees from 0 to 360, clockwise from north
+   * @since 0.9.0
+   */
+  public abstract double bearing();
+
+  /**
+   * The distance remaining on the route once the user is back on it at the {@link #target()}.
+   *
+   * @return distance in meters
+   * @since 0.9.0
+   */
+  public abstract double distanceRemaining();
+
+  /**
+   * Whether or not the user is back on the route, in which case this is the last guidance until the
+   * user goes off-route again.
+   *
+   * @return true if the user is back on the route, false while they're still returning to it
+   * @since 0.9.0
+   */
+  public abstract boolean hasReturned();
+}
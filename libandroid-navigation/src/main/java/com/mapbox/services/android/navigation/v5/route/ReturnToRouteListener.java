@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+
+/**
+ * Listener that can be added to guide the user back onto the route while they're off-route,
+ * instead of requesting a new route right away, based on the logic in {@link ReturnToRoute}.
+ *
+ * @since 0.9.0
+ */
+public interface ReturnToRouteListener {
+
+  /**
+   * Will be fired with every location while the user is off-route and close enough to the route
+   * to return to it, and once more when the user is back on the route, with
+   * {@link ReturnToRouteGuidance#hasReturned()} set to true. The off-route event is only fired once
+   * the user should be rerouted instead.
+   *
+   * @param location the user is at
+   * @param guidance towards the point to return to
+   * @since 0.9.0
+   */
+  void onReturnToRoute(Location location, ReturnToRouteGuidance guidance);
+}
@@ -0,0 +1,131 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares a new {@link DirectionsRoute} with the route that was previously being navigated and
+ * finds the sequence of steps both routes share.
+ * <p>
+ * Reroutes and faster routes usually rejoin the previous route after a few steps, so everything
+ * from that point on until the destination is identical. The shared steps can be used to keep data
+ * already prepared for the previous route, rather than treating the new route as completely new.
+ * <p>
+ * Two steps are considered the same if their geometry and maneuver match. Durations aren't
+ * compared since they change with traffic.
+ *
+ * @since 0.9.0
+ */
+public final class RouteDiff {
+
+  private final int[] legStepOffsets;
+  private final boolean[] sharedSteps;
+  private final int sharedStepCount;
+
+  private RouteDiff(int[] legStepOffsets, boolean[] sharedSteps, int sharedStepCount) {
+    this.legStepOffsets = legStepOffsets;
+    this.sharedSteps = sharedSteps;
+    this.sharedStepCount = sharedStepCount;
+  }
+
+  /**
+   * Creates a diff between the previous and new route. The steps of all legs are compared starting
+   * from the destination, until the first step that differs.
+   *
+   * @param previousRoute the route previously navigated, or null if there wasn't one
+   * @param route         the new route
+   * @return a diff describing which steps of the new route are shared with the previous route
+   * @since 0.9.0
+   */
+  public static RouteDiff create(@Nullable DirectionsRoute previousRoute, @NonNull DirectionsRoute route) {
+    List<LegStep> previousSteps = flattenSteps(previousRoute);
+    List<LegStep> steps = flattenSteps(route);
+    boolean[] sharedSteps = new boolean[steps.size()];
+
+    int sharedStepCount = 0;
+    int previousIndex = previousSteps.size() - 1;
+    int index = steps.size() - 1;
+    while (previousIndex >= 0 && index >= 0 && isSameStep(previousSteps.get(previousIndex), steps.get(index))) {
+      sharedSteps[index] = true;
+      sharedStepCount++;
+      previousIndex--;
+      index--;
+    }
+    return new RouteDiff(legStepOffsets(route), sharedSteps, sharedStepCount);
+  }
+
+  /**
+   * Checks if two steps, potentially from different routes, describe the same part of the road.
+   *
+   * @param step      a step from one route
+   * @param otherStep a step from another route
+   * @return true if the geometry and maneuver of both steps match, otherwise false
+   * @since 0.9.0
+   */
+  public static boolean isSameStep(@Nullable LegStep step, @Nullable LegStep otherStep) {
+    if (step == null || otherStep == null) {
+      return false;
+    }
+    if (step == otherStep) {
+      return true;
+    }
+    return step.geometry() != null && step.geometry().equals(otherStep.geometry())
+      && step.maneuver().location().equals(otherStep.maneuver().location())
+      && step.maneuver().type().equals(otherStep.maneuver().type());
+  }
+
+  /**
+   * Number of steps at the end of the new route which are shared with the previous route.
+   *
+   * @return shared step count
+   * @since 0.9.0
+   */
+  public int sharedStepCount() {
+    return sharedStepCount;
+  }
+
+  /**
+   * Whether or not the step at the given indices of the new route is shared with the previous route.
+   *
+   * @param legIndex  of the new route
+   * @param stepIndex within the given leg
+   * @return true if the previous route contains the same step, otherwise false
+   * @since 0.9.0
+   */
+  public boolean isSharedStep(int legIndex, int stepIndex) {
+    if (legIndex < 0 || legIndex >= legStepOffsets.length || stepIndex < 0) {
+      return false;
+    }
+    int index = legStepOffsets[legIndex] + stepIndex;
+    return index < sharedSteps.length && sharedSteps[index];
+  }
+
+  private static List<LegStep> flattenSteps(@Nullable DirectionsRoute route) {
+    List<LegStep> steps = new ArrayList<>();
+    if (route == null || route.legs() == null) {
+      return steps;
+    }
+    for (RouteLeg leg : route.legs()) {
+      steps.addAll(leg.steps());
+    }
+    return steps;
+  }
+
+  private static int[] legStepOffsets(DirectionsRoute route) {
+    List<RouteLeg> legs = route.legs();
+    int[] offsets = new int[legs.size()];
+    int offset = 0;
+    for (int i = 0; i < legs.size(); i++) {
+      offsets[i] = offset;
+      offset += legs.get(i).steps().size();
+    }
+    return offsets;
+  }
+}
@@ -1,35 +1,96 @@
 package com.mapbox.services.android.navigation.v5.route;
 
-import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.RouteOptions;
 import com.mapbox.geojson.Point;
-import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
 import retrofit2.Response;
 
 /**
  * This class can be used to fetch new routes given a {@link Point} origin and
  * {@link RouteOptions} provided by a {@link RouteProgress}.
+ * <p>
+ * Routes are fetched with a {@link RouteProvider}, which defaults to {@link DirectionsRouteProvider}.
  */
-public class RouteEngine implements Callback<DirectionsResponse> {
+public class RouteEngine implements RouteProvider.Callback {
 
   private Callback engineCallback;
+  private boolean requestAlternatives;
+  private RouteProvider routeProvider;
   private RouteProgress routeProgress;
+  private int requestPriority = NavigationHttpClient.PRIORITY_HIGH;
 
   public RouteEngine(Callback engineCallback) {
+    this(engineCallback, false);
+  }
+
+  /**
+   * Creates a route engine which can also ask the Directions API for alternative routes, so
+   * every route returned in a single response can be evaluated by the callback.
+   *
+   * @param engineCallback      to receive the responses
+   * @param requestAlternatives true if alternative routes should be requested
+   * @since 0.9.0
+   */
+  public RouteEngine(Callback engineCallback, boolean requestAlternatives) {
+    this(engineCallback, requestAlternatives, new DirectionsRouteProvider());
+  }
+
+  /**
+   * Creates a route engine fetching routes with the given {@link RouteProvider}.
+   *
+   * @param engineCallback      to receive the responses
+   * @param requestAlternatives true if alternative routes should be requested
+   * @param routeProvider       used to fetch the routes
+   * @since 0.9.0
+   */
+  public RouteEngine(Callback engineCallback, boolean requestAlternatives, RouteProvider routeProvider) {
     this.engineCallback = engineCallback;
+    this.requestAlternatives = requestAlternatives;
+    this.routeProvider = routeProvider;
+  }
+
+  /**
+   * Replaces the {@link RouteProvider} used for following requests.
+   *
+   * @param routeProvider used to fetch the routes
+   * @since 0.9.0
+   */
+  public void setRouteProvider(RouteProvider routeProvider) {
+    this.routeProvider = routeProvider;
+  }
+
+  /**
+   * Sets the network priority of following requests.
+   *
+   * @param requestPriority one of the {@link NavigationHttpClient.Priority} values
+   */
+  void setRequestPriority(@NavigationHttpClient.Priority int requestPriority) {
+    this.requestPriority = requestPriority;
   }
 
   public void fetchRoute(Point origin, RouteProgress routeProgress) {
-    if (routeProgress == null) {
+    fetchRoute(origin, null, routeProgress);
+  }
+
+  /**
+   * Fetches a new route from the given origin to the remaining waypoints of the
+   * current route. The bearing, if provided, is sent along with the origin so the
+   * route is biased toward the given direction of travel.
+   *
+   * @param origin        of the new route
+   * @param bearing       direction of travel at the origin in degrees, or null to ignore
+   * @param routeProgress for the remaining waypoints and {@link RouteOptions}
+   */
+  public void fetchRoute(Point origin, @Nullable Double bearing, RouteProgress routeProgress) {
+    if (routeProgress == null || routeProgress.directionsRoute().routeOptions() == null) {
       return;
     }
     this.routeProgress = routeProgress;
@@ -45,42 +106,30 @@ public class RouteEngine implements Callback<DirectionsResponse> {
     // Get the destination waypoint (last in the list)
     Point destination = coordinates.remove(coordinates.size() - 1);
 
-    // Build new route request with the given origin and current route options
-    RouteOptions currentOptions = routeProgress.directionsRoute().routeOptions();
-    NavigationRoute.Builder builder = NavigationRoute.builder()
+    // Build new route request with the given origin, remaining waypoints and current route options
+    RouteRequest request = RouteRequest.builder()
       .origin(origin)
-      .routeOptions(currentOptions);
-
-    // Add waypoints with the remaining coordinate values
-    addWaypoints(coordinates, builder);
-
-    builder.destination(destination);
-    builder.build().getRoute(this);
+      .originBearing(bearing)
+      .waypoints(coordinates)
+      .destination(destination)
+      .routeOptions(routeProgress.directionsRoute().routeOptions())
+      .alternatives(requestAlternatives)
+      .priority(requestPriority)
+      .build();
+    routeProvider.fetchRoute(request, this);
   }
 
   @Override
-  public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
-    // Check for successful response
-    if (!response.isSuccessful()) {
-      return;
-    }
-    engineCallback.onResponseReceived(response, routeProgress);
+  public void onRouteFound(DirectionsResponse response) {
+    engineCallback.onResponseReceived(Response.success(response), routeProgress);
   }
 
   @Override
-  public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
+  public void onRouteFailure(Throwable throwable) {
     // No-op - fail silently
   }
 
   public interface Callback {
     void onResponseReceived(Response<DirectionsResponse> response, RouteProgress routeProgress);
   }
-
-  private void addWaypoints(List<Point> remainingCoordinates, NavigationRoute.Builder builder) {
-    if (!remainingCoordinates.isEmpty()) {
-      for (Point coordinate : remainingCoordinates) {
-        builder.addWaypoint(coordinate);
-      }
-    }
-  }
 }
@@ -0,0 +1,209 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.PolylineGeometry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A grid over the segments of a route geometry, so the closest point on the route can be found by
+ * only checking the segments near a location instead of the whole geometry.
+ * <p>
+ * The geometry is projected once onto a plane around its first point and every segment is added to
+ * the grid cells its bounding box covers. Distances to the candidate segments are then measured in
+ * a plane around the location, so they stay accurate on long routes. The decoded geometry and the
+ * distances along it are shared with the rest of the navigation through
+ * {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometry}, only the grid is
+ * built here.
+ */
+class RouteGeometryIndex {
+
+  // In meters, the size of a grid cell
+  private static final double CELL_SIZE = 100;
+  private static final double EARTH_RADIUS = 6371008.8;
+
+  private final PolylineGeometry geometry;
+  private final double originLatitude;
+  private final double originLongitude;
+  private final double metersPerDegreeLongitude;
+  private final Map<Long, int[]> cells = new HashMap<>();
+  // Query number each segment was last checked in, so segments in several cells are checked once
+  private final int[] checkedQueries;
+  private int queryCount;
+
+  RouteGeometryIndex(PolylineGeometry geometry) {
+    this.geometry = geometry;
+    checkedQueries = new int[geometry.segmentCount()];
+    originLatitude = geometry.pointCount() > 0 ? geometry.latitude(0) : 0;
+    originLongitude = geometry.pointCount() > 0 ? geometry.longitude(0) : 0;
+    metersPerDegreeLongitude = metersPerDegree() * Math.cos(Math.toRadians(originLatitude));
+    buildCells();
+  }
+
+  /**
+   * @return in meters, the length of the geometry
+   */
+  double length() {
+    return geometry.length();
+  }
+
+  /**
+   * Finds the point on the geometry, at least the given distance along it, which is cheapest to
+   * reach from the location. Points the location is heading away from cost up to twice their
+   * distance, so the user isn't sent back the way they came when a point ahead is almost as close.
+   *
+   * @param latitude                   of the location
+   * @param longitude                  of the location
+   * @param bearing                    of the location in degrees, or NaN if it isn't known
+   * @param minimumDistanceAlongRoute  in meters along the geometry, points before it are ignored
+   * @param radius                     in meters, points further away from the location are ignored
+   * @return the cheapest point, or null if there's none within the radius
+   */
+  @Nullable
+  Match query(double latitude, double longitude, double bearing, double minimumDistanceAlongRoute,
+              double radius) {
+    queryCount++;
+    double localMetersPerDegreeLongitude = metersPerDegree() * Math.cos(Math.toRadians(latitude));
+    // The grid is projected around the origin, so its cells are narrower than they look here
+    double searchRadius = radius * Math.max(1, metersPerDegreeLongitude / localMetersPerDegreeLongitude);
+    long minimumCellX = cell(projectX(longitude) - searchRadius);
+    long maximumCellX = cell(projectX(longitude) + searchRadius);
+    long minimumCellY = cell(projectY(latitude) - radius);
+    long maximumCellY = cell(projectY(latitude) + radius);
+
+    Match bestMatch = null;
+    double bestCost = Double.MAX_VALUE;
+    for (long cellX = minimumCellX; cellX <= maximumCellX; cellX++) {
+      for (long cellY = minimumCellY; cellY <= maximumCellY; cellY++) {
+        int[] segments = cells.get(key(cellX, cellY));
+        if (segments == null) {
+          continue;
+        }
+        for (int segment : segments) {
+          if (checkedQueries[segment] == queryCount || geometry.distance(segment + 1) < minimumDistanceAlongRoute) {
+            continue;
+          }
+          checkedQueries[segment] = queryCount;
+          Match match = matchSegment(segment, latitude, longitude, localMetersPerDegreeLongitude,
+            minimumDistanceAlongRoute);
+          if (match.distance > radius) {
+            continue;
+          }
+          double cost = cost(match, bearing);
+          if (cost < bestCost) {
+            bestCost = cost;
+            bestMatch = match;
+          }
+        }
+      }
+    }
+    return bestMatch;
+  }
+
+  private Match matchSegment(int segment, double latitude, double longitude,
+                             double localMetersPerDegreeLongitude, double minimumDistanceAlongRoute) {
+    // Relative to the location, in meters
+    double startLatitude = geometry.latitude(segment);
+    double startLongitude = geometry.longitude(segment);
+    double endLatitude = geometry.latitude(segment + 1);
+    double endLongitude = geometry.longitude(segment + 1);
+    double ax = (startLongitude - longitude) * localMetersPerDegreeLongitude;
+    double ay = (startLatitude - latitude) * metersPerDegree();
+    double bx = (endLongitude - longitude) * localMetersPerDegreeLongitude;
+    double by = (endLatitude - latitude) * metersPerDegree();
+    double dx = bx - ax;
+    double dy = by - ay;
+    double lengthSquared = dx * dx + dy * dy;
+    double fraction = lengthSquared > 0 ? -(ax * dx + ay * dy) / lengthSquared : 0;
+    double segmentStart = geometry.distance(segment);
+    double segmentLength = geometry.distance(segment + 1) - segmentStart;
+    double minimumFraction = segmentLength > 0
+      ? (minimumDistanceAlongRoute - segmentStart) / segmentLength : 0;
+    fraction = Math.min(Math.max(fraction, Math.max(minimumFraction, 0)), 1);
+    double x = ax + dx * fraction;
+    double y = ay + dy * fraction;
+    Match match = new Match();
+    match.latitude = startLatitude + (endLatitude - startLatitude) * fraction;
+    match.longitude = startLongitude + (endLongitude - startLongitude) * fraction;
+    match.distance = Math.sqrt(x * x + y * y);
+    match.bearing = (Math.toDegrees(Math.atan2(x, y)) + 360) % 360;
+    match.distanceAlongRoute = segmentStart + segmentLength * fraction;
+    return match;
+  }
+
+  private static double cost(Match match, double bearing) {
+    if (Double.isNaN(bearing)) {
+      return match.distance;
+    }
+    double headingDifference = Math.toRadians(match.bearing - bearing);
+    return match.distance * (1 + (1 - Math.cos(headingDifference)) / 2);
+  }
+
+  private void buildCells() {
+    Map<Long, List<Integer>> segmentsByCell = new HashMap<>();
+    for (int segment = 0; segment < geometry.segmentCount(); segment++) {
+      double ax = projectX(geometry.longitude(segment));
+      double ay = projectY(geometry.latitude(segment));
+      double bx = projectX(geometry.longitude(segment + 1));
+      double by = projectY(geometry.latitude(segment + 1));
+      for (long cellX = cell(Math.min(ax, bx)); cellX <= cell(Math.max(ax, bx)); cellX++) {
+        for (long cellY = cell(Math.min(ay, by)); cellY <= cell(Math.max(ay, by)); cellY++) {
+          long key = key(cellX, cellY);
+          List<Integer> segments = segmentsByCell.get(key);
+          if (segments == null) {
+            segments = new ArrayList<>();
+            segmentsByCell.put(key, segments);
+          }
+          segments.add(segment);
+        }
+      }
+    }
+    for (Map.Entry<Long, List<Integer>> entry : segmentsByCell.entrySet()) {
+      List<Integer> segments = entry.getValue();
+      int[] segmentArray = new int[segments.size()];
+      for (int i = 0; i < segmentArray.length; i++) {
+        segmentArray[i] = segments.get(i);
+      }
+      cells.put(entry.getKey(), segmentArray);
+    }
+  }
+
+  private double projectX(double longitude) {
+    return (longitude - originLongitude) * metersPerDegreeLongitude;
+  }
+
+  private double projectY(double latitude) {
+    return (latitude - originLatitude) * metersPerDegree();
+  }
+
+  private static long cell(double meters) {
+    return (long) Math.floor(meters / CELL_SIZE);
+  }
+
+  private static long key(long cellX, long cellY) {
+    return (cellX << 32) ^ (cellY & 0xffffffffL);
+  }
+
+  private static double metersPerDegree() {
+    return Math.toRadians(EARTH_RADIUS);
+  }
+
+  /**
+   * A point on the route geometry, along with the direction and distance to it from the location.
+   */
+  static class Match {
+
+    double latitude;
+    double longitude;
+    // In meters, from the location
+    double distance;
+    // In degrees, from the location
+    double bearing;
+    // In meters along the geometry
+    double distanceAlongRoute;
+  }
+}
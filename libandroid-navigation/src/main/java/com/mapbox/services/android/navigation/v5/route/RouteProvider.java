@@ -0,0 +1,50 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+
+/**
+ * Provides routes for initial routing, rerouting and faster route checks.
+ * <p>
+ * By default, routes are requested from the Mapbox Directions API with {@link DirectionsRouteProvider}.
+ * A different implementation, for example
+ * {@link com.mapbox.services.android.navigation.v5.route.offline.OfflineRouteProvider}, can be set
+ * with {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation#setRouteProvider(RouteProvider)}.
+ *
+ * @since 0.9.0
+ */
+public interface RouteProvider {
+
+  /**
+   * Fetches a route for the given request. The result has to be delivered to the callback on the
+   * main thread.
+   *
+   * @param request  describing the route
+   * @param callback to be notified with the result
+   * @since 0.9.0
+   */
+  void fetchRoute(RouteRequest request, Callback callback);
+
+  /**
+   * Receives the result of {@link RouteProvider#fetchRoute(RouteRequest, Callback)}.
+   *
+   * @since 0.9.0
+   */
+  interface Callback {
+
+    /**
+     * Called once a response with at least one route is available.
+     *
+     * @param response containing the routes
+     * @since 0.9.0
+     */
+    void onRouteFound(DirectionsResponse response);
+
+    /**
+     * Called if no route could be found.
+     *
+     * @param throwable describing the failure
+     * @since 0.9.0
+     */
+    void onRouteFailure(Throwable throwable);
+  }
+}
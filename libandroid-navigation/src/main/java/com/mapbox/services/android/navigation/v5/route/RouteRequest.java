@@ -0,0 +1,128 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes a route to be fetched by a {@link RouteProvider}.
+ *
+ * @since 0.9.0
+ */
+@AutoValue
+public abstract class RouteRequest {
+
+  /**
+   * Start of the route.
+   *
+   * @return origin point
+   * @since 0.9.0
+   */
+  public abstract Point origin();
+
+  /**
+   * Direction of travel at the origin in degrees, used to bias the route toward it.
+   *
+   * @return bearing or null to ignore
+   * @since 0.9.0
+   */
+  @Nullable
+  public abstract Double originBearing();
+
+  /**
+   * Points the route should pass through, in order, between origin and destination.
+   *
+   * @return list of waypoints, empty if there are none
+   * @since 0.9.0
+   */
+  public abstract List<Point> waypoints();
+
+  /**
+   * End of the route.
+   *
+   * @return destination point
+   * @since 0.9.0
+   */
+  public abstract Point destination();
+
+  /**
+   * Options of the route currently being navigated, if any. Values such as profile, language and
+   * access token are copied from them.
+   *
+   * @return route options or null
+   * @since 0.9.0
+   */
+  @Nullable
+  public abstract RouteOptions routeOptions();
+
+  @Nullable
+  public abstract String accessToken();
+
+  @Nullable
+  public abstract String profile();
+
+  @Nullable
+  public abstract Locale language();
+
+  @Nullable
+  public abstract String voiceUnits();
+
+  /**
+   * Whether or not alternative routes should be returned, if the provider supports them.
+   *
+   * @return true if alternatives are requested
+   * @since 0.9.0
+   */
+  public abstract boolean alternatives();
+
+  /**
+   * Network priority of the request, for providers fetching routes over the network.
+   *
+   * @return one of the {@link NavigationHttpClient.Priority} values
+   * @since 0.9.0
+   */
+  @NavigationHttpClient.Priority
+  public abstract int priority();
+
+  public static Builder builder() {
+    return new AutoValue_RouteRequest.Builder()
+      .waypoints(new ArrayList<Point>())
+      .alternatives(false)
+      .priority(NavigationHttpClient.PRIORITY_HIGH);
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    public abstract Builder origin(Point origin);
+
+    public abstract Builder originBearing(@Nullable Double originBearing);
+
+    public abstract Builder waypoints(List<Point> waypoints);
+
+    public abstract Builder destination(Point destination);
+
+    public abstract Builder routeOptions(@Nullable RouteOptions routeOptions);
+
+    public abstract Builder accessToken(@Nullable String accessToken);
+
+    public abstract Builder profile(@Nullable String profile);
+
+    public abstract Builder language(@Nullable Locale language);
+
+    public abstract Builder voiceUnits(@Nullable String voiceUnits);
+
+    public abstract Builder alternatives(boolean alternatives);
+
+    public abstract Builder priority(@NavigationHttpClient.Priority int priority);
+
+    public abstract RouteRequest build();
+  }
+}
@@ -0,0 +1,108 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * Scores a route retrieved while navigating against the route currently being navigated.
+ * <p>
+ * The score is mostly made up of the fraction of the remaining duration the new route saves. Two
+ * smaller bonuses favor routes which are easy to switch to: how much of the new route's distance
+ * overlaps the current route and how far the user can keep driving before the new route
+ * diverges from the current one.
+ *
+ * @since 0.9.0
+ */
+public final class RouteScorer {
+
+  private static final double OVERLAP_WEIGHT = 0.2;
+  private static final double DIVERGENCE_WEIGHT = 0.1;
+  private static final double DIVERGENCE_DISTANCE_THRESHOLD = 1000d;
+
+  private RouteScorer() {
+    // Prevent initialization of this class
+  }
+
+  /**
+   * Scores the given route against the current route progress.
+   *
+   * @param route         to be scored
+   * @param routeProgress of the route currently being navigated
+   * @return the route score, where higher is better
+   * @since 0.9.0
+   */
+  public static double score(DirectionsRoute route, RouteProgress routeProgress) {
+    return durationSavings(route, routeProgress)
+      + (OVERLAP_WEIGHT * overlap(route, routeProgress))
+      + (DIVERGENCE_WEIGHT * Math.min(divergenceDistance(route, routeProgress) / DIVERGENCE_DISTANCE_THRESHOLD, 1d));
+  }
+
+  /**
+   * Fraction of the current duration remaining that the new route saves, negative if the new
+   * route is slower.
+   */
+  static double durationSavings(DirectionsRoute route, RouteProgress routeProgress) {
+    double durationRemaining = routeProgress.durationRemaining();
+    if (durationRemaining <= 0) {
+      return 0;
+    }
+    return (durationRemaining - route.duration()) / durationRemaining;
+  }
+
+  /**
+   * Fraction of the new route's distance which is shared with the current route.
+   */
+  static double overlap(DirectionsRoute route, RouteProgress routeProgress) {
+    if (route.distance() == null || route.distance() <= 0) {
+      return 0;
+    }
+    RouteDiff routeDiff = RouteDiff.create(routeProgress.directionsRoute(), route);
+    if (routeDiff.sharedStepCount() == 0) {
+      return 0;
+    }
+    double sharedDistance = 0;
+    List<RouteLeg> legs = route.legs();
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        if (routeDiff.isSharedStep(legIndex, stepIndex)) {
+          sharedDistance += steps.get(stepIndex).distance();
+        }
+      }
+    }
+    return Math.min(sharedDistance / route.distance(), 1d);
+  }
+
+  /**
+   * Distance in meters the new route follows the current route, starting at the user's location,
+   * before taking a different maneuver.
+   */
+  static double divergenceDistance(DirectionsRoute route, RouteProgress routeProgress) {
+    if (route.legs() == null || route.legs().isEmpty()) {
+      return 0;
+    }
+    List<LegStep> steps = route.legs().get(0).steps();
+    List<LegStep> currentSteps = routeProgress.currentLeg().steps();
+    int currentStepIndex = routeProgress.currentLegProgress().stepIndex();
+    if (steps.isEmpty()) {
+      return 0;
+    }
+
+    // The first step of the new route starts at the user's location and can't match a step of the
+    // current route, so compare the maneuvers which follow it
+    double divergenceDistance = 0;
+    double distanceTraveled = steps.get(0).distance();
+    for (int i = 1; i < steps.size() && currentStepIndex + i < currentSteps.size(); i++) {
+      if (!RouteDiff.isSameStep(steps.get(i), currentSteps.get(currentStepIndex + i))) {
+        break;
+      }
+      distanceTraveled += steps.get(i).distance();
+      divergenceDistance = distanceTraveled;
+    }
+    return divergenceDistance;
+  }
+}
@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+/**
+ * Listener that can be added to monitor faster routes retrieved based on the logic set in
+ * {@link FasterRoute}, along with the score they were chosen by.
+ *
+ * @since 0.9.0
+ */
+public interface ScoredFasterRouteListener {
+
+  /**
+   * Will be fired along with {@link FasterRouteListener#fasterRouteFound(DirectionsRoute)} when a
+   * faster route has been found based on the logic provided by {@link FasterRoute}.
+   * <p>
+   * If the response contained alternatives, this is the route with the highest score.
+   *
+   * @param directionsRoute faster route retrieved
+   * @param score           given to the route by {@link FasterRoute#findFasterRoute}, higher is better
+   * @since 0.9.0
+   */
+  void fasterRouteFound(DirectionsRoute directionsRoute, double score);
+}
@@ -0,0 +1,34 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+/**
+ * A route returned by the Directions API, along with the score it was given when compared to the
+ * route currently being navigated. Higher scores are better.
+ *
+ * @since 0.9.0
+ */
+@AutoValue
+public abstract class ScoredRoute {
+
+  public static ScoredRoute create(DirectionsRoute route, double score) {
+    return new AutoValue_ScoredRoute(route, score);
+  }
+
+  /**
+   * The route which was scored.
+   *
+   * @return the scored route
+   * @since 0.9.0
+   */
+  public abstract DirectionsRoute route();
+
+  /**
+   * The score of the route, see {@link RouteScorer} for how it is calculated.
+   *
+   * @return the route score
+   * @since 0.9.0
+   */
+  public abstract double score();
+}
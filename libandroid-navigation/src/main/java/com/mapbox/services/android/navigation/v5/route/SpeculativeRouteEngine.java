@@ -0,0 +1,232 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepManeuver;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.network.NavigationHttpClient;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import retrofit2.Response;
+import timber.log.Timber;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.SPECULATIVE_ROUTE_MANEUVER_ZONE_MULTIPLIER;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.SPECULATIVE_ROUTE_VALID_DURATION;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ARRIVE;
+import static com.mapbox.services.android.navigation.v5.utils.MeasurementUtils.userTrueDistanceFromStep;
+
+/**
+ * Prefetches the route a user would need if they missed the upcoming maneuver.
+ * <p>
+ * Once the user gets close to the upcoming maneuver, a route is requested from a point just past the
+ * maneuver, continuing along the current direction of travel. If the user then goes off-route near
+ * that point, {@link #retrieveRoute(Location)} hands back the cached route so it can be applied
+ * right away instead of waiting on a new request.
+ * <p>
+ * Only one request is made per maneuver and the total number of requests in a session is limited by
+ * {@link MapboxNavigationOptions#speculativeRouteRequestBudget()}.
+ *
+ * @since 0.9.0
+ */
+public class SpeculativeRouteEngine implements RouteEngine.Callback {
+
+  private final RouteEngine routeEngine;
+  private final double maneuverZoneRadius;
+  private final int requestBudget;
+  private String currentRouteGeometry;
+  private LegStep requestedManeuverStep;
+  private DirectionsRoute speculativeRoute;
+  private long requestTime;
+  private int requestCount;
+  private int hitCount;
+  private int missCount;
+
+  public SpeculativeRouteEngine(MapboxNavigationOptions options) {
+    this.maneuverZoneRadius = options.maneuverZoneRadius();
+    this.requestBudget = options.speculativeRouteRequestBudget();
+    this.routeEngine = new RouteEngine(this);
+    // Prefetched routes may never be used and shouldn't delay any other request
+    routeEngine.setRequestPriority(NavigationHttpClient.PRIORITY_LOW);
+  }
+
+  // Package private (no modifier) for testing purposes
+  SpeculativeRouteEngine(MapboxNavigationOptions options, RouteEngine routeEngine) {
+    this.maneuverZoneRadius = options.maneuverZoneRadius();
+    this.requestBudget = options.speculativeRouteRequestBudget();
+    this.routeEngine = routeEngine;
+  }
+
+  /**
+   * Replaces the {@link RouteProvider} used to fetch speculative routes.
+   *
+   * @param routeProvider used to fetch the routes
+   * @since 0.9.0
+   */
+  public void setRouteProvider(RouteProvider routeProvider) {
+    routeEngine.setRouteProvider(routeProvider);
+  }
+
+  /**
+   * Called with each new route progress. If the user is approaching the upcoming maneuver and a
+   * route hasn't been requested for it yet, the route from just past the maneuver gets fetched.
+   *
+   * @param location      current location
+   * @param routeProgress current route progress
+   * @since 0.9.0
+   */
+  public void onRouteProgress(Location location, RouteProgress routeProgress) {
+    if (location == null || routeProgress == null) {
+      return;
+    }
+    updateCurrentRoute(routeProgress.directionsRoute());
+    if (!shouldRequestRoute(routeProgress)) {
+      return;
+    }
+
+    LegStep upComingStep = routeProgress.currentLegProgress().upComingStep();
+    StepManeuver maneuver = upComingStep.maneuver();
+    Double bearingBefore = maneuver.bearingBefore();
+    if (bearingBefore == null) {
+      return;
+    }
+
+    requestedManeuverStep = upComingStep;
+    requestTime = location.getTime();
+    requestCount++;
+
+    // Continue straight through the maneuver, which is where the user ends up if they miss it
+    Point missedManeuverOrigin = TurfMeasurement.destination(maneuver.location(), maneuverZoneRadius,
+      bearingBefore, TurfConstants.UNIT_METERS);
+    routeEngine.fetchRoute(missedManeuverOrigin, bearingBefore, routeProgress);
+  }
+
+  /**
+   * Should be called when the user goes off-route. If a speculative route was fetched for the
+   * maneuver the user just missed and it is still valid, it is returned and removed from the cache.
+   *
+   * @param location where the user went off-route
+   * @return the cached route if it can be used from the given location, otherwise null
+   * @since 0.9.0
+   */
+  @Nullable
+  public DirectionsRoute retrieveRoute(@NonNull Location location) {
+    if (!validSpeculativeRoute(location)) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    DirectionsRoute route = speculativeRoute;
+    speculativeRoute = null;
+    return route;
+  }
+
+  /**
+   * Called by {@link RouteEngine} once the speculative route has been retrieved.
+   *
+   * @param response      with the speculative route
+   * @param routeProgress progress the request was made with
+   */
+  @Override
+  public void onResponseReceived(Response<DirectionsResponse> response, RouteProgress routeProgress) {
+    DirectionsResponse body = response.body();
+    if (body == null || body.routes().isEmpty()) {
+      return;
+    }
+    // Discard the response if the route changed while the request was in flight
+    if (!routeProgress.directionsRoute().geometry().equals(currentRouteGeometry)) {
+      return;
+    }
+    speculativeRoute = body.routes().get(0);
+  }
+
+  /**
+   * Number of speculative route requests made during this session.
+   *
+   * @return request count
+   * @since 0.9.0
+   */
+  public int requestCount() {
+    return requestCount;
+  }
+
+  /**
+   * Number of off-route events that were served by a cached speculative route.
+   *
+   * @return hit count
+   * @since 0.9.0
+   */
+  public int hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Number of off-route events where no valid speculative route was available.
+   *
+   * @return miss count
+   * @since 0.9.0
+   */
+  public int missCount() {
+    return missCount;
+  }
+
+  /**
+   * Fraction of off-route events served by a cached speculative route.
+   *
+   * @return value between 0 and 1, or 0 if no off-route events have occurred
+   * @since 0.9.0
+   */
+  public float hitRate() {
+    int offRouteCount = hitCount + missCount;
+    if (offRouteCount == 0) {
+      return 0;
+    }
+    return (float) hitCount / offRouteCount;
+  }
+
+  private void updateCurrentRoute(DirectionsRoute directionsRoute) {
+    if (directionsRoute.geometry().equals(currentRouteGeometry)) {
+      return;
+    }
+    // A new route is being navigated, anything cached for the old one is no longer useful
+    currentRouteGeometry = directionsRoute.geometry();
+    requestedManeuverStep = null;
+    speculativeRoute = null;
+  }
+
+  private boolean shouldRequestRoute(RouteProgress routeProgress) {
+    if (requestCount >= requestBudget) {
+      Timber.d("Speculative route request budget exhausted.");
+      return false;
+    }
+    LegStep upComingStep = routeProgress.currentLegProgress().upComingStep();
+    if (upComingStep == null || upComingStep.maneuver() == null
+      || upComingStep.maneuver().type().contains(STEP_MANEUVER_TYPE_ARRIVE)
+      || upComingStep.equals(requestedManeuverStep)) {
+      return false;
+    }
+    double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    return stepDistanceRemaining <= maneuverZoneRadius * SPECULATIVE_ROUTE_MANEUVER_ZONE_MULTIPLIER;
+  }
+
+  private boolean validSpeculativeRoute(Location location) {
+    if (speculativeRoute == null) {
+      return false;
+    }
+    long secondsSinceRequest = (location.getTime() - requestTime) / 1000;
+    if (secondsSinceRequest > SPECULATIVE_ROUTE_VALID_DURATION) {
+      speculativeRoute = null;
+      return false;
+    }
+    LegStep firstStep = speculativeRoute.legs().get(0).steps().get(0);
+    Point offRoutePoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    return userTrueDistanceFromStep(offRoutePoint, firstStep) <= maneuverZoneRadius;
+  }
+}
@@ -0,0 +1,126 @@
+package com.mapbox.services.android.navigation.v5.route.offline;
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the fastest path between two nodes of a {@link RoadGraph} with A*, using the straight line
+ * distance at the graph's maximum speed as heuristic.
+ * <p>
+ * The per node state is allocated once and reused by every query. Each query stamps the nodes it
+ * reaches with its own number, so state left by previous queries is ignored without clearing the
+ * arrays. Not thread safe, queries have to run one at a time.
+ */
+class AStarRouter {
+
+  private final RoadGraph graph;
+  private double[] durations = new double[0];
+  private int[] parentEdges = new int[0];
+  private int[] parentNodes = new int[0];
+  // Query in which each node was last reached and settled
+  private int[] reachedQueries = new int[0];
+  private int[] settledQueries = new int[0];
+  private int query;
+
+  AStarRouter(RoadGraph graph) {
+    this.graph = graph;
+  }
+
+  /**
+   * @param origin      node to start from
+   * @param destination node to reach
+   * @return the edges of the fastest path in order, empty if origin and destination are the same
+   * node, or null if the destination can't be reached
+   */
+  @Nullable
+  int[] route(int origin, int destination) {
+    startQuery();
+    double destinationLatitude = graph.latitude(destination);
+    double destinationLongitude = graph.longitude(destination);
+    double maximumSpeed = graph.maximumSpeed();
+
+    PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+    reach(origin, 0);
+    parentEdges[origin] = -1;
+    queue.add(new QueueEntry(origin, 0));
+    while (!queue.isEmpty()) {
+      int node = queue.poll().node;
+      if (settledQueries[node] == query) {
+        continue;
+      }
+      if (node == destination) {
+        return buildPath(origin, destination);
+      }
+      settledQueries[node] = query;
+      for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+        int target = graph.edgeTarget(edge);
+        double duration = durations[node] + graph.edgeDuration(edge);
+        if (settledQueries[target] == query || (reachedQueries[target] == query && duration >= durations[target])) {
+          continue;
+        }
+        reach(target, duration);
+        parentEdges[target] = edge;
+        parentNodes[target] = node;
+        double remaining = maximumSpeed > 0
+          ? graph.distance(target, destinationLatitude, destinationLongitude) / maximumSpeed : 0;
+        queue.add(new QueueEntry(target, duration + remaining));
+      }
+    }
+    return null;
+  }
+
+  private void startQuery() {
+    int nodeCount = graph.nodeCount();
+    if (durations.length != nodeCount) {
+      durations = new double[nodeCount];
+      parentEdges = new int[nodeCount];
+      parentNodes = new int[nodeCount];
+      reachedQueries = new int[nodeCount];
+      settledQueries = new int[nodeCount];
+      query = 0;
+    }
+    query++;
+    if (query == Integer.MAX_VALUE) {
+      Arrays.fill(reachedQueries, 0);
+      Arrays.fill(settledQueries, 0);
+      query = 1;
+    }
+  }
+
+  private void reach(int node, double duration) {
+    durations[node] = duration;
+    reachedQueries[node] = query;
+  }
+
+  private int[] buildPath(int origin, int destination) {
+    int edgeCount = 0;
+    for (int node = destination; node != origin; node = parentNodes[node]) {
+      edgeCount++;
+    }
+    int[] path = new int[edgeCount];
+    int node = destination;
+    for (int i = edgeCount - 1; i >= 0; i--) {
+      path[i] = parentEdges[node];
+      node = parentNodes[node];
+    }
+    return path;
+  }
+
+  private static class QueueEntry implements Comparable<QueueEntry> {
+
+    private final int node;
+    private final double estimate;
+
+    QueueEntry(int node, double estimate) {
+      this.node = node;
+      this.estimate = estimate;
+    }
+
+    @Override
+    public int compareTo(QueueEntry other) {
+      return Double.compare(estimate, other.estimate);
+    }
+  }
+}
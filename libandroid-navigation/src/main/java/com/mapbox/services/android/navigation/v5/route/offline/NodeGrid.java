@@ -0,0 +1,133 @@
+package com.mapbox.services.android.navigation.v5.route.offline;
+
+import java.util.Arrays;
+
+/**
+ * Grid over the nodes of a {@link RoadGraph}, so the node closest to a point is found by searching
+ * the cells around it instead of every node of the graph.
+ * <p>
+ * The cells are sized for a few nodes each on average. The nodes are kept as one sorted array of
+ * cell and node index pairs, so a cell is found with a binary search and the grid needs no more
+ * memory than one long per node. Searching stops once no node in the next ring of cells can be
+ * closer than the closest node found so far.
+ */
+class NodeGrid {
+
+  private static final int NODES_PER_CELL = 8;
+  // In degrees, so cells don't get smaller than about a hundred meters
+  private static final double MINIMUM_CELL_SIZE = 0.001;
+  private static final double METERS_PER_DEGREE = Math.toRadians(6371008.8);
+
+  private final RoadGraph graph;
+  // Cell index in the upper 32 bits, node index in the lower 32 bits, sorted
+  private final long[] cellNodes;
+  private final double minimumLatitude;
+  private final double minimumLongitude;
+  private final double cellSize;
+  private final int columnCount;
+  private final int rowCount;
+  // In meters, the shortest distance a degree of longitude can span within the grid
+  private final double minimumMetersPerLongitudeDegree;
+
+  NodeGrid(RoadGraph graph) {
+    this.graph = graph;
+    int nodeCount = graph.nodeCount();
+    double minLatitude = Double.MAX_VALUE;
+    double minLongitude = Double.MAX_VALUE;
+    double maxLatitude = -Double.MAX_VALUE;
+    double maxLongitude = -Double.MAX_VALUE;
+    for (int node = 0; node < nodeCount; node++) {
+      minLatitude = Math.min(minLatitude, graph.latitude(node));
+      minLongitude = Math.min(minLongitude, graph.longitude(node));
+      maxLatitude = Math.max(maxLatitude, graph.latitude(node));
+      maxLongitude = Math.max(maxLongitude, graph.longitude(node));
+    }
+    if (nodeCount == 0) {
+      minLatitude = 0;
+      minLongitude = 0;
+      maxLatitude = 0;
+      maxLongitude = 0;
+    }
+    double latitudeSpan = maxLatitude - minLatitude;
+    double longitudeSpan = maxLongitude - minLongitude;
+    double targetCellCount = Math.max(1, nodeCount / NODES_PER_CELL);
+    minimumLatitude = minLatitude;
+    minimumLongitude = minLongitude;
+    cellSize = Math.max(MINIMUM_CELL_SIZE, Math.sqrt(latitudeSpan * longitudeSpan / targetCellCount));
+    columnCount = (int) (longitudeSpan / cellSize) + 1;
+    rowCount = (int) (latitudeSpan / cellSize) + 1;
+    double maximumAbsoluteLatitude = Math.min(90, Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)));
+    minimumMetersPerLongitudeDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(maximumAbsoluteLatitude));
+
+    cellNodes = new long[nodeCount];
+    for (int node = 0; node < nodeCount; node++) {
+      int cell = row(graph.latitude(node)) * columnCount + column(graph.longitude(node));
+      cellNodes[node] = ((long) cell << 32) | node;
+    }
+    Arrays.sort(cellNodes);
+  }
+
+  /**
+   * @param latitude  of the point
+   * @param longitude of the point
+   * @return index of the node closest to the point, or -1 if the graph is empty
+   */
+  int nearestNode(double latitude, double longitude) {
+    if (cellNodes.length == 0) {
+      return -1;
+    }
+    int row = row(latitude);
+    int column = column(longitude);
+    int nearestNode = -1;
+    double nearestDistance = Double.MAX_VALUE;
+    double metersPerCell = cellSize * Math.min(minimumMetersPerLongitudeDegree,
+      METERS_PER_DEGREE * Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude)))));
+    int maximumRing = Math.max(rowCount, columnCount);
+    for (int ring = 0; ring <= maximumRing; ring++) {
+      // Nodes in this ring are at least this far, also when the point is outside of the grid
+      double ringDistance = (ring - 1) * metersPerCell;
+      if (nearestNode >= 0 && ringDistance > nearestDistance) {
+        break;
+      }
+      for (int cellRow = row - ring; cellRow <= row + ring; cellRow++) {
+        boolean isEdgeRow = cellRow == row - ring || cellRow == row + ring;
+        int columnStep = isEdgeRow ? 1 : 2 * ring;
+        for (int cellColumn = column - ring; cellColumn <= column + ring; cellColumn += Math.max(1, columnStep)) {
+          if (cellRow < 0 || cellRow >= rowCount || cellColumn < 0 || cellColumn >= columnCount) {
+            continue;
+          }
+          long cell = (long) cellRow * columnCount + cellColumn;
+          for (int i = firstIndex(cell); i < cellNodes.length && (cellNodes[i] >>> 32) == cell; i++) {
+            int node = (int) cellNodes[i];
+            double distance = graph.distance(node, latitude, longitude);
+            if (distance < nearestDistance) {
+              nearestDistance = distance;
+              nearestNode = node;
+            }
+          }
+        }
+      }
+    }
+    return nearestNode;
+  }
+
+  private int row(double latitude) {
+    return clamp((int) Math.floor((latitude - minimumLatitude) / cellSize), rowCount);
+  }
+
+  private int column(double longitude) {
+    return clamp((int) Math.floor((longitude - minimumLongitude) / cellSize), columnCount);
+  }
+
+  /**
+   * @return index of the first entry of the cell, or where it would be if the cell is empty
+   */
+  private int firstIndex(long cell) {
+    int index = Arrays.binarySearch(cellNodes, cell << 32);
+    return index < 0 ? -index - 1 : index;
+  }
+
+  private static int clamp(int value, int count) {
+    return Math.min(Math.max(value, 0), count - 1);
+  }
+}
@@ -0,0 +1,415 @@
+package com.mapbox.services.android.navigation.v5.route.offline;
+
+import android.text.TextUtils;
+
+import com.mapbox.api.directions.v5.DirectionsCriteria;
+import com.mapbox.api.directions.v5.models.BannerComponents;
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.api.directions.v5.models.StepManeuver;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.route.RouteRequest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import timber.log.Timber;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SHARP_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SHARP_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SLIGHT_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_STRAIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_UTURN;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ARRIVE;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_DEPART;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_NEW_NAME;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_TURN;
+
+/**
+ * Turns paths found in a {@link RoadGraph} into a {@link DirectionsRoute}, the same way the
+ * Directions API describes a route: one leg per pair of coordinates, split into steps wherever the
+ * road name changes or the road turns, each starting with a maneuver.
+ * <p>
+ * Instructions are only written in English. The language of the request is ignored and the route
+ * options always carry {@link #INSTRUCTION_LANGUAGE}, so voice and banner instructions aren't
+ * treated as being in another locale.
+ */
+class OfflineRouteBuilder {
+
+  private static final String OFFLINE_BASE_URL = "offline://";
+  private static final String OFFLINE_REQUEST_UUID = "offline";
+  private static final String INSTRUCTION_LANGUAGE = "en";
+  private static final String DRIVING_MODE = "driving";
+  private static final String WEIGHT_NAME = "duration";
+  private static final String BANNER_COMPONENT_TYPE_TEXT = "text";
+  private static final double MINIMUM_SEGMENT_LENGTH = 0.5;
+  private static final double DEFAULT_SPEED = 10;
+  private static final double TURN_ANGLE = 45;
+  private static final double VOICE_INSTRUCTION_DISTANCE = 100;
+  private static final String[] CARDINAL_DIRECTIONS = {
+    "north", "northeast", "east", "southeast", "south", "southwest", "west", "northwest"
+  };
+
+  private final RoadGraph graph;
+
+  OfflineRouteBuilder(RoadGraph graph) {
+    this.graph = graph;
+  }
+
+  /**
+   * Builds a leg following the given path, connected to the exact origin and destination.
+   *
+   * @param origin      of the leg
+   * @param destination of the leg
+   * @param originNode  node the path starts at
+   * @param path        edges of the path
+   * @return the leg with its steps
+   */
+  RouteLeg buildLeg(Point origin, Point destination, int originNode, int[] path) {
+    List<Segment> segments = buildSegments(origin, destination, originNode, path);
+    List<List<Segment>> stepSegments = splitIntoSteps(segments);
+
+    List<StepManeuver> maneuvers = new ArrayList<>();
+    for (int i = 0; i < stepSegments.size(); i++) {
+      Segment previous = i == 0 ? null : last(stepSegments.get(i - 1));
+      maneuvers.add(buildManeuver(previous, stepSegments.get(i).get(0)));
+    }
+    StepManeuver arrival = buildArrival(destination, segments.isEmpty() ? null : last(segments));
+
+    List<LegStep> steps = new ArrayList<>();
+    double legDistance = 0;
+    double legDuration = 0;
+    for (int i = 0; i < stepSegments.size(); i++) {
+      StepManeuver nextManeuver = i + 1 < maneuvers.size() ? maneuvers.get(i + 1) : arrival;
+      String nextName = i + 1 < stepSegments.size() ? stepSegments.get(i + 1).get(0).name : "";
+      LegStep step = buildStep(stepSegments.get(i), maneuvers.get(i), nextManeuver, nextName);
+      legDistance += step.distance();
+      legDuration += step.duration();
+      steps.add(step);
+    }
+    steps.add(buildArrivalStep(destination, arrival));
+
+    return RouteLeg.builder()
+      .distance(legDistance)
+      .duration(legDuration)
+      .summary(buildSummary(stepSegments))
+      .steps(steps)
+      .build();
+  }
+
+  /**
+   * Combines the legs into a route for the given request.
+   *
+   * @param request the route was built for
+   * @param legs    of the route, in order
+   * @return the route
+   */
+  DirectionsRoute buildRoute(RouteRequest request, List<RouteLeg> legs) {
+    List<Point> coordinates = new ArrayList<>();
+    double distance = 0;
+    double duration = 0;
+    for (RouteLeg leg : legs) {
+      distance += leg.distance();
+      duration += leg.duration();
+      for (LegStep step : leg.steps()) {
+        List<Point> stepCoordinates = PolylineUtils.decode(step.geometry(), PRECISION_6);
+        // Steps share their first coordinate with the last coordinate of the previous step
+        int start = coordinates.isEmpty() ? 0 : 1;
+        coordinates.addAll(stepCoordinates.subList(Math.min(start, stepCoordinates.size()), stepCoordinates.size()));
+      }
+    }
+    return DirectionsRoute.builder()
+      .distance(distance)
+      .duration(duration)
+      .weight(duration)
+      .weightName(WEIGHT_NAME)
+      .geometry(PolylineUtils.encode(coordinates, PRECISION_6))
+      .legs(legs)
+      .routeOptions(buildRouteOptions(request))
+      .build();
+  }
+
+  private List<Segment> buildSegments(Point origin, Point destination, int originNode, int[] path) {
+    double firstSpeed = path.length > 0 ? speed(path[0]) : DEFAULT_SPEED;
+    double lastSpeed = path.length > 0 ? speed(path[path.length - 1]) : DEFAULT_SPEED;
+    String firstName = path.length > 0 ? graph.edgeName(path[0]) : "";
+    String lastName = path.length > 0 ? graph.edgeName(path[path.length - 1]) : "";
+
+    List<Segment> segments = new ArrayList<>();
+    Point originNodePoint = graph.point(originNode);
+    addSegment(segments, origin, originNodePoint, distance(origin, originNodePoint), firstSpeed, firstName);
+    Point from = originNodePoint;
+    for (int edge : path) {
+      Point to = graph.point(graph.edgeTarget(edge));
+      addSegment(segments, from, to, graph.edgeLength(edge), speed(edge), graph.edgeName(edge));
+      from = to;
+    }
+    addSegment(segments, from, destination, distance(from, destination), lastSpeed, lastName);
+    return segments;
+  }
+
+  private void addSegment(List<Segment> segments, Point from, Point to, double length, double speed, String name) {
+    if (length < MINIMUM_SEGMENT_LENGTH) {
+      return;
+    }
+    segments.add(new Segment(from, to, length, length / speed, name));
+  }
+
+  private List<List<Segment>> splitIntoSteps(List<Segment> segments) {
+    List<List<Segment>> steps = new ArrayList<>();
+    List<Segment> currentStep = new ArrayList<>();
+    Segment previous = null;
+    for (Segment segment : segments) {
+      boolean isNewStep = previous != null && (!previous.name.equals(segment.name)
+        || Math.abs(turnAngle(previous, segment)) >= TURN_ANGLE);
+      if (isNewStep) {
+        steps.add(currentStep);
+        currentStep = new ArrayList<>();
+      }
+      currentStep.add(segment);
+      previous = segment;
+    }
+    if (!currentStep.isEmpty()) {
+      steps.add(currentStep);
+    }
+    return steps;
+  }
+
+  private StepManeuver buildManeuver(Segment previous, Segment segment) {
+    double bearingAfter = segment.bearing();
+    if (previous == null) {
+      String instruction = "Head " + cardinalDirection(bearingAfter) + onto(" on ", segment.name);
+      return buildManeuver(segment.from, 0, bearingAfter, STEP_MANEUVER_TYPE_DEPART, null, instruction);
+    }
+    String modifier = modifier(turnAngle(previous, segment));
+    String type;
+    String instruction;
+    if (STEP_MANEUVER_MODIFIER_STRAIGHT.equals(modifier)) {
+      type = STEP_MANEUVER_TYPE_NEW_NAME;
+      instruction = "Continue" + onto(" onto ", segment.name);
+    } else if (STEP_MANEUVER_MODIFIER_UTURN.equals(modifier)) {
+      type = STEP_MANEUVER_TYPE_TURN;
+      instruction = "Make a U-turn" + onto(" onto ", segment.name);
+    } else {
+      type = STEP_MANEUVER_TYPE_TURN;
+      instruction = "Turn " + modifier + onto(" onto ", segment.name);
+    }
+    return buildManeuver(segment.from, previous.bearing(), bearingAfter, type, modifier, instruction);
+  }
+
+  private StepManeuver buildArrival(Point destination, Segment previous) {
+    double bearingBefore = previous == null ? 0 : previous.bearing();
+    return buildManeuver(destination, bearingBefore, 0, STEP_MANEUVER_TYPE_ARRIVE, null,
+      "You have arrived at your destination");
+  }
+
+  private StepManeuver buildManeuver(Point location, double bearingBefore, double bearingAfter, String type,
+                                     String modifier, String instruction) {
+    return StepManeuver.builder()
+      .rawLocation(new double[] {location.longitude(), location.latitude()})
+      .bearingBefore(bearingBefore)
+      .bearingAfter(bearingAfter)
+      .type(type)
+      .modifier(modifier)
+      .instruction(instruction)
+      .build();
+  }
+
+  private LegStep buildStep(List<Segment> segments, StepManeuver maneuver, StepManeuver nextManeuver,
+                            String nextName) {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(segments.get(0).from);
+    double distance = 0;
+    double duration = 0;
+    for (Segment segment : segments) {
+      coordinates.add(segment.to);
+      distance += segment.length;
+      duration += segment.duration;
+    }
+    return LegStep.builder()
+      .distance(distance)
+      .duration(duration)
+      .weight(duration)
+      .geometry(PolylineUtils.encode(coordinates, PRECISION_6))
+      .name(segments.get(0).name)
+      .mode(DRIVING_MODE)
+      .maneuver(maneuver)
+      .voiceInstructions(buildVoiceInstructions(distance, nextManeuver))
+      .bannerInstructions(buildBannerInstructions(distance, nextManeuver, nextName))
+      .build();
+  }
+
+  private LegStep buildArrivalStep(Point destination, StepManeuver arrival) {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(destination);
+    coordinates.add(destination);
+    return LegStep.builder()
+      .distance(0)
+      .duration(0)
+      .weight(0)
+      .geometry(PolylineUtils.encode(coordinates, PRECISION_6))
+      .name("")
+      .mode(DRIVING_MODE)
+      .maneuver(arrival)
+      .voiceInstructions(new ArrayList<VoiceInstructions>())
+      .bannerInstructions(new ArrayList<BannerInstructions>())
+      .build();
+  }
+
+  /**
+   * The milestones remove announced instructions from these lists, so they have to be mutable.
+   */
+  private List<VoiceInstructions> buildVoiceInstructions(double stepDistance, StepManeuver nextManeuver) {
+    List<VoiceInstructions> voiceInstructions = new ArrayList<>();
+    String announcement = nextManeuver.instruction();
+    voiceInstructions.add(VoiceInstructions.builder()
+      .distanceAlongGeometry(Math.min(stepDistance, VOICE_INSTRUCTION_DISTANCE))
+      .announcement(announcement)
+      .ssmlAnnouncement("<speak>" + TextUtils.htmlEncode(announcement) + "</speak>")
+      .build());
+    return voiceInstructions;
+  }
+
+  private List<BannerInstructions> buildBannerInstructions(double stepDistance, StepManeuver nextManeuver,
+                                                           String nextName) {
+    String text = TextUtils.isEmpty(nextName) ? nextManeuver.instruction() : nextName;
+    List<BannerComponents> components = new ArrayList<>();
+    components.add(BannerComponents.builder()
+      .text(text)
+      .type(BANNER_COMPONENT_TYPE_TEXT)
+      .build());
+    BannerText primary = BannerText.builder()
+      .text(text)
+      .components(components)
+      .type(nextManeuver.type())
+      .modifier(nextManeuver.modifier())
+      .build();
+    List<BannerInstructions> bannerInstructions = new ArrayList<>();
+    bannerInstructions.add(BannerInstructions.builder()
+      .distanceAlongGeometry(stepDistance)
+      .primary(primary)
+      .build());
+    return bannerInstructions;
+  }
+
+  private String buildSummary(List<List<Segment>> stepSegments) {
+    List<String> names = new ArrayList<>();
+    for (List<Segment> segments : stepSegments) {
+      String name = segments.get(0).name;
+      if (!TextUtils.isEmpty(name) && !names.contains(name) && names.size() < 2) {
+        names.add(name);
+      }
+    }
+    return TextUtils.join(", ", names);
+  }
+
+  private RouteOptions buildRouteOptions(RouteRequest request) {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(request.origin());
+    coordinates.addAll(request.waypoints());
+    coordinates.add(request.destination());
+    if (request.language() != null && !INSTRUCTION_LANGUAGE.equals(request.language().getLanguage())) {
+      Timber.w("Offline routes only have English instructions, ignoring language %s", request.language());
+    }
+    if (request.routeOptions() != null) {
+      return request.routeOptions().toBuilder()
+        .coordinates(coordinates)
+        .language(INSTRUCTION_LANGUAGE)
+        .build();
+    }
+    return RouteOptions.builder()
+      .baseUrl(OFFLINE_BASE_URL)
+      .user(DirectionsCriteria.PROFILE_DEFAULT_USER)
+      .profile(request.profile() != null ? request.profile() : DirectionsCriteria.PROFILE_DRIVING)
+      .coordinates(coordinates)
+      .accessToken(request.accessToken() != null ? request.accessToken() : "")
+      .requestUuid(OFFLINE_REQUEST_UUID)
+      .language(INSTRUCTION_LANGUAGE)
+      .voiceUnits(request.voiceUnits())
+      .build();
+  }
+
+  private double speed(int edge) {
+    double duration = graph.edgeDuration(edge);
+    return duration > 0 ? graph.edgeLength(edge) / duration : DEFAULT_SPEED;
+  }
+
+  private static double distance(Point from, Point to) {
+    return TurfMeasurement.distance(from, to, TurfConstants.UNIT_METERS);
+  }
+
+  private static String onto(String preposition, String name) {
+    return TextUtils.isEmpty(name) ? "" : preposition + name;
+  }
+
+  /**
+   * Angle in degrees between two consecutive segments, positive when turning right.
+   */
+  private static double turnAngle(Segment previous, Segment segment) {
+    double angle = segment.bearing() - previous.bearing();
+    while (angle > 180) {
+      angle -= 360;
+    }
+    while (angle <= -180) {
+      angle += 360;
+    }
+    return angle;
+  }
+
+  private static String modifier(double turnAngle) {
+    double angle = Math.abs(turnAngle);
+    if (angle < 15) {
+      return STEP_MANEUVER_MODIFIER_STRAIGHT;
+    } else if (angle > 170) {
+      return STEP_MANEUVER_MODIFIER_UTURN;
+    } else if (angle < TURN_ANGLE) {
+      return turnAngle > 0 ? STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT : STEP_MANEUVER_MODIFIER_SLIGHT_LEFT;
+    } else if (angle < 135) {
+      return turnAngle > 0 ? STEP_MANEUVER_MODIFIER_RIGHT : STEP_MANEUVER_MODIFIER_LEFT;
+    }
+    return turnAngle > 0 ? STEP_MANEUVER_MODIFIER_SHARP_RIGHT : STEP_MANEUVER_MODIFIER_SHARP_LEFT;
+  }
+
+  private static String cardinalDirection(double bearing) {
+    int index = (int) Math.round(((bearing % 360) + 360) % 360 / 45) % CARDINAL_DIRECTIONS.length;
+    return CARDINAL_DIRECTIONS[index];
+  }
+
+  private static Segment last(List<Segment> segments) {
+    return segments.get(segments.size() - 1);
+  }
+
+  private static class Segment {
+
+    private final Point from;
+    private final Point to;
+    private final double length;
+    private final double duration;
+    private final String name;
+
+    Segment(Point from, Point to, double length, double duration, String name) {
+      this.from = from;
+      this.to = to;
+      this.length = length;
+      this.duration = duration;
+      this.name = name;
+    }
+
+    double bearing() {
+      double bearing = TurfMeasurement.bearing(from, to);
+      return (bearing + 360) % 360;
+    }
+  }
+}
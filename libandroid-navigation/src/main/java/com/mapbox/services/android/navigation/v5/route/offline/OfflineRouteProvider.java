@@ -0,0 +1,143 @@
+package com.mapbox.services.android.navigation.v5.route.offline;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.route.RouteProvider;
+import com.mapbox.services.android.navigation.v5.route.RouteRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import timber.log.Timber;
+
+/**
+ * {@link RouteProvider} computing routes on the device from a road graph file, for use without a
+ * network connection.
+ * <p>
+ * The graph file is memory-mapped rather than loaded, so only the parts of the graph visited while
+ * routing are read. Routes are computed with A* on a background thread and delivered on the main
+ * thread. Routes contain maneuvers, voice and banner instructions, but no traffic information,
+ * lanes or intersections, and alternatives are never returned. Instructions are only available in
+ * English, whatever the language of the request. {@link #shutdown()} stops the
+ * background thread once the provider isn't needed anymore, which
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation#onDestroy()} does for
+ * the provider set on it.
+ *
+ * @since 0.9.0
+ */
+public class OfflineRouteProvider implements RouteProvider {
+
+  private final OfflineRouteBuilder routeBuilder;
+  private final AStarRouter router;
+  private final RoadGraph graph;
+  private final ExecutorService executor;
+  private final Handler mainHandler;
+
+  /**
+   * Creates a provider routing on the given graph file.
+   *
+   * @param graphFile road graph to route on
+   * @throws IOException if the file can't be read or isn't a road graph
+   * @since 0.9.0
+   */
+  public OfflineRouteProvider(File graphFile) throws IOException {
+    this(RoadGraph.open(graphFile));
+  }
+
+  // Package private (no modifier) for testing purposes
+  OfflineRouteProvider(RoadGraph graph) {
+    this.graph = graph;
+    this.router = new AStarRouter(graph);
+    this.routeBuilder = new OfflineRouteBuilder(graph);
+    this.executor = Executors.newSingleThreadExecutor();
+    this.mainHandler = new Handler(Looper.getMainLooper());
+  }
+
+  @Override
+  public void fetchRoute(final RouteRequest request, final Callback callback) {
+    if (executor.isShutdown()) {
+      callback.onRouteFailure(new IllegalStateException("The offline route provider has been shut down"));
+      return;
+    }
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          final DirectionsResponse response = findRoute(request);
+          mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+              callback.onRouteFound(response);
+            }
+          });
+        } catch (final RuntimeException exception) {
+          // Also covers a corrupt graph file, which surfaces as an out of bounds read
+          Timber.e(exception);
+          mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+              callback.onRouteFailure(exception);
+            }
+          });
+        }
+      }
+    });
+  }
+
+  /**
+   * Stops the background thread computing routes. Routes already being computed are still
+   * delivered, later requests fail right away.
+   *
+   * @since 0.9.0
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Computes the route synchronously, on the calling thread.
+   *
+   * @param request describing the route
+   * @return response with a single route
+   * @throws IllegalStateException if a leg of the route can't be found
+   */
+  DirectionsResponse findRoute(RouteRequest request) {
+    List<Point> points = new ArrayList<>();
+    points.add(request.origin());
+    points.addAll(request.waypoints());
+    points.add(request.destination());
+
+    List<RouteLeg> legs = new ArrayList<>();
+    for (int i = 0; i < points.size() - 1; i++) {
+      Point legOrigin = points.get(i);
+      Point legDestination = points.get(i + 1);
+      int originNode = graph.nearestNode(legOrigin);
+      int destinationNode = graph.nearestNode(legDestination);
+      if (originNode < 0 || destinationNode < 0) {
+        throw new IllegalStateException("No offline route found: the road graph is empty");
+      }
+      int[] path = router.route(originNode, destinationNode);
+      if (path == null) {
+        throw new IllegalStateException("No offline route found between " + legOrigin.coordinates()
+          + " and " + legDestination.coordinates());
+      }
+      legs.add(routeBuilder.buildLeg(legOrigin, legDestination, originNode, path));
+    }
+
+    List<DirectionsRoute> routes = new ArrayList<>();
+    routes.add(routeBuilder.buildRoute(request, legs));
+    return DirectionsResponse.builder()
+      .code("Ok")
+      .routes(routes)
+      .build();
+  }
+}
@@ -0,0 +1,199 @@
+package com.mapbox.services.android.navigation.v5.route.offline;
+
+import com.mapbox.geojson.Point;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Read-only road graph backed by a memory-mapped file, so only the parts of the graph visited while
+ * routing are paged into memory.
+ * <p>
+ * The file is big-endian and laid out as follows:
+ * <pre>
+ * header:       int magic ("MBRG"), int version, int nodeCount, int edgeCount, int nameCount,
+ *               float maximum speed in meters per second (since version 2)
+ * nodes:        nodeCount x (int latitude * 1e6, int longitude * 1e6)
+ * edge offsets: (nodeCount + 1) x int, index of the first outgoing edge of each node
+ * edges:        edgeCount x (int target node, float length in meters, float duration in seconds,
+ *               int name index or -1)
+ * names:        nameCount x (short byte length, UTF-8 bytes)
+ * </pre>
+ * Edges are directed, two-way roads need an edge in each direction. Edge lengths must not be
+ * shorter than the straight line between both nodes, and the maximum speed must not be lower than
+ * the speed of any edge. Version 1 files have no maximum speed, it's then found from the edges the
+ * first time it's needed.
+ */
+class RoadGraph {
+
+  static final int MAGIC = 0x4D425247;
+  static final int VERSION = 2;
+  static final int HEADER_SIZE = 24;
+  static final int VERSION_1 = 1;
+  static final int VERSION_1_HEADER_SIZE = 20;
+  static final int NODE_SIZE = 8;
+  static final int EDGE_OFFSET_SIZE = 4;
+  static final int EDGE_SIZE = 16;
+
+  private static final double COORDINATE_PRECISION = 1e6;
+  private static final double EARTH_RADIUS = 6371008.8;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final ByteBuffer buffer;
+  private final int headerSize;
+  private final int nodeCount;
+  private final int edgeCount;
+  private final int edgeOffsetsPosition;
+  private final int edgesPosition;
+  private final String[] names;
+  private double maximumSpeed = -1;
+  private NodeGrid nodeGrid;
+
+  RoadGraph(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    int version = buffer.capacity() < VERSION_1_HEADER_SIZE || buffer.getInt(0) != MAGIC ? -1 : buffer.getInt(4);
+    headerSize = version == VERSION ? HEADER_SIZE : VERSION_1_HEADER_SIZE;
+    if ((version != VERSION && version != VERSION_1) || buffer.capacity() < headerSize) {
+      throw new IOException("Unsupported road graph format.");
+    }
+    nodeCount = buffer.getInt(8);
+    edgeCount = buffer.getInt(12);
+    int nameCount = buffer.getInt(16);
+    if (version == VERSION) {
+      maximumSpeed = buffer.getFloat(20);
+    }
+    edgeOffsetsPosition = headerSize + nodeCount * NODE_SIZE;
+    edgesPosition = edgeOffsetsPosition + (nodeCount + 1) * EDGE_OFFSET_SIZE;
+    names = readNames(edgesPosition + edgeCount * EDGE_SIZE, nameCount);
+  }
+
+  /**
+   * Maps the given file into memory. The file can be closed right away, the mapping stays valid.
+   *
+   * @param file containing the road graph
+   * @return the road graph
+   * @throws IOException if the file can't be read or isn't a road graph
+   */
+  static RoadGraph open(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      return new RoadGraph(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  int nodeCount() {
+    return nodeCount;
+  }
+
+  double latitude(int node) {
+    return buffer.getInt(headerSize + node * NODE_SIZE) / COORDINATE_PRECISION;
+  }
+
+  double longitude(int node) {
+    return buffer.getInt(headerSize + node * NODE_SIZE + 4) / COORDINATE_PRECISION;
+  }
+
+  Point point(int node) {
+    return Point.fromLngLat(longitude(node), latitude(node));
+  }
+
+  int firstEdge(int node) {
+    return buffer.getInt(edgeOffsetsPosition + node * EDGE_OFFSET_SIZE);
+  }
+
+  /**
+   * Exclusive end of the outgoing edges of the given node.
+   */
+  int lastEdge(int node) {
+    return buffer.getInt(edgeOffsetsPosition + (node + 1) * EDGE_OFFSET_SIZE);
+  }
+
+  int edgeTarget(int edge) {
+    return buffer.getInt(edgesPosition + edge * EDGE_SIZE);
+  }
+
+  double edgeLength(int edge) {
+    return buffer.getFloat(edgesPosition + edge * EDGE_SIZE + 4);
+  }
+
+  double edgeDuration(int edge) {
+    return buffer.getFloat(edgesPosition + edge * EDGE_SIZE + 8);
+  }
+
+  /**
+   * Name of the road the edge belongs to, or an empty string if the road has no name.
+   */
+  String edgeName(int edge) {
+    int nameIndex = buffer.getInt(edgesPosition + edge * EDGE_SIZE + 12);
+    return nameIndex < 0 || nameIndex >= names.length ? "" : names[nameIndex];
+  }
+
+  /**
+   * Highest speed of any edge in meters per second, used to keep the A* heuristic admissible.
+   */
+  synchronized double maximumSpeed() {
+    if (maximumSpeed < 0) {
+      maximumSpeed = findMaximumSpeed();
+    }
+    return maximumSpeed;
+  }
+
+  /**
+   * Finds the node closest to the given point. The grid used to look it up is built the first time
+   * this is called.
+   *
+   * @param point to snap
+   * @return index of the closest node, or -1 if the graph is empty
+   */
+  synchronized int nearestNode(Point point) {
+    if (nodeGrid == null) {
+      nodeGrid = new NodeGrid(this);
+    }
+    return nodeGrid.nearestNode(point.latitude(), point.longitude());
+  }
+
+  /**
+   * Haversine distance in meters between a node and the given coordinate.
+   */
+  double distance(int node, double latitude, double longitude) {
+    double nodeLatitude = Math.toRadians(latitude(node));
+    double otherLatitude = Math.toRadians(latitude);
+    double deltaLatitude = otherLatitude - nodeLatitude;
+    double deltaLongitude = Math.toRadians(longitude - longitude(node));
+    double a = Math.pow(Math.sin(deltaLatitude / 2), 2)
+      + Math.cos(nodeLatitude) * Math.cos(otherLatitude) * Math.pow(Math.sin(deltaLongitude / 2), 2);
+    return 2 * EARTH_RADIUS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+  }
+
+  private String[] readNames(int position, int nameCount) {
+    String[] names = new String[nameCount];
+    for (int i = 0; i < nameCount; i++) {
+      int length = buffer.getShort(position) & 0xFFFF;
+      byte[] bytes = new byte[length];
+      for (int j = 0; j < length; j++) {
+        bytes[j] = buffer.get(position + 2 + j);
+      }
+      names[i] = new String(bytes, UTF_8);
+      position += 2 + length;
+    }
+    return names;
+  }
+
+  private double findMaximumSpeed() {
+    double maximumSpeed = 0;
+    for (int edge = 0; edge < edgeCount; edge++) {
+      double duration = edgeDuration(edge);
+      if (duration > 0) {
+        maximumSpeed = Math.max(maximumSpeed, edgeLength(edge) / duration);
+      }
+    }
+    return maximumSpeed;
+  }
+}
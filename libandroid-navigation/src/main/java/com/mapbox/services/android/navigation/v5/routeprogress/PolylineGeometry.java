@@ -0,0 +1,158 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * A decoded route or step geometry, along with the distance along the geometry to each of its
+ * points and the bearing of each of its segments, so they're computed once instead of with every
+ * location update.
+ * <p>
+ * Segments of zero length take the bearing of the segment before them, or after them at the start
+ * of the geometry, and a geometry without any segment of length heads north. Immutable, so it can
+ * be read from any thread.
+ *
+ * @since 0.9.0
+ */
+public final class PolylineGeometry {
+
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double[] distances;
+  private final double[] bearings;
+
+  /**
+   * @param geometry encoded with a precision of 6, or null or empty for a geometry without points
+   * @since 0.9.0
+   */
+  public PolylineGeometry(@Nullable String geometry) {
+    List<Point> points = geometry == null || geometry.isEmpty()
+      ? Collections.<Point>emptyList() : PolylineUtils.decode(geometry, PRECISION_6);
+    latitudes = new double[points.size()];
+    longitudes = new double[points.size()];
+    distances = new double[points.size()];
+    bearings = new double[Math.max(points.size() - 1, 0)];
+    for (int i = 0; i < points.size(); i++) {
+      Point point = points.get(i);
+      latitudes[i] = point.latitude();
+      longitudes[i] = point.longitude();
+      if (i > 0) {
+        Point previous = points.get(i - 1);
+        double length = TurfMeasurement.distance(previous, point, TurfConstants.UNIT_METERS);
+        distances[i] = distances[i - 1] + length;
+        bearings[i - 1] = length > 0 ? (TurfMeasurement.bearing(previous, point) + 360) % 360 : Double.NaN;
+      }
+    }
+    fillZeroLengthSegments();
+  }
+
+  /**
+   * @return number of points of the geometry
+   * @since 0.9.0
+   */
+  public int pointCount() {
+    return latitudes.length;
+  }
+
+  /**
+   * @return number of segments between the points, 0 if there are less than two points
+   * @since 0.9.0
+   */
+  public int segmentCount() {
+    return bearings.length;
+  }
+
+  /**
+   * @param index of the point
+   * @return the latitude of the point
+   * @since 0.9.0
+   */
+  public double latitude(int index) {
+    return latitudes[index];
+  }
+
+  /**
+   * @param index of the point
+   * @return the longitude of the point
+   * @since 0.9.0
+   */
+  public double longitude(int index) {
+    return longitudes[index];
+  }
+
+  /**
+   * @param index of the point
+   * @return in meters, the distance along the geometry from its first point to the point
+   * @since 0.9.0
+   */
+  public double distance(int index) {
+    return distances[index];
+  }
+
+  /**
+   * @param segment index, the segment from the point with the same index to the next one
+   * @return the bearing of the segment in degrees from 0 to 360
+   * @since 0.9.0
+   */
+  public double bearing(int segment) {
+    return bearings[segment];
+  }
+
+  /**
+   * @return in meters, the length of the geometry
+   * @since 0.9.0
+   */
+  public double length() {
+    return distances.length > 0 ? distances[distances.length - 1] : 0;
+  }
+
+  /**
+   * Finds the segment at a distance along the geometry with a binary search.
+   *
+   * @param distanceAlongGeometry in meters from the first point
+   * @return the last segment starting at or before the distance, clamped to the segments of the
+   * geometry, or 0 if it has none
+   * @since 0.9.0
+   */
+  public int findSegment(double distanceAlongGeometry) {
+    int low = 0;
+    int high = bearings.length - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (distances[middle] <= distanceAlongGeometry) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  private void fillZeroLengthSegments() {
+    double previousBearing = Double.NaN;
+    for (int i = 0; i < bearings.length; i++) {
+      if (Double.isNaN(bearings[i])) {
+        bearings[i] = previousBearing;
+      } else {
+        previousBearing = bearings[i];
+      }
+    }
+    double nextBearing = 0;
+    for (int i = bearings.length - 1; i >= 0; i--) {
+      if (Double.isNaN(bearings[i])) {
+        bearings[i] = nextBearing;
+      } else {
+        nextBearing = bearings[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+/**
+ * Predicts where the user is along the route in between location updates, so the map camera and the
+ * location puck can move at the display's frame rate instead of jumping with every location update.
+ * <p>
+ * With each route progress, the location is placed on the route geometry, and predictions continue
+ * from there along the geometry at the location's speed. By default, a prediction never reaches
+ * more than two seconds past the last location, so the user doesn't keep moving when location
+ * updates stop, and if the next location differs from the prediction, the difference is blended out
+ * instead of jumping back. Locations too far from the route, for example while off-route, aren't
+ * predicted.
+ * <p>
+ * The distances along the route geometry are computed once per route by
+ * {@link RouteProgress#routeGeometry()}, so a prediction only needs a binary search and an
+ * interpolation, without running the navigation calculations.
+ * Not thread safe, predictions are meant to be made on the main thread.
+ *
+ * @since 0.9.0
+ */
+public class ProgressPredictor {
+
+  // In milliseconds, how far past the last location predictions reach by default
+  private static final long DEFAULT_MAXIMUM_PREDICTION_DURATION = 2000;
+  // In milliseconds, how long the difference between a prediction and a new location is blended out
+  private static final long CORRECTION_DURATION = 500;
+  // In meters, differences larger than this are jumped instead of blended out
+  private static final double MAXIMUM_CORRECTION = 50;
+  // In meters, how far a location can be from the route geometry and still be predicted
+  private static final double MAXIMUM_DISTANCE_FROM_ROUTE = 30;
+  // In meters, how far along the route from the estimated position the location is searched for
+  private static final double PROJECTION_SEARCH_DISTANCE = 100;
+  private static final double EARTH_RADIUS = 6371008.8;
+
+  private final long maximumPredictionDuration;
+  private final boolean isLimitedToStep;
+  private DirectionsRoute route;
+  private PolylineGeometry routeLine;
+  private double geometryLength;
+  private Location lastLocation;
+  private long lastUpdateTime;
+  private double lastDistanceAlongGeometry;
+  private double maximumDistanceAlongGeometry;
+  private double lastDistanceRemaining;
+  private double speed;
+  private double correction;
+  private boolean isPredictable;
+
+  /**
+   * Creates a predictor for the location puck and camera, which stops predicting two seconds past
+   * the last location.
+   *
+   * @since 0.9.0
+   */
+  public ProgressPredictor() {
+    this(DEFAULT_MAXIMUM_PREDICTION_DURATION);
+  }
+
+  /**
+   * @param maximumPredictionDuration in milliseconds, how far past the last location predictions
+   *                                  reach before the user is assumed to have stopped
+   * @since 0.9.0
+   */
+  public ProgressPredictor(long maximumPredictionDuration) {
+    this(maximumPredictionDuration, false);
+  }
+
+  /**
+   * @param maximumPredictionDuration in milliseconds, how far past the last location predictions
+   *                                  reach before the user is assumed to have stopped
+   * @param isLimitedToStep           true if predictions shouldn't reach past the upcoming maneuver,
+   *                                  as it isn't known whether the user takes it until a location
+   *                                  arrives
+   * @since 0.9.0
+   */
+  public ProgressPredictor(long maximumPredictionDuration, boolean isLimitedToStep) {
+    this.maximumPredictionDuration = maximumPredictionDuration;
+    this.isLimitedToStep = isLimitedToStep;
+  }
+
+  /**
+   * Provides the latest location and route progress to predict from.
+   *
+   * @param location        of the latest route progress, ideally snapped to the route
+   * @param routeProgress   calculated for the location
+   * @param elapsedRealtime when the location was received, from
+   *                        {@link android.os.SystemClock#elapsedRealtime()}
+   * @since 0.9.0
+   */
+  public void update(@NonNull Location location, @NonNull RouteProgress routeProgress, long elapsedRealtime) {
+    boolean isSameRoute = routeProgress.directionsRoute() == route;
+    if (!isSameRoute) {
+      updateRoute(routeProgress);
+    }
+    lastDistanceRemaining = routeProgress.distanceRemaining();
+    // A route without any segment can't be followed
+    double distanceAlongGeometry = routeLine.segmentCount() > 0
+      ? findDistanceAlongGeometry(location, routeProgress) : Double.NaN;
+    if (Double.isNaN(distanceAlongGeometry)) {
+      isPredictable = false;
+      return;
+    }
+    correction = 0;
+    if (isSameRoute && isPredictable) {
+      double difference = predictDistanceAlongGeometry(elapsedRealtime) - distanceAlongGeometry;
+      if (Math.abs(difference) <= MAXIMUM_CORRECTION) {
+        correction = difference;
+      }
+    }
+    lastLocation = location;
+    lastUpdateTime = elapsedRealtime;
+    lastDistanceAlongGeometry = distanceAlongGeometry;
+    maximumDistanceAlongGeometry = geometryLength;
+    if (isLimitedToStep) {
+      double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+      maximumDistanceAlongGeometry = Math.min(geometryLength, distanceAlongGeometry + stepDistanceRemaining / scale());
+    }
+    speed = location.hasSpeed() ? location.getSpeed() : 0;
+    isPredictable = true;
+  }
+
+  /**
+   * Stops predicting until the next {@link #update(Location, RouteProgress, long)}.
+   *
+   * @since 0.9.0
+   */
+  public void reset() {
+    isPredictable = false;
+  }
+
+  /**
+   * Predicts the location at the given time. The predicted location keeps all values of the last
+   * location, except for the position, bearing and time.
+   *
+   * @param elapsedRealtime time to predict the location for, from
+   *                        {@link android.os.SystemClock#elapsedRealtime()}
+   * @param location        set to the predicted location, so it can be reused for every prediction
+   * @return true if a location was predicted, false if there's nothing to predict from
+   * @since 0.9.0
+   */
+  public boolean predictLocation(long elapsedRealtime, @NonNull Location location) {
+    if (!isPredictable) {
+      return false;
+    }
+    double distanceAlongGeometry = predictDistanceAlongGeometry(elapsedRealtime);
+    int segment = routeLine.findSegment(distanceAlongGeometry);
+    double segmentStart = routeLine.distance(segment);
+    double segmentLength = routeLine.distance(segment + 1) - segmentStart;
+    double fraction = segmentLength > 0 ? (distanceAlongGeometry - segmentStart) / segmentLength : 0;
+    double startLatitude = routeLine.latitude(segment);
+    double startLongitude = routeLine.longitude(segment);
+    location.set(lastLocation);
+    location.setLatitude(startLatitude + (routeLine.latitude(segment + 1) - startLatitude) * fraction);
+    location.setLongitude(startLongitude + (routeLine.longitude(segment + 1) - startLongitude) * fraction);
+    location.setBearing((float) routeLine.bearing(segment));
+    location.setTime(lastLocation.getTime() + Math.max(0, elapsedRealtime - lastUpdateTime));
+    return true;
+  }
+
+  /**
+   * Predicts the distance remaining on the route at the given time.
+   *
+   * @param elapsedRealtime time to predict the distance for, from
+   *                        {@link android.os.SystemClock#elapsedRealtime()}
+   * @return the predicted distance remaining in meters, or the last known distance remaining if
+   * there's nothing to predict from
+   * @since 0.9.0
+   */
+  public double predictDistanceRemaining(long elapsedRealtime) {
+    if (!isPredictable) {
+      return lastDistanceRemaining;
+    }
+    double distanceTraveled = (predictDistanceAlongGeometry(elapsedRealtime) - lastDistanceAlongGeometry) * scale();
+    return Math.max(0, lastDistanceRemaining - distanceTraveled);
+  }
+
+  /**
+   * The route distance and the length of its geometry can differ slightly.
+   */
+  private double scale() {
+    return geometryLength > 0 ? route.distance() / geometryLength : 1;
+  }
+
+  private double predictDistanceAlongGeometry(long elapsedRealtime) {
+    long elapsed = Math.min(Math.max(0, elapsedRealtime - lastUpdateTime), maximumPredictionDuration);
+    double remainingCorrection = correction * Math.max(0, 1 - (double) elapsed / CORRECTION_DURATION);
+    double distanceAlongGeometry = lastDistanceAlongGeometry + speed * elapsed / 1000 + remainingCorrection;
+    return Math.min(Math.max(0, distanceAlongGeometry), maximumDistanceAlongGeometry);
+  }
+
+  private void updateRoute(RouteProgress routeProgress) {
+    route = routeProgress.directionsRoute();
+    isPredictable = false;
+    routeLine = routeProgress.routeGeometry().routeLine();
+    geometryLength = routeLine.length();
+  }
+
+  /**
+   * Estimates the position along the geometry from the distance remaining, then finds the closest
+   * point on the geometry around that estimate.
+   *
+   * @return distance along the geometry, or NaN if the location is too far from the route
+   */
+  private double findDistanceAlongGeometry(Location location, RouteProgress routeProgress) {
+    double routeDistance = route.distance();
+    double estimate = routeDistance > 0
+      ? (routeDistance - routeProgress.distanceRemaining()) / routeDistance * geometryLength : 0;
+    int firstSegment = routeLine.findSegment(estimate - PROJECTION_SEARCH_DISTANCE);
+    int lastSegment = routeLine.findSegment(estimate + PROJECTION_SEARCH_DISTANCE);
+
+    // Equirectangular projection around the location, which is accurate at these distances
+    double metersPerDegreeLatitude = Math.toRadians(EARTH_RADIUS);
+    double metersPerDegreeLongitude = metersPerDegreeLatitude * Math.cos(Math.toRadians(location.getLatitude()));
+    double closestDistance = Double.MAX_VALUE;
+    double closestDistanceAlongGeometry = Double.NaN;
+    for (int segment = firstSegment; segment <= lastSegment; segment++) {
+      double startX = (routeLine.longitude(segment) - location.getLongitude()) * metersPerDegreeLongitude;
+      double startY = (routeLine.latitude(segment) - location.getLatitude()) * metersPerDegreeLatitude;
+      double endX = (routeLine.longitude(segment + 1) - location.getLongitude()) * metersPerDegreeLongitude;
+      double endY = (routeLine.latitude(segment + 1) - location.getLatitude()) * metersPerDegreeLatitude;
+      double segmentX = endX - startX;
+      double segmentY = endY - startY;
+      double squaredLength = segmentX * segmentX + segmentY * segmentY;
+      double fraction = squaredLength > 0 ? -(startX * segmentX + startY * segmentY) / squaredLength : 0;
+      fraction = Math.min(Math.max(fraction, 0), 1);
+      double closestX = startX + segmentX * fraction;
+      double closestY = startY + segmentY * fraction;
+      double distance = Math.sqrt(closestX * closestX + closestY * closestY);
+      if (distance < closestDistance) {
+        closestDistance = distance;
+        closestDistanceAlongGeometry = routeLine.distance(segment)
+          + (routeLine.distance(segment + 1) - routeLine.distance(segment)) * fraction;
+      }
+    }
+    return closestDistance <= MAXIMUM_DISTANCE_FROM_ROUTE ? closestDistanceAlongGeometry : Double.NaN;
+  }
+}
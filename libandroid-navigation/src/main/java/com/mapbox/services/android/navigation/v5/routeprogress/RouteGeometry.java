@@ -0,0 +1,87 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import java.util.List;
+
+/**
+ * The geometries of a route, decoded once per route and shared by every {@link RouteProgress} of
+ * it, so the snapper, the off-route detector, returning to the route and progress prediction don't
+ * each decode them again.
+ * <p>
+ * Geometries are only decoded when first read. Thread safe, as route progress is read on both the
+ * navigation and the main thread.
+ *
+ * @since 0.9.0
+ */
+public class RouteGeometry {
+
+  private final DirectionsRoute route;
+  private final PolylineGeometry[][] stepGeometries;
+  private PolylineGeometry routeLine;
+
+  RouteGeometry(DirectionsRoute route) {
+    this.route = route;
+    List<RouteLeg> legs = route.legs();
+    stepGeometries = new PolylineGeometry[legs == null ? 0 : legs.size()][];
+    for (int legIndex = 0; legIndex < stepGeometries.length; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      stepGeometries[legIndex] = new PolylineGeometry[steps == null ? 0 : steps.size()];
+    }
+  }
+
+  /**
+   * @return the geometry of the whole route
+   * @since 0.9.0
+   */
+  public synchronized PolylineGeometry routeLine() {
+    if (routeLine == null) {
+      routeLine = new PolylineGeometry(route.geometry());
+    }
+    return routeLine;
+  }
+
+  /**
+   * @param legIndex  of the leg containing the step
+   * @param stepIndex of the step within the leg
+   * @return the geometry of the step
+   * @since 0.9.0
+   */
+  public synchronized PolylineGeometry step(int legIndex, int stepIndex) {
+    PolylineGeometry stepGeometry = stepGeometries[legIndex][stepIndex];
+    if (stepGeometry == null) {
+      stepGeometry = new PolylineGeometry(route.legs().get(legIndex).steps().get(stepIndex).geometry());
+      stepGeometries[legIndex][stepIndex] = stepGeometry;
+    }
+    return stepGeometry;
+  }
+
+  /**
+   * @param legIndex of the leg
+   * @return number of steps of the leg
+   * @since 0.9.0
+   */
+  public int stepCount(int legIndex) {
+    return stepGeometries[legIndex].length;
+  }
+
+  boolean isGeometryOf(DirectionsRoute directionsRoute) {
+    return route == directionsRoute;
+  }
+
+  /**
+   * Geometries of the same route instance are equal, so route progress of the same route stays
+   * equal whether or not it shares the decoded geometries.
+   */
+  @Override
+  public boolean equals(Object object) {
+    return object instanceof RouteGeometry && ((RouteGeometry) object).route == route;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(route);
+  }
+}
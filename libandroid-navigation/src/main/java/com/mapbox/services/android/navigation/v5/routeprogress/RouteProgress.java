@@ -1,6 +1,7 @@
 package com.mapbox.services.android.navigation.v5.routeprogress;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
@@ -124,6 +125,22 @@ public abstract class RouteProgress {
    */
   public abstract RouteLegProgress currentLegProgress();
 
+  /**
+   * The decoded geometries of the route, shared by every route progress of the same route, so they
+   * only need to be decoded once per route.
+   *
+   * @return the geometries of {@link #directionsRoute()}
+   * @since 0.9.0
+   */
+  @NonNull
+  public RouteGeometry routeGeometry() {
+    return geometry();
+  }
+
+  // Only null while building, see Builder#build()
+  @Nullable
+  abstract RouteGeometry geometry();
+
   public abstract RouteProgress.Builder toBuilder();
 
   @AutoValue.Builder
@@ -160,9 +177,30 @@ public abstract class RouteProgress {
 
     abstract Builder currentLegProgress(RouteLegProgress routeLegProgress);
 
+    @Nullable
+    abstract RouteGeometry geometry();
+
+    abstract Builder geometry(@Nullable RouteGeometry routeGeometry);
+
+    /**
+     * Shares the geometries of an earlier route progress of the same route, otherwise they're
+     * created when this is built.
+     *
+     * @param routeGeometry of an earlier route progress
+     * @return this builder
+     * @since 0.9.0
+     */
+    public Builder routeGeometry(@Nullable RouteGeometry routeGeometry) {
+      return geometry(routeGeometry);
+    }
+
     abstract RouteProgress autoBuild(); // not public
 
     public RouteProgress build() {
+      RouteGeometry routeGeometry = geometry();
+      if (routeGeometry == null || !routeGeometry.isGeometryOf(directionsRoute())) {
+        geometry(new RouteGeometry(directionsRoute()));
+      }
       RouteLegProgress legProgress = RouteLegProgress.create(
         directionsRoute().legs().get(legIndex()),
         stepIndex,
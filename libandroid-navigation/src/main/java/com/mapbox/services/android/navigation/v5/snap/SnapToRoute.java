@@ -4,28 +4,51 @@ import android.location.Location;
 import android.support.annotation.Nullable;
 
 import com.mapbox.geojson.Feature;
-import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.routeprogress.PolylineGeometry;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.telemetry.utils.MathUtils;
-import com.mapbox.turf.TurfConstants;
-import com.mapbox.turf.TurfMeasurement;
 import com.mapbox.turf.TurfMisc;
 
 import java.util.List;
 
-import static com.mapbox.core.constants.Constants.PRECISION_6;
-
 /**
  * This attempts to snap the user to the closest position along the route. Prior to snapping the
  * user, their location's checked to ensure that the user didn't veer off-route. If your application
  * uses the Mapbox Map SDK, querying the map and snapping the user to the road grid might be a
  * better solution.
+ * <p>
+ * The bearing of the snapped location is looked up in the bearings of the step geometries, which
+ * are computed once per route by {@link RouteProgress#routeGeometry()}.
  *
  * @since 0.4.0
  */
 public class SnapToRoute extends Snap {
 
+  private final double jointSmoothingDistance;
+
+  /**
+   * Creates a snap engine which sets the bearing of the snapped location to the bearing of the
+   * route segment the user is on.
+   *
+   * @since 0.4.0
+   */
+  public SnapToRoute() {
+    this(0);
+  }
+
+  /**
+   * Creates a snap engine which, around each joint of the route geometry, turns the bearing of the
+   * snapped location gradually from one segment to the next, so it doesn't jump when displayed.
+   *
+   * @param jointSmoothingDistance in meters, the distance around each joint over which the bearing
+   *                               turns, or 0 to use the bearing of the segment
+   * @since 0.9.0
+   */
+  public SnapToRoute(double jointSmoothingDistance) {
+    this.jointSmoothingDistance = jointSmoothingDistance;
+  }
+
   @Override
   public Location getSnappedLocation(Location location, RouteProgress routeProgress,
                                      @Nullable List<Point> coords) {
@@ -58,22 +81,15 @@ public class SnapToRoute extends Snap {
     return snappedLocation;
   }
 
-  private static float snapLocationBearing(RouteProgress routeProgress) {
-    LineString lineString = LineString.fromPolyline(
-      routeProgress.currentLegProgress().currentStep().geometry(), PRECISION_6);
-
-    Point currentPoint = TurfMeasurement.along(
-      lineString, routeProgress.currentLegProgress().currentStepProgress().distanceTraveled(),
-      TurfConstants.UNIT_METERS);
-    // Measure 1 meter ahead of the users current location
-    Point futurePoint = TurfMeasurement.along(
-      lineString,
-      routeProgress.currentLegProgress().currentStepProgress().distanceTraveled() + 1,
-      TurfConstants.UNIT_METERS);
-
-    double azimuth = TurfMeasurement.bearing(currentPoint, futurePoint);
-
-    // Get bearing and convert azimuth to degrees
-    return (float) MathUtils.wrap(azimuth, 0, 360);
+  /**
+   * The bearings of the step geometries are computed once per route, so this is only a lookup of
+   * the segment at the distance traveled along the current step.
+   */
+  private float snapLocationBearing(RouteProgress routeProgress) {
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    PolylineGeometry stepGeometry = routeProgress.routeGeometry().step(routeProgress.legIndex(),
+      legProgress.stepIndex());
+    return (float) StepBearings.bearing(stepGeometry, legProgress.currentStepProgress().distanceTraveled(),
+      jointSmoothingDistance);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.PolylineGeometry;
+import com.mapbox.services.android.telemetry.utils.MathUtils;
+
+/**
+ * Looks up the bearing at a distance along a step in the segment bearings of the step geometry,
+ * which {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteGeometry} computes once
+ * per route, so it only needs a binary search instead of decoding the step geometry with every
+ * location update.
+ */
+final class StepBearings {
+
+  private StepBearings() {
+    // Empty private constructor for preventing initialization of this class.
+  }
+
+  /**
+   * @param geometry          of the step
+   * @param distanceTraveled  in meters along the step
+   * @param smoothingDistance in meters, the distance around each joint over which the bearing turns
+   *                          from one segment to the next, or 0 to use the bearing of the segment
+   * @return the bearing in degrees from 0 to 360
+   */
+  static double bearing(PolylineGeometry geometry, double distanceTraveled, double smoothingDistance) {
+    // A single point or empty geometry is treated as a segment of zero length, heading north
+    if (geometry.segmentCount() == 0) {
+      return 0;
+    }
+    int segment = geometry.findSegment(distanceTraveled);
+    double halfSmoothingDistance = smoothingDistance / 2;
+    if (halfSmoothingDistance > 0) {
+      double distanceAfterJoint = distanceTraveled - geometry.distance(segment);
+      double distanceBeforeJoint = geometry.distance(segment + 1) - distanceTraveled;
+      if (segment > 0 && distanceAfterJoint < halfSmoothingDistance) {
+        return interpolate(geometry.bearing(segment - 1), geometry.bearing(segment),
+          0.5 + distanceAfterJoint / smoothingDistance);
+      }
+      if (segment < geometry.segmentCount() - 1 && distanceBeforeJoint < halfSmoothingDistance) {
+        return interpolate(geometry.bearing(segment), geometry.bearing(segment + 1),
+          0.5 - distanceBeforeJoint / smoothingDistance);
+      }
+    }
+    return geometry.bearing(segment);
+  }
+
+  private static double interpolate(double fromBearing, double toBearing, double fraction) {
+    double difference = MathUtils.wrap(toBearing - fromBearing, -180, 180);
+    return MathUtils.wrap(fromBearing + difference * fraction, 0, 360);
+  }
+}
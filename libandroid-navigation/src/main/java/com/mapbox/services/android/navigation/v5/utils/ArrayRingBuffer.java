@@ -0,0 +1,79 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Keeps track of which slots of a fixed capacity circular array are in use, shared by the ring
+ * buffers of each value type. Subclasses only hold the array of values.
+ */
+abstract class ArrayRingBuffer {
+
+  private final int capacity;
+  private int start;
+  private int size;
+
+  ArrayRingBuffer(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean isFull() {
+    return size == capacity;
+  }
+
+  public void clear() {
+    start = 0;
+    size = 0;
+  }
+
+  /**
+   * Makes room for a new value, dropping the oldest one if the buffer is full.
+   *
+   * @return the slot to store the new value in
+   */
+  int pushSlot() {
+    if (size < capacity) {
+      size++;
+      return (start + size - 1) % capacity;
+    }
+    int slot = start;
+    start = (start + 1) % capacity;
+    return slot;
+  }
+
+  /**
+   * @param index from 0 for the oldest to {@link #size()} - 1 for the newest value
+   * @return the slot of the value at the index
+   */
+  int slot(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return (start + index) % capacity;
+  }
+
+  int oldestSlot() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return start;
+  }
+
+  int newestSlot() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return (start + size - 1) % capacity;
+  }
+}
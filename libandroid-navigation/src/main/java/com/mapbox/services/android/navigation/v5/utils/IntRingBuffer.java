@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.IntRange;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A fixed capacity circular buffer of ints. Once full, each value pushed replaces the oldest one in
+ * constant time, without boxing or allocating.
+ * <p>
+ * Not thread safe, an instance is meant to be confined to the thread using it, for example the
+ * navigation thread.
+ *
+ * @since 0.9.0
+ */
+public class IntRingBuffer extends ArrayRingBuffer {
+
+  private final int[] values;
+
+  /**
+   * @param capacity maximum number of values held
+   * @since 0.9.0
+   */
+  public IntRingBuffer(@IntRange(from = 1) int capacity) {
+    super(capacity);
+    values = new int[capacity];
+  }
+
+  /**
+   * Adds a value as the newest, replacing the oldest value if the buffer is full.
+   *
+   * @param value to add
+   * @since 0.9.0
+   */
+  public void push(int value) {
+    values[pushSlot()] = value;
+  }
+
+  /**
+   * @param index from 0 for the oldest to {@link #size()} - 1 for the newest value
+   * @return the value at the index
+   * @since 0.9.0
+   */
+  public int get(int index) {
+    return values[slot(index)];
+  }
+
+  /**
+   * @return the value pushed first of those still held
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.9.0
+   */
+  public int oldest() {
+    return values[oldestSlot()];
+  }
+
+  /**
+   * @return the value pushed last
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.9.0
+   */
+  public int newest() {
+    return values[newestSlot()];
+  }
+}
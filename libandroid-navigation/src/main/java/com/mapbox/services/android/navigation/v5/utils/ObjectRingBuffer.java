@@ -0,0 +1,83 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.IntRange;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A fixed capacity circular buffer of objects. Once full, each value pushed replaces the oldest one
+ * in constant time, without the array copies or trimming loop of a deque.
+ * <p>
+ * Not thread safe, an instance is meant to be confined to the thread using it, for example the
+ * navigation thread. Use {@link SpscRingBuffer} to hand values from one thread to another.
+ *
+ * @param <T> type of the values held
+ * @since 0.9.0
+ */
+public class ObjectRingBuffer<T> extends ArrayRingBuffer {
+
+  private final Object[] values;
+
+  /**
+   * @param capacity maximum number of values held
+   * @since 0.9.0
+   */
+  public ObjectRingBuffer(@IntRange(from = 1) int capacity) {
+    super(capacity);
+    values = new Object[capacity];
+  }
+
+  /**
+   * Adds a value as the newest, replacing the oldest value if the buffer is full.
+   *
+   * @param value to add
+   * @since 0.9.0
+   */
+  public void push(T value) {
+    values[pushSlot()] = value;
+  }
+
+  /**
+   * @param index from 0 for the oldest to {@link #size()} - 1 for the newest value
+   * @return the value at the index
+   * @since 0.9.0
+   */
+  public T get(int index) {
+    return valueAt(slot(index));
+  }
+
+  /**
+   * @return the value pushed first of those still held
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.9.0
+   */
+  public T oldest() {
+    return valueAt(oldestSlot());
+  }
+
+  /**
+   * @return the value pushed last
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.9.0
+   */
+  public T newest() {
+    return valueAt(newestSlot());
+  }
+
+  /**
+   * Removes all values, releasing the references to them.
+   *
+   * @since 0.9.0
+   */
+  @Override
+  public void clear() {
+    Arrays.fill(values, null);
+    super.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private T valueAt(int slot) {
+    return (T) values[slot];
+  }
+}
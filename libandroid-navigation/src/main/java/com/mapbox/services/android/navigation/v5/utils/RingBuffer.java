@@ -5,6 +5,14 @@ import android.support.annotation.IntRange;
 import java.util.ArrayDeque;
 import java.util.Collection;
 
+/**
+ * A deque holding at most a maximum number of items. Adding to one end of a full deque drops the
+ * item at the other end.
+ *
+ * @deprecated use {@link ObjectRingBuffer}, or {@link IntRingBuffer} and {@link DoubleRingBuffer}, which
+ * don't box their values
+ */
+@Deprecated
 public class RingBuffer<T> extends ArrayDeque<T> {
 
   private final int maxSize;
@@ -16,38 +24,50 @@ public class RingBuffer<T> extends ArrayDeque<T> {
   @Override
   public boolean add(T item) {
     boolean result = super.add(item);
-    resize();
+    removeFirstOverMaxSize();
     return result;
   }
 
   @Override
   public void addFirst(T item) {
     super.addFirst(item);
-    resize();
+    removeLastOverMaxSize();
   }
 
   @Override
   public void addLast(T item) {
     super.addLast(item);
-    resize();
+    removeFirstOverMaxSize();
   }
 
   @Override
   public boolean addAll(Collection<? extends T> collection) {
     boolean result = super.addAll(collection);
-    resize();
+    removeFirstOverMaxSize();
     return result;
   }
 
   @Override
   public void push(T item) {
     super.push(item);
-    resize();
+    removeLastOverMaxSize();
   }
 
-  private void resize() {
+  /**
+   * Items were added at the end, the oldest ones are at the start.
+   */
+  private void removeFirstOverMaxSize() {
     while (size() > maxSize) {
-      pop();
+      removeFirst();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Items were added at the start, the oldest ones are at the end.
+   */
+  private void removeLastOverMaxSize() {
+    while (size() > maxSize) {
+      removeLast();
+    }
+  }
+}
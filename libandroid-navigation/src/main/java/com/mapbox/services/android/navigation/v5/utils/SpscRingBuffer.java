@@ -0,0 +1,108 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed capacity circular buffer for handing values from one thread to another without locks.
+ * <p>
+ * Exactly one thread may call {@link #offer(Object)} and exactly one other thread may call
+ * {@link #poll()}. Each index is only written by its own side and published with an ordered write,
+ * which makes the value stored in a slot visible to the consumer before it sees the slot as filled.
+ * Unlike the single threaded ring buffers, a full buffer rejects new values rather than replacing the
+ * oldest one, since the slot of the oldest value may be read by the consumer at the same time.
+ *
+ * @param <T> type of the values handed over
+ * @since 0.9.0
+ */
+public class SpscRingBuffer<T> {
+
+  private final Object[] values;
+  /**
+   * Number of values polled so far, only written by the consumer.
+   */
+  private final AtomicLong head = new AtomicLong();
+  /**
+   * Number of values offered so far, only written by the producer.
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * @param capacity maximum number of values waiting to be polled
+   * @since 0.9.0
+   */
+  public SpscRingBuffer(@IntRange(from = 1) int capacity) {
+    values = new Object[capacity];
+  }
+
+  /**
+   * Adds a value for the consumer, only called from the producer thread.
+   *
+   * @param value to add, not null
+   * @return false if the buffer is full and the value wasn't added
+   * @since 0.9.0
+   */
+  public boolean offer(T value) {
+    if (value == null) {
+      throw new NullPointerException("Null values can't be told apart from an empty buffer.");
+    }
+    long currentTail = tail.get();
+    if (currentTail - head.get() == values.length) {
+      return false;
+    }
+    values[slot(currentTail)] = value;
+    tail.lazySet(currentTail + 1);
+    return true;
+  }
+
+  /**
+   * Removes the oldest value, only called from the consumer thread.
+   *
+   * @return the oldest value, or null if the buffer is empty
+   * @since 0.9.0
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public T poll() {
+    long currentHead = head.get();
+    if (currentHead == tail.get()) {
+      return null;
+    }
+    int slot = slot(currentHead);
+    T value = (T) values[slot];
+    values[slot] = null;
+    head.lazySet(currentHead + 1);
+    return value;
+  }
+
+  /**
+   * @return number of values waiting, which may already be outdated when read from either thread
+   * @since 0.9.0
+   */
+  public int size() {
+    long currentHead = head.get();
+    return (int) (tail.get() - currentHead);
+  }
+
+  /**
+   * @return maximum number of values waiting to be polled
+   * @since 0.9.0
+   */
+  public int capacity() {
+    return values.length;
+  }
+
+  /**
+   * @return true if no values are waiting, which may already be outdated when read from either thread
+   * @since 0.9.0
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  private int slot(long index) {
+    return (int) (index % values.length);
+  }
+}
@@ -0,0 +1,115 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class LocationFilterChainTest extends BaseTest {
+
+  private static final double LATITUDE = 38.8977;
+  private static final double LONGITUDE = -77.0365;
+  // About 11 meters
+  private static final double ONE_TEN_THOUSANDTH_DEGREE = 0.0001;
+
+  @Test
+  public void filter_dropsDuplicateTimestampAndCountsIt() throws Exception {
+    LocationFilterChain chain = new LocationFilterChain(Arrays.<LocationFilter>asList(
+      new DuplicateTimestampFilter(), new JumpFilter()));
+
+    chain.filter(buildLocation(1000, 0));
+    Location duplicate = chain.filter(buildLocation(1000, 1));
+
+    assertNull(duplicate);
+    assertEquals(2, chain.getProcessedCount());
+    assertEquals(1, chain.getDroppedCount(0));
+    assertEquals(0, chain.getDroppedCount(1));
+  }
+
+  @Test
+  public void jumpFilter_dropsJumpUntilConsecutiveLimit() throws Exception {
+    JumpFilter filter = new JumpFilter(70, 2);
+    filter.filter(buildLocation(0, 0));
+
+    // About 11 kilometers in a second
+    assertNull(filter.filter(buildLocation(1000, 1000)));
+    assertNull(filter.filter(buildLocation(2000, 1000)));
+    assertNotNull(filter.filter(buildLocation(3000, 1000)));
+    assertNotNull(filter.filter(buildLocation(4000, 1001)));
+  }
+
+  @Test
+  public void velocityFilter_dropsImpossibleAcceleration() throws Exception {
+    VelocityFilter filter = new VelocityFilter(70, 10);
+    Location first = buildLocation(0, 0);
+    first.setSpeed(10f);
+    Location braking = buildLocation(1000, 1);
+    braking.setSpeed(9f);
+    Location accelerating = buildLocation(2000, 2);
+    accelerating.setSpeed(40f);
+
+    assertSame(first, filter.filter(first));
+    assertSame(braking, filter.filter(braking));
+    assertNull(filter.filter(accelerating));
+  }
+
+  @Test
+  public void kalmanFilter_smoothsNoisyLocationTowardsTrack() throws Exception {
+    KalmanLocationFilter filter = new KalmanLocationFilter();
+    for (int i = 0; i < 10; i++) {
+      filter.filter(buildLocation(i * 1000, i));
+    }
+    Location noisy = buildLocation(10000, 10);
+    noisy.setLatitude(LATITUDE + 5 * ONE_TEN_THOUSANDTH_DEGREE);
+
+    Location filtered = filter.filter(noisy);
+
+    assertNotNull(filtered);
+    assertTrue(filtered.getLatitude() < noisy.getLatitude());
+    assertTrue(filtered.getLatitude() > LATITUDE);
+    assertEquals(noisy.getTime(), filtered.getTime());
+  }
+
+  @Test
+  public void reset_clearsFilterStateAndMetrics() throws Exception {
+    LocationFilterChain chain = new LocationFilterChain(Collections.<LocationFilter>singletonList(
+      new DuplicateTimestampFilter()));
+    chain.filter(buildLocation(1000, 0));
+    chain.filter(buildLocation(1000, 0));
+
+    chain.reset();
+    Location location = chain.filter(buildLocation(1000, 0));
+
+    assertNotNull(location);
+    assertEquals(1, chain.getProcessedCount());
+    assertEquals(0, chain.getDroppedCount(0));
+  }
+
+  /**
+   * Driving east at about 11 meters per step.
+   */
+  private Location buildLocation(long time, int step) {
+    Location location = new Location("test");
+    location.setLatitude(LATITUDE);
+    location.setLongitude(LONGITUDE + step * ONE_TEN_THOUSANDTH_DEGREE);
+    location.setAccuracy(5f);
+    location.setTime(time);
+    return location;
+  }
+}
@@ -0,0 +1,182 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class LocationHistoryTest extends BaseTest {
+
+  @Test
+  public void add_storesLocationValues() throws Exception {
+    LocationHistory locationHistory = new LocationHistory(5);
+    Location location = buildLocation(1000);
+    location.setSpeed(12.5f);
+    location.setBearing(90f);
+    location.setAccuracy(4f);
+
+    locationHistory.add(location);
+
+    Location storedLocation = locationHistory.get(0);
+    assertEquals(1000, storedLocation.getTime());
+    assertEquals(location.getLatitude(), storedLocation.getLatitude(), DELTA);
+    assertEquals(location.getLongitude(), storedLocation.getLongitude(), DELTA);
+    assertEquals(12.5f, storedLocation.getSpeed(), DELTA);
+    assertEquals(90f, storedLocation.getBearing(), DELTA);
+    assertEquals(4f, storedLocation.getAccuracy(), DELTA);
+    assertFalse(storedLocation.hasAltitude());
+  }
+
+  @Test
+  public void add_overwritesOldestLocationWhenFull() throws Exception {
+    LocationHistory locationHistory = new LocationHistory(3);
+
+    for (int i = 1; i <= 5; i++) {
+      locationHistory.add(buildLocation(i * 1000));
+    }
+
+    assertEquals(3, locationHistory.size());
+    assertEquals(3000, locationHistory.time(0));
+    assertEquals(5000, locationHistory.time(2));
+  }
+
+  @Test
+  public void add_olderLocationIsInsertedInTimeOrder() throws Exception {
+    LocationHistory locationHistory = new LocationHistory(5);
+    locationHistory.add(buildLocation(1000));
+    locationHistory.add(buildLocation(3000));
+    locationHistory.add(buildLocation(4000));
+
+    boolean added = locationHistory.add(buildLocation(2000));
+
+    assertTrue(added);
+    assertEquals(4, locationHistory.size());
+    assertEquals(1000, locationHistory.time(0));
+    assertEquals(2000, locationHistory.time(1));
+    assertEquals(3000, locationHistory.time(2));
+    assertEquals(4000, locationHistory.time(3));
+    assertEquals(buildLocation(2000).getLatitude(), locationHistory.get(1).getLatitude(), DELTA);
+  }
+
+  @Test
+  public void add_olderLocationIsInsertedInTimeOrderWhenWrapped() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+
+    boolean added = locationHistory.add(buildLocation(4500));
+
+    assertTrue(added);
+    assertEquals(5, locationHistory.size());
+    assertEquals(4000, locationHistory.time(0));
+    assertEquals(4500, locationHistory.time(1));
+    assertEquals(5000, locationHistory.time(2));
+    assertEquals(7000, locationHistory.time(4));
+  }
+
+  @Test
+  public void add_locationOlderThanFullHistoryIsIgnored() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+
+    boolean added = locationHistory.add(buildLocation(2000));
+
+    assertFalse(added);
+    assertEquals(5, locationHistory.size());
+    assertEquals(3000, locationHistory.time(0));
+  }
+
+  @Test
+  public void before_returnsLocationsBeforeTime() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+
+    List<Location> locations = locationHistory.before(5000);
+
+    assertEquals(2, locations.size());
+    assertEquals(3000, locations.get(0).getTime());
+    assertEquals(4000, locations.get(1).getTime());
+  }
+
+  @Test
+  public void after_returnsLocationsAfterTime() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+
+    List<Location> locations = locationHistory.after(5000);
+
+    assertEquals(2, locations.size());
+    assertEquals(6000, locations.get(0).getTime());
+    assertEquals(7000, locations.get(1).getTime());
+  }
+
+  @Test
+  public void before_timeBeforeHistoryReturnsEmptyList() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+
+    assertTrue(locationHistory.before(0).isEmpty());
+    assertEquals(5, locationHistory.after(0).size());
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void before_returnedListFailsAfterLaterLocations() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+    List<Location> locations = locationHistory.before(5000);
+
+    locationHistory.add(buildLocation(8000));
+
+    locations.get(0);
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void after_returnedListFailsAfterClear() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+    List<Location> locations = locationHistory.after(5000);
+
+    locationHistory.clear();
+
+    locations.size();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void after_returnedListIsReadOnly() throws Exception {
+    LocationHistory locationHistory = buildWrappedHistory();
+
+    locationHistory.after(5000).add(buildLocation(9000));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_invalidIndexThrowsException() throws Exception {
+    LocationHistory locationHistory = new LocationHistory(3);
+
+    locationHistory.get(0);
+  }
+
+  /**
+   * Locations at 3 to 7 seconds, written past the end of the buffer so it has wrapped around.
+   */
+  private LocationHistory buildWrappedHistory() {
+    LocationHistory locationHistory = new LocationHistory(5);
+    for (int i = 1; i <= 7; i++) {
+      locationHistory.add(buildLocation(i * 1000));
+    }
+    return locationHistory;
+  }
+
+  private Location buildLocation(long time) {
+    Location location = new Location("test");
+    location.setTime(time);
+    location.setLatitude(38.9 + time / 1e7);
+    location.setLongitude(-77.0 - time / 1e7);
+    return location;
+  }
+}
@@ -0,0 +1,117 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Locale;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class VoiceInstructionMilestoneTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  private static final double[] ANNOUNCEMENT_DISTANCES = {250, 100, 30};
+
+  private Gson gson;
+  private String routeJson;
+  private VoiceInstructionMilestone milestone;
+
+  @Before
+  public void setUp() throws Exception {
+    gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    routeJson = loadJsonFixture(NAVIGATION_ROUTE);
+    milestone = new VoiceInstructionMilestone.Builder().setIdentifier(1).build();
+  }
+
+  @Test
+  public void isOccurring_announcesInstructionsAlongStep() throws Exception {
+    DirectionsRoute route = buildRoute(0, "turn");
+
+    assertTrue(milestone.isOccurring(null, buildRouteProgress(route, 200)));
+    assertEquals(announcement(250), instruction(route, 200));
+    assertFalse(milestone.isOccurring(null, buildRouteProgress(route, 150)));
+    assertTrue(milestone.isOccurring(null, buildRouteProgress(route, 90)));
+    assertEquals(announcement(100), instruction(route, 90));
+  }
+
+  @Test
+  public void isOccurring_rerouteToSameManeuverDoesNotRepeatAnnouncement() throws Exception {
+    DirectionsRoute route = buildRoute(0, "turn");
+    DirectionsRoute reroute = buildRoute(1, "turn");
+    milestone.isOccurring(null, buildRouteProgress(route, 200));
+
+    assertFalse(milestone.isOccurring(null, buildRouteProgress(reroute, 190)));
+    assertTrue(milestone.isOccurring(null, buildRouteProgress(reroute, 90)));
+    assertEquals(announcement(100), instruction(reroute, 90));
+  }
+
+  @Test
+  public void isOccurring_rerouteToOtherManeuverAnnouncesAgain() throws Exception {
+    DirectionsRoute route = buildRoute(0, "turn");
+    DirectionsRoute reroute = buildRoute(1, "fork");
+    milestone.isOccurring(null, buildRouteProgress(route, 200));
+
+    assertTrue(milestone.isOccurring(null, buildRouteProgress(reroute, 190)));
+    assertEquals(announcement(250), instruction(reroute, 190));
+  }
+
+  private String instruction(DirectionsRoute route, double stepDistanceRemaining) {
+    return milestone.getInstruction().buildInstruction(buildRouteProgress(route, stepDistanceRemaining));
+  }
+
+  private RouteProgress buildRouteProgress(DirectionsRoute route, double stepDistanceRemaining) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(stepDistanceRemaining)
+      .legDistanceRemaining(route.distance())
+      .distanceRemaining(route.distance())
+      .directionsRoute(route)
+      .stepIndex(0)
+      .legIndex(0)
+      .build();
+  }
+
+  /**
+   * Builds the test route with voice instructions on its first step. Every route is a new instance
+   * with its own instruction lists, and routes built with a different extra distance aren't equal.
+   */
+  private DirectionsRoute buildRoute(double extraDistance, String upcomingManeuverType) {
+    JsonObject route = new JsonParser().parse(routeJson).getAsJsonObject()
+      .getAsJsonArray("routes").get(0).getAsJsonObject();
+    route.addProperty("distance", route.get("distance").getAsDouble() + extraDistance);
+    JsonArray steps = route.getAsJsonArray("legs").get(0).getAsJsonObject().getAsJsonArray("steps");
+    JsonArray voiceInstructions = new JsonArray();
+    for (double distance : ANNOUNCEMENT_DISTANCES) {
+      JsonObject voiceInstruction = new JsonObject();
+      voiceInstruction.addProperty("distanceAlongGeometry", distance);
+      voiceInstruction.addProperty("announcement", announcement(distance));
+      voiceInstruction.addProperty("ssmlAnnouncement", announcement(distance));
+      voiceInstructions.add(voiceInstruction);
+    }
+    steps.get(0).getAsJsonObject().add("voiceInstructions", voiceInstructions);
+    steps.get(1).getAsJsonObject().getAsJsonObject("maneuver").addProperty("type", upcomingManeuverType);
+    return gson.fromJson(route, DirectionsRoute.class);
+  }
+
+  private static String announcement(double distance) {
+    return String.format(Locale.US, "In %.0f meters, turn right onto Sacramento Street", distance);
+  }
+}
@@ -0,0 +1,251 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class AdaptiveProcessingTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  private static final float SPEED = 20f;
+  private static final int LONG_STEP_INDEX = 2;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private DirectionsRoute route;
+
+  @Before
+  public void setUp() throws Exception {
+    route = buildRouteWithInstructions(loadJsonFixture(NAVIGATION_ROUTE));
+  }
+
+  @Test
+  public void isFullUpdate_skipsUpdatesFarFromTriggerPoints() throws Exception {
+    AdaptiveProcessing adaptiveProcessing = new AdaptiveProcessing(buildOptions(true));
+    RouteProgress routeProgress = buildRouteProgress(longStepDistance());
+
+    assertTrue(adaptiveProcessing.isFullUpdate(buildLocation(1000, SPEED), routeProgress, false));
+    assertFalse(adaptiveProcessing.isFullUpdate(buildLocation(2000, SPEED), routeProgress, false));
+    assertTrue(adaptiveProcessing.isFullUpdate(buildLocation(4000, SPEED), routeProgress, false));
+  }
+
+  @Test
+  public void isFullUpdate_fullUpdatesNearTriggerPoint() throws Exception {
+    AdaptiveProcessing adaptiveProcessing = new AdaptiveProcessing(buildOptions(true));
+    double stepDistance = longStepDistance();
+    RouteProgress routeProgress = buildRouteProgress(stepDistance);
+    adaptiveProcessing.isFullUpdate(buildLocation(1000, SPEED), routeProgress, false);
+    double nearVoiceInstruction = Math.min(stepDistance, 400) + SPEED;
+
+    assertTrue(adaptiveProcessing.isFullUpdate(buildLocation(2000, SPEED),
+      buildRouteProgress(nearVoiceInstruction), false));
+  }
+
+  @Test
+  public void isFullUpdate_fullUpdatesWithoutSpeedOrWhileOffRoute() throws Exception {
+    AdaptiveProcessing adaptiveProcessing = new AdaptiveProcessing(buildOptions(true));
+    RouteProgress routeProgress = buildRouteProgress(longStepDistance());
+    adaptiveProcessing.isFullUpdate(buildLocation(1000, SPEED), routeProgress, false);
+    Location withoutSpeed = buildLocation(2000, SPEED);
+    withoutSpeed.removeSpeed();
+
+    assertTrue(adaptiveProcessing.isFullUpdate(withoutSpeed, routeProgress, false));
+    assertTrue(adaptiveProcessing.isFullUpdate(buildLocation(2500, SPEED), routeProgress, true));
+  }
+
+  @Test
+  public void replay_adaptiveProcessingTriggersSameMilestonesAsFullProcessing() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    SessionTraceRecorder recorder = new SessionTraceRecorder(directory, 1024 * 1024, executor);
+    recorder.recordRoute(route);
+    for (Location location : buildLocationsAlongRoute()) {
+      recorder.recordLocation(location);
+    }
+    recorder.close();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+    SessionTraceReader reader = new SessionTraceReader(SessionTraceRecorder.traceFile(directory));
+
+    ReplayCollector fullProcessing = new ReplayCollector();
+    reader.replay(buildNavigation(false), fullProcessing);
+    ReplayCollector adaptiveProcessing = new ReplayCollector();
+    reader.replay(buildNavigation(true), adaptiveProcessing);
+
+    assertFalse(fullProcessing.milestones.isEmpty());
+    assertEquals(fullProcessing.milestones, adaptiveProcessing.milestones);
+    assertEquals(fullProcessing.stepIndices, adaptiveProcessing.stepIndices);
+    assertEquals(0, fullProcessing.skippedCount);
+    assertTrue(adaptiveProcessing.skippedCount > 0);
+  }
+
+  private MapboxNavigationOptions buildOptions(boolean enableAdaptiveProcessing) {
+    return MapboxNavigationOptions.builder()
+      .enableAdaptiveProcessing(enableAdaptiveProcessing)
+      .build();
+  }
+
+  private MapboxNavigation buildNavigation(boolean enableAdaptiveProcessing) {
+    return new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, buildOptions(enableAdaptiveProcessing),
+      mock(NavigationTelemetry.class), mock(LocationEngine.class));
+  }
+
+  private double longStepDistance() {
+    return route.legs().get(0).steps().get(LONG_STEP_INDEX).distance();
+  }
+
+  private RouteProgress buildRouteProgress(double stepDistanceRemaining) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(stepDistanceRemaining)
+      .legDistanceRemaining(route.legs().get(0).distance())
+      .distanceRemaining(route.distance())
+      .directionsRoute(route)
+      .stepIndex(LONG_STEP_INDEX)
+      .legIndex(0)
+      .build();
+  }
+
+  private Location buildLocation(long time, float speed) {
+    Point point = route.legs().get(0).steps().get(0).maneuver().location();
+    Location location = new Location("test");
+    location.setLatitude(point.latitude());
+    location.setLongitude(point.longitude());
+    location.setSpeed(speed);
+    location.setTime(time);
+    return location;
+  }
+
+  /**
+   * One location per second, driving along the route geometry.
+   */
+  private List<Location> buildLocationsAlongRoute() {
+    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    double routeLength = TurfMeasurement.lineDistance(lineString, TurfConstants.UNIT_METERS);
+    List<Location> locations = new ArrayList<>();
+    for (int i = 0; i * SPEED < routeLength; i++) {
+      Point point = TurfMeasurement.along(lineString, i * SPEED, TurfConstants.UNIT_METERS);
+      Point ahead = TurfMeasurement.along(lineString, i * SPEED + 1, TurfConstants.UNIT_METERS);
+      Location location = new Location("test");
+      location.setLatitude(point.latitude());
+      location.setLongitude(point.longitude());
+      location.setBearing((float) ((TurfMeasurement.bearing(point, ahead) + 360) % 360));
+      location.setSpeed(SPEED);
+      location.setAccuracy(5f);
+      location.setTime(i * 1000L);
+      locations.add(location);
+    }
+    return locations;
+  }
+
+  /**
+   * Adds a voice instruction 400 and 100 meters before each maneuver and a banner instruction at the
+   * start of each step.
+   */
+  private DirectionsRoute buildRouteWithInstructions(String json) {
+    JsonObject response = new JsonParser().parse(json).getAsJsonObject();
+    JsonObject routeJson = response.getAsJsonArray("routes").get(0).getAsJsonObject();
+    for (JsonElement leg : routeJson.getAsJsonArray("legs")) {
+      for (JsonElement step : leg.getAsJsonObject().getAsJsonArray("steps")) {
+        double distance = step.getAsJsonObject().get("distance").getAsDouble();
+        JsonArray voiceInstructions = new JsonArray();
+        voiceInstructions.add(buildInstruction(Math.min(distance, 400), "announcement"));
+        voiceInstructions.add(buildInstruction(Math.min(distance, 100), "announcement"));
+        step.getAsJsonObject().add("voiceInstructions", voiceInstructions);
+        JsonArray bannerInstructions = new JsonArray();
+        JsonObject banner = buildInstruction(distance, null);
+        JsonObject primary = new JsonObject();
+        primary.addProperty("text", "instruction");
+        banner.add("primary", primary);
+        bannerInstructions.add(banner);
+        step.getAsJsonObject().add("bannerInstructions", bannerInstructions);
+      }
+    }
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    return gson.fromJson(response, DirectionsResponse.class).routes().get(0);
+  }
+
+  private JsonObject buildInstruction(double distanceAlongGeometry, String announcement) {
+    JsonObject instruction = new JsonObject();
+    instruction.addProperty("distanceAlongGeometry", distanceAlongGeometry);
+    if (announcement != null) {
+      instruction.addProperty("announcement", announcement);
+      instruction.addProperty("ssmlAnnouncement", announcement);
+    }
+    return instruction;
+  }
+
+  private static class ReplayCollector implements SessionTraceReader.Callback {
+
+    private int locationCount;
+    private List<String> milestones = new ArrayList<>();
+    private List<Integer> stepIndices = new ArrayList<>();
+    private int skippedCount;
+
+    @Override
+    public void onRoute(DirectionsRoute route) {
+    }
+
+    @Override
+    public void onLocation(Location location) {
+      locationCount++;
+    }
+
+    @Override
+    public void onRouteProgress(RouteProgress routeProgress, boolean userOffRoute, boolean checkFasterRoute) {
+      stepIndices.add(routeProgress.currentLegProgress().stepIndex());
+    }
+
+    @Override
+    public void onMilestone(int identifier) {
+      milestones.add(identifier + "@" + locationCount);
+    }
+
+    @Override
+    public void onStageDurations(long routeProgress, long milestones, long offRoute, long snap) {
+      if (milestones == NavigationEngine.STAGE_SKIPPED) {
+        skippedCount++;
+      }
+    }
+  }
+}
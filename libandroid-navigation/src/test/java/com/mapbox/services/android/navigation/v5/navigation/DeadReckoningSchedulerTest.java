@@ -0,0 +1,210 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+import android.os.Handler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class DeadReckoningSchedulerTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  private static final float SPEED = 20f;
+  private static final long TIMEOUT = NavigationConstants.DEAD_RECKONING_TIMEOUT * 1000L;
+
+  private DirectionsRoute route;
+  private NavigationUpdate update;
+  private DeadReckoningScheduler.Callback callback;
+  private DeadReckoningScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class)
+      .routes().get(0);
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enableDeadReckoning(true)
+      .build();
+    MapboxNavigation navigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, options,
+      mock(NavigationTelemetry.class), mock(LocationEngine.class));
+    navigation.setRoute(route);
+    update = new NavigationEngine(null, null).calculateUpdate(NewLocationModel.create(
+      buildLocationOnRoute(route, 100, SPEED), navigation));
+    callback = mock(DeadReckoningScheduler.Callback.class);
+    scheduler = new DeadReckoningScheduler(new Handler(), options, callback);
+  }
+
+  @Test
+  public void noLocationWithinTimeout_predictsLocationsAlongRoute() throws Exception {
+    scheduler.onLocationReceived();
+    scheduler.onRouteProgress(update.location(), update.routeProgress());
+
+    ShadowLooper.idleMainLooper(TIMEOUT - 1);
+    verify(callback, never()).onDeadReckonedLocation(any(Location.class));
+    ShadowLooper.idleMainLooper(1 + DeadReckoningScheduler.UPDATE_INTERVAL);
+
+    ArgumentCaptor<Location> captor = ArgumentCaptor.forClass(Location.class);
+    verify(callback, times(2)).onDeadReckonedLocation(captor.capture());
+    List<Location> locations = captor.getAllValues();
+    assertTrue(scheduler.isActive());
+    assertEquals(DeadReckoningScheduler.PROVIDER, locations.get(0).getProvider());
+    assertEquals(update.location().getTime() + TIMEOUT, locations.get(0).getTime());
+    double distance = TurfMeasurement.distance(toPoint(locations.get(0)), toPoint(locations.get(1)),
+      TurfConstants.UNIT_METERS);
+    // At most a second of travel, less if the route turns in between
+    assertTrue(distance > SPEED / 2 && distance < SPEED + 1);
+  }
+
+  @Test
+  public void locationReceived_stopsPredicting() throws Exception {
+    scheduler.onLocationReceived();
+    scheduler.onRouteProgress(update.location(), update.routeProgress());
+    ShadowLooper.idleMainLooper(TIMEOUT);
+
+    boolean wasActive = scheduler.onLocationReceived();
+    ShadowLooper.idleMainLooper(DeadReckoningScheduler.UPDATE_INTERVAL);
+
+    assertTrue(wasActive);
+    assertFalse(scheduler.isActive());
+    verify(callback, times(1)).onDeadReckonedLocation(any(Location.class));
+  }
+
+  @Test
+  public void predictions_stopAtUpcomingManeuver() throws Exception {
+    Point maneuver = route.legs().get(0).steps().get(1).maneuver().location();
+    scheduler.onLocationReceived();
+    scheduler.onRouteProgress(update.location(), update.routeProgress());
+
+    // Far enough past the last location to have passed the maneuver at the last known speed
+    ShadowLooper.idleMainLooper(TIMEOUT + 15 * DeadReckoningScheduler.UPDATE_INTERVAL);
+
+    ArgumentCaptor<Location> captor = ArgumentCaptor.forClass(Location.class);
+    verify(callback, times(16)).onDeadReckonedLocation(captor.capture());
+    Location lastLocation = captor.getAllValues().get(15);
+    assertEquals(0, TurfMeasurement.distance(maneuver, toPoint(lastLocation), TurfConstants.UNIT_METERS), 2);
+  }
+
+  @Test
+  public void reconcile_blendsOutOvershootOfPredictions() throws Exception {
+    scheduler.onLocationReceived();
+    scheduler.onRouteProgress(update.location(), update.routeProgress());
+    ShadowLooper.idleMainLooper(TIMEOUT + DeadReckoningScheduler.UPDATE_INTERVAL);
+    ArgumentCaptor<Location> captor = ArgumentCaptor.forClass(Location.class);
+    verify(callback, times(2)).onDeadReckonedLocation(captor.capture());
+    Point lastPrediction = toPoint(captor.getAllValues().get(1));
+    // The user slowed down, so the real location is behind the last prediction
+    Location firstLocation = buildLocationOnRoute(route, 150, SPEED);
+    Location secondLocation = buildLocationOnRoute(route, 160, SPEED);
+    Location thirdLocation = buildLocationOnRoute(route, 170, SPEED);
+
+    scheduler.onLocationReceived();
+    Point firstReconciled = toPoint(scheduler.reconcile(firstLocation));
+    ShadowLooper.idleMainLooper(1500);
+    Point secondReconciled = toPoint(scheduler.reconcile(secondLocation));
+    ShadowLooper.idleMainLooper(1500);
+    Location thirdReconciled = scheduler.reconcile(thirdLocation);
+
+    assertEquals(0, TurfMeasurement.distance(lastPrediction, firstReconciled, TurfConstants.UNIT_METERS), 1);
+    double overshoot = TurfMeasurement.distance(lastPrediction, toPoint(firstLocation), TurfConstants.UNIT_METERS);
+    assertTrue(overshoot > 10);
+    assertEquals(overshoot / 2, TurfMeasurement.distance(toPoint(secondLocation), secondReconciled,
+      TurfConstants.UNIT_METERS), 1);
+    assertEquals(thirdLocation, thirdReconciled);
+  }
+
+  @Test
+  public void reconcile_jumpsToLocationFarFromPrediction() throws Exception {
+    scheduler.onLocationReceived();
+    scheduler.onRouteProgress(update.location(), update.routeProgress());
+    ShadowLooper.idleMainLooper(TIMEOUT);
+    Location location = buildLocationOnRoute(route, 20, SPEED);
+
+    scheduler.onLocationReceived();
+
+    assertEquals(location, scheduler.reconcile(location));
+  }
+
+  @Test
+  public void reconcile_leavesLocationsWithoutPredictionsUnchanged() throws Exception {
+    Location location = buildLocationOnRoute(route, 100, SPEED);
+
+    scheduler.onLocationReceived();
+
+    assertEquals(location, scheduler.reconcile(location));
+  }
+
+  @Test
+  public void predictedRouteProgress_isNotPredictedFrom() throws Exception {
+    scheduler.onLocationReceived();
+    Location predictedLocation = new Location(update.location());
+    predictedLocation.setProvider(DeadReckoningScheduler.PROVIDER);
+    scheduler.onRouteProgress(predictedLocation, update.routeProgress());
+
+    ShadowLooper.idleMainLooper(TIMEOUT);
+
+    verify(callback, never()).onDeadReckonedLocation(any(Location.class));
+  }
+
+  @Test
+  public void reset_cancelsPendingPrediction() throws Exception {
+    scheduler.onLocationReceived();
+    scheduler.onRouteProgress(update.location(), update.routeProgress());
+
+    scheduler.reset();
+    ShadowLooper.idleMainLooper(TIMEOUT);
+
+    verify(callback, never()).onDeadReckonedLocation(any(Location.class));
+  }
+
+  private Location buildLocationOnRoute(DirectionsRoute route, double distanceAlongRoute, float speed) {
+    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    Point point = TurfMeasurement.along(lineString, distanceAlongRoute, TurfConstants.UNIT_METERS);
+    Point ahead = TurfMeasurement.along(lineString, distanceAlongRoute + 1, TurfConstants.UNIT_METERS);
+    Location location = new Location("test");
+    location.setLatitude(point.latitude());
+    location.setLongitude(point.longitude());
+    location.setBearing((float) ((TurfMeasurement.bearing(point, ahead) + 360) % 360));
+    location.setSpeed(speed);
+    location.setAccuracy(5f);
+    location.setTime(1000L);
+    return location;
+  }
+
+  private Point toPoint(Location location) {
+    return Point.fromLngLat(location.getLongitude(), location.getLatitude());
+  }
+}
@@ -11,6 +11,7 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.BaseTest;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.ScoredRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
 
@@ -18,10 +19,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -98,6 +102,49 @@ public class FasterRouteDetectorTest extends BaseTest {
     assertFalse(isFasterRoute);
   }
 
+  @Test
+  public void findFasterRoute_returnsHighestScoringRoute() throws Exception {
+    FasterRoute fasterRouteEngine = navigation.getFasterRouteEngine();
+    RouteProgress currentProgress = obtainDefaultRouteProgress();
+    DirectionsRoute longerRoute = currentProgress.directionsRoute().toBuilder()
+      .duration(10000000d)
+      .build();
+    currentProgress = currentProgress.toBuilder()
+      .directionsRoute(longerRoute)
+      .build();
+    DirectionsResponse response = obtainADirectionsResponse();
+    DirectionsRoute fastRoute = response.routes().get(0).toBuilder().duration(5000000d).build();
+    DirectionsRoute fastestRoute = response.routes().get(0).toBuilder().duration(1000d).build();
+    List<DirectionsRoute> routes = new ArrayList<>();
+    routes.add(fastRoute);
+    routes.add(fastestRoute);
+    response = response.toBuilder().routes(routes).build();
+
+    ScoredRoute scoredRoute = fasterRouteEngine.findFasterRoute(response, currentProgress);
+
+    assertEquals(fastestRoute, scoredRoute.route());
+    assertTrue(scoredRoute.score() > 0.9);
+  }
+
+  @Test
+  public void findFasterRoute_slowerRoutesReturnNull() throws Exception {
+    FasterRoute fasterRouteEngine = navigation.getFasterRouteEngine();
+    RouteProgress currentProgress = obtainDefaultRouteProgress();
+    DirectionsRoute shorterRoute = currentProgress.directionsRoute().toBuilder()
+      .duration(1000d)
+      .build();
+    currentProgress = currentProgress.toBuilder()
+      .directionsRoute(shorterRoute)
+      .build();
+    DirectionsResponse response = obtainADirectionsResponse();
+    List<DirectionsRoute> routes = new ArrayList<>();
+    routes.add(response.routes().get(0));
+    routes.add(response.routes().get(0).toBuilder().duration(2000d).build());
+    response = response.toBuilder().routes(routes).build();
+
+    assertNull(fasterRouteEngine.findFasterRoute(response, currentProgress));
+  }
+
   @Test
   public void onNullLocationPassed_shouldCheckFasterRouteIsFalse() throws Exception {
     FasterRoute fasterRouteEngine = navigation.getFasterRouteEngine();
@@ -0,0 +1,140 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+import com.mapbox.services.android.telemetry.location.LocationEnginePriority;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class LocationUpdateSchedulerTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  private static final int LONG_STEP_INDEX = 2;
+  private static final float SPEED = 20f;
+
+  private DirectionsRoute route;
+  private LocationEngine locationEngine;
+  private LocationUpdateScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class).routes().get(0);
+    locationEngine = mock(LocationEngine.class);
+    when(locationEngine.getPriority()).thenReturn(LocationEnginePriority.HIGH_ACCURACY);
+    when(locationEngine.getInterval()).thenReturn(0);
+    when(locationEngine.getFastestInterval()).thenReturn(1000);
+    when(locationEngine.isConnected()).thenReturn(true);
+    scheduler = new LocationUpdateScheduler(MapboxNavigationOptions.builder()
+      .enableLocationUpdateScheduling(true)
+      .build());
+    scheduler.setLocationEngine(locationEngine);
+  }
+
+  @Test
+  public void onRouteProgress_farFromManeuverReducesInterval() throws Exception {
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, longStepDistance()));
+
+    verify(locationEngine).setInterval(NavigationConstants.MAXIMUM_LOCATION_UPDATE_INTERVAL * 1000);
+    verify(locationEngine).setPriority(LocationEnginePriority.HIGH_ACCURACY);
+    verify(locationEngine).requestLocationUpdates();
+  }
+
+  @Test
+  public void onRouteProgress_nearManeuverRequestsFullRate() throws Exception {
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, longStepDistance()));
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, 200));
+
+    verify(locationEngine).setInterval(LocationUpdateScheduler.FULL_RATE_INTERVAL);
+  }
+
+  @Test
+  public void onRouteProgress_unchangedIntervalIsNotRequestedAgain() throws Exception {
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, longStepDistance()));
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, longStepDistance() - 20));
+
+    verify(locationEngine, times(1)).requestLocationUpdates();
+  }
+
+  @Test
+  public void onRouteProgress_withoutSpeedRequestsFullRate() throws Exception {
+    Location location = buildLocation(SPEED);
+    location.removeSpeed();
+
+    scheduler.onRouteProgress(location, buildRouteProgress(LONG_STEP_INDEX, longStepDistance()));
+
+    verify(locationEngine).setInterval(LocationUpdateScheduler.FULL_RATE_INTERVAL);
+    verify(locationEngine, never()).setInterval(NavigationConstants.MAXIMUM_LOCATION_UPDATE_INTERVAL * 1000);
+  }
+
+  @Test
+  public void onUserOffRoute_requestsFullRate() throws Exception {
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, longStepDistance()));
+
+    scheduler.onUserOffRoute(true);
+
+    verify(locationEngine).setInterval(LocationUpdateScheduler.FULL_RATE_INTERVAL);
+  }
+
+  @Test
+  public void onRouteProgress_arrivalLowersPriority() throws Exception {
+    int arrivalStepIndex = route.legs().get(0).steps().size() - 1;
+
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(arrivalStepIndex, 0));
+
+    verify(locationEngine).setPriority(LocationEnginePriority.BALANCED_POWER_ACCURACY);
+  }
+
+  @Test
+  public void reset_restoresOriginalSettings() throws Exception {
+    scheduler.onRouteProgress(buildLocation(SPEED), buildRouteProgress(LONG_STEP_INDEX, longStepDistance()));
+
+    scheduler.reset();
+
+    verify(locationEngine).setInterval(0);
+    verify(locationEngine, times(2)).setFastestInterval(1000);
+  }
+
+  private double longStepDistance() {
+    return route.legs().get(0).steps().get(LONG_STEP_INDEX).distance();
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex, double stepDistanceRemaining) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(stepDistanceRemaining)
+      .legDistanceRemaining(route.legs().get(0).distance())
+      .distanceRemaining(route.distance())
+      .directionsRoute(route)
+      .stepIndex(stepIndex)
+      .legIndex(0)
+      .build();
+  }
+
+  private Location buildLocation(float speed) {
+    Location location = new Location("test");
+    location.setSpeed(speed);
+    return location;
+  }
+}
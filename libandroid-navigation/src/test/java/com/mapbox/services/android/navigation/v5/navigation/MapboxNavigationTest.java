@@ -21,6 +21,7 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationCon
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -194,4 +195,19 @@ public class MapboxNavigationTest extends BaseTest {
     assertTrue(!(navigation.getOffRouteEngine() instanceof OffRouteDetector));
     assertTrue(navigation.getOffRouteEngine() instanceof OffRoute);
   }
+
+  @Test
+  public void configuration_doesNotChangeOnceTaken() throws Exception {
+    NavigationConfiguration configuration = navigation.configuration();
+    Snap snap = configuration.snapEngine();
+    int milestoneCount = configuration.milestones().size();
+
+    navigation.setSnapEngine(mock(Snap.class));
+    navigation.addMilestone(new StepMilestone.Builder().build());
+
+    assertSame(snap, configuration.snapEngine());
+    assertEquals(milestoneCount, configuration.milestones().size());
+    assertNotSame(configuration, navigation.configuration());
+    assertEquals(milestoneCount + 1, navigation.configuration().milestones().size());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.instruction.Instruction;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Trigger;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerProperty;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class NavigationEngineTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  private static final float SPEED = 20f;
+  private static final int BATCH_SIZE = 5;
+  private static final int MILESTONE_IDENTIFIER = 1;
+  private static final int ANNOUNCING_MILESTONE_IDENTIFIER = 2;
+
+  private DirectionsRoute route;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class).routes().get(0);
+  }
+
+  @Test
+  public void calculateBatchUpdate_triggersSameMilestonesAsSingleUpdates() throws Exception {
+    List<Location> locations = buildLocationsAlongRoute();
+
+    MapboxNavigation singleNavigation = buildNavigation();
+    NavigationEngine singleEngine = new NavigationEngine(null, null);
+    int singleMilestoneCount = 0;
+    NavigationUpdate singleUpdate = null;
+    for (Location location : locations) {
+      singleUpdate = singleEngine.calculateUpdate(NewLocationModel.create(location, singleNavigation));
+      singleMilestoneCount += singleUpdate.milestones().size();
+    }
+
+    MapboxNavigation batchNavigation = buildNavigation();
+    NavigationEngine batchEngine = new NavigationEngine(null, null);
+    int batchMilestoneCount = 0;
+    NavigationUpdate batchUpdate = null;
+    for (int start = 0; start < locations.size(); start += BATCH_SIZE) {
+      List<NewLocationModel> batch = new ArrayList<>();
+      for (Location location : locations.subList(start, Math.min(start + BATCH_SIZE, locations.size()))) {
+        batch.add(NewLocationModel.create(location, batchNavigation.configuration()));
+      }
+      batchUpdate = batchEngine.calculateBatchUpdate(batch);
+      batchMilestoneCount += batchUpdate.milestones().size();
+    }
+
+    assertTrue(singleMilestoneCount > 1);
+    assertEquals(singleMilestoneCount, batchMilestoneCount);
+    assertEquals(singleUpdate.routeProgress().currentLegProgress().stepIndex(),
+      batchUpdate.routeProgress().currentLegProgress().stepIndex());
+    assertEquals(singleUpdate.routeProgress().distanceRemaining(),
+      batchUpdate.routeProgress().distanceRemaining(), 0.001);
+  }
+
+  @Test
+  public void calculateBatchUpdate_returnsLastLocation() throws Exception {
+    MapboxNavigation navigation = buildNavigation();
+    NavigationEngine engine = new NavigationEngine(null, null);
+    List<Location> locations = buildLocationsAlongRoute().subList(0, BATCH_SIZE);
+    List<NewLocationModel> batch = new ArrayList<>();
+    for (Location location : locations) {
+      batch.add(NewLocationModel.create(location, navigation.configuration()));
+    }
+
+    NavigationUpdate update = engine.calculateBatchUpdate(batch);
+
+    Location lastLocation = locations.get(BATCH_SIZE - 1);
+    assertEquals(lastLocation.getTime(), update.location().getTime());
+  }
+
+  @Test
+  public void calculateBatchUpdate_keepsInstructionOfEveryTrigger() throws Exception {
+    List<Location> locations = buildLocationsAlongRoute();
+
+    MapboxNavigation singleNavigation = buildNavigation();
+    singleNavigation.addMilestone(new AnnouncingMilestone());
+    NavigationEngine singleEngine = new NavigationEngine(null, null);
+    List<String> singleInstructions = new ArrayList<>();
+    for (Location location : locations) {
+      NavigationUpdate update = singleEngine.calculateUpdate(NewLocationModel.create(location, singleNavigation));
+      addInstructions(update, singleInstructions);
+    }
+
+    MapboxNavigation batchNavigation = buildNavigation();
+    batchNavigation.addMilestone(new AnnouncingMilestone());
+    NavigationEngine batchEngine = new NavigationEngine(null, null);
+    List<String> batchInstructions = new ArrayList<>();
+    for (int start = 0; start < locations.size(); start += BATCH_SIZE) {
+      List<NewLocationModel> batch = new ArrayList<>();
+      for (Location location : locations.subList(start, Math.min(start + BATCH_SIZE, locations.size()))) {
+        batch.add(NewLocationModel.create(location, batchNavigation.configuration()));
+      }
+      addInstructions(batchEngine.calculateBatchUpdate(batch), batchInstructions);
+    }
+
+    assertTrue(singleInstructions.size() > locations.size() / BATCH_SIZE);
+    assertEquals(singleInstructions, batchInstructions);
+  }
+
+  private void addInstructions(NavigationUpdate update, List<String> instructions) {
+    for (TriggeredMilestone triggeredMilestone : update.milestones()) {
+      if (triggeredMilestone.milestone() instanceof AnnouncingMilestone) {
+        instructions.add(triggeredMilestone.instruction());
+        assertEquals(AnnouncingMilestone.announcement(triggeredMilestone.routeProgress()),
+          triggeredMilestone.instruction());
+      }
+    }
+  }
+
+  private MapboxNavigation buildNavigation() {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .defaultMilestonesEnabled(false)
+      .build();
+    MapboxNavigation navigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, options,
+      mock(NavigationTelemetry.class), mock(LocationEngine.class));
+    Milestone milestone = new StepMilestone.Builder()
+      .setIdentifier(MILESTONE_IDENTIFIER)
+      .setTrigger(Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 100))
+      .build();
+    navigation.addMilestone(milestone);
+    navigation.setRoute(route);
+    return navigation;
+  }
+
+  /**
+   * Announces every 50 meters remaining and, like the voice instruction milestone, keeps the
+   * announcement in the instance until it's triggered again.
+   */
+  private static class AnnouncingMilestone extends Milestone {
+
+    private static final double ANNOUNCEMENT_INTERVAL = 50;
+    private String announcement;
+
+    AnnouncingMilestone() {
+      super(new StepMilestone.Builder().setIdentifier(ANNOUNCING_MILESTONE_IDENTIFIER));
+    }
+
+    static String announcement(RouteProgress routeProgress) {
+      return String.format(Locale.US, "%d meters remaining",
+        (int) (Math.floor(routeProgress.distanceRemaining() / ANNOUNCEMENT_INTERVAL) * ANNOUNCEMENT_INTERVAL));
+    }
+
+    @Override
+    public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+      String newAnnouncement = announcement(routeProgress);
+      if (newAnnouncement.equals(announcement)) {
+        return false;
+      }
+      announcement = newAnnouncement;
+      return true;
+    }
+
+    @Override
+    public Instruction getInstruction() {
+      return new Instruction() {
+        @Override
+        public String buildInstruction(RouteProgress routeProgress) {
+          return announcement;
+        }
+      };
+    }
+  }
+
+  /**
+   * One location per second, driving along the route geometry.
+   */
+  private List<Location> buildLocationsAlongRoute() {
+    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    double routeLength = TurfMeasurement.lineDistance(lineString, TurfConstants.UNIT_METERS);
+    List<Location> locations = new ArrayList<>();
+    for (int i = 0; i * SPEED < routeLength; i++) {
+      Point point = TurfMeasurement.along(lineString, i * SPEED, TurfConstants.UNIT_METERS);
+      Point ahead = TurfMeasurement.along(lineString, i * SPEED + 1, TurfConstants.UNIT_METERS);
+      Location location = new Location("test");
+      location.setLatitude(point.latitude());
+      location.setLongitude(point.longitude());
+      location.setBearing((float) ((TurfMeasurement.bearing(point, ahead) + 360) % 360));
+      location.setSpeed(SPEED);
+      location.setAccuracy(5f);
+      location.setTime(i * 1000L);
+      locations.add(location);
+    }
+    return locations;
+  }
+}
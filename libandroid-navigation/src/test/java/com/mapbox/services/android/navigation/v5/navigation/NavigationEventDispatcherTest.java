@@ -16,6 +16,9 @@ import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListene
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListeners;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteGuidance;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteListener;
+import com.mapbox.services.android.navigation.v5.route.ScoredFasterRouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
@@ -29,9 +32,12 @@ import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -145,6 +151,47 @@ public class NavigationEventDispatcherTest extends BaseTest {
     verify(progressChangeListener, times(1)).onProgressChange(location, routeProgress);
   }
 
+  @Test
+  public void addProgressChangeListener_withExecutorDeliversOnExecutor() throws Exception {
+    Executor executor = mock(Executor.class);
+    navigation.addProgressChangeListener(progressChangeListener, executor);
+
+    navigationEventDispatcher.onProgressChange(location, routeProgress);
+
+    verify(progressChangeListener, never()).onProgressChange(location, routeProgress);
+    verify(executor, times(1)).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void addProgressChangeListener_withDirectExecutorDeliversEvent() throws Exception {
+    navigation.addProgressChangeListener(progressChangeListener, new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        runnable.run();
+      }
+    });
+
+    navigationEventDispatcher.onProgressChange(location, routeProgress);
+
+    verify(progressChangeListener, times(1)).onProgressChange(location, routeProgress);
+  }
+
+  @Test
+  public void removeProgressChangeListener_duringDispatchDeliversCurrentEvent() throws Exception {
+    navigation.addProgressChangeListener(new ProgressChangeListener() {
+      @Override
+      public void onProgressChange(Location location, RouteProgress routeProgress) {
+        navigation.removeProgressChangeListener(progressChangeListener);
+      }
+    });
+    navigation.addProgressChangeListener(progressChangeListener);
+
+    navigationEventDispatcher.onProgressChange(location, routeProgress);
+    navigationEventDispatcher.onProgressChange(location, routeProgress);
+
+    verify(progressChangeListener, times(1)).onProgressChange(location, routeProgress);
+  }
+
   @Test
   public void addProgressChangeListener_onlyAddsListenerOnce() throws Exception {
     navigationEventDispatcher.onProgressChange(location, routeProgress);
@@ -306,6 +353,68 @@ public class NavigationEventDispatcherTest extends BaseTest {
     verify(fasterRouteListener, times(0)).fasterRouteFound(route);
   }
 
+  @Test
+  public void addScoredFasterRouteListener_receivesScoreAlongFasterRouteListener() throws Exception {
+    ScoredFasterRouteListener scoredFasterRouteListener = mock(ScoredFasterRouteListener.class);
+    navigation.addFasterRouteListener(fasterRouteListener);
+    navigation.addScoredFasterRouteListener(scoredFasterRouteListener);
+
+    navigationEventDispatcher.onFasterRouteEvent(route, 0.5);
+
+    verify(fasterRouteListener, times(1)).fasterRouteFound(route);
+    verify(scoredFasterRouteListener, times(1)).fasterRouteFound(route, 0.5);
+  }
+
+  @Test
+  public void addScoredFasterRouteListener_withExecutorDeliversOnExecutor() throws Exception {
+    ScoredFasterRouteListener scoredFasterRouteListener = mock(ScoredFasterRouteListener.class);
+    Executor executor = mock(Executor.class);
+    navigation.addScoredFasterRouteListener(scoredFasterRouteListener, executor);
+
+    navigationEventDispatcher.onFasterRouteEvent(route, 0.5);
+
+    verify(scoredFasterRouteListener, never()).fasterRouteFound(route, 0.5);
+    verify(executor, times(1)).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void addReturnToRouteListener_receivesGuidance() throws Exception {
+    ReturnToRouteListener returnToRouteListener = mock(ReturnToRouteListener.class);
+    ReturnToRouteGuidance guidance = mock(ReturnToRouteGuidance.class);
+    navigation.addReturnToRouteListener(returnToRouteListener);
+
+    navigationEventDispatcher.onReturnToRoute(location, guidance);
+
+    verify(returnToRouteListener, times(1)).onReturnToRoute(location, guidance);
+  }
+
+  @Test
+  public void addReturnToRouteListener_withDirectExecutorDeliversGuidance() throws Exception {
+    ReturnToRouteListener returnToRouteListener = mock(ReturnToRouteListener.class);
+    ReturnToRouteGuidance guidance = mock(ReturnToRouteGuidance.class);
+    navigation.addReturnToRouteListener(returnToRouteListener, new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        runnable.run();
+      }
+    });
+
+    navigationEventDispatcher.onReturnToRoute(location, guidance);
+
+    verify(returnToRouteListener, times(1)).onReturnToRoute(location, guidance);
+  }
+
+  @Test
+  public void removeScoredFasterRouteListener_didRemoveListener() throws Exception {
+    ScoredFasterRouteListener scoredFasterRouteListener = mock(ScoredFasterRouteListener.class);
+    navigation.addScoredFasterRouteListener(scoredFasterRouteListener);
+    navigation.removeScoredFasterRouteListener(scoredFasterRouteListener);
+
+    navigationEventDispatcher.onFasterRouteEvent(route, 0.5);
+
+    verify(scoredFasterRouteListener, never()).fasterRouteFound(route, 0.5);
+  }
+
 
   @Test
   public void setNavigationMetricListener_didGetSet() throws Exception {
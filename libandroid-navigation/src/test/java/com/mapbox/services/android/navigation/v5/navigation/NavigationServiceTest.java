@@ -0,0 +1,147 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRoute;
+import com.mapbox.services.android.navigation.v5.route.ReturnToRouteGuidance;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class NavigationServiceTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  // The right turn from Taylor Street onto Sacramento Street
+  private static final Point TURN = Point.fromLngLat(-122.412667, 37.792557);
+  private static final double DISTANCE_TO_TURN = 279.8;
+  private static final double TAYLOR_STREET_BEARING = 171;
+  private static final double SACRAMENTO_STREET_BEARING = 260;
+
+  private DirectionsRoute route;
+  private NavigationEventDispatcher eventDispatcher;
+  private ReturnToRoute returnToRoute;
+  private NavigationService navigationService;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class).routes().get(0);
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enableNotification(false)
+      .enableReturnToRoute(true)
+      .build();
+    eventDispatcher = mock(NavigationEventDispatcher.class);
+    returnToRoute = new ReturnToRoute(options);
+    MapboxNavigation mapboxNavigation = mock(MapboxNavigation.class);
+    when(mapboxNavigation.options()).thenReturn(options);
+    when(mapboxNavigation.getEventDispatcher()).thenReturn(eventDispatcher);
+    when(mapboxNavigation.getReturnToRoute()).thenReturn(returnToRoute);
+    navigationService = new NavigationService(mapboxNavigation);
+    navigationService.onNewRouteProgress(buildLocation(TURN, TAYLOR_STREET_BEARING), buildRouteProgress(route));
+  }
+
+  @Test
+  public void onUserOffRoute_keepsGuidingBackThroughOffRouteCooldown() throws Exception {
+    navigationService.onUserOffRoute(buildLocationPastTurn(40), true);
+    // The off-route detector doesn't report the user as off-route again right after it did
+    navigationService.onUserOffRoute(buildLocationPastTurn(45), false);
+    navigationService.onUserOffRoute(buildLocationPastTurn(50), false);
+    navigationService.onUserOffRoute(buildLocationPastTurn(55), false);
+
+    verify(eventDispatcher, times(4)).onReturnToRoute(any(Location.class), any(ReturnToRouteGuidance.class));
+    verify(eventDispatcher, never()).onUserOffRoute(any(Location.class));
+    assertTrue(returnToRoute.isActive());
+  }
+
+  @Test
+  public void onUserOffRoute_growingDeviationDuringCooldownSendsOffRouteOnce() throws Exception {
+    navigationService.onUserOffRoute(buildLocationPastTurn(40), true);
+    navigationService.onUserOffRoute(buildLocationPastTurn(60), false);
+    navigationService.onUserOffRoute(buildLocationPastTurn(120), false);
+    navigationService.onUserOffRoute(buildLocationPastTurn(140), false);
+
+    verify(eventDispatcher, times(2)).onReturnToRoute(any(Location.class), any(ReturnToRouteGuidance.class));
+    verify(eventDispatcher, times(1)).onUserOffRoute(any(Location.class));
+  }
+
+  @Test
+  public void onUserOffRoute_stopsGuidingOnceBackOnRoute() throws Exception {
+    Point onSacramentoStreet = TurfMeasurement.destination(TURN, 30, SACRAMENTO_STREET_BEARING,
+      TurfConstants.UNIT_METERS);
+    ArgumentCaptor<ReturnToRouteGuidance> guidance = ArgumentCaptor.forClass(ReturnToRouteGuidance.class);
+
+    navigationService.onUserOffRoute(buildLocationPastTurn(40), true);
+    navigationService.onUserOffRoute(buildLocation(onSacramentoStreet, SACRAMENTO_STREET_BEARING), false);
+    navigationService.onUserOffRoute(buildLocation(onSacramentoStreet, SACRAMENTO_STREET_BEARING), false);
+
+    verify(eventDispatcher, times(2)).onReturnToRoute(any(Location.class), guidance.capture());
+    assertFalse(guidance.getAllValues().get(0).hasReturned());
+    assertTrue(guidance.getAllValues().get(1).hasReturned());
+    assertFalse(returnToRoute.isOffRoute());
+  }
+
+  @Test
+  public void onNewRouteProgress_newRouteStopsGuidingBack() throws Exception {
+    DirectionsRoute newRoute = route.toBuilder().build();
+    navigationService.onUserOffRoute(buildLocationPastTurn(40), true);
+    navigationService.onUserOffRoute(buildLocationPastTurn(120), false);
+
+    navigationService.onNewRouteProgress(buildLocationPastTurn(120), buildRouteProgress(newRoute));
+    navigationService.onUserOffRoute(buildLocationPastTurn(120), false);
+
+    assertFalse(returnToRoute.isOffRoute());
+    verify(eventDispatcher, times(1)).onUserOffRoute(any(Location.class));
+  }
+
+  private RouteProgress buildRouteProgress(DirectionsRoute directionsRoute) {
+    double distanceRemaining = directionsRoute.distance() - DISTANCE_TO_TURN;
+    return RouteProgress.builder()
+      .stepDistanceRemaining(directionsRoute.legs().get(0).steps().get(1).distance())
+      .legDistanceRemaining(distanceRemaining)
+      .distanceRemaining(distanceRemaining)
+      .directionsRoute(directionsRoute)
+      .stepIndex(1)
+      .legIndex(0)
+      .build();
+  }
+
+  private Location buildLocationPastTurn(double distance) {
+    Point point = TurfMeasurement.destination(TURN, distance, TAYLOR_STREET_BEARING, TurfConstants.UNIT_METERS);
+    return buildLocation(point, TAYLOR_STREET_BEARING);
+  }
+
+  private Location buildLocation(Point point, double bearing) {
+    Location location = new Location("test");
+    location.setLatitude(point.latitude());
+    location.setLongitude(point.longitude());
+    location.setBearing((float) bearing);
+    return location;
+  }
+}
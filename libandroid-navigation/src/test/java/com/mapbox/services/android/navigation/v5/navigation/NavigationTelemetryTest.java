@@ -0,0 +1,85 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.location.MockLocationEngine;
+import com.mapbox.services.android.navigation.v5.navigation.metrics.SessionState;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class NavigationTelemetryTest extends BaseTest {
+
+  private NavigationTelemetry telemetry;
+
+  @Before
+  public void setUp() throws Exception {
+    // Runs everything posted to the telemetry thread right away, in order
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        ((Runnable) invocation.getArgument(0)).run();
+        return null;
+      }
+    }).when(executor).execute(any(Runnable.class));
+    telemetry = new NavigationTelemetry(executor);
+  }
+
+  @Test
+  public void updateLocationEngine_storesLocationEngineName() throws Exception {
+    LocationEngine locationEngine = mock(LocationEngine.class);
+
+    telemetry.updateLocationEngine(locationEngine);
+
+    assertEquals(locationEngine.getClass().getName(), telemetry.sessionState().locationEngineName());
+  }
+
+  @Test
+  public void sessionStateUpdates_areAppliedInOrder() throws Exception {
+    DirectionsRoute originalRoute = buildRoute("original");
+    DirectionsRoute updatedRoute = buildRoute("updated");
+
+    telemetry.updateLocationEngine(mock(LocationEngine.class));
+    telemetry.startSession(originalRoute);
+    telemetry.updateSessionRoute(updatedRoute);
+    MockLocationEngine updatedLocationEngine = mock(MockLocationEngine.class);
+    telemetry.updateLocationEngine(updatedLocationEngine);
+
+    SessionState sessionState = telemetry.sessionState();
+    assertNotNull(sessionState.sessionIdentifier());
+    assertSame(originalRoute, sessionState.originalDirectionRoute());
+    assertSame(updatedRoute, sessionState.currentDirectionRoute());
+    assertEquals("original", sessionState.originalRequestIdentifier());
+    assertEquals(0, sessionState.rerouteCount());
+    assertEquals(updatedLocationEngine.getClass().getName(), sessionState.locationEngineName());
+  }
+
+  private DirectionsRoute buildRoute(String requestUuid) {
+    RouteOptions routeOptions = mock(RouteOptions.class);
+    when(routeOptions.requestUuid()).thenReturn(requestUuid);
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.routeOptions()).thenReturn(routeOptions);
+    return route;
+  }
+}
@@ -0,0 +1,119 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.notification.NotificationContentListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class NotificationUpdateSchedulerTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+  private static final long INTERVAL = 1000;
+
+  private DirectionsRoute route;
+  private NotificationContentListener contentListener;
+  private NotificationUpdateScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    DirectionsResponse response = gson.fromJson(loadJsonFixture(PRECISION_6), DirectionsResponse.class);
+    route = response.routes().get(0);
+    contentListener = mock(NotificationContentListener.class);
+    scheduler = new NotificationUpdateScheduler(contentListener, new Handler(Looper.getMainLooper()),
+      INTERVAL, NavigationUnitType.TYPE_IMPERIAL);
+  }
+
+  @Test
+  public void onRouteProgress_firstProgressIsPublished() throws Exception {
+    RouteProgress routeProgress = buildRouteProgress(0, 150);
+
+    scheduler.onRouteProgress(routeProgress);
+
+    verify(contentListener).onNotificationContentChanged(routeProgress);
+  }
+
+  @Test
+  public void onRouteProgress_unchangedContentIsNotPublished() throws Exception {
+    scheduler.onRouteProgress(buildRouteProgress(0, 150));
+    ShadowLooper.idleMainLooper(INTERVAL);
+    RouteProgress unchangedProgress = buildRouteProgress(0, 150);
+
+    scheduler.onRouteProgress(unchangedProgress);
+
+    verify(contentListener, never()).onNotificationContentChanged(unchangedProgress);
+  }
+
+  @Test
+  public void onRouteProgress_changeWithinIntervalIsPublishedWithLatestProgress() throws Exception {
+    scheduler.onRouteProgress(buildRouteProgress(0, 150));
+    RouteProgress firstChange = buildRouteProgress(0, 100);
+    RouteProgress latestChange = buildRouteProgress(0, 50);
+
+    ShadowLooper.idleMainLooper(INTERVAL / 4);
+    scheduler.onRouteProgress(firstChange);
+    ShadowLooper.idleMainLooper(INTERVAL / 4);
+    scheduler.onRouteProgress(latestChange);
+    verify(contentListener, never()).onNotificationContentChanged(latestChange);
+    ShadowLooper.idleMainLooper(INTERVAL / 2);
+
+    verify(contentListener, never()).onNotificationContentChanged(firstChange);
+    verify(contentListener, times(1)).onNotificationContentChanged(latestChange);
+  }
+
+  @Test
+  public void onRouteProgress_newStepIsPublishedImmediately() throws Exception {
+    scheduler.onRouteProgress(buildRouteProgress(0, 150));
+    RouteProgress newStepProgress = buildRouteProgress(1, 150);
+
+    scheduler.onRouteProgress(newStepProgress);
+
+    verify(contentListener).onNotificationContentChanged(newStepProgress);
+  }
+
+  @Test
+  public void cancel_heldBackChangeIsNotPublished() throws Exception {
+    scheduler.onRouteProgress(buildRouteProgress(0, 150));
+    RouteProgress change = buildRouteProgress(0, 50);
+    scheduler.onRouteProgress(change);
+
+    scheduler.cancel();
+    ShadowLooper.idleMainLooper(INTERVAL);
+
+    verify(contentListener, never()).onNotificationContentChanged(change);
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex, double stepDistanceRemaining) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(stepDistanceRemaining)
+      .legDistanceRemaining(route.legs().get(0).distance())
+      .distanceRemaining(route.distance())
+      .directionsRoute(route)
+      .stepIndex(stepIndex)
+      .legIndex(0)
+      .build();
+  }
+}
@@ -0,0 +1,172 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class RouteProgressStreamTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+  private static final long INTERVAL = 1000;
+
+  private MapboxNavigation navigation;
+  private DirectionsRoute route;
+  private Location location;
+  private ProgressChangeListener listener;
+
+  @Before
+  public void setUp() throws Exception {
+    navigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, mock(NavigationTelemetry.class),
+      mock(LocationEngine.class));
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(PRECISION_6), DirectionsResponse.class).routes().get(0);
+    location = mock(Location.class);
+    listener = mock(ProgressChangeListener.class);
+  }
+
+  @Test
+  public void subscribe_deliversEveryUpdate() throws Exception {
+    navigation.routeProgressStream().subscribe(listener);
+    RouteProgress first = buildRouteProgress(0, 300);
+    RouteProgress second = buildRouteProgress(0, 290);
+
+    dispatch(first);
+    dispatch(second);
+
+    verify(listener).onProgressChange(location, first);
+    verify(listener).onProgressChange(location, second);
+  }
+
+  @Test
+  public void sample_deliversLatestUpdateAfterInterval() throws Exception {
+    navigation.routeProgressStream().sample(INTERVAL).subscribe(listener);
+    RouteProgress first = buildRouteProgress(0, 300);
+    RouteProgress skipped = buildRouteProgress(0, 290);
+    RouteProgress latest = buildRouteProgress(0, 280);
+
+    dispatch(first);
+    dispatch(skipped);
+    dispatch(latest);
+    verify(listener, never()).onProgressChange(location, latest);
+    ShadowLooper.idleMainLooper(INTERVAL);
+
+    verify(listener).onProgressChange(location, first);
+    verify(listener, never()).onProgressChange(location, skipped);
+    verify(listener).onProgressChange(location, latest);
+  }
+
+  @Test
+  public void distinctUntilChanged_deliversOncePerStep() throws Exception {
+    navigation.routeProgressStream().distinctUntilChanged(RouteProgressStream.stepIndex()).subscribe(listener);
+    RouteProgress firstStep = buildRouteProgress(0, 300);
+    RouteProgress sameStep = buildRouteProgress(0, 290);
+    RouteProgress nextStep = buildRouteProgress(1, 500);
+
+    dispatch(firstStep);
+    dispatch(sameStep);
+    dispatch(nextStep);
+
+    verify(listener).onProgressChange(location, firstStep);
+    verify(listener, never()).onProgressChange(location, sameStep);
+    verify(listener).onProgressChange(location, nextStep);
+  }
+
+  @Test
+  public void observeOn_busyExecutorReceivesOnlyLatestUpdate() throws Exception {
+    QueueExecutor executor = new QueueExecutor();
+    navigation.routeProgressStream().observeOn(executor).subscribe(listener);
+    RouteProgress first = buildRouteProgress(0, 300);
+    RouteProgress latest = buildRouteProgress(0, 290);
+
+    dispatch(first);
+    dispatch(latest);
+    verify(listener, never()).onProgressChange(location, latest);
+    executor.runAll();
+
+    assertEquals(0, executor.runnables.size());
+    verify(listener, never()).onProgressChange(location, first);
+    verify(listener, times(1)).onProgressChange(location, latest);
+  }
+
+  @Test
+  public void unsubscribe_stopsPendingAndFutureUpdates() throws Exception {
+    QueueExecutor executor = new QueueExecutor();
+    RouteProgressStream.Subscription subscription = navigation.routeProgressStream()
+      .observeOn(executor)
+      .subscribe(listener);
+    RouteProgress pending = buildRouteProgress(0, 300);
+    dispatch(pending);
+
+    subscription.unsubscribe();
+    executor.runAll();
+    dispatch(buildRouteProgress(0, 290));
+
+    assertTrue(subscription.isUnsubscribed());
+    verify(listener, never()).onProgressChange(location, pending);
+    assertEquals(0, executor.runnables.size());
+  }
+
+  private void dispatch(RouteProgress routeProgress) {
+    navigation.getEventDispatcher().onProgressChange(location, routeProgress);
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex, double distanceRemaining) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(distanceRemaining)
+      .legDistanceRemaining(distanceRemaining)
+      .distanceRemaining(distanceRemaining)
+      .directionsRoute(route)
+      .stepIndex(stepIndex)
+      .legIndex(0)
+      .build();
+  }
+
+  private static class QueueExecutor implements Executor {
+
+    private final List<Runnable> runnables = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable runnable) {
+      runnables.add(runnable);
+    }
+
+    void runAll() {
+      List<Runnable> queued = new ArrayList<>(runnables);
+      runnables.clear();
+      for (Runnable runnable : queued) {
+        runnable.run();
+      }
+    }
+  }
+}
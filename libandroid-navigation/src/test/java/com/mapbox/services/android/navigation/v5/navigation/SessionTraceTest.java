@@ -0,0 +1,229 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.location.LocationEngine;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class SessionTraceTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private DirectionsRoute route;
+  private File directory;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    DirectionsResponse response = gson.fromJson(loadJsonFixture(PRECISION_6), DirectionsResponse.class);
+    route = response.routes().get(0);
+    directory = temporaryFolder.newFolder();
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @Test
+  public void read_returnsRecordsInOrder() throws Exception {
+    SessionTraceRecorder recorder = new SessionTraceRecorder(directory, 1024 * 1024, executor);
+    Milestone milestone = new StepMilestone.Builder().setIdentifier(42).build();
+    recorder.recordRoute(route);
+    recorder.recordLocation(buildLocation(1000L));
+    recorder.recordUpdate(buildRouteProgress(), Collections.singletonList(milestone), true, false,
+      new long[] {1, 2, 3, 4});
+    closeRecorder(recorder);
+
+    TraceCollector collector = new TraceCollector();
+    new SessionTraceReader(SessionTraceRecorder.traceFile(directory)).read(collector);
+
+    assertEquals(1, collector.routes.size());
+    assertEquals(route.geometry(), collector.routes.get(0).geometry());
+    assertEquals(1, collector.locations.size());
+    assertEquals(1000L, collector.locations.get(0).getTime());
+    assertEquals(route.legs().get(0).steps().get(0).maneuver().location().latitude(),
+      collector.locations.get(0).getLatitude(), 0.0000001);
+    assertTrue(collector.locations.get(0).hasSpeed());
+    assertFalse(collector.locations.get(0).hasAltitude());
+    assertEquals(1, collector.routeProgresses.size());
+    assertEquals(150d, collector.routeProgresses.get(0).currentLegProgress().currentStepProgress()
+      .distanceRemaining(), 0.001);
+    assertTrue(collector.offRoute.get(0));
+    assertEquals(Collections.singletonList(42), collector.milestones);
+    assertEquals(4L, collector.snapDurations.get(0).longValue());
+  }
+
+  @Test
+  public void recordLocation_fullFileIsRotatedAndStartsWithRoute() throws Exception {
+    SessionTraceRecorder recorder = new SessionTraceRecorder(directory, 256 * 1024, executor);
+    recorder.recordRoute(route);
+    for (int i = 0; i < 6000; i++) {
+      recorder.recordLocation(buildLocation(i));
+    }
+    closeRecorder(recorder);
+
+    TraceCollector previousCollector = new TraceCollector();
+    new SessionTraceReader(SessionTraceRecorder.previousTraceFile(directory)).read(previousCollector);
+    TraceCollector currentCollector = new TraceCollector();
+    new SessionTraceReader(SessionTraceRecorder.traceFile(directory)).read(currentCollector);
+
+    assertTrue(SessionTraceRecorder.traceFile(directory).length() <= 256 * 1024);
+    assertEquals(1, currentCollector.routes.size());
+    assertFalse(currentCollector.locations.isEmpty());
+    long lastTime = currentCollector.locations.get(currentCollector.locations.size() - 1).getTime();
+    assertEquals(5999L, lastTime);
+    assertFalse(previousCollector.locations.isEmpty());
+  }
+
+  @Test
+  public void recordRoute_routeLargerThanFileIsKeptInEveryFile() throws Exception {
+    SessionTraceRecorder recorder = new SessionTraceRecorder(directory, 64 * 1024, executor);
+    recorder.recordRoute(route);
+    for (int i = 0; i < 3000; i++) {
+      recorder.recordLocation(buildLocation(i));
+    }
+    closeRecorder(recorder);
+
+    TraceCollector previousCollector = new TraceCollector();
+    new SessionTraceReader(SessionTraceRecorder.previousTraceFile(directory)).read(previousCollector);
+    TraceCollector currentCollector = new TraceCollector();
+    new SessionTraceReader(SessionTraceRecorder.traceFile(directory)).read(currentCollector);
+
+    assertTrue(SessionTraceRecorder.traceFile(directory).length() > 64 * 1024);
+    assertEquals(1, previousCollector.routes.size());
+    assertEquals(route.geometry(), previousCollector.routes.get(0).geometry());
+    assertEquals(1, currentCollector.routes.size());
+    assertFalse(previousCollector.locations.isEmpty());
+    long lastTime = currentCollector.locations.get(currentCollector.locations.size() - 1).getTime();
+    assertEquals(2999L, lastTime);
+  }
+
+  @Test(expected = IOException.class)
+  public void sessionTraceReader_rejectsOtherFiles() throws Exception {
+    File file = temporaryFolder.newFile();
+
+    new SessionTraceReader(file);
+  }
+
+  @Test
+  public void replay_recalculatesRouteProgress() throws Exception {
+    SessionTraceRecorder recorder = new SessionTraceRecorder(directory, 1024 * 1024, executor);
+    recorder.recordRoute(route);
+    recorder.recordLocation(buildLocation(1000L));
+    recorder.recordLocation(buildLocation(2000L));
+    closeRecorder(recorder);
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder().build();
+    MapboxNavigation navigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, options,
+      mock(NavigationTelemetry.class), mock(LocationEngine.class));
+
+    TraceCollector collector = new TraceCollector();
+    new SessionTraceReader(SessionTraceRecorder.traceFile(directory)).replay(navigation, collector);
+
+    assertEquals(2, collector.locations.size());
+    assertEquals(2, collector.routeProgresses.size());
+    assertEquals(0, collector.routeProgresses.get(1).legIndex());
+    assertEquals(route.geometry(), collector.routeProgresses.get(1).directionsRoute().geometry());
+    assertEquals(2, collector.snapDurations.size());
+  }
+
+  private void closeRecorder(SessionTraceRecorder recorder) throws InterruptedException {
+    recorder.close();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  private Location buildLocation(long time) {
+    Point point = route.legs().get(0).steps().get(0).maneuver().location();
+    Location location = new Location("test");
+    location.setLatitude(point.latitude());
+    location.setLongitude(point.longitude());
+    location.setSpeed(10f);
+    location.setBearing(90f);
+    location.setAccuracy(5f);
+    location.setTime(time);
+    return location;
+  }
+
+  private RouteProgress buildRouteProgress() {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(150)
+      .legDistanceRemaining(700)
+      .distanceRemaining(1000)
+      .directionsRoute(route)
+      .stepIndex(0)
+      .legIndex(0)
+      .build();
+  }
+
+  private static class TraceCollector implements SessionTraceReader.Callback {
+
+    private List<DirectionsRoute> routes = new ArrayList<>();
+    private List<Location> locations = new ArrayList<>();
+    private List<RouteProgress> routeProgresses = new ArrayList<>();
+    private List<Boolean> offRoute = new ArrayList<>();
+    private List<Integer> milestones = new ArrayList<>();
+    private List<Long> snapDurations = new ArrayList<>();
+
+    @Override
+    public void onRoute(DirectionsRoute route) {
+      routes.add(route);
+    }
+
+    @Override
+    public void onLocation(Location location) {
+      locations.add(location);
+    }
+
+    @Override
+    public void onRouteProgress(RouteProgress routeProgress, boolean userOffRoute, boolean checkFasterRoute) {
+      routeProgresses.add(routeProgress);
+      offRoute.add(userOffRoute);
+    }
+
+    @Override
+    public void onMilestone(int identifier) {
+      milestones.add(identifier);
+    }
+
+    @Override
+    public void onStageDurations(long routeProgress, long milestones, long offRoute, long snap) {
+      snapDurations.add(snap);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class TelemetryEventLogTest extends BaseTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    file = new File(temporaryFolder.getRoot(), "events.log");
+  }
+
+  @Test
+  public void append_eventsSurviveReopening() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    eventLog.append("{\"event\":1}");
+    eventLog.append("{\"event\":2}");
+
+    TelemetryEventLog reopenedLog = new TelemetryEventLog(file, 1024);
+    List<String> events = reopenedLog.read(10, 1024);
+
+    assertEquals(2, reopenedLog.size());
+    assertEquals("{\"event\":1}", events.get(0));
+    assertEquals("{\"event\":2}", events.get(1));
+  }
+
+  @Test
+  public void append_oldestEventsDroppedWhenFull() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 20);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+    eventLog.append("event-3");
+
+    List<String> events = eventLog.read(10, 1024);
+
+    assertEquals(2, events.size());
+    assertEquals("event-2", events.get(0));
+    assertTrue(eventLog.byteCount() <= 20);
+    assertEquals(eventLog.byteCount(), file.length());
+  }
+
+  @Test
+  public void append_multilineEventIsRejected() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+
+    assertFalse(eventLog.append("first\nsecond"));
+    assertEquals(0, eventLog.size());
+  }
+
+  @Test
+  public void read_limitedByCountAndBytes() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    for (int i = 0; i < 5; i++) {
+      eventLog.append("event-" + i);
+    }
+
+    assertEquals(3, eventLog.read(3, 1024).size());
+    assertEquals(2, eventLog.read(10, 16).size());
+    assertEquals(1, eventLog.read(10, 1).size());
+  }
+
+  @Test
+  public void remove_dropsEventsFromStart() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+    eventLog.append("event-3");
+
+    eventLog.remove(2);
+
+    assertEquals(1, eventLog.size());
+    assertEquals("event-3", eventLog.read(10, 1024).get(0));
+    assertEquals(8, eventLog.byteCount());
+  }
+
+  @Test
+  public void remove_doesNotRewriteLog() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+    long lastModified = file.lastModified();
+    long length = file.length();
+
+    eventLog.remove(1);
+
+    assertEquals(length, file.length());
+    assertEquals(lastModified, file.lastModified());
+    assertEquals("event-2", eventLog.read(10, 1024).get(0));
+  }
+
+  @Test
+  public void remove_readPositionSurvivesReopening() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+    eventLog.append("event-3");
+    eventLog.remove(1);
+
+    TelemetryEventLog reopenedLog = new TelemetryEventLog(file, 1024);
+    List<String> events = reopenedLog.read(10, 1024);
+
+    assertEquals(2, reopenedLog.size());
+    assertEquals(16, reopenedLog.byteCount());
+    assertEquals("event-2", events.get(0));
+  }
+
+  @Test
+  public void remove_allEventsTruncatesLog() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+
+    eventLog.remove(2);
+
+    assertEquals(0, eventLog.size());
+    assertEquals(0, file.length());
+    assertTrue(eventLog.read(10, 1024).isEmpty());
+  }
+
+  @Test
+  public void append_compactsRemovedEventsWhenFull() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 24);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+    eventLog.append("event-3");
+    eventLog.remove(1);
+
+    eventLog.append("event-4");
+
+    List<String> events = eventLog.read(10, 1024);
+    assertEquals(3, events.size());
+    assertEquals("event-2", events.get(0));
+    assertEquals("event-4", events.get(2));
+    assertEquals(24, file.length());
+  }
+
+  @Test
+  public void open_invalidReadPositionReadsFromStart() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+    eventLog.append("event-1");
+    eventLog.append("event-2");
+    eventLog.remove(1);
+    RandomAccessFile offsetFile = new RandomAccessFile(file.getPath() + ".offset", "rw");
+    try {
+      offsetFile.writeLong(3);
+    } finally {
+      offsetFile.close();
+    }
+
+    TelemetryEventLog reopenedLog = new TelemetryEventLog(file, 1024);
+
+    assertEquals(2, reopenedLog.size());
+    assertEquals("event-1", reopenedLog.read(10, 1024).get(0));
+  }
+
+  @Test
+  public void open_incompleteLastEventIsDiscarded() throws Exception {
+    OutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write("event-1\nevent-2\nevent-".getBytes("UTF-8"));
+    } finally {
+      outputStream.close();
+    }
+
+    TelemetryEventLog eventLog = new TelemetryEventLog(file, 1024);
+
+    assertEquals(2, eventLog.size());
+    assertEquals(16, file.length());
+  }
+}
@@ -0,0 +1,172 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TelemetryEventQueueTest extends BaseTest {
+
+  private static final long NOW = 1000000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private List<List<Hashtable<String, Object>>> sentBatches = new ArrayList<>();
+  private TelemetryEventQueue eventQueue;
+
+  @Before
+  public void setUp() throws Exception {
+    TelemetryEventLog eventLog = new TelemetryEventLog(new File(temporaryFolder.getRoot(), "events.log"), 1024 * 1024);
+    eventQueue = new TelemetryEventQueue(eventLog, new TelemetryEventQueue.Sender() {
+      @Override
+      public void send(List<Hashtable<String, Object>> events) {
+        sentBatches.add(events);
+      }
+    }, NOW);
+  }
+
+  @Test
+  public void flushIfNeeded_notConnectedDoesNotSend() throws Exception {
+    addEvents(1);
+
+    assertFalse(eventQueue.flushIfNeeded(false, false, NOW));
+    assertTrue(sentBatches.isEmpty());
+    assertEquals(1, eventQueue.size());
+  }
+
+  @Test
+  public void flushIfNeeded_unmeteredSendsEventsInOrder() throws Exception {
+    addEvents(3);
+
+    assertTrue(eventQueue.flushIfNeeded(true, false, NOW));
+
+    assertEquals(1, sentBatches.size());
+    assertEquals(3, sentBatches.get(0).size());
+    assertEquals("event-0", sentBatches.get(0).get(0).get("event"));
+    assertEquals("event-2", sentBatches.get(0).get(2).get("event"));
+    assertEquals(0, eventQueue.size());
+  }
+
+  @Test
+  public void flushIfNeeded_meteredWaitsForEnoughEvents() throws Exception {
+    addEvents(TelemetryEventQueue.METERED_FLUSH_EVENT_COUNT - 1);
+
+    assertFalse(eventQueue.flushIfNeeded(true, true, NOW));
+
+    addEvents(1);
+
+    assertTrue(eventQueue.flushIfNeeded(true, true, NOW));
+  }
+
+  @Test
+  public void flushIfNeeded_meteredSendsOldEvents() throws Exception {
+    addEvents(1);
+
+    assertTrue(eventQueue.flushIfNeeded(true, true, NOW + TelemetryEventQueue.MAXIMUM_EVENT_AGE));
+  }
+
+  @Test
+  public void flush_splitsIntoBatches() throws Exception {
+    addEvents(TelemetryEventQueue.BATCH_MAX_EVENTS + 1);
+
+    eventQueue.flush();
+
+    assertEquals(2, sentBatches.size());
+    assertEquals(0, eventQueue.size());
+  }
+
+  @Test
+  public void clear_dropsEventsWithoutSending() throws Exception {
+    addEvents(2);
+
+    eventQueue.clear();
+
+    assertEquals(0, eventQueue.size());
+    assertFalse(eventQueue.flushIfNeeded(true, false, NOW));
+    assertTrue(sentBatches.isEmpty());
+  }
+
+  @Test
+  public void flush_sendsEventWithOriginalValueTypes() throws Exception {
+    Location location = new Location("test");
+    location.setTime(1500000000000L);
+    location.setLatitude(38.9);
+    location.setLongitude(-77.03);
+    location.setSpeed(12.5f);
+    location.setAccuracy(5f);
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "navigation.reroute");
+    event.put("distanceRemaining", 150);
+    event.put("startTimestamp", 1500000000000L);
+    event.put("percentTimeInPortrait", 0.5);
+    event.put("simulation", true);
+    event.put("locationsBefore", new Location[] {location});
+    eventQueue.add(event, NOW);
+
+    eventQueue.flush();
+
+    Hashtable<String, Object> sentEvent = sentBatches.get(0).get(0);
+    assertEquals("navigation.reroute", sentEvent.get("event"));
+    assertEquals(150, sentEvent.get("distanceRemaining"));
+    assertEquals(1500000000000L, sentEvent.get("startTimestamp"));
+    assertEquals(0.5, sentEvent.get("percentTimeInPortrait"));
+    assertEquals(true, sentEvent.get("simulation"));
+    Location sentLocation = ((Location[]) sentEvent.get("locationsBefore"))[0];
+    assertEquals(1500000000000L, sentLocation.getTime());
+    assertEquals(38.9, sentLocation.getLatitude(), DELTA);
+    assertEquals(-77.03, sentLocation.getLongitude(), DELTA);
+    assertEquals(12.5f, sentLocation.getSpeed(), DELTA);
+    assertEquals(5f, sentLocation.getAccuracy(), DELTA);
+    assertFalse(sentLocation.hasBearing());
+  }
+
+  @Test
+  public void flush_skipsDamagedEvents() throws Exception {
+    File logFile = new File(temporaryFolder.getRoot(), "damaged.log");
+    TelemetryEventLog eventLog = new TelemetryEventLog(logFile, 1024 * 1024);
+    eventLog.append("not an event");
+    eventLog.append("{\"event\":[\"s\",\"event-0\"]}");
+    eventQueue = new TelemetryEventQueue(eventLog, new TelemetryEventQueue.Sender() {
+      @Override
+      public void send(List<Hashtable<String, Object>> events) {
+        sentBatches.add(events);
+      }
+    }, NOW);
+
+    eventQueue.flush();
+
+    assertEquals(1, sentBatches.get(0).size());
+    assertEquals("event-0", sentBatches.get(0).get(0).get("event"));
+    assertEquals(0, eventQueue.size());
+  }
+
+  private void addEvents(int count) {
+    for (int i = 0; i < count; i++) {
+      Map<String, Object> event = new HashMap<>();
+      event.put("event", "event-" + i);
+      eventQueue.add(event, NOW);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.mapbox.services.android.navigation.v5.navigation.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+public class TelemetryGeometryTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+
+  @Test
+  public void toPrecisionFive_matchesDecodingAndEncoding() throws Exception {
+    String geometry = buildRoute().geometry();
+    List<Point> points = PolylineUtils.decode(geometry, Constants.PRECISION_6);
+
+    String expectedGeometry = PolylineUtils.encode(points, Constants.PRECISION_5);
+
+    assertEquals(expectedGeometry, TelemetryGeometry.toPrecisionFive(geometry));
+  }
+
+  @Test
+  public void toPrecisionFive_sameGeometryIsConvertedOnce() throws Exception {
+    String geometry = buildRoute().geometry();
+
+    String firstResult = TelemetryGeometry.toPrecisionFive(geometry);
+    String secondResult = TelemetryGeometry.toPrecisionFive(geometry);
+
+    assertSame(firstResult, secondResult);
+  }
+
+  @Test
+  public void toPrecisionFive_missingGeometryReturnsEmptyString() throws Exception {
+    assertEquals("", TelemetryGeometry.toPrecisionFive(null));
+    assertEquals("", TelemetryGeometry.toPrecisionFive(""));
+  }
+
+  @Test
+  public void sessionState_sharesGeometryBetweenEvents() throws Exception {
+    DirectionsRoute route = buildRoute();
+    SessionState sessionState = SessionState.builder()
+      .originalDirectionRoute(route)
+      .currentDirectionRoute(route)
+      .build();
+    SessionState eventSessionState = sessionState.toBuilder()
+      .rerouteCount(1)
+      .build();
+
+    assertSame(sessionState.currentGeometry(), eventSessionState.currentGeometry());
+    assertSame(sessionState.currentGeometry(), eventSessionState.originalGeometry());
+  }
+
+  private DirectionsRoute buildRoute() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    String body = loadJsonFixture(PRECISION_6);
+    DirectionsResponse response = gson.fromJson(body, DirectionsResponse.class);
+    return response.routes().get(0);
+  }
+}
@@ -0,0 +1,77 @@
+package com.mapbox.services.android.navigation.v5.network;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+
+import static com.mapbox.services.android.navigation.v5.network.NavigationHttpClient.PRIORITY_HIGH;
+import static com.mapbox.services.android.navigation.v5.network.NavigationHttpClient.PRIORITY_LOW;
+import static com.mapbox.services.android.navigation.v5.network.NavigationHttpClient.PRIORITY_NORMAL;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class NavigationHttpClientTest extends BaseTest {
+
+  private NavigationHttpClient httpClient;
+
+  @Before
+  public void setUp() throws Exception {
+    httpClient = new NavigationHttpClient();
+  }
+
+  @Test
+  public void getInstance_returnsSameClient() throws Exception {
+    assertSame(NavigationHttpClient.getInstance(), NavigationHttpClient.getInstance());
+  }
+
+  @Test
+  public void client_allPrioritiesShareConnectionPool() throws Exception {
+    OkHttpClient highPriorityClient = httpClient.client(PRIORITY_HIGH);
+    OkHttpClient lowPriorityClient = httpClient.client(PRIORITY_LOW);
+
+    assertNotSame(highPriorityClient, lowPriorityClient);
+    assertSame(highPriorityClient.connectionPool(), lowPriorityClient.connectionPool());
+    assertSame(highPriorityClient.connectionPool(), httpClient.client(PRIORITY_NORMAL).connectionPool());
+  }
+
+  @Test
+  public void client_lowerPrioritiesAreLimited() throws Exception {
+    int highMaxRequests = httpClient.client(PRIORITY_HIGH).dispatcher().getMaxRequests();
+    int normalMaxRequests = httpClient.client(PRIORITY_NORMAL).dispatcher().getMaxRequests();
+    int lowMaxRequests = httpClient.client(PRIORITY_LOW).dispatcher().getMaxRequests();
+
+    assertTrue(highMaxRequests > normalMaxRequests);
+    assertTrue(normalMaxRequests > lowMaxRequests);
+    assertEquals(1, lowMaxRequests);
+  }
+
+  @Test
+  public void setCache_appliesToAllPriorities() throws Exception {
+    Cache cache = new Cache(new File(System.getProperty("java.io.tmpdir"), "navigation-http-test"), 1024);
+
+    httpClient.setCache(cache);
+
+    assertSame(cache, httpClient.getCache());
+    assertSame(cache, httpClient.client(PRIORITY_HIGH).cache());
+    assertSame(cache, httpClient.client(PRIORITY_NORMAL).cache());
+    assertSame(cache, httpClient.client(PRIORITY_LOW).cache());
+  }
+
+  @Test
+  public void setCache_nullRemovesCache() throws Exception {
+    httpClient.setCache(new Cache(new File(System.getProperty("java.io.tmpdir"), "navigation-http-test"), 1024));
+
+    httpClient.setCache(null);
+
+    assertNull(httpClient.client(PRIORITY_HIGH).cache());
+  }
+}
@@ -0,0 +1,125 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class OffRouteScorerTest extends BaseTest {
+
+  private static final double TOLERANCE = 50;
+  private static final double ACCURACY = 5;
+  private static final double FAR = 150;
+  private static final double NEAR = 10;
+
+  private OffRouteScorer scorer;
+
+  @Before
+  public void setUp() throws Exception {
+    scorer = new OffRouteScorer(MapboxNavigationOptions.builder().build());
+  }
+
+  @Test
+  public void singleFarLocation_isNotOffRoute() throws Exception {
+    scorer.update(0, NEAR, TOLERANCE, ACCURACY, Double.NaN);
+    scorer.update(1000, NEAR, TOLERANCE, ACCURACY, Double.NaN);
+
+    boolean isOffRoute = scorer.update(2000, FAR, TOLERANCE, ACCURACY, Double.NaN);
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void sustainedFarLocations_areOffRoute() throws Exception {
+    boolean isOffRoute = false;
+    for (int i = 0; i < 3; i++) {
+      isOffRoute = scorer.update(i * 1000, FAR, TOLERANCE, ACCURACY, Double.NaN);
+    }
+
+    assertTrue(isOffRoute);
+  }
+
+  @Test
+  public void offRoute_staysUntilConfidenceDropsBelowExit() throws Exception {
+    for (int i = 0; i < 6; i++) {
+      scorer.update(i * 1000, FAR, TOLERANCE, ACCURACY, Double.NaN);
+    }
+
+    boolean isStillOffRoute = scorer.update(6000, NEAR, TOLERANCE, ACCURACY, Double.NaN);
+    boolean isBackOnRoute = true;
+    for (int i = 7; i < 13; i++) {
+      isBackOnRoute = !scorer.update(i * 1000, NEAR, TOLERANCE, ACCURACY, Double.NaN);
+    }
+
+    assertTrue(isStillOffRoute);
+    assertTrue(isBackOnRoute);
+  }
+
+  @Test
+  public void inaccurateLocations_areNotOffRoute() throws Exception {
+    boolean isOffRoute = false;
+    for (int i = 0; i < 5; i++) {
+      isOffRoute = scorer.update(i * 1000, 80, TOLERANCE, 60, Double.NaN);
+    }
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void headingDisagreementAlone_isNotOffRoute() throws Exception {
+    boolean isOffRoute = false;
+    for (int i = 0; i < 5; i++) {
+      isOffRoute = scorer.update(i * 1000, NEAR, TOLERANCE, ACCURACY, 180);
+    }
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void wideCourseAngle_scoresHeading() throws Exception {
+    scorer = new OffRouteScorer(MapboxNavigationOptions.builder().maxManipulatedCourseAngle(90).build());
+
+    scorer.update(0, NEAR, TOLERANCE, ACCURACY, 135);
+    assertEquals(0.5 * 0.3, scorer.confidence(), DELTA);
+    scorer.update(1000, NEAR, TOLERANCE, ACCURACY, 180);
+    assertFalse(Double.isNaN(scorer.confidence()));
+  }
+
+  @Test
+  public void courseAngleOfHalfCircle_ignoresHeading() throws Exception {
+    scorer = new OffRouteScorer(MapboxNavigationOptions.builder().maxManipulatedCourseAngle(180).build());
+
+    scorer.update(0, NEAR, TOLERANCE, ACCURACY, 180);
+
+    assertEquals(0, scorer.confidence(), DELTA);
+  }
+
+  @Test
+  public void updateOptions_appliesNewThresholds() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      scorer.update(i * 1000, TOLERANCE, TOLERANCE, 0, Double.NaN);
+    }
+    assertFalse(scorer.update(3000, TOLERANCE, TOLERANCE, 0, Double.NaN));
+
+    scorer.updateOptions(MapboxNavigationOptions.builder().offRouteEnterConfidence(0.5).build());
+
+    assertTrue(scorer.update(4000, TOLERANCE, TOLERANCE, 0, Double.NaN));
+  }
+
+  @Test
+  public void reset_forgetsOffRoute() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      scorer.update(i * 1000, FAR, TOLERANCE, ACCURACY, Double.NaN);
+    }
+
+    scorer.reset();
+    boolean isOffRoute = scorer.update(3000, FAR, TOLERANCE, ACCURACY, Double.NaN);
+
+    assertFalse(isOffRoute);
+  }
+}
@@ -0,0 +1,61 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.PolylineGeometry;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class StepGeometryTest extends BaseTest {
+
+  private static final Point START = Point.fromLngLat(0, 0);
+  private static final Point JOINT = Point.fromLngLat(0, 0.001);
+  private static final Point EAST = Point.fromLngLat(0.001, 0.001);
+
+  @Test
+  public void match_returnsDistanceAndBearingOfClosestSegment() throws Exception {
+    PolylineGeometry geometry = new PolylineGeometry(PolylineUtils.encode(Arrays.asList(START, JOINT, EAST),
+      PRECISION_6));
+    Point location = Point.fromLngLat(0.0005, 0.0012);
+
+    StepGeometry.Match match = StepGeometry.match(geometry, location.latitude(), location.longitude());
+
+    double expectedDistance = TurfMeasurement.distance(location, Point.fromLngLat(0.0005, 0.001),
+      TurfConstants.UNIT_METERS);
+    assertEquals(expectedDistance, match.distance, LARGE_DELTA);
+    assertEquals(90, match.bearing, LARGE_DELTA);
+  }
+
+  @Test
+  public void match_singlePointStepHasNoBearing() throws Exception {
+    PolylineGeometry geometry = new PolylineGeometry(PolylineUtils.encode(Arrays.asList(JOINT), PRECISION_6));
+
+    StepGeometry.Match match = StepGeometry.match(geometry, START.latitude(), START.longitude());
+
+    assertEquals(TurfMeasurement.distance(START, JOINT, TurfConstants.UNIT_METERS), match.distance, LARGE_DELTA);
+    assertTrue(Double.isNaN(match.bearing));
+  }
+
+  @Test
+  public void match_emptyGeometryIsOnTheStep() throws Exception {
+    StepGeometry.Match match = StepGeometry.match(new PolylineGeometry(null), START.latitude(), START.longitude());
+
+    assertEquals(0, match.distance, DELTA);
+    assertTrue(Double.isNaN(match.bearing));
+  }
+}
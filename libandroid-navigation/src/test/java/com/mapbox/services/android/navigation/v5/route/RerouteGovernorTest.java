@@ -0,0 +1,142 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class RerouteGovernorTest extends BaseTest {
+
+  private RerouteGovernor rerouteGovernor;
+
+  @Before
+  public void setUp() throws Exception {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .secondsBeforeReroute(3)
+      .rerouteRequestBudget(5)
+      .build();
+    rerouteGovernor = new RerouteGovernor(options);
+  }
+
+  @Test
+  public void allowReroute_firstRequestIsAllowed() throws Exception {
+    assertTrue(rerouteGovernor.allowReroute(0));
+    assertEquals(1, rerouteGovernor.requestCount());
+  }
+
+  @Test
+  public void allowReroute_requestWithinSecondsBeforeRerouteIsSuppressed() throws Exception {
+    rerouteGovernor.allowReroute(0);
+
+    assertFalse(rerouteGovernor.allowReroute(2000));
+    assertTrue(rerouteGovernor.allowReroute(3000));
+    assertEquals(1, rerouteGovernor.suppressedCount(RerouteGovernor.SUPPRESSED_DEBOUNCE));
+  }
+
+  @Test
+  public void onRerouteFailed_backoffDoublesWithEachFailure() throws Exception {
+    rerouteGovernor.allowReroute(0);
+    rerouteGovernor.onRerouteFailed(1000);
+    assertFalse(rerouteGovernor.allowReroute(3500));
+    assertTrue(rerouteGovernor.allowReroute(4000));
+
+    rerouteGovernor.onRerouteFailed(5000);
+
+    assertFalse(rerouteGovernor.allowReroute(10000));
+    assertTrue(rerouteGovernor.allowReroute(11000));
+    assertEquals(2, rerouteGovernor.suppressedCount(RerouteGovernor.SUPPRESSED_BACKOFF));
+  }
+
+  @Test
+  public void onRerouteSucceeded_resetsBackoff() throws Exception {
+    rerouteGovernor.allowReroute(0);
+    rerouteGovernor.onRerouteFailed(1000);
+    rerouteGovernor.onRerouteSucceeded();
+
+    assertTrue(rerouteGovernor.allowReroute(3000));
+  }
+
+  @Test
+  public void allowReroute_exhaustedBudgetIsSuppressed() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      assertTrue(rerouteGovernor.allowReroute(i * 10000));
+    }
+
+    assertFalse(rerouteGovernor.allowReroute(100000));
+    assertTrue(rerouteGovernor.isCircuitOpen(100000));
+    assertEquals(1, rerouteGovernor.suppressedCount(RerouteGovernor.SUPPRESSED_BUDGET));
+  }
+
+  @Test
+  public void reset_restoresBudgetAndClosesCircuit() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      rerouteGovernor.allowReroute(i * 10000);
+    }
+    rerouteGovernor.allowReroute(100000);
+    rerouteGovernor.onRerouteFailed(100000);
+
+    rerouteGovernor.reset();
+
+    assertFalse(rerouteGovernor.isCircuitOpen(100000));
+    assertEquals(0, rerouteGovernor.requestCount());
+    assertEquals(0, rerouteGovernor.suppressedCount());
+    assertTrue(rerouteGovernor.allowReroute(100000));
+  }
+
+  @Test
+  public void onRerouteFailed_consecutiveFailuresOpenCircuit() throws Exception {
+    rerouteGovernor.onRerouteFailed(0);
+    rerouteGovernor.onRerouteFailed(0);
+    rerouteGovernor.onRerouteFailed(0);
+
+    assertTrue(rerouteGovernor.isCircuitOpen(60000));
+    assertFalse(rerouteGovernor.allowReroute(90000));
+    assertEquals(1, rerouteGovernor.suppressedCount(RerouteGovernor.SUPPRESSED_CIRCUIT_OPEN));
+  }
+
+  @Test
+  public void isCircuitOpen_allowsSingleRequestAfterResetDuration() throws Exception {
+    rerouteGovernor.onRerouteFailed(0);
+    rerouteGovernor.onRerouteFailed(0);
+    rerouteGovernor.onRerouteFailed(0);
+
+    assertTrue(rerouteGovernor.allowReroute(120000));
+    rerouteGovernor.onRerouteFailed(121000);
+
+    assertTrue(rerouteGovernor.isCircuitOpen(200000));
+  }
+
+  @Test
+  public void isCircuitOpen_doesNotChangeState() throws Exception {
+    rerouteGovernor.onRerouteFailed(0);
+    rerouteGovernor.onRerouteFailed(0);
+    rerouteGovernor.onRerouteFailed(0);
+
+    assertFalse(rerouteGovernor.isCircuitOpen(120000));
+    assertFalse(rerouteGovernor.isCircuitOpen(120000));
+    assertTrue(rerouteGovernor.isCircuitOpen(60000));
+    assertTrue(rerouteGovernor.allowReroute(120000));
+    rerouteGovernor.onRerouteFailed(121000);
+
+    assertTrue(rerouteGovernor.isCircuitOpen(122000));
+  }
+
+  @Test
+  public void allowReroute_suppressedRequestNotifiesListener() throws Exception {
+    RerouteSuppressedListener listener = mock(RerouteSuppressedListener.class);
+    rerouteGovernor.setRerouteSuppressedListener(listener);
+    rerouteGovernor.allowReroute(0);
+
+    rerouteGovernor.allowReroute(1000);
+
+    verify(listener).onRerouteSuppressed(RerouteGovernor.SUPPRESSED_DEBOUNCE, 1);
+    assertEquals(1, rerouteGovernor.suppressedCount());
+  }
+}
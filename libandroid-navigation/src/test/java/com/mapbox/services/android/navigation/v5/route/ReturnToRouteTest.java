@@ -0,0 +1,153 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ReturnToRouteTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  // The right turn from Taylor Street onto Sacramento Street
+  private static final Point TURN = Point.fromLngLat(-122.412667, 37.792557);
+  private static final double DISTANCE_TO_TURN = 279.8;
+  private static final double TAYLOR_STREET_BEARING = 171;
+  private static final double SACRAMENTO_STREET_BEARING = 260;
+
+  private DirectionsRoute route;
+  private RouteProgress routeProgress;
+  private ReturnToRoute returnToRoute;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class).routes().get(0);
+    double distanceRemaining = route.distance() - DISTANCE_TO_TURN;
+    routeProgress = RouteProgress.builder()
+      .stepDistanceRemaining(route.legs().get(0).steps().get(1).distance())
+      .legDistanceRemaining(distanceRemaining)
+      .distanceRemaining(distanceRemaining)
+      .directionsRoute(route)
+      .stepIndex(1)
+      .legIndex(0)
+      .build();
+    returnToRoute = new ReturnToRoute(MapboxNavigationOptions.builder().build());
+  }
+
+  @Test
+  public void update_missedTurnGuidesBackToTurn() throws Exception {
+    Location location = buildLocationPastTurn(40);
+
+    ReturnToRouteGuidance guidance = returnToRoute.update(location, routeProgress, 0);
+
+    assertNotNull(guidance);
+    assertFalse(guidance.hasReturned());
+    assertTrue(returnToRoute.isActive());
+    assertEquals(40, guidance.distance(), 5);
+    assertEquals(TAYLOR_STREET_BEARING + 180, guidance.bearing(), 10);
+    assertEquals(routeProgress.distanceRemaining(), guidance.distanceRemaining(), 10);
+  }
+
+  @Test
+  public void update_neverGuidesBackToRouteAlreadyTraveled() throws Exception {
+    // Next to the start of Taylor Street, which has already been traveled
+    Point start = route.legs().get(0).steps().get(0).maneuver().location();
+    Point nextToStart = TurfMeasurement.destination(start, 30, 90, TurfConstants.UNIT_METERS);
+    Location location = buildLocation(nextToStart, 1);
+
+    ReturnToRouteGuidance guidance = returnToRoute.update(location, routeProgress, 0);
+
+    assertNotNull(guidance);
+    assertTrue(guidance.distanceRemaining() <= routeProgress.distanceRemaining() + 1);
+    assertTrue(guidance.distance() > 200);
+  }
+
+  @Test
+  public void update_growingDeviationRequestsReroute() throws Exception {
+    returnToRoute.update(buildLocationPastTurn(40), routeProgress, 0);
+
+    ReturnToRouteGuidance guidance = returnToRoute.update(buildLocationPastTurn(120), routeProgress, 5000);
+
+    assertNull(guidance);
+    assertFalse(returnToRoute.isActive());
+    assertNull(returnToRoute.update(buildLocationPastTurn(40), routeProgress, 6000));
+  }
+
+  @Test
+  public void update_timeoutRequestsReroute() throws Exception {
+    returnToRoute.update(buildLocationPastTurn(40), routeProgress, 0);
+
+    assertNotNull(returnToRoute.update(buildLocationPastTurn(40), routeProgress, 30000));
+    assertNull(returnToRoute.update(buildLocationPastTurn(40), routeProgress, 30001));
+  }
+
+  @Test
+  public void update_tooFarFromRouteRequestsReroute() throws Exception {
+    Point farAway = TurfMeasurement.destination(TURN, 1000, 90, TurfConstants.UNIT_METERS);
+
+    assertNull(returnToRoute.update(buildLocation(farAway, 1), routeProgress, 0));
+  }
+
+  @Test
+  public void update_backOnRouteAfterRerouteRequestedReturns() throws Exception {
+    Point onSacramentoStreet = TurfMeasurement.destination(TURN, 30, SACRAMENTO_STREET_BEARING,
+      TurfConstants.UNIT_METERS);
+    returnToRoute.update(buildLocationPastTurn(40), routeProgress, 0);
+    returnToRoute.update(buildLocationPastTurn(120), routeProgress, 5000);
+
+    ReturnToRouteGuidance guidance = returnToRoute.update(buildLocation(onSacramentoStreet,
+      SACRAMENTO_STREET_BEARING), routeProgress, 6000);
+
+    assertNotNull(guidance);
+    assertTrue(guidance.hasReturned());
+    assertFalse(returnToRoute.isOffRoute());
+  }
+
+  @Test
+  public void reset_guidesBackAgainAfterReroute() throws Exception {
+    returnToRoute.update(buildLocationPastTurn(40), routeProgress, 0);
+    returnToRoute.update(buildLocationPastTurn(120), routeProgress, 5000);
+
+    returnToRoute.reset();
+
+    assertNotNull(returnToRoute.update(buildLocationPastTurn(40), routeProgress, 6000));
+  }
+
+  private Location buildLocationPastTurn(double distance) {
+    Point point = TurfMeasurement.destination(TURN, distance, TAYLOR_STREET_BEARING, TurfConstants.UNIT_METERS);
+    return buildLocation(point, TAYLOR_STREET_BEARING);
+  }
+
+  private Location buildLocation(Point point, double bearing) {
+    Location location = new Location("test");
+    location.setLatitude(point.latitude());
+    location.setLongitude(point.longitude());
+    location.setBearing((float) bearing);
+    return location;
+  }
+}
@@ -0,0 +1,93 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class RouteDiffTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+  private static final String MULTI_LEG_ROUTE = "directions_two_leg_route.json";
+
+  private DirectionsRoute route;
+  private DirectionsRoute multiLegRoute;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    DirectionsResponse response = gson.fromJson(loadJsonFixture(PRECISION_6), DirectionsResponse.class);
+    route = response.routes().get(0);
+    DirectionsResponse multiLegResponse = gson.fromJson(loadJsonFixture(MULTI_LEG_ROUTE), DirectionsResponse.class);
+    multiLegRoute = multiLegResponse.routes().get(0);
+  }
+
+  @Test
+  public void create_noPreviousRouteSharesNothing() throws Exception {
+    RouteDiff routeDiff = RouteDiff.create(null, route);
+
+    assertEquals(0, routeDiff.sharedStepCount());
+    assertFalse(routeDiff.isSharedStep(0, 0));
+  }
+
+  @Test
+  public void create_sameRouteSharesEveryStep() throws Exception {
+    RouteDiff routeDiff = RouteDiff.create(route, route);
+
+    List<LegStep> steps = route.legs().get(0).steps();
+    assertEquals(steps.size(), routeDiff.sharedStepCount());
+    assertTrue(routeDiff.isSharedStep(0, 0));
+    assertTrue(routeDiff.isSharedStep(0, steps.size() - 1));
+  }
+
+  @Test
+  public void create_differentRouteSharesNothing() throws Exception {
+    RouteDiff routeDiff = RouteDiff.create(multiLegRoute, route);
+
+    assertEquals(0, routeDiff.sharedStepCount());
+    assertFalse(routeDiff.isSharedStep(0, route.legs().get(0).steps().size() - 1));
+  }
+
+  @Test
+  public void isSharedStep_invalidIndicesReturnFalse() throws Exception {
+    RouteDiff routeDiff = RouteDiff.create(route, route);
+
+    assertFalse(routeDiff.isSharedStep(1, 0));
+    assertFalse(routeDiff.isSharedStep(0, -1));
+    assertFalse(routeDiff.isSharedStep(0, route.legs().get(0).steps().size()));
+  }
+
+  @Test
+  public void isSameStep_nullStepsAreNeverTheSame() throws Exception {
+    LegStep step = route.legs().get(0).steps().get(0);
+
+    assertFalse(RouteDiff.isSameStep(null, step));
+    assertFalse(RouteDiff.isSameStep(step, null));
+  }
+
+  @Test
+  public void isSameStep_differentStepsAreNotTheSame() throws Exception {
+    List<LegStep> steps = route.legs().get(0).steps();
+
+    assertFalse(RouteDiff.isSameStep(steps.get(0), steps.get(1)));
+  }
+}
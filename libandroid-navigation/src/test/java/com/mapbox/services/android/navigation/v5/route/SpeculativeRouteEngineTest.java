@@ -0,0 +1,147 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import retrofit2.Response;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class SpeculativeRouteEngineTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+
+  private DirectionsResponse response;
+  private DirectionsRoute route;
+  private RouteEngine routeEngine;
+  private MapboxNavigationOptions options;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    response = gson.fromJson(loadJsonFixture(PRECISION_6), DirectionsResponse.class);
+    route = response.routes().get(0);
+    routeEngine = mock(RouteEngine.class);
+    options = MapboxNavigationOptions.builder()
+      .enableSpeculativeRouting(true)
+      .build();
+  }
+
+  @Test
+  public void onRouteProgress_farFromManeuverDoesNotFetchRoute() throws Exception {
+    SpeculativeRouteEngine speculativeRouteEngine = new SpeculativeRouteEngine(options, routeEngine);
+
+    speculativeRouteEngine.onRouteProgress(buildLocation(0), buildRouteProgress(300));
+
+    verify(routeEngine, never()).fetchRoute(any(Point.class), anyDouble(), any(RouteProgress.class));
+  }
+
+  @Test
+  public void onRouteProgress_approachingManeuverFetchesRouteOnce() throws Exception {
+    SpeculativeRouteEngine speculativeRouteEngine = new SpeculativeRouteEngine(options, routeEngine);
+    RouteProgress routeProgress = buildRouteProgress(100);
+
+    speculativeRouteEngine.onRouteProgress(buildLocation(0), routeProgress);
+    speculativeRouteEngine.onRouteProgress(buildLocation(1000), routeProgress);
+
+    verify(routeEngine, times(1)).fetchRoute(any(Point.class), anyDouble(), eq(routeProgress));
+    assertEquals(1, speculativeRouteEngine.requestCount());
+  }
+
+  @Test
+  public void onRouteProgress_exhaustedBudgetDoesNotFetchRoute() throws Exception {
+    MapboxNavigationOptions noBudgetOptions = options.toBuilder()
+      .speculativeRouteRequestBudget(0)
+      .build();
+    SpeculativeRouteEngine speculativeRouteEngine = new SpeculativeRouteEngine(noBudgetOptions, routeEngine);
+
+    speculativeRouteEngine.onRouteProgress(buildLocation(0), buildRouteProgress(100));
+
+    verify(routeEngine, never()).fetchRoute(any(Point.class), anyDouble(), any(RouteProgress.class));
+  }
+
+  @Test
+  public void retrieveRoute_withoutResponseIsMiss() throws Exception {
+    SpeculativeRouteEngine speculativeRouteEngine = new SpeculativeRouteEngine(options, routeEngine);
+
+    DirectionsRoute speculativeRoute = speculativeRouteEngine.retrieveRoute(buildLocation(0));
+
+    assertNull(speculativeRoute);
+    assertEquals(1, speculativeRouteEngine.missCount());
+    assertEquals(0f, speculativeRouteEngine.hitRate());
+  }
+
+  @Test
+  public void retrieveRoute_nearSpeculativeRouteIsHit() throws Exception {
+    SpeculativeRouteEngine speculativeRouteEngine = new SpeculativeRouteEngine(options, routeEngine);
+    RouteProgress routeProgress = buildRouteProgress(100);
+    speculativeRouteEngine.onRouteProgress(buildLocation(0), routeProgress);
+    speculativeRouteEngine.onResponseReceived(Response.success(response), routeProgress);
+
+    DirectionsRoute speculativeRoute = speculativeRouteEngine.retrieveRoute(buildLocation(1000));
+
+    assertEquals(route, speculativeRoute);
+    assertEquals(1, speculativeRouteEngine.hitCount());
+    assertEquals(1f, speculativeRouteEngine.hitRate());
+  }
+
+  @Test
+  public void retrieveRoute_staleSpeculativeRouteIsMiss() throws Exception {
+    SpeculativeRouteEngine speculativeRouteEngine = new SpeculativeRouteEngine(options, routeEngine);
+    RouteProgress routeProgress = buildRouteProgress(100);
+    speculativeRouteEngine.onRouteProgress(buildLocation(0), routeProgress);
+    speculativeRouteEngine.onResponseReceived(Response.success(response), routeProgress);
+
+    DirectionsRoute speculativeRoute = speculativeRouteEngine.retrieveRoute(buildLocation(600000));
+
+    assertNull(speculativeRoute);
+    assertEquals(1, speculativeRouteEngine.missCount());
+  }
+
+  private RouteProgress buildRouteProgress(double stepDistanceRemaining) {
+    return RouteProgress.builder()
+      .directionsRoute(route)
+      .stepDistanceRemaining(stepDistanceRemaining)
+      .legDistanceRemaining(route.legs().get(0).distance())
+      .distanceRemaining(route.distance())
+      .stepIndex(0)
+      .legIndex(0)
+      .build();
+  }
+
+  private Location buildLocation(long time) {
+    Point departure = route.legs().get(0).steps().get(0).maneuver().location();
+    Location location = new Location("test");
+    location.setLatitude(departure.latitude());
+    location.setLongitude(departure.longitude());
+    location.setTime(time);
+    return location;
+  }
+}
@@ -0,0 +1,301 @@
+package com.mapbox.services.android.navigation.v5.route.offline;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.route.RouteRequest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ARRIVE;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_DEPART;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_TURN;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class OfflineRouteProviderTest extends BaseTest {
+
+  private static final float BLOCK_LENGTH = 111.2f;
+  private static final float FAST_DURATION = 11.12f;
+  private static final float SLOW_DURATION = 55.6f;
+
+  private RoadGraph graph;
+
+  @Before
+  public void setUp() throws Exception {
+    graph = new RoadGraph(buildGraph(RoadGraph.VERSION));
+  }
+
+  @Test(expected = IOException.class)
+  public void roadGraph_invalidFileThrowsException() throws Exception {
+    new RoadGraph(ByteBuffer.allocate(RoadGraph.HEADER_SIZE));
+  }
+
+  @Test
+  public void roadGraph_readsMaximumSpeedFromHeader() throws Exception {
+    assertEquals(BLOCK_LENGTH / FAST_DURATION, graph.maximumSpeed(), LARGE_DELTA);
+  }
+
+  @Test
+  public void roadGraph_version1FindsMaximumSpeedFromEdges() throws Exception {
+    RoadGraph version1Graph = new RoadGraph(buildGraph(RoadGraph.VERSION_1));
+
+    assertEquals(BLOCK_LENGTH / FAST_DURATION, version1Graph.maximumSpeed(), LARGE_DELTA);
+    assertEquals(2, version1Graph.nearestNode(Point.fromLngLat(0.0011, 0.0009)));
+    assertEquals(2, new AStarRouter(version1Graph).route(0, 2).length);
+  }
+
+  @Test
+  public void nearestNode_returnsClosestNode() throws Exception {
+    assertEquals(2, graph.nearestNode(Point.fromLngLat(0.0011, 0.0009)));
+  }
+
+  @Test
+  public void nearestNode_searchesSurroundingCells() throws Exception {
+    assertEquals(4, graph.nearestNode(Point.fromLngLat(0.0099, 0.0101)));
+    assertEquals(3, graph.nearestNode(Point.fromLngLat(0.0003, 0.0009)));
+  }
+
+  @Test
+  public void nearestNode_matchesClosestOfAllNodes() throws Exception {
+    RoadGraph grid = new RoadGraph(buildNodes(40, 0.0007));
+    Random random = new Random(42);
+
+    for (int i = 0; i < 200; i++) {
+      double latitude = random.nextDouble() * 0.04 - 0.005;
+      double longitude = random.nextDouble() * 0.04 - 0.005;
+      int closestNode = 0;
+      for (int node = 1; node < grid.nodeCount(); node++) {
+        if (grid.distance(node, latitude, longitude) < grid.distance(closestNode, latitude, longitude)) {
+          closestNode = node;
+        }
+      }
+
+      int nearestNode = grid.nearestNode(Point.fromLngLat(longitude, latitude));
+
+      assertEquals(grid.distance(closestNode, latitude, longitude), grid.distance(nearestNode, latitude, longitude));
+    }
+  }
+
+  @Test
+  public void nearestNode_emptyGraphReturnsNoNode() throws Exception {
+    RoadGraph emptyGraph = new RoadGraph(buildNodes(0, 0));
+
+    assertEquals(-1, emptyGraph.nearestNode(Point.fromLngLat(0, 0)));
+  }
+
+  @Test
+  public void nearestNode_pointOutsideOfGraphReturnsClosestNode() throws Exception {
+    assertEquals(0, graph.nearestNode(Point.fromLngLat(-1, -1)));
+    assertEquals(4, graph.nearestNode(Point.fromLngLat(1, 1)));
+  }
+
+  @Test
+  public void route_takesFastestPath() throws Exception {
+    AStarRouter router = new AStarRouter(graph);
+
+    int[] path = router.route(0, 2);
+
+    assertEquals(2, path.length);
+    assertEquals(1, graph.edgeTarget(path[0]));
+    assertEquals(2, graph.edgeTarget(path[1]));
+  }
+
+  @Test
+  public void route_repeatedQueriesIgnorePreviousState() throws Exception {
+    AStarRouter router = new AStarRouter(graph);
+
+    assertNull(router.route(0, 4));
+    int[] path = router.route(0, 2);
+
+    assertEquals(2, path.length);
+    assertEquals(1, graph.edgeTarget(path[0]));
+    assertEquals(2, graph.edgeTarget(path[1]));
+    assertEquals(1, router.route(2, 3).length);
+  }
+
+  @Test
+  public void route_sameOriginAndDestinationReturnsEmptyPath() throws Exception {
+    AStarRouter router = new AStarRouter(graph);
+
+    assertEquals(0, router.route(1, 1).length);
+  }
+
+  @Test
+  public void route_unreachableDestinationReturnsNull() throws Exception {
+    AStarRouter router = new AStarRouter(graph);
+
+    assertNull(router.route(0, 4));
+  }
+
+  @Test
+  public void findRoute_buildsStepsWithManeuvers() throws Exception {
+    OfflineRouteProvider routeProvider = new OfflineRouteProvider(graph);
+    RouteRequest request = RouteRequest.builder()
+      .origin(Point.fromLngLat(0, 0))
+      .destination(Point.fromLngLat(0.001, 0.001))
+      .build();
+
+    DirectionsResponse response = routeProvider.findRoute(request);
+
+    DirectionsRoute route = response.routes().get(0);
+    List<LegStep> steps = route.legs().get(0).steps();
+    assertEquals(3, steps.size());
+    assertEquals(STEP_MANEUVER_TYPE_DEPART, steps.get(0).maneuver().type());
+    assertEquals("Main St", steps.get(0).name());
+    assertEquals(STEP_MANEUVER_TYPE_TURN, steps.get(1).maneuver().type());
+    assertEquals(STEP_MANEUVER_MODIFIER_LEFT, steps.get(1).maneuver().modifier());
+    assertEquals("Oak Ave", steps.get(1).name());
+    assertEquals(STEP_MANEUVER_TYPE_ARRIVE, steps.get(2).maneuver().type());
+    assertEquals(2 * BLOCK_LENGTH, route.distance(), LARGE_DELTA);
+    assertEquals(2 * FAST_DURATION, route.duration(), LARGE_DELTA);
+  }
+
+  @Test
+  public void findRoute_stepsHaveMutableInstructions() throws Exception {
+    OfflineRouteProvider routeProvider = new OfflineRouteProvider(graph);
+    RouteRequest request = RouteRequest.builder()
+      .origin(Point.fromLngLat(0, 0))
+      .destination(Point.fromLngLat(0.001, 0.001))
+      .build();
+
+    LegStep firstStep = routeProvider.findRoute(request).routes().get(0).legs().get(0).steps().get(0);
+
+    assertNotNull(firstStep.voiceInstructions());
+    assertFalse(firstStep.voiceInstructions().isEmpty());
+    assertFalse(firstStep.bannerInstructions().isEmpty());
+    // Milestones remove instructions once they've been announced
+    firstStep.voiceInstructions().remove(0);
+  }
+
+  @Test
+  public void findRoute_includesRouteOptions() throws Exception {
+    OfflineRouteProvider routeProvider = new OfflineRouteProvider(graph);
+    RouteRequest request = RouteRequest.builder()
+      .origin(Point.fromLngLat(0, 0))
+      .destination(Point.fromLngLat(0.001, 0.001))
+      .build();
+
+    DirectionsRoute route = routeProvider.findRoute(request).routes().get(0);
+
+    assertEquals(2, route.routeOptions().coordinates().size());
+  }
+
+  @Test
+  public void findRoute_routeOptionsHaveInstructionLanguage() throws Exception {
+    OfflineRouteProvider routeProvider = new OfflineRouteProvider(graph);
+    RouteRequest request = RouteRequest.builder()
+      .origin(Point.fromLngLat(0, 0))
+      .destination(Point.fromLngLat(0.001, 0.001))
+      .language(Locale.GERMAN)
+      .build();
+
+    DirectionsRoute route = routeProvider.findRoute(request).routes().get(0);
+
+    assertEquals("en", route.routeOptions().language());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void findRoute_unreachableDestinationThrowsException() throws Exception {
+    OfflineRouteProvider routeProvider = new OfflineRouteProvider(graph);
+    RouteRequest request = RouteRequest.builder()
+      .origin(Point.fromLngLat(0, 0))
+      .destination(Point.fromLngLat(0.01, 0.01))
+      .build();
+
+    routeProvider.findRoute(request);
+  }
+
+  /**
+   * Four nodes on the corners of a block, with a fast route east then north and a slow route
+   * north then east, plus an isolated node without any roads.
+   */
+  private ByteBuffer buildGraph(int version) throws IOException {
+    double[][] nodes = {{0, 0}, {0, 0.001}, {0.001, 0.001}, {0.001, 0}, {0.01, 0.01}};
+    // target, duration, name index, grouped by source node
+    Object[][] edges = {
+      {1, FAST_DURATION, 0}, {3, SLOW_DURATION, 2},
+      {0, FAST_DURATION, 0}, {2, FAST_DURATION, 1},
+      {1, FAST_DURATION, 1}, {3, SLOW_DURATION, 2},
+      {0, SLOW_DURATION, 2}, {2, SLOW_DURATION, 2}
+    };
+    int[] edgeOffsets = {0, 2, 4, 6, 8, 8};
+    String[] names = {"Main St", "Oak Ave", "Slow Rd"};
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    output.writeInt(RoadGraph.MAGIC);
+    output.writeInt(version);
+    output.writeInt(nodes.length);
+    output.writeInt(edges.length);
+    output.writeInt(names.length);
+    if (version >= RoadGraph.VERSION) {
+      output.writeFloat(BLOCK_LENGTH / FAST_DURATION);
+    }
+    for (double[] node : nodes) {
+      output.writeInt((int) Math.round(node[0] * 1e6));
+      output.writeInt((int) Math.round(node[1] * 1e6));
+    }
+    for (int offset : edgeOffsets) {
+      output.writeInt(offset);
+    }
+    for (Object[] edge : edges) {
+      output.writeInt((Integer) edge[0]);
+      output.writeFloat(BLOCK_LENGTH);
+      output.writeFloat((Float) edge[1]);
+      output.writeInt((Integer) edge[2]);
+    }
+    for (String name : names) {
+      byte[] nameBytes = name.getBytes("UTF-8");
+      output.writeShort(nameBytes.length);
+      output.write(nameBytes);
+    }
+    output.close();
+    return ByteBuffer.wrap(bytes.toByteArray());
+  }
+
+  /**
+   * A square of size x size nodes, spaced slightly unevenly, without any roads.
+   */
+  private ByteBuffer buildNodes(int size, double spacing) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    output.writeInt(RoadGraph.MAGIC);
+    output.writeInt(RoadGraph.VERSION);
+    output.writeInt(size * size);
+    output.writeInt(0);
+    output.writeInt(0);
+    output.writeFloat(0);
+    for (int row = 0; row < size; row++) {
+      for (int column = 0; column < size; column++) {
+        output.writeInt((int) Math.round((row * spacing + column * spacing / 7) * 1e6));
+        output.writeInt((int) Math.round((column * spacing + row * spacing / 5) * 1e6));
+      }
+    }
+    for (int i = 0; i <= size * size; i++) {
+      output.writeInt(0);
+    }
+    output.close();
+    return ByteBuffer.wrap(bytes.toByteArray());
+  }
+}
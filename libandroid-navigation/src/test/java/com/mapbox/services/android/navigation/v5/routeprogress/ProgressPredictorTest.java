@@ -0,0 +1,131 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ProgressPredictorTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+  private static final float SPEED = 20f;
+  private static final double DISTANCE_ALONG_ROUTE = 1000;
+  private static final double DELTA = 1;
+
+  private DirectionsRoute route;
+  private LineString lineString;
+  private ProgressPredictor progressPredictor;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class).routes().get(0);
+    lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    progressPredictor = new ProgressPredictor();
+  }
+
+  @Test
+  public void predictLocation_withoutUpdateReturnsFalse() throws Exception {
+    assertFalse(progressPredictor.predictLocation(1000, new Location("test")));
+  }
+
+  @Test
+  public void predictLocation_advancesAlongRouteAtSpeed() throws Exception {
+    progressPredictor.update(buildLocationAlongRoute(DISTANCE_ALONG_ROUTE), buildRouteProgress(), 1000);
+    Location predicted = new Location("test");
+
+    assertTrue(progressPredictor.predictLocation(1500, predicted));
+    assertEquals(SPEED / 2, distanceFromRoutePoint(predicted, DISTANCE_ALONG_ROUTE), DELTA);
+    assertEquals(0, distanceFromRoutePoint(predicted, DISTANCE_ALONG_ROUTE + SPEED / 2), DELTA);
+  }
+
+  @Test
+  public void predictLocation_stopsTwoSecondsAfterLastLocation() throws Exception {
+    progressPredictor.update(buildLocationAlongRoute(DISTANCE_ALONG_ROUTE), buildRouteProgress(), 1000);
+    Location predicted = new Location("test");
+
+    progressPredictor.predictLocation(11000, predicted);
+
+    assertEquals(0, distanceFromRoutePoint(predicted, DISTANCE_ALONG_ROUTE + SPEED * 2), DELTA);
+  }
+
+  @Test
+  public void predictDistanceRemaining_decreasesAtSpeed() throws Exception {
+    RouteProgress routeProgress = buildRouteProgress();
+    progressPredictor.update(buildLocationAlongRoute(DISTANCE_ALONG_ROUTE), routeProgress, 1000);
+
+    double predictedDistanceRemaining = progressPredictor.predictDistanceRemaining(2000);
+
+    assertEquals(routeProgress.distanceRemaining() - SPEED, predictedDistanceRemaining, DELTA);
+  }
+
+  @Test
+  public void update_locationFarFromRouteIsNotPredicted() throws Exception {
+    Location location = buildLocationAlongRoute(DISTANCE_ALONG_ROUTE);
+    location.setLatitude(location.getLatitude() + 0.01);
+
+    progressPredictor.update(location, buildRouteProgress(), 1000);
+
+    assertFalse(progressPredictor.predictLocation(1500, new Location("test")));
+  }
+
+  @Test
+  public void reset_stopsPredictions() throws Exception {
+    progressPredictor.update(buildLocationAlongRoute(DISTANCE_ALONG_ROUTE), buildRouteProgress(), 1000);
+
+    progressPredictor.reset();
+
+    assertFalse(progressPredictor.predictLocation(1500, new Location("test")));
+  }
+
+  private RouteProgress buildRouteProgress() {
+    double distanceRemaining = route.distance() - DISTANCE_ALONG_ROUTE;
+    return RouteProgress.builder()
+      .stepDistanceRemaining(route.legs().get(0).steps().get(0).distance())
+      .legDistanceRemaining(distanceRemaining)
+      .distanceRemaining(distanceRemaining)
+      .directionsRoute(route)
+      .stepIndex(0)
+      .legIndex(0)
+      .build();
+  }
+
+  private Location buildLocationAlongRoute(double distance) {
+    Point point = TurfMeasurement.along(lineString, distance, TurfConstants.UNIT_METERS);
+    Location location = new Location("test");
+    location.setLatitude(point.latitude());
+    location.setLongitude(point.longitude());
+    location.setSpeed(SPEED);
+    location.setTime(1000);
+    return location;
+  }
+
+  private double distanceFromRoutePoint(Location location, double distance) {
+    Point point = TurfMeasurement.along(lineString, distance, TurfConstants.UNIT_METERS);
+    return TurfMeasurement.distance(Point.fromLngLat(location.getLongitude(), location.getLatitude()), point,
+      TurfConstants.UNIT_METERS);
+  }
+}
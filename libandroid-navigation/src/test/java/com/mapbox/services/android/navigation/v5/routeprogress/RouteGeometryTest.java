@@ -0,0 +1,88 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class RouteGeometryTest extends BaseTest {
+
+  private static final String NAVIGATION_ROUTE = "navigation.json";
+
+  private DirectionsRoute route;
+
+  @Before
+  public void setUp() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    route = gson.fromJson(loadJsonFixture(NAVIGATION_ROUTE), DirectionsResponse.class).routes().get(0);
+  }
+
+  @Test
+  public void routeGeometry_isSharedWithLaterRouteProgress() throws Exception {
+    RouteProgress firstProgress = buildRouteProgress(route, null);
+
+    RouteProgress nextProgress = buildRouteProgress(route, firstProgress.routeGeometry());
+
+    assertSame(firstProgress.routeGeometry(), nextProgress.routeGeometry());
+  }
+
+  @Test
+  public void routeGeometry_ofOtherRouteIsNotShared() throws Exception {
+    RouteProgress firstProgress = buildRouteProgress(route, null);
+    DirectionsRoute otherRoute = route.toBuilder().build();
+
+    RouteProgress otherProgress = buildRouteProgress(otherRoute, firstProgress.routeGeometry());
+
+    assertNotSame(firstProgress.routeGeometry(), otherProgress.routeGeometry());
+  }
+
+  @Test
+  public void step_isDecodedOnce() throws Exception {
+    RouteGeometry routeGeometry = buildRouteProgress(route, null).routeGeometry();
+
+    PolylineGeometry stepGeometry = routeGeometry.step(0, 1);
+
+    assertSame(stepGeometry, routeGeometry.step(0, 1));
+    assertSame(routeGeometry.routeLine(), routeGeometry.routeLine());
+  }
+
+  @Test
+  public void routeLine_lengthMatchesRouteDistance() throws Exception {
+    PolylineGeometry routeLine = buildRouteProgress(route, null).routeGeometry().routeLine();
+
+    assertEquals(1, routeLine.length() / route.distance(), 0.01);
+  }
+
+  @Test
+  public void equals_routeProgressOfSameRouteWithoutSharedGeometry() throws Exception {
+    assertEquals(buildRouteProgress(route, null), buildRouteProgress(route, null));
+  }
+
+  private RouteProgress buildRouteProgress(DirectionsRoute directionsRoute, RouteGeometry routeGeometry) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(directionsRoute.legs().get(0).steps().get(0).distance())
+      .legDistanceRemaining(directionsRoute.legs().get(0).distance())
+      .distanceRemaining(directionsRoute.distance())
+      .directionsRoute(directionsRoute)
+      .stepIndex(0)
+      .legIndex(0)
+      .routeGeometry(routeGeometry)
+      .build();
+  }
+}
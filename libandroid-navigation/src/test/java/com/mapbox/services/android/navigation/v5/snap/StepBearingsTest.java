@@ -0,0 +1,83 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.PolylineGeometry;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+
+public class StepBearingsTest extends BaseTest {
+
+  private static final Point START = Point.fromLngLat(0, 0);
+  private static final Point JOINT = Point.fromLngLat(0, 0.001);
+  private static final Point EAST = Point.fromLngLat(0.001, 0.001);
+  private static final Point WEST = Point.fromLngLat(-0.001, 0.001);
+  private static final double BEARING_DELTA = 0.1;
+
+  @Test
+  public void bearing_returnsBearingOfSegment() throws Exception {
+    PolylineGeometry geometry = buildGeometry(START, JOINT, EAST);
+    double jointDistance = TurfMeasurement.distance(START, JOINT, TurfConstants.UNIT_METERS);
+
+    assertEquals(0, StepBearings.bearing(geometry, jointDistance / 2, 0), BEARING_DELTA);
+    assertEquals(90, StepBearings.bearing(geometry, jointDistance + 10, 0), BEARING_DELTA);
+  }
+
+  @Test
+  public void bearing_pastEndOfStepReturnsBearingOfLastSegment() throws Exception {
+    PolylineGeometry geometry = buildGeometry(START, JOINT, EAST);
+
+    assertEquals(90, StepBearings.bearing(geometry, 1000, 0), BEARING_DELTA);
+    assertEquals(0, StepBearings.bearing(geometry, -10, 0), BEARING_DELTA);
+  }
+
+  @Test
+  public void bearing_turnsGraduallyAroundJoint() throws Exception {
+    PolylineGeometry geometry = buildGeometry(START, JOINT, EAST);
+    double jointDistance = TurfMeasurement.distance(START, JOINT, TurfConstants.UNIT_METERS);
+
+    assertEquals(0, StepBearings.bearing(geometry, jointDistance - 6, 10), BEARING_DELTA);
+    assertEquals(22.5, StepBearings.bearing(geometry, jointDistance - 2.5, 10), BEARING_DELTA);
+    assertEquals(45, StepBearings.bearing(geometry, jointDistance, 10), BEARING_DELTA);
+    assertEquals(67.5, StepBearings.bearing(geometry, jointDistance + 2.5, 10), BEARING_DELTA);
+    assertEquals(90, StepBearings.bearing(geometry, jointDistance + 6, 10), BEARING_DELTA);
+  }
+
+  @Test
+  public void bearing_turnsAcrossNorth() throws Exception {
+    PolylineGeometry geometry = buildGeometry(START, JOINT, WEST);
+    double jointDistance = TurfMeasurement.distance(START, JOINT, TurfConstants.UNIT_METERS);
+
+    assertEquals(315, StepBearings.bearing(geometry, jointDistance, 10), BEARING_DELTA);
+  }
+
+  @Test
+  public void bearing_zeroLengthSegmentTakesPreviousBearing() throws Exception {
+    PolylineGeometry geometry = buildGeometry(START, JOINT, JOINT, EAST);
+    double jointDistance = TurfMeasurement.distance(START, JOINT, TurfConstants.UNIT_METERS);
+
+    assertEquals(45, StepBearings.bearing(geometry, jointDistance, 10), BEARING_DELTA);
+    assertEquals(90, StepBearings.bearing(geometry, jointDistance + 1, 0), BEARING_DELTA);
+  }
+
+  @Test
+  public void bearing_singlePointStepReturnsNorth() throws Exception {
+    PolylineGeometry geometry = buildGeometry(JOINT);
+
+    assertEquals(0, StepBearings.bearing(geometry, 0, 10), BEARING_DELTA);
+  }
+
+  private PolylineGeometry buildGeometry(Point... points) {
+    List<Point> geometry = Arrays.asList(points);
+    return new PolylineGeometry(PolylineUtils.encode(geometry, PRECISION_6));
+  }
+}
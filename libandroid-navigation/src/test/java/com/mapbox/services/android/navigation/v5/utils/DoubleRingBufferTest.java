@@ -0,0 +1,67 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class DoubleRingBufferTest extends BaseTest {
+
+  @Test
+  public void push_replacesOldestOnceFull() throws Exception {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+    buffer.push(1.5);
+    buffer.push(2.5);
+    buffer.push(3.5);
+
+    assertTrue(buffer.isFull());
+    assertEquals(2, buffer.size());
+    assertEquals(2.5, buffer.oldest(), DELTA);
+    assertEquals(3.5, buffer.newest(), DELTA);
+  }
+
+  @Test
+  public void get_isOrderedFromOldestToNewest() throws Exception {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+    for (int value = 1; value <= 5; value++) {
+      buffer.push(value / 2d);
+    }
+
+    assertEquals(1.5, buffer.get(0), DELTA);
+    assertEquals(2, buffer.get(1), DELTA);
+    assertEquals(2.5, buffer.get(2), DELTA);
+  }
+
+  @Test
+  public void clear_emptiesBuffer() throws Exception {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+    buffer.push(1.5);
+    buffer.push(2.5);
+
+    buffer.clear();
+
+    assertTrue(buffer.isEmpty());
+    assertFalse(buffer.isFull());
+    assertEquals(2, buffer.capacity());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_throwsPastNewest() throws Exception {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+    buffer.push(1.5);
+
+    buffer.get(1);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void oldest_throwsWhenEmpty() throws Exception {
+    DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+
+    buffer.oldest();
+  }
+}
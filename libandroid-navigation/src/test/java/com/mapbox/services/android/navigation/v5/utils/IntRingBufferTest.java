@@ -0,0 +1,59 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class IntRingBufferTest extends BaseTest {
+
+  @Test
+  public void push_replacesOldestOnceFull() throws Exception {
+    IntRingBuffer buffer = new IntRingBuffer(2);
+    buffer.push(1);
+    buffer.push(2);
+    buffer.push(3);
+
+    assertEquals(2, buffer.size());
+    assertEquals(2, buffer.oldest());
+    assertEquals(3, buffer.newest());
+  }
+
+  @Test
+  public void get_isOrderedFromOldestToNewest() throws Exception {
+    IntRingBuffer buffer = new IntRingBuffer(3);
+    for (int value = 1; value <= 5; value++) {
+      buffer.push(value);
+    }
+
+    assertEquals(3, buffer.get(0));
+    assertEquals(4, buffer.get(1));
+    assertEquals(5, buffer.get(2));
+  }
+
+  @Test
+  public void clear_emptiesBuffer() throws Exception {
+    IntRingBuffer buffer = new IntRingBuffer(2);
+    buffer.push(1);
+    buffer.push(2);
+
+    buffer.clear();
+    buffer.push(3);
+
+    assertEquals(1, buffer.size());
+    assertEquals(3, buffer.oldest());
+    assertEquals(3, buffer.newest());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void newest_throwsWhenEmpty() throws Exception {
+    IntRingBuffer buffer = new IntRingBuffer(2);
+
+    assertTrue(buffer.isEmpty());
+    buffer.newest();
+  }
+}
@@ -0,0 +1,59 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class ObjectRingBufferTest extends BaseTest {
+
+  @Test
+  public void push_replacesOldestOnceFull() throws Exception {
+    ObjectRingBuffer<String> buffer = new ObjectRingBuffer<>(2);
+    buffer.push("a");
+    buffer.push("b");
+    buffer.push("c");
+
+    assertEquals(2, buffer.size());
+    assertEquals("b", buffer.oldest());
+    assertEquals("c", buffer.newest());
+  }
+
+  @Test
+  public void get_isOrderedFromOldestToNewest() throws Exception {
+    ObjectRingBuffer<Integer> buffer = new ObjectRingBuffer<>(3);
+    for (int value = 1; value <= 5; value++) {
+      buffer.push(value);
+    }
+
+    assertEquals(3, (int) buffer.get(0));
+    assertEquals(4, (int) buffer.get(1));
+    assertEquals(5, (int) buffer.get(2));
+  }
+
+  @Test
+  public void clear_emptiesBuffer() throws Exception {
+    ObjectRingBuffer<String> buffer = new ObjectRingBuffer<>(2);
+    buffer.push("a");
+    buffer.push("b");
+
+    buffer.clear();
+    buffer.push("c");
+
+    assertEquals(1, buffer.size());
+    assertEquals("c", buffer.oldest());
+    assertEquals("c", buffer.newest());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void oldest_throwsWhenEmpty() throws Exception {
+    ObjectRingBuffer<String> buffer = new ObjectRingBuffer<>(2);
+
+    assertTrue(buffer.isEmpty());
+    buffer.oldest();
+  }
+}
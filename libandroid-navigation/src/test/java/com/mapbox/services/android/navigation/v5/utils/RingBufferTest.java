@@ -7,6 +7,7 @@ import com.mapbox.services.android.navigation.v5.BaseTest;
 
 import org.junit.Test;
 
+@SuppressWarnings("deprecation")
 public class RingBufferTest extends BaseTest {
 
   @Test
@@ -52,4 +53,26 @@ public class RingBufferTest extends BaseTest {
     assertEquals(2, buffer.peekFirst(), DELTA);
     assertEquals(3, buffer.peekLast(), DELTA);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void push_keepsNewestItem() throws Exception {
+    RingBuffer<Integer> buffer = new RingBuffer<>(2);
+    buffer.push(1);
+    buffer.push(2);
+    buffer.push(3);
+
+    assertEquals(2, buffer.size());
+    assertEquals(3, (int) buffer.peek());
+    assertEquals(2, (int) buffer.getLast());
+  }
+
+  @Test
+  public void addAll_keepsLastItems() throws Exception {
+    RingBuffer<Integer> buffer = new RingBuffer<>(2);
+
+    buffer.addAll(Lists.newArrayList(1, 2, 3));
+
+    assertEquals(2, (int) buffer.getFirst());
+    assertEquals(3, (int) buffer.getLast());
+  }
+}
@@ -0,0 +1,84 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class SpscRingBufferTest extends BaseTest {
+
+  @Test
+  public void poll_returnsValuesInOfferOrder() throws Exception {
+    SpscRingBuffer<String> buffer = new SpscRingBuffer<>(3);
+    buffer.offer("a");
+    buffer.offer("b");
+
+    assertEquals("a", buffer.poll());
+    assertEquals("b", buffer.poll());
+    assertNull(buffer.poll());
+  }
+
+  @Test
+  public void offer_rejectsValueWhenFull() throws Exception {
+    SpscRingBuffer<String> buffer = new SpscRingBuffer<>(2);
+
+    assertTrue(buffer.offer("a"));
+    assertTrue(buffer.offer("b"));
+    assertFalse(buffer.offer("c"));
+    assertEquals(2, buffer.size());
+  }
+
+  @Test
+  public void offer_reusesPolledSlots() throws Exception {
+    SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(2);
+    for (int value = 0; value < 5; value++) {
+      buffer.offer(value);
+
+      assertEquals(value, (int) buffer.poll());
+    }
+
+    assertTrue(buffer.isEmpty());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void offer_nullThrowsException() throws Exception {
+    SpscRingBuffer<String> buffer = new SpscRingBuffer<>(2);
+
+    buffer.offer(null);
+  }
+
+  @Test
+  public void poll_receivesAllValuesFromProducerThread() throws Exception {
+    final int valueCount = 100000;
+    final SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(16);
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (int value = 0; value < valueCount; value++) {
+          while (!buffer.offer(value)) {
+            Thread.yield();
+          }
+        }
+      }
+    });
+    producer.start();
+
+    int expected = 0;
+    while (expected < valueCount) {
+      Integer value = buffer.poll();
+      if (value == null) {
+        Thread.yield();
+        continue;
+      }
+      assertEquals(expected, (int) value);
+      expected++;
+    }
+    producer.join();
+
+    assertTrue(buffer.isEmpty());
+  }
+}